@@ -172,7 +172,7 @@ public class ConfigurableScenario {
     private void deleteTargets() {
         PagedList<MgmtTarget> targets;
         do {
-            targets = targetResource.getTargets(0, PAGE_SIZE, null, null).getBody();
+            targets = targetResource.getTargets(0, PAGE_SIZE, null, null, null, null).getBody();
             targets.getContent().parallelStream()
                     .forEach(target -> targetResource.deleteTarget(target.getControllerId()));
         } while (targets.getTotal() > PAGE_SIZE);
@@ -19,7 +19,9 @@ import com.mongodb.gridfs.GridFSFile;
  * A wrapper object for the {@link DbArtifact} object which returns the
  * {@link InputStream} directly from {@link GridFSDBFile#getInputStream()} which
  * retrieves when calling {@link #getFileInputStream()} always a new
- * {@link InputStream} and not the same.
+ * {@link InputStream} and not the same. The stream skips to the chunk of the
+ * offset of {@link #getFileInputStream(long, long)} without reading the chunks
+ * before the range.
  *
  *
  *
@@ -8,15 +8,17 @@
  */
 package org.eclipse.hawkbit.artifact.repository;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
 
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectRequest;
 
 /**
  * An {@link DbArtifact} implementation which retrieves the {@link InputStream}
- * from the {@link AmazonS3} client.
+ * from the {@link AmazonS3} client. Ranges are read by a ranged GET request.
  */
 public class S3Artifact extends DbArtifact {
 
@@ -35,6 +37,16 @@ public class S3Artifact extends DbArtifact {
         return amazonS3.getObject(s3Properties.getBucketName(), sha1).getObjectContent();
     }
 
+    @Override
+    public InputStream getFileInputStream(final long offset, final long length) {
+        if (length <= 0) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+        return amazonS3.getObject(
+                new GetObjectRequest(s3Properties.getBucketName(), sha1).withRange(offset, offset + length - 1))
+                .getObjectContent();
+    }
+
     @Override
     public String toString() {
         return "S3Artifact [sha1=" + sha1 + ", getArtifactId()=" + getArtifactId() + ", getHashes()=" + getHashes()
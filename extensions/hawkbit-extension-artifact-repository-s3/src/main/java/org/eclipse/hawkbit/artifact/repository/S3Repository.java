@@ -10,15 +10,20 @@ package org.eclipse.hawkbit.artifact.repository;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.DigestInputStream;
 import java.security.DigestOutputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
@@ -29,9 +34,16 @@ import com.amazonaws.AmazonClientException;
 import com.amazonaws.RequestClientOptions;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CopyObjectRequest;
+import com.amazonaws.services.s3.model.CopyPartRequest;
 import com.amazonaws.services.s3.model.DeleteObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.UploadPartRequest;
 import com.google.common.io.BaseEncoding;
 import com.google.common.io.ByteStreams;
 
@@ -47,6 +59,11 @@ import com.google.common.io.ByteStreams;
  * can store all of your objects in a single bucket, or you can organize them
  * across several buckets.
  * </p>
+ *
+ * With {@link S3RepositoryProperties#isStreamingUpload()} an upload is
+ * streamed as multipart upload to a temporary key while its hashes are
+ * calculated, and then copied within S3 to the key of its SHA1 hash. Otherwise
+ * it is written to a local temporary file first.
  */
 public class S3Repository implements ArtifactRepository {
 
@@ -54,6 +71,12 @@ public class S3Repository implements ArtifactRepository {
 
     private static final String TEMP_FILE_PREFIX = "tmp";
     private static final String TEMP_FILE_SUFFIX = "artifactrepo";
+    private static final int NOT_FOUND = 404;
+    private static final String TEMP_KEY_PREFIX = "tmp/";
+    private static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+    private static final long MAX_COPY_OBJECT_SIZE = 5L * 1024 * 1024 * 1024;
+    private static final long COPY_PART_SIZE = 1024L * 1024 * 1024;
+    private static final String MD5_USER_METADATA = "md5chksum";
 
     private final AmazonS3 amazonS3;
     private final S3RepositoryProperties s3Properties;
@@ -92,6 +115,10 @@ public class S3Repository implements ArtifactRepository {
             throw new ArtifactStoreException(e.getMessage(), e);
         }
 
+        if (s3Properties.isStreamingUpload()) {
+            return storeStreaming(content, contentType, hash, mdSHA1, mdMD5);
+        }
+
         LOG.debug("Creating temporary file to store the inputstream to it");
 
         final File file = createTempFile();
@@ -112,7 +139,7 @@ public class S3Repository implements ArtifactRepository {
 
     private DbArtifact store(final String sha1Hash16, final String mdMD5Hash16, final String contentType,
             final File file, final DbArtifactHash hash) {
-        final S3Artifact s3Artifact = createS3Artifact(sha1Hash16, mdMD5Hash16, contentType, file);
+        final S3Artifact s3Artifact = createS3Artifact(sha1Hash16, mdMD5Hash16, contentType, file.length());
         checkHashes(s3Artifact, hash);
 
         LOG.info("Storing file {} with length {} to AWS S3 bucket {} as SHA1 {}", file.getName(), file.length(),
@@ -126,7 +153,9 @@ public class S3Repository implements ArtifactRepository {
 
         try (final InputStream inputStream = new BufferedInputStream(new FileInputStream(file),
                 RequestClientOptions.DEFAULT_STREAM_BUFFER_SIZE)) {
-            final ObjectMetadata objectMetadata = createObjectMetadata(mdMD5Hash16, contentType, file);
+            final ObjectMetadata objectMetadata = createObjectMetadata(mdMD5Hash16, contentType);
+            objectMetadata.setContentMD5(objectMetadata.getUserMetaDataOf(MD5_USER_METADATA));
+            objectMetadata.setContentLength(file.length());
             amazonS3.putObject(s3Properties.getBucketName(), sha1Hash16, inputStream, objectMetadata);
 
             return s3Artifact;
@@ -135,28 +164,123 @@ public class S3Repository implements ArtifactRepository {
         }
     }
 
+    private DbArtifact storeStreaming(final InputStream content, final String contentType, final DbArtifactHash hash,
+            final MessageDigest mdSHA1, final MessageDigest mdMD5) {
+        final String bucketName = s3Properties.getBucketName();
+        final String tempKey = TEMP_KEY_PREFIX + UUID.randomUUID();
+
+        LOG.debug("Streaming upload to AWS S3 bucket {} with temporary key {}", bucketName, tempKey);
+        final long size = uploadMultipart(new DigestInputStream(new DigestInputStream(content, mdMD5), mdSHA1),
+                tempKey, contentType);
+        try {
+            final String sha1Hash16 = BaseEncoding.base16().lowerCase().encode(mdSHA1.digest());
+            final String md5Hash16 = BaseEncoding.base16().lowerCase().encode(mdMD5.digest());
+            final S3Artifact s3Artifact = createS3Artifact(sha1Hash16, md5Hash16, contentType, size);
+            checkHashes(s3Artifact, hash);
+
+            if (exists(sha1Hash16)) {
+                LOG.debug("Artifact {} already exists on S3 bucket {}, don't need to copy it", sha1Hash16,
+                        bucketName);
+                return s3Artifact;
+            }
+
+            LOG.info("Storing streamed upload with length {} to AWS S3 bucket {} as SHA1 {}", size, bucketName,
+                    sha1Hash16);
+            copy(tempKey, sha1Hash16, size, createObjectMetadata(md5Hash16, contentType));
+            return s3Artifact;
+        } catch (final AmazonClientException e) {
+            throw new ArtifactStoreException(e.getMessage(), e);
+        } finally {
+            amazonS3.deleteObject(bucketName, tempKey);
+        }
+    }
+
+    private long uploadMultipart(final InputStream content, final String key, final String contentType) {
+        final String bucketName = s3Properties.getBucketName();
+        final ObjectMetadata objectMetadata = new ObjectMetadata();
+        objectMetadata.setContentType(contentType);
+        setServerSideEncryption(objectMetadata);
+        final String uploadId = amazonS3
+                .initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key, objectMetadata))
+                .getUploadId();
+
+        try {
+            final byte[] buffer = new byte[Math.max(MIN_PART_SIZE, s3Properties.getPartSize())];
+            final List<PartETag> partETags = new ArrayList<>();
+            long size = 0;
+            int read;
+            do {
+                read = ByteStreams.read(content, buffer, 0, buffer.length);
+                // an upload needs at least one part, which may be empty
+                if (read > 0 || partETags.isEmpty()) {
+                    partETags.add(amazonS3.uploadPart(new UploadPartRequest().withBucketName(bucketName)
+                            .withKey(key).withUploadId(uploadId).withPartNumber(partETags.size() + 1)
+                            .withInputStream(new ByteArrayInputStream(buffer, 0, read)).withPartSize(read))
+                            .getPartETag());
+                    size += read;
+                }
+            } while (read == buffer.length);
+
+            amazonS3.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags));
+            return size;
+        } catch (final IOException | AmazonClientException e) {
+            amazonS3.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+            throw new ArtifactStoreException(e.getMessage(), e);
+        }
+    }
+
+    private void copy(final String sourceKey, final String key, final long size,
+            final ObjectMetadata objectMetadata) {
+        final String bucketName = s3Properties.getBucketName();
+        if (size <= MAX_COPY_OBJECT_SIZE) {
+            amazonS3.copyObject(new CopyObjectRequest(bucketName, sourceKey, bucketName, key)
+                    .withNewObjectMetadata(objectMetadata));
+            return;
+        }
+
+        // objects larger than 5 GB can only be copied in parts
+        final String uploadId = amazonS3
+                .initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key, objectMetadata))
+                .getUploadId();
+        try {
+            final List<PartETag> partETags = new ArrayList<>();
+            for (long firstByte = 0; firstByte < size; firstByte += COPY_PART_SIZE) {
+                partETags.add(amazonS3.copyPart(new CopyPartRequest().withSourceBucketName(bucketName)
+                        .withSourceKey(sourceKey).withDestinationBucketName(bucketName).withDestinationKey(key)
+                        .withUploadId(uploadId).withPartNumber(partETags.size() + 1).withFirstByte(firstByte)
+                        .withLastByte(Math.min(firstByte + COPY_PART_SIZE, size) - 1)).getPartETag());
+            }
+            amazonS3.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags));
+        } catch (final AmazonClientException e) {
+            amazonS3.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+            throw e;
+        }
+    }
+
     private S3Artifact createS3Artifact(final String sha1Hash16, final String mdMD5Hash16, final String contentType,
-            final File file) {
+            final long size) {
         final S3Artifact s3Artifact = new S3Artifact(amazonS3, s3Properties, sha1Hash16);
         s3Artifact.setContentType(contentType);
         s3Artifact.setArtifactId(sha1Hash16);
-        s3Artifact.setSize(file.length());
+        s3Artifact.setSize(size);
         s3Artifact.setContentType(contentType);
         s3Artifact.setHashes(new DbArtifactHash(sha1Hash16, mdMD5Hash16));
         return s3Artifact;
     }
 
-    private ObjectMetadata createObjectMetadata(final String mdMD5Hash16, final String contentType, final File file) {
+    private ObjectMetadata createObjectMetadata(final String mdMD5Hash16, final String contentType) {
         final ObjectMetadata objectMetadata = new ObjectMetadata();
         final String mdMD5Hash64 = BaseEncoding.base64().encode(BaseEncoding.base16().lowerCase().decode(mdMD5Hash16));
-        objectMetadata.setContentMD5(mdMD5Hash64);
         objectMetadata.setContentType(contentType);
-        objectMetadata.setContentLength(file.length());
-        objectMetadata.setHeader("x-amz-meta-md5chksum", mdMD5Hash64);
+        objectMetadata.addUserMetadata(MD5_USER_METADATA, mdMD5Hash64);
+        setServerSideEncryption(objectMetadata);
+        return objectMetadata;
+    }
+
+    private void setServerSideEncryption(final ObjectMetadata objectMetadata) {
         if (s3Properties.isServerSideEncryption()) {
             objectMetadata.setHeader(Headers.SERVER_SIDE_ENCRYPTION, s3Properties.getServerSideEncryptionAlgorithm());
         }
-        return objectMetadata;
     }
 
     @Override
@@ -168,23 +292,36 @@ public class S3Repository implements ArtifactRepository {
     @Override
     public DbArtifact getArtifactBySha1(final String sha1) {
         LOG.info("Retrieving S3 object from bucket {} and key {}", s3Properties.getBucketName(), sha1);
-        final S3Object s3Object = amazonS3.getObject(s3Properties.getBucketName(), sha1);
-        if (s3Object == null) {
+        // HEAD request, the content is streamed by the S3Artifact on demand
+        final ObjectMetadata s3ObjectMetadata = getObjectMetadata(sha1);
+        if (s3ObjectMetadata == null) {
             return null;
         }
 
-        final ObjectMetadata s3ObjectMetadata = s3Object.getObjectMetadata();
-
         final S3Artifact s3Artifact = new S3Artifact(amazonS3, s3Properties, sha1);
         s3Artifact.setArtifactId(sha1);
         s3Artifact.setSize(s3ObjectMetadata.getContentLength());
-        // the MD5Content is stored in the ETag
+        // the MD5Content is stored in the user metadata and in the ETag of
+        // objects which are not uploaded in parts
+        final String md5Hash64 = s3ObjectMetadata.getUserMetaDataOf(MD5_USER_METADATA) != null
+                ? s3ObjectMetadata.getUserMetaDataOf(MD5_USER_METADATA) : s3ObjectMetadata.getETag();
         s3Artifact.setHashes(new DbArtifactHash(sha1,
-                BaseEncoding.base16().lowerCase().encode(BaseEncoding.base64().decode(s3ObjectMetadata.getETag()))));
+                BaseEncoding.base16().lowerCase().encode(BaseEncoding.base64().decode(md5Hash64))));
         s3Artifact.setContentType(s3ObjectMetadata.getContentType());
         return s3Artifact;
     }
 
+    private ObjectMetadata getObjectMetadata(final String sha1) {
+        try {
+            return amazonS3.getObjectMetadata(s3Properties.getBucketName(), sha1);
+        } catch (final AmazonS3Exception e) {
+            if (e.getStatusCode() == NOT_FOUND) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
     private static void checkHashes(final DbArtifact artifact, final DbArtifactHash hash) {
         if (hash == null) {
             return;
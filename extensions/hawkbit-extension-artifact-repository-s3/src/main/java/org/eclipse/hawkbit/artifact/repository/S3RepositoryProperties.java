@@ -23,6 +23,18 @@ public class S3RepositoryProperties {
     private boolean serverSideEncryption = false;
     private String serverSideEncryptionAlgorithm = SSEAlgorithm.AES256.getAlgorithm();
 
+    /**
+     * Set to <code>true</code> to stream uploads to S3 as multipart upload
+     * instead of writing them to a local temporary file first.
+     */
+    private boolean streamingUpload = false;
+
+    /**
+     * Size of the parts of a streaming upload in bytes, at least 5 MB as
+     * required by S3. Every running upload buffers one part in memory.
+     */
+    private int partSize = 8 * 1024 * 1024;
+
     public String getBucketName() {
         return bucketName;
     }
@@ -46,4 +58,20 @@ public class S3RepositoryProperties {
     public void setServerSideEncryptionAlgorithm(final String serverSideEncryptionAlgorithm) {
         this.serverSideEncryptionAlgorithm = serverSideEncryptionAlgorithm;
     }
+
+    public boolean isStreamingUpload() {
+        return streamingUpload;
+    }
+
+    public void setStreamingUpload(final boolean streamingUpload) {
+        this.streamingUpload = streamingUpload;
+    }
+
+    public int getPartSize() {
+        return partSize;
+    }
+
+    public void setPartSize(final int partSize) {
+        this.partSize = partSize;
+    }
 }
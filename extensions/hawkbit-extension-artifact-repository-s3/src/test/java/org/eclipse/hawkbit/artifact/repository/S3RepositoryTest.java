@@ -10,6 +10,7 @@ package org.eclipse.hawkbit.artifact.repository;
 
 import static org.fest.assertions.Assertions.assertThat;
 import static org.fest.assertions.api.Assertions.fail;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.never;
@@ -38,8 +39,15 @@ import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CopyObjectRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
 import com.google.common.io.BaseEncoding;
 import com.google.common.io.ByteStreams;
 
@@ -58,9 +66,6 @@ public class S3RepositoryTest {
     @Mock
     private AmazonS3 amazonS3Mock;
 
-    @Mock
-    private S3Object s3ObjectMock;
-
     @Mock
     private ObjectMetadata s3ObjectMetadataMock;
 
@@ -70,6 +75,15 @@ public class S3RepositoryTest {
     @Captor
     private ArgumentCaptor<InputStream> inputStreamCaptor;
 
+    @Captor
+    private ArgumentCaptor<GetObjectRequest> getObjectRequestCaptor;
+
+    @Captor
+    private ArgumentCaptor<UploadPartRequest> uploadPartRequestCaptor;
+
+    @Captor
+    private ArgumentCaptor<CopyObjectRequest> copyObjectRequestCaptor;
+
     private final S3RepositoryProperties s3Properties = new S3RepositoryProperties();
     private S3Repository s3RepositoryUnderTest;
 
@@ -98,6 +112,39 @@ public class S3RepositoryTest {
         assertThat(recordedObjectMetadata.getContentLength()).isEqualTo(rndBytes.length);
     }
 
+    @Test
+    @Description("Verifies that a streaming upload is sent in parts to a temporary key and copied to the key of its SHA1 hash")
+    public void streamingUploadIsCopiedToSha1Key() throws IOException, NoSuchAlgorithmException {
+        s3Properties.setStreamingUpload(true);
+        final byte[] rndBytes = randomBytes();
+        final String knownSHA1 = getSha1OfBytes(rndBytes);
+        final InitiateMultipartUploadResult initiateResult = new InitiateMultipartUploadResult();
+        initiateResult.setUploadId("uploadId");
+        final UploadPartResult uploadPartResult = new UploadPartResult();
+        uploadPartResult.setPartNumber(1);
+        uploadPartResult.setETag("etag");
+
+        when(amazonS3Mock.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class)))
+                .thenReturn(initiateResult);
+        when(amazonS3Mock.uploadPart(any(UploadPartRequest.class))).thenReturn(uploadPartResult);
+
+        // test
+        storeRandomBytes(rndBytes, "application/octet-stream");
+
+        // verify
+        Mockito.verify(amazonS3Mock).uploadPart(uploadPartRequestCaptor.capture());
+        assertThat(uploadPartRequestCaptor.getValue().getPartSize()).isEqualTo(rndBytes.length);
+        Mockito.verify(amazonS3Mock).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+        Mockito.verify(amazonS3Mock).copyObject(copyObjectRequestCaptor.capture());
+        final String tempKey = copyObjectRequestCaptor.getValue().getSourceKey();
+        assertThat(copyObjectRequestCaptor.getValue().getDestinationKey()).isEqualTo(knownSHA1);
+        assertThat(copyObjectRequestCaptor.getValue().getNewObjectMetadata().getUserMetaDataOf("md5chksum"))
+                .isNotNull();
+        Mockito.verify(amazonS3Mock).deleteObject(s3Properties.getBucketName(), tempKey);
+        Mockito.verify(amazonS3Mock, never()).putObject(anyString(), anyString(), any(InputStream.class),
+                any(ObjectMetadata.class));
+    }
+
     @Test
     @Description("Verifies that the amazonS3 client is called to retrieve the correct artifact from S3 and the mapping to the DBArtifact is correct")
     public void getArtifactBySHA1Hash() {
@@ -108,8 +155,7 @@ public class S3RepositoryTest {
         final String knownMdBase16 = BaseEncoding.base16().lowerCase().encode(knownMd5.getBytes());
         final String knownMd5Base64 = BaseEncoding.base64().encode(knownMd5.getBytes());
 
-        when(amazonS3Mock.getObject(anyString(), anyString())).thenReturn(s3ObjectMock);
-        when(s3ObjectMock.getObjectMetadata()).thenReturn(s3ObjectMetadataMock);
+        when(amazonS3Mock.getObjectMetadata(anyString(), anyString())).thenReturn(s3ObjectMetadataMock);
         when(s3ObjectMetadataMock.getContentLength()).thenReturn(knownContentLength);
         when(s3ObjectMetadataMock.getETag()).thenReturn(knownMd5Base64);
         when(s3ObjectMetadataMock.getContentType()).thenReturn(knownContentType);
@@ -125,6 +171,33 @@ public class S3RepositoryTest {
         assertThat(artifactBySha1.getHashes().getMd5()).isEqualTo(knownMdBase16);
     }
 
+    @Test
+    @Description("Verifies that a range of an artifact is read by a ranged GET request from S3")
+    public void getRangeOfArtifactByRangedGetRequest() throws IOException {
+        final String knownSHA1Hash = "da39a3ee5e6b4b0d3255bfef95601890afd80709";
+        final byte[] rangeContent = randomBytes();
+        final S3Object s3Object = new S3Object();
+        s3Object.setObjectContent(new ByteArrayInputStream(rangeContent));
+
+        when(amazonS3Mock.getObjectMetadata(anyString(), anyString())).thenReturn(s3ObjectMetadataMock);
+        when(s3ObjectMetadataMock.getETag()).thenReturn(BaseEncoding.base64().encode(new byte[16]));
+        when(amazonS3Mock.getObject(any(GetObjectRequest.class))).thenReturn(s3Object);
+
+        // test
+        final DbArtifact artifactBySha1 = s3RepositoryUnderTest.getArtifactBySha1(knownSHA1Hash);
+        final byte[] readContent;
+        try (InputStream range = artifactBySha1.getFileInputStream(100, rangeContent.length)) {
+            readContent = ByteStreams.toByteArray(range);
+        }
+
+        // verify
+        Mockito.verify(amazonS3Mock).getObject(getObjectRequestCaptor.capture());
+        assertThat(getObjectRequestCaptor.getValue().getKey()).isEqualTo(knownSHA1Hash);
+        assertThat(getObjectRequestCaptor.getValue().getRange())
+                .isEqualTo(new long[] { 100, 100 + rangeContent.length - 1 });
+        assertThat(readContent).isEqualTo(rangeContent);
+    }
+
     @Test
     @Description("Verifies that the amazonS3 client is not called to put the object to S3 due the artifact already exists on S3")
     public void artifactIsNotUploadedIfAlreadyExists() throws NoSuchAlgorithmException, IOException {
@@ -147,7 +220,7 @@ public class S3RepositoryTest {
     @Description("Verifies that null is returned if the given hash does not exists on S3")
     public void getArtifactBySha1ReturnsNullIfFileDoesNotExists() {
         final String knownSHA1Hash = "0815";
-        when(amazonS3Mock.getObject(s3Properties.getBucketName(), knownSHA1Hash)).thenReturn(null);
+        when(amazonS3Mock.getObjectMetadata(s3Properties.getBucketName(), knownSHA1Hash)).thenReturn(null);
 
         // test
         final DbArtifact artifactBySha1NotExists = s3RepositoryUnderTest.getArtifactBySha1(knownSHA1Hash);
@@ -12,15 +12,24 @@ import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
 
 import com.google.common.base.Throwables;
+import com.google.common.io.ByteStreams;
 
 /**
  * A {@link DbArtifact} implementation which dynamically creates a
- * {@link FileInputStream} on calling {@link #getFileInputStream()}.
+ * {@link FileInputStream} on calling {@link #getFileInputStream()} and a
+ * {@link FileChannel} on calling {@link #getFileChannel()}. Ranges are read
+ * from the positioned {@link FileChannel}. The file is returned by
+ * {@link #getFile()}, so the servlet container can send it without copying it
+ * through the JVM.
  */
 public class ArtifactFilesystem extends DbArtifact {
 
@@ -41,4 +50,39 @@ public class ArtifactFilesystem extends DbArtifact {
             throw Throwables.propagate(e);
         }
     }
+
+    @Override
+    public File getFile() {
+        return file;
+    }
+
+    @Override
+    // suppress warning, this FileChannel needs to be closed by the caller,
+    // this cannot be closed in this method
+    @SuppressWarnings("squid:S2095")
+    public FileChannel getFileChannel() {
+        try {
+            return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        } catch (final IOException e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    @Override
+    // suppress warning, this InputStream needs to be closed by the caller,
+    // this cannot be closed in this method
+    @SuppressWarnings("squid:S2095")
+    public InputStream getFileInputStream(final long offset, final long length) {
+        return openRange(file, offset, length);
+    }
+
+    static InputStream openRange(final File file, final long offset, final long length) {
+        try {
+            final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            return ByteStreams.limit(new BufferedInputStream(Channels.newInputStream(channel.position(offset))),
+                    length);
+        } catch (final IOException e) {
+            throw Throwables.propagate(e);
+        }
+    }
 }
@@ -30,4 +30,13 @@ public class ArtifactFilesystemConfiguration {
     public ArtifactRepository artifactRepository(final ArtifactFilesystemProperties artifactFilesystemProperties) {
         return new ArtifactFilesystemRepository(artifactFilesystemProperties);
     }
+
+    /**
+     * @return post processor which adds the local file cache to a remote
+     *         {@link ArtifactRepository}
+     */
+    @Bean
+    public static CachingArtifactRepositoryPostProcessor cachingArtifactRepositoryPostProcessor() {
+        return new CachingArtifactRepositoryPostProcessor();
+    }
 }
@@ -22,6 +22,8 @@ public class ArtifactFilesystemProperties {
      */
     private String path = "./artifactrepo";
 
+    private final Cache cache = new Cache();
+
     public String getPath() {
         return path;
     }
@@ -29,4 +31,56 @@ public class ArtifactFilesystemProperties {
     public void setPath(final String path) {
         this.path = path;
     }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    /**
+     * Configuration of the local file cache in front of a remote artifact
+     * repository, see {@link CachingArtifactRepository}.
+     */
+    public static class Cache {
+
+        /**
+         * Set to <code>true</code> to cache the artifacts of a non file-system
+         * repository (e.g. S3 or MongoDB) on the local disk.
+         */
+        private boolean enabled;
+
+        /**
+         * The directory of the cached artifacts. The cached files left from a
+         * former run are removed on startup, other files are not touched.
+         */
+        private String path = "./artifactcache";
+
+        /**
+         * Maximum size of all cached artifacts in bytes.
+         */
+        private long maxSize = 1024L * 1024L * 1024L;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(final String path) {
+            this.path = path;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(final long maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
 }
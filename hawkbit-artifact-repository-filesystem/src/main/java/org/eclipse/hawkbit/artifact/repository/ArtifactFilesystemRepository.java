@@ -14,8 +14,10 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.security.DigestOutputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -28,7 +30,6 @@ import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
 import com.google.common.base.Splitter;
 import com.google.common.io.BaseEncoding;
 import com.google.common.io.ByteStreams;
-import com.google.common.io.Files;
 
 /**
  * Implementation of the {@link ArtifactRepository} to store artifacts on the
@@ -41,11 +42,16 @@ import com.google.common.io.Files;
  * Due the limit of many file-systems of files within one directory, the files
  * are stored in different sub-directories based on the last four digits of the
  * SHA1-hash {@code (/basepath/[two digit sha1]/[two digit sha1])}.
+ * 
+ * Uploads are written once into a temporary file in {@code /basepath/tmp},
+ * i.e. on the same file-system as the repository, and then atomically renamed
+ * to their SHA1 name.
  */
 public class ArtifactFilesystemRepository implements ArtifactRepository {
 
     private static final String TEMP_FILE_PREFIX = "tmp";
     private static final String TEMP_FILE_SUFFIX = "artifactrepo";
+    private static final String TEMP_DIRECTORY = "tmp";
     private final ArtifactFilesystemProperties artifactResourceProperties;
 
     /**
@@ -132,7 +138,7 @@ public class ArtifactFilesystemRepository implements ArtifactRepository {
             FileUtils.deleteQuietly(file);
         } else {
             try {
-                Files.move(file, fileSHA1Naming);
+                Files.move(file.toPath(), fileSHA1Naming.toPath(), StandardCopyOption.ATOMIC_MOVE);
             } catch (final IOException e) {
                 throw new ArtifactStoreException("Could not store the file " + fileSHA1Naming, e);
             }
@@ -164,8 +170,10 @@ public class ArtifactFilesystemRepository implements ArtifactRepository {
     }
 
     private File createTempFile() {
+        final File tempDirectory = new File(artifactResourceProperties.getPath(), TEMP_DIRECTORY);
+        tempDirectory.mkdirs();
         try {
-            return File.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+            return File.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX, tempDirectory);
         } catch (final IOException e) {
             throw new ArtifactStoreException("Cannot create tempfile", e);
         }
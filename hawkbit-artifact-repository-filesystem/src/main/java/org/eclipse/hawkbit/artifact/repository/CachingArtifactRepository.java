@@ -0,0 +1,346 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.artifact.repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * {@link ArtifactRepository} which keeps the recently downloaded artifacts of
+ * a remote repository (e.g. S3 or MongoDB) in a local directory, so repeated
+ * downloads of the same artifact are served from the local disk including
+ * ranged reads by the {@link DbArtifact#getFileChannel()}.
+ *
+ * An artifact is copied to the local directory in the background on the first
+ * read of its binary. That read and all reads until the copy is finished,
+ * including ranged reads, are served from the remote repository, so no reader
+ * waits for the copy of the whole artifact. The least recently used artifacts
+ * are removed when the total size exceeds
+ * {@link ArtifactFilesystemProperties.Cache#getMaxSize()}. The metadata of
+ * cached artifacts is returned without asking the remote repository.
+ *
+ * The cache only removes the files it created from the local directory, i.e.
+ * files named by a SHA1 hash and its temporary files.
+ *
+ * Storing and deleting is passed to the remote repository.
+ */
+public class CachingArtifactRepository implements ArtifactRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachingArtifactRepository.class);
+
+    private static final String TEMP_FILE_PREFIX = "tmp";
+    private static final String TEMP_FILE_SUFFIX = "artifactcache";
+    private static final Pattern SHA1 = Pattern.compile("[0-9a-fA-F]{40}");
+    private static final Pattern TEMP_FILE = Pattern.compile(TEMP_FILE_PREFIX + "\\d*" + TEMP_FILE_SUFFIX);
+    private static final int KB = 1024;
+    private static final int DOWNLOAD_THREADS = 2;
+
+    private final ArtifactRepository delegate;
+
+    private final File directory;
+
+    private final long maxWeight;
+
+    private final Cache<String, CachedFile> files;
+
+    private final Set<String> downloads = ConcurrentHashMap.newKeySet();
+
+    private final Executor downloadExecutor;
+
+    /**
+     * Constructor. Removes the cached files which are left in the cache
+     * directory from a former run.
+     *
+     * @param delegate
+     *            the remote repository
+     * @param cacheProperties
+     *            the configuration of the cache
+     */
+    public CachingArtifactRepository(final ArtifactRepository delegate,
+            final ArtifactFilesystemProperties.Cache cacheProperties) {
+        this(delegate, cacheProperties, Executors.newFixedThreadPool(DOWNLOAD_THREADS,
+                new ThreadFactoryBuilder().setNameFormat("artifact-cache-%d").setDaemon(true).build()));
+    }
+
+    /**
+     * Constructor. Removes the cached files which are left in the cache
+     * directory from a former run.
+     *
+     * @param delegate
+     *            the remote repository
+     * @param cacheProperties
+     *            the configuration of the cache
+     * @param downloadExecutor
+     *            which copies the artifacts to the cache directory
+     */
+    CachingArtifactRepository(final ArtifactRepository delegate,
+            final ArtifactFilesystemProperties.Cache cacheProperties, final Executor downloadExecutor) {
+        this.delegate = delegate;
+        this.downloadExecutor = downloadExecutor;
+        directory = new File(cacheProperties.getPath());
+        directory.mkdirs();
+        deleteCachedFiles(directory);
+
+        // the weight is counted in KB, a single segment evicts in LRU order
+        // across all artifacts
+        maxWeight = Math.max(1, cacheProperties.getMaxSize() / KB);
+        files = CacheBuilder.newBuilder().concurrencyLevel(1).maximumWeight(maxWeight)
+                .weigher((final String sha1, final CachedFile cached) -> weight(cached.size))
+                .removalListener(notification -> {
+                    if (notification.getCause() != RemovalCause.REPLACED) {
+                        FileUtils.deleteQuietly(notification.getValue().file);
+                    }
+                }).build();
+    }
+
+    private static void deleteCachedFiles(final File directory) {
+        final File[] cachedFiles = directory.listFiles(
+                file -> file.isFile() && (SHA1.matcher(file.getName()).matches()
+                        || TEMP_FILE.matcher(file.getName()).matches()));
+        if (cachedFiles != null) {
+            Arrays.stream(cachedFiles).forEach(FileUtils::deleteQuietly);
+        }
+    }
+
+    @Override
+    public DbArtifact store(final InputStream content, final String filename, final String contentType) {
+        return delegate.store(content, filename, contentType);
+    }
+
+    @Override
+    public DbArtifact store(final InputStream content, final String filename, final String contentType,
+            final DbArtifactHash hash) {
+        return delegate.store(content, filename, contentType, hash);
+    }
+
+    @Override
+    public void deleteBySha1(final String sha1Hash) {
+        files.invalidate(sha1Hash);
+        delegate.deleteBySha1(sha1Hash);
+    }
+
+    @Override
+    public DbArtifact getArtifactBySha1(final String sha1) {
+        final CachedFile cached = files.getIfPresent(sha1);
+        if (cached != null) {
+            return new CachedArtifact(sha1, cached, null);
+        }
+
+        final DbArtifact artifact = delegate.getArtifactBySha1(sha1);
+        if (artifact == null || !isCacheable(sha1, artifact)) {
+            return artifact;
+        }
+        return new CachedArtifact(sha1, new CachedFile(null, artifact), artifact);
+    }
+
+    private boolean isCacheable(final String sha1, final DbArtifact artifact) {
+        return SHA1.matcher(sha1).matches() && artifact.getSize() != null && weight(artifact.getSize()) <= maxWeight;
+    }
+
+    private static int weight(final long size) {
+        return (int) Math.min(Integer.MAX_VALUE, (size + KB - 1) / KB);
+    }
+
+    /**
+     * @return the cached file of the artifact or <code>null</code> if it is
+     *         not cached, the artifact is copied to the cache in the
+     *         background then
+     */
+    private File getLocalFile(final CachedArtifact artifact) {
+        final CachedFile cached = files.getIfPresent(artifact.sha1);
+        if (cached != null) {
+            return cached.file;
+        }
+
+        if (downloads.add(artifact.sha1)) {
+            try {
+                downloadExecutor.execute(() -> cache(artifact));
+            } catch (final RejectedExecutionException e) {
+                downloads.remove(artifact.sha1);
+                LOG.warn("Cannot cache artifact {}, the download is rejected", artifact.sha1, e);
+            }
+        } else {
+            LOG.debug("Artifact {} is cached by another reader, reading it from the repository", artifact.sha1);
+        }
+        return null;
+    }
+
+    private void cache(final CachedArtifact artifact) {
+        try {
+            // the file may have been cached since the look-up
+            if (files.getIfPresent(artifact.sha1) == null) {
+                files.put(artifact.sha1, download(artifact));
+            }
+        } catch (final IOException | NoSuchAlgorithmException | RuntimeException e) {
+            LOG.warn("Cannot cache artifact {}, reading it from the repository", artifact.sha1, e);
+        } finally {
+            downloads.remove(artifact.sha1);
+        }
+    }
+
+    // suppress warning, of not strong enough hashing algorithm, SHA-1 is not
+    // used security related
+    @SuppressWarnings("squid:S2070")
+    private CachedFile download(final CachedArtifact artifact) throws IOException, NoSuchAlgorithmException {
+        final DbArtifact source = artifact.getSource();
+        final MessageDigest mdSHA1 = MessageDigest.getInstance("SHA1");
+        final File tempFile = File.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX, directory);
+        try {
+            try (final InputStream in = source.getFileInputStream();
+                    final OutputStream out = new DigestOutputStream(
+                            new BufferedOutputStream(new FileOutputStream(tempFile)), mdSHA1)) {
+                ByteStreams.copy(in, out);
+            }
+
+            final String sha1Hash = BaseEncoding.base16().lowerCase().encode(mdSHA1.digest());
+            if (!sha1Hash.equalsIgnoreCase(artifact.sha1)) {
+                throw new HashNotMatchException("The sha1 hash " + sha1Hash + " of the downloaded artifact "
+                        + artifact.sha1 + " does not match", HashNotMatchException.SHA1);
+            }
+
+            final File file = new File(directory, artifact.sha1);
+            Files.move(tempFile, file);
+            LOG.debug("Cached artifact {} with {} bytes", artifact.sha1, file.length());
+            return new CachedFile(file, source);
+        } finally {
+            FileUtils.deleteQuietly(tempFile);
+        }
+    }
+
+    /**
+     * Cached artifact file and its metadata.
+     */
+    private static final class CachedFile {
+        private final File file;
+        private final long size;
+        private final String contentType;
+        private final DbArtifactHash hashes;
+
+        private CachedFile(final File file, final DbArtifact artifact) {
+            this.file = file;
+            this.size = file != null ? file.length() : artifact.getSize();
+            this.contentType = artifact.getContentType();
+            this.hashes = artifact.getHashes();
+        }
+    }
+
+    /**
+     * {@link DbArtifact} which reads its binary from the local file if it is
+     * cached, otherwise from the remote repository while the file is copied
+     * to the cache in the background.
+     */
+    private final class CachedArtifact extends DbArtifact {
+        private final String sha1;
+        private DbArtifact source;
+
+        private CachedArtifact(final String sha1, final CachedFile cached, final DbArtifact source) {
+            this.sha1 = sha1;
+            this.source = source;
+            setArtifactId(sha1);
+            setSize(cached.size);
+            setContentType(cached.contentType);
+            setHashes(cached.hashes);
+        }
+
+        private synchronized DbArtifact getSource() {
+            if (source == null) {
+                source = delegate.getArtifactBySha1(sha1);
+                if (source == null) {
+                    throw new ArtifactStoreException("Artifact " + sha1 + " does not exist in the repository");
+                }
+            }
+            return source;
+        }
+
+        @Override
+        // suppress warning, this InputStream needs to be closed by the caller,
+        // this cannot be closed in this method
+        @SuppressWarnings("squid:S2095")
+        public InputStream getFileInputStream() {
+            final File file = getLocalFile(this);
+            if (file != null) {
+                try {
+                    return new BufferedInputStream(new FileInputStream(file));
+                } catch (final FileNotFoundException e) {
+                    LOG.debug("Cached artifact {} was evicted", sha1, e);
+                }
+            }
+            return getSource().getFileInputStream();
+        }
+
+        @Override
+        // suppress warning, this InputStream needs to be closed by the caller,
+        // this cannot be closed in this method
+        @SuppressWarnings("squid:S2095")
+        public InputStream getFileInputStream(final long offset, final long length) {
+            final File file = getLocalFile(this);
+            if (file != null && file.exists()) {
+                try {
+                    return ArtifactFilesystem.openRange(file, offset, length);
+                } catch (final RuntimeException e) {
+                    LOG.debug("Cached artifact {} was evicted", sha1, e);
+                }
+            }
+            return getSource().getFileInputStream(offset, length);
+        }
+
+        @Override
+        // suppress warning, this FileChannel needs to be closed by the caller,
+        // this cannot be closed in this method
+        @SuppressWarnings("squid:S2095")
+        public FileChannel getFileChannel() {
+            final File file = getLocalFile(this);
+            if (file != null) {
+                try {
+                    return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+                } catch (final NoSuchFileException e) {
+                    LOG.debug("Cached artifact {} was evicted", sha1, e);
+                } catch (final IOException e) {
+                    throw Throwables.propagate(e);
+                }
+            }
+            return getSource().getFileChannel();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.artifact.repository;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Wraps a remote {@link ArtifactRepository}, e.g. of S3 or MongoDB, into a
+ * {@link CachingArtifactRepository} if the cache is enabled by
+ * {@link ArtifactFilesystemProperties.Cache#isEnabled()}. The
+ * {@link ArtifactFilesystemRepository} is not wrapped as it is a local
+ * repository already.
+ */
+public class CachingArtifactRepositoryPostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+    private BeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(final BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(final Object bean, final String beanName) {
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) throws BeansException {
+        if (!(bean instanceof ArtifactRepository) || bean instanceof ArtifactFilesystemRepository
+                || bean instanceof CachingArtifactRepository) {
+            return bean;
+        }
+
+        // the properties are looked up lazily to get them bound
+        final ArtifactFilesystemProperties.Cache cacheProperties = beanFactory
+                .getBean(ArtifactFilesystemProperties.class).getCache();
+        if (!cacheProperties.isEnabled()) {
+            return bean;
+        }
+        return new CachingArtifactRepository((ArtifactRepository) bean, cacheProperties);
+    }
+}
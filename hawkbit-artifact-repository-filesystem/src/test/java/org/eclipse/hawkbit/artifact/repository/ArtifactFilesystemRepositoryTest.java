@@ -11,13 +11,16 @@ package org.eclipse.hawkbit.artifact.repository;
 import static org.fest.assertions.Assertions.assertThat;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.util.Random;
 
 import org.apache.commons.io.IOUtils;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
 import org.fest.assertions.api.Assertions;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import ru.yandex.qatools.allure.annotations.Description;
 import ru.yandex.qatools.allure.annotations.Features;
@@ -27,6 +30,9 @@ import ru.yandex.qatools.allure.annotations.Stories;
 @Stories("Test storing artifact binaries in the file-system")
 public class ArtifactFilesystemRepositoryTest {
 
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
     private final ArtifactFilesystemProperties artifactResourceProperties = new ArtifactFilesystemProperties();
 
     private final ArtifactFilesystemRepository artifactFilesystemRepository = new ArtifactFilesystemRepository(
@@ -44,6 +50,23 @@ public class ArtifactFilesystemRepositoryTest {
         assertThat(readContent).isEqualTo(fileContent);
     }
 
+    @Test
+    @Description("Verfies that an artifact is written into a temporary file within the repository, which is renamed to its SHA1 hash")
+    public void storeWritesTemporaryFileWithinRepository() throws IOException {
+        final ArtifactFilesystemProperties properties = new ArtifactFilesystemProperties();
+        properties.setPath(folder.newFolder("repository").getPath());
+        final ArtifactFilesystemRepository repository = new ArtifactFilesystemRepository(properties);
+
+        final byte[] fileContent = randomBytes();
+        final ArtifactFilesystem artifact = repository.store(new ByteArrayInputStream(fileContent), "filename.tmp",
+                "application/txt");
+
+        assertThat(new File(properties.getPath(), "tmp").list()).isEmpty();
+        final byte[] readContent = new byte[fileContent.length];
+        IOUtils.read(repository.getArtifactBySha1(artifact.getHashes().getSha1()).getFileInputStream(), readContent);
+        assertThat(readContent).isEqualTo(fileContent);
+    }
+
     @Test
     @Description("Verfies that an artifact can be successfully stored in the file-system repository")
     public void getStoredArtifactBasedOnSHA1Hash() {
@@ -13,6 +13,10 @@ import static org.fest.assertions.Assertions.assertThat;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 
 import org.apache.commons.io.IOUtils;
 import org.fest.assertions.api.Assertions;
@@ -49,4 +53,42 @@ public class ArtifactFilesystemTest {
         final byte[] buffer = new byte[1024];
         IOUtils.read(underTest.getFileInputStream(), buffer);
     }
+
+    @Test
+    @Description("Verifies that a FileChannel can be opened if file exists")
+    public void getFileChannelOfExistingFile() throws IOException {
+        final File createTempFile = File.createTempFile(ArtifactFilesystemTest.class.getSimpleName(), "");
+        createTempFile.deleteOnExit();
+        Files.write(createTempFile.toPath(), new byte[] { 1, 2, 3 });
+
+        final ArtifactFilesystem underTest = new ArtifactFilesystem(createTempFile);
+        try (FileChannel channel = underTest.getFileChannel()) {
+            assertThat(channel.size()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    @Description("Verifies that an exception is thrown on opening a FileChannel when file does not exists")
+    public void getFileChannelOfNonExistingFileThrowsException() {
+        final ArtifactFilesystem underTest = new ArtifactFilesystem(new File("fileWhichTotalDoesNotExists"));
+        try {
+            underTest.getFileChannel();
+            Assertions.fail("Expected a NoSuchFileException because file does not exists");
+        } catch (final RuntimeException e) {
+            assertThat(e.getCause()).isInstanceOf(NoSuchFileException.class);
+        }
+    }
+
+    @Test
+    @Description("Verifies that only the requested range is read from the file")
+    public void getRangeOfExistingFile() throws IOException {
+        final File createTempFile = File.createTempFile(ArtifactFilesystemTest.class.getSimpleName(), "");
+        createTempFile.deleteOnExit();
+        Files.write(createTempFile.toPath(), new byte[] { 1, 2, 3, 4, 5 });
+
+        final ArtifactFilesystem underTest = new ArtifactFilesystem(createTempFile);
+        try (InputStream range = underTest.getFileInputStream(1, 3)) {
+            assertThat(IOUtils.toByteArray(range)).isEqualTo(new byte[] { 2, 3, 4 });
+        }
+    }
 }
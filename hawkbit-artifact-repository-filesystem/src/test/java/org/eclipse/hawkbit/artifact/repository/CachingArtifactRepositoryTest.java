@@ -0,0 +1,189 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.artifact.repository;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.io.ByteStreams;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Artifact File System Repository")
+@Stories("Test caching the artifact binaries of a remote repository in the file-system")
+public class CachingArtifactRepositoryTest {
+
+    private static final int ARTIFACT_SIZE = 4096;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private ArtifactFilesystemRepository remoteRepository;
+
+    private ArtifactFilesystemProperties.Cache cacheProperties;
+
+    @Before
+    public void setup() throws IOException {
+        final ArtifactFilesystemProperties remoteProperties = new ArtifactFilesystemProperties();
+        remoteProperties.setPath(folder.newFolder("remote").getPath());
+        remoteRepository = spy(new ArtifactFilesystemRepository(remoteProperties));
+
+        cacheProperties = new ArtifactFilesystemProperties.Cache();
+        cacheProperties.setPath(folder.newFolder("cache").getPath());
+    }
+
+    @Test
+    @Description("Verifies that a downloaded artifact is read from the cache without asking the remote repository again")
+    public void repeatedDownloadIsServedFromCache() throws IOException {
+        final CachingArtifactRepository repository = new CachingArtifactRepository(remoteRepository,
+                cacheProperties, Runnable::run);
+        final byte[] content = randomBytes();
+        final String sha1 = storeArtifact(content);
+
+        assertThat(read(repository.getArtifactBySha1(sha1))).isEqualTo(content);
+        final DbArtifact cached = repository.getArtifactBySha1(sha1);
+        assertThat(cached.getSize()).isEqualTo(ARTIFACT_SIZE);
+        assertThat(cached.getHashes().getSha1()).isEqualTo(sha1);
+        assertThat(read(cached)).isEqualTo(content);
+
+        verify(remoteRepository, times(1)).getArtifactBySha1(sha1);
+    }
+
+    @Test
+    @Description("Verifies that a range of a cached artifact can be read by its file channel")
+    public void rangeOfCachedArtifactIsReadByFileChannel() throws IOException {
+        final CachingArtifactRepository repository = new CachingArtifactRepository(remoteRepository,
+                cacheProperties, Runnable::run);
+        final byte[] content = randomBytes();
+        final String sha1 = storeArtifact(content);
+
+        final ByteBuffer range = ByteBuffer.allocate(100);
+        try (final FileChannel channel = repository.getArtifactBySha1(sha1).getFileChannel()) {
+            channel.read(range, 1000);
+        }
+
+        assertThat(range.array()).isEqualTo(Arrays.copyOfRange(content, 1000, 1100));
+    }
+
+    @Test
+    @Description("Verifies that the least recently used artifact is evicted when the cache exceeds its maximum size")
+    public void leastRecentlyUsedArtifactIsEvicted() throws IOException {
+        cacheProperties.setMaxSize(2L * ARTIFACT_SIZE);
+        final CachingArtifactRepository repository = new CachingArtifactRepository(remoteRepository,
+                cacheProperties, Runnable::run);
+        final String first = storeArtifact(randomBytes());
+        final String second = storeArtifact(randomBytes());
+        final String third = storeArtifact(randomBytes());
+
+        read(repository.getArtifactBySha1(first));
+        read(repository.getArtifactBySha1(second));
+        read(repository.getArtifactBySha1(first));
+        read(repository.getArtifactBySha1(third));
+
+        read(repository.getArtifactBySha1(first));
+        read(repository.getArtifactBySha1(second));
+        verify(remoteRepository, times(1)).getArtifactBySha1(first);
+        verify(remoteRepository, times(2)).getArtifactBySha1(second);
+    }
+
+    @Test
+    @Description("Verifies that a deleted artifact is removed from the cache and the remote repository")
+    public void deletedArtifactIsRemovedFromCache() throws IOException {
+        final CachingArtifactRepository repository = new CachingArtifactRepository(remoteRepository,
+                cacheProperties, Runnable::run);
+        final String sha1 = storeArtifact(randomBytes());
+        read(repository.getArtifactBySha1(sha1));
+
+        repository.deleteBySha1(sha1);
+
+        assertThat(repository.getArtifactBySha1(sha1)).isNull();
+        assertThat(remoteRepository.getArtifactBySha1(sha1)).isNull();
+    }
+
+    @Test
+    @Description("Verifies that the reads of an artifact which is not cached yet, including ranged reads, are served from the remote repository without waiting for the copy to the cache")
+    public void firstReadDoesNotWaitForCopyToCache() throws IOException {
+        final List<Runnable> downloads = new ArrayList<>();
+        final CachingArtifactRepository repository = new CachingArtifactRepository(remoteRepository,
+                cacheProperties, downloads::add);
+        final byte[] content = randomBytes();
+        final String sha1 = storeArtifact(content);
+
+        assertThat(read(repository.getArtifactBySha1(sha1))).isEqualTo(content);
+        try (final InputStream range = repository.getArtifactBySha1(sha1).getFileInputStream(1000, 100)) {
+            assertThat(ByteStreams.toByteArray(range)).isEqualTo(Arrays.copyOfRange(content, 1000, 1100));
+        }
+        assertThat(new File(cacheProperties.getPath(), sha1).exists()).isFalse();
+        assertThat(downloads).hasSize(1);
+
+        downloads.get(0).run();
+
+        assertThat(new File(cacheProperties.getPath(), sha1).exists()).isTrue();
+        assertThat(read(repository.getArtifactBySha1(sha1))).isEqualTo(content);
+        verify(remoteRepository, times(2)).getArtifactBySha1(sha1);
+    }
+
+    @Test
+    @Description("Verifies that only the files which were created by the cache are removed from the cache directory on startup")
+    public void onlyCachedFilesAreRemovedOnStartup() throws IOException {
+        final File directory = new File(cacheProperties.getPath());
+        final File cachedFile = new File(directory, "0123456789abcdef0123456789abcdef01234567");
+        final File tempFile = File.createTempFile("tmp", "artifactcache", directory);
+        final File otherFile = new File(directory, "other.txt");
+        final File otherDirectory = new File(directory, "other");
+        assertThat(cachedFile.createNewFile()).isTrue();
+        assertThat(otherFile.createNewFile()).isTrue();
+        assertThat(otherDirectory.mkdir()).isTrue();
+
+        new CachingArtifactRepository(remoteRepository, cacheProperties);
+
+        assertThat(cachedFile.exists()).isFalse();
+        assertThat(tempFile.exists()).isFalse();
+        assertThat(otherFile.exists()).isTrue();
+        assertThat(otherDirectory.exists()).isTrue();
+    }
+
+    private String storeArtifact(final byte[] content) {
+        return remoteRepository.store(new ByteArrayInputStream(content), "filename.tmp", "application/txt")
+                .getHashes().getSha1();
+    }
+
+    private static byte[] read(final DbArtifact artifact) throws IOException {
+        try (final InputStream in = artifact.getFileInputStream()) {
+            return ByteStreams.toByteArray(in);
+        }
+    }
+
+    private static byte[] randomBytes() {
+        final byte[] randomBytes = new byte[ARTIFACT_SIZE];
+        new Random().nextBytes(randomBytes);
+        return randomBytes;
+    }
+}
@@ -16,10 +16,10 @@ import org.eclipse.hawkbit.ui.UiProperties;
 import org.eclipse.hawkbit.ui.push.DelayedEventBusPushStrategy;
 import org.eclipse.hawkbit.ui.push.EventPushStrategy;
 import org.eclipse.hawkbit.ui.push.HawkbitEventProvider;
+import org.eclipse.hawkbit.ui.push.UIEventDispatcher;
 import org.eclipse.hawkbit.ui.push.UIEventProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
-import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -63,31 +63,39 @@ public class MgmtUiAutoConfiguration {
     }
 
     /**
-     * The UI scoped event push strategy. Session scope is necessary, that every
-     * UI has an own strategy.
+     * The node wide dispatcher of the events to the UIs, which collects the
+     * events once for all UIs of a tenant.
      * 
-     * @param applicationContext
-     *            the context to add the listener
      * @param executorService
      *            the general scheduler service
-     * @param eventBus
-     *            the ui event bus
      * @param eventProvider
      *            the event provider
      * @param uiProperties
      *            the ui properties
+     * @return the dispatcher bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public UIEventDispatcher uiEventDispatcher(final ScheduledExecutorService executorService,
+            final UIEventProvider eventProvider, final UiProperties uiProperties) {
+        return new UIEventDispatcher(executorService, eventProvider, uiProperties.getEvent().getPush().getDelay());
+    }
+
+    /**
+     * The UI scoped event push strategy. Session scope is necessary, that every
+     * UI has an own strategy.
+     * 
+     * @param eventDispatcher
+     *            the node wide dispatcher of the events
+     * @param eventBus
+     *            the ui event bus
      * @return the push strategy bean
      */
     @Bean
     @ConditionalOnMissingBean
     @UIScope
-    public EventPushStrategy eventPushStrategy(final ConfigurableApplicationContext applicationContext,
-            final ScheduledExecutorService executorService, final UIEventBus eventBus,
-            final UIEventProvider eventProvider, final UiProperties uiProperties) {
-        final DelayedEventBusPushStrategy delayedEventBusPushStrategy = new DelayedEventBusPushStrategy(executorService,
-                eventBus, eventProvider, uiProperties.getEvent().getPush().getDelay());
-        applicationContext.addApplicationListener(delayedEventBusPushStrategy);
-        return delayedEventBusPushStrategy;
+    public EventPushStrategy eventPushStrategy(final UIEventDispatcher eventDispatcher, final UIEventBus eventBus) {
+        return new DelayedEventBusPushStrategy(eventDispatcher, eventBus);
     }
 
 }
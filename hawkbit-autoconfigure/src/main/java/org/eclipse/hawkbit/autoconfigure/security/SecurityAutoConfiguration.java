@@ -9,12 +9,14 @@
 package org.eclipse.hawkbit.autoconfigure.security;
 
 import org.eclipse.hawkbit.im.authentication.PermissionService;
+import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.security.DdiSecurityProperties;
 import org.eclipse.hawkbit.security.HawkbitSecurityProperties;
 import org.eclipse.hawkbit.security.SecurityContextTenantAware;
 import org.eclipse.hawkbit.security.SecurityTokenGenerator;
 import org.eclipse.hawkbit.security.SpringSecurityAuditorAware;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.eclipse.hawkbit.security.TargetSecurityTokenCache;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -73,6 +75,24 @@ public class SecurityAutoConfiguration {
         return new SystemSecurityContext(tenantAware);
     }
 
+    /**
+     * @param controllerManagement
+     *            to read the targets
+     * @param systemSecurityContext
+     *            to read the targets as system
+     * @param ddiSecurityProperties
+     *            for the cache configuration
+     * @return the {@link TargetSecurityTokenCache} of the target security
+     *         token authentication of DDI and DMF
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public TargetSecurityTokenCache targetSecurityTokenCache(final ControllerManagement controllerManagement,
+            final SystemSecurityContext systemSecurityContext, final DdiSecurityProperties ddiSecurityProperties) {
+        return new TargetSecurityTokenCache(controllerManagement, systemSecurityContext,
+                ddiSecurityProperties.getAuthentication().getTargettoken().getCache());
+    }
+
     /**
      * @return {@link SecurityTokenGenerator} bean
      */
@@ -30,7 +30,6 @@ import org.eclipse.hawkbit.im.authentication.TenantUserPasswordAuthenticationTok
 import org.eclipse.hawkbit.im.authentication.UserAuthenticationFilter;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
 import org.eclipse.hawkbit.mgmt.rest.resource.MgmtApiConfiguration;
-import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.security.ControllerTenantAwareAuthenticationDetailsSource;
@@ -45,6 +44,7 @@ import org.eclipse.hawkbit.security.HttpControllerPreAuthenticatedSecurityHeader
 import org.eclipse.hawkbit.security.HttpDownloadAuthenticationFilter;
 import org.eclipse.hawkbit.security.PreAuthTokenSourceTrustAuthenticationProvider;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.eclipse.hawkbit.security.TargetSecurityTokenCache;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.eclipse.hawkbit.ui.MgmtUiConfiguration;
 import org.slf4j.Logger;
@@ -136,7 +136,7 @@ public class SecurityManagedConfiguration {
     static class ControllerSecurityConfigurationAdapter extends WebSecurityConfigurerAdapter {
 
         @Autowired
-        private ControllerManagement controllerManagement;
+        private TargetSecurityTokenCache targetSecurityTokenCache;
 
         @Autowired
         private TenantConfigurationManagement tenantConfigurationManagement;
@@ -187,7 +187,7 @@ public class SecurityManagedConfiguration {
             securityHeaderFilter.setAuthenticationDetailsSource(authenticationDetailsSource);
 
             final HttpControllerPreAuthenticateSecurityTokenFilter securityTokenFilter = new HttpControllerPreAuthenticateSecurityTokenFilter(
-                    tenantConfigurationManagement, tenantAware, controllerManagement, systemSecurityContext);
+                    tenantConfigurationManagement, tenantAware, targetSecurityTokenCache, systemSecurityContext);
             securityTokenFilter.setAuthenticationManager(authenticationManager());
             securityTokenFilter.setCheckForPrincipalChanges(true);
             securityTokenFilter.setAuthenticationDetailsSource(authenticationDetailsSource);
@@ -266,9 +266,10 @@ public class SecurityManagedConfiguration {
 
         final FilterRegistrationBean filterRegBean = new FilterRegistrationBean();
 
-        filterRegBean.setFilter(new DosFilter(securityProperties.getDos().getFilter().getMaxRead(),
-                securityProperties.getDos().getFilter().getMaxWrite(),
-                securityProperties.getDos().getFilter().getWhitelist(), securityProperties.getClients().getBlacklist(),
+        final HawkbitSecurityProperties.Dos.Filter filterProperties = securityProperties.getDos().getFilter();
+        filterRegBean.setFilter(new DosFilter(filterProperties.getMaxRead(), filterProperties.getMaxWrite(),
+                filterProperties.getMaxPerTenant(), filterProperties.getMaxPerController(),
+                filterProperties.getWhitelist(), securityProperties.getClients().getBlacklist(),
                 securityProperties.getClients().getRemoteIpHeader()));
 
         return filterRegBean;
@@ -26,14 +26,26 @@ public class HawkbitServerProperties {
 
     private final Build build = new Build();
 
+    private final Download download = new Download();
+
+    private final ChunkCache chunkCache = new ChunkCache();
+
     public Anonymous getAnonymous() {
         return anonymous;
     }
 
+    public Download getDownload() {
+        return download;
+    }
+
     public Build getBuild() {
         return build;
     }
 
+    public ChunkCache getChunkCache() {
+        return chunkCache;
+    }
+
     /**
      * Properties for anonymous API access by Devices/Controllers.
      *
@@ -68,6 +80,103 @@ public class HawkbitServerProperties {
         }
     }
 
+    /**
+     * Properties for the artifact download by Devices/Controllers.
+     *
+     */
+    public static class Download {
+        private final Async async = new Async();
+
+        public Async getAsync() {
+            return async;
+        }
+
+        /**
+         * Properties for the asynchronous, non-blocking artifact download
+         * that releases the request thread while the binary is written to
+         * the client.
+         *
+         */
+        public static class Async {
+
+            /**
+             * Artifacts are written asynchronously if true.
+             */
+            private boolean enabled;
+
+            /**
+             * Timeout of an asynchronous download in milliseconds, zero or
+             * less for no timeout.
+             */
+            private long timeout = 3_600_000L;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(final boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public long getTimeout() {
+                return timeout;
+            }
+
+            public void setTimeout(final long timeout) {
+                this.timeout = timeout;
+            }
+        }
+    }
+
+    /**
+     * Properties for the cache of the software modules and artifacts of a
+     * distribution set which are returned as chunks of a deployment to the
+     * Devices/Controllers.
+     *
+     */
+    public static class ChunkCache {
+
+        /**
+         * Chunks are cached per distribution set if true.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of cached distribution sets.
+         */
+        private long maxSize = 1_000L;
+
+        /**
+         * Time in milliseconds after which the chunks of a distribution set
+         * are read again, e.g. to include artifacts which are uploaded later.
+         */
+        private long expireAfterWrite = 60_000L;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(final long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public long getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        public void setExpireAfterWrite(final long expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+
     /**
      * Build information of the hawkBit instance. Influenced by maven.
      *
@@ -9,19 +9,24 @@
 package org.eclipse.hawkbit.api;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.hawkbit.api.ArtifactUrlHandlerProperties.UrlProtocol;
+import org.eclipse.hawkbit.api.URLPlaceholder.SoftwareData;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
-import com.google.common.collect.Maps;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.net.UrlEscapers;
 
 /**
@@ -40,6 +45,10 @@ import com.google.common.net.UrlEscapers;
  * {protocol}://{hostname}:{port}/{tenant}/controller/v1/{controllerId}/
  * softwaremodules/{softwareModuleId}/artifacts/{artifactFileName}.MD5SUM
  * 
+ * Every {@link UrlProtocol#getRef()} pattern is compiled once into a list of
+ * segments which are rendered into a reused {@link StringBuilder}. The values
+ * that only depend on the tenant and the artifact are kept in a bounded cache,
+ * so they are not computed again for every URL of the same artifact.
  */
 public class PropertyBasedArtifactUrlHandler implements ArtifactUrlHandler {
 
@@ -63,8 +72,21 @@ public class PropertyBasedArtifactUrlHandler implements ArtifactUrlHandler {
     private static final String SOFTWARE_MODULE_ID_BASE10_PLACDEHOLDER = "softwareModuleId";
     private static final String SOFTWARE_MODULE_ID_BASE62_PLACDEHOLDER = "softwareModuleIdBase62";
 
+    private static final int ARTIFACT_SEGMENTS_CACHE_SIZE = 10_000;
+    private static final int URL_BUILDER_CAPACITY = 256;
+
+    private static final Map<String, Segment> PLACEHOLDERS = createPlaceholders();
+
+    private static final ThreadLocal<StringBuilder> URL_BUILDER = ThreadLocal
+            .withInitial(() -> new StringBuilder(URL_BUILDER_CAPACITY));
+
     private final ArtifactUrlHandlerProperties urlHandlerProperties;
 
+    private final Map<String, List<Segment>> templates = new ConcurrentHashMap<>();
+
+    private final Cache<String, ArtifactSegments> artifactSegments = CacheBuilder.newBuilder()
+            .maximumSize(ARTIFACT_SEGMENTS_CACHE_SIZE).build();
+
     /**
      * @param urlHandlerProperties
      *            for URL generation configuration
@@ -80,70 +102,166 @@ public class PropertyBasedArtifactUrlHandler implements ArtifactUrlHandler {
 
     @Override
     public List<ArtifactUrl> getUrls(final URLPlaceholder placeholder, final ApiType api, final URI requestUri) {
+        final Collection<UrlProtocol> protocols = urlHandlerProperties.getProtocols().values();
+        if (protocols.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final ArtifactSegments artifact = getArtifactSegments(placeholder);
+        final List<ArtifactUrl> urls = new ArrayList<>(protocols.size());
+        for (final UrlProtocol protocol : protocols) {
+            if (protocol.getSupports().contains(api) && protocol.isEnabled()) {
+                urls.add(new ArtifactUrl(protocol.getProtocol().toUpperCase(), protocol.getRel(),
+                        generateUrl(protocol, placeholder, requestUri, artifact)));
+            }
+        }
+        return urls;
+    }
 
-        return urlHandlerProperties.getProtocols().entrySet().stream()
-                .filter(entry -> entry.getValue().getSupports().contains(api))
-                .filter(entry -> entry.getValue().isEnabled())
-                .map(entry -> new ArtifactUrl(entry.getValue().getProtocol().toUpperCase(), entry.getValue().getRel(),
-                        generateUrl(entry.getValue(), placeholder, requestUri)))
-                .collect(Collectors.toList());
+    private String generateUrl(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri,
+            final ArtifactSegments artifact) {
+        final List<Segment> template = templates.computeIfAbsent(protocol.getRef(),
+                PropertyBasedArtifactUrlHandler::compile);
 
+        final StringBuilder url = URL_BUILDER.get();
+        url.setLength(0);
+        for (final Segment segment : template) {
+            segment.appendTo(url, protocol, placeholder, requestUri, artifact);
+        }
+        return url.toString();
     }
 
-    private static String generateUrl(final UrlProtocol protocol, final URLPlaceholder placeholder,
-            final URI requestUri) {
-        final Set<Entry<String, String>> entrySet = getReplaceMap(protocol, placeholder, requestUri).entrySet();
+    private ArtifactSegments getArtifactSegments(final URLPlaceholder placeholder) {
+        final SoftwareData softwareData = placeholder.getSoftwareData();
+        final String key = placeholder.getTenant() + "/" + softwareData.getArtifactId();
 
-        String urlPattern = protocol.getRef();
+        final ArtifactSegments cached = artifactSegments.getIfPresent(key);
+        if (cached != null && cached.isFor(placeholder)) {
+            return cached;
+        }
 
-        for (final Entry<String, String> entry : entrySet) {
-            if (entry.getKey().equals(PORT_PLACEHOLDER)) {
-                urlPattern = urlPattern.replace(":{" + entry.getKey() + "}",
-                        Strings.isNullOrEmpty(entry.getValue()) ? "" : (":" + entry.getValue()));
+        final ArtifactSegments computed = new ArtifactSegments(placeholder);
+        artifactSegments.put(key, computed);
+        return computed;
+    }
+
+    /**
+     * Splits the given pattern into literal and placeholder segments.
+     * Placeholders which are not known are kept as literal. The port
+     * placeholder includes the preceding colon, which is omitted if no port is
+     * configured.
+     */
+    private static List<Segment> compile(final String ref) {
+        final List<Segment> segments = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+
+        int index = 0;
+        while (index < ref.length()) {
+            final int open = ref.indexOf('{', index);
+            final int close = open < 0 ? -1 : ref.indexOf('}', open);
+            if (close < 0) {
+                literal.append(ref, index, ref.length());
+                break;
+            }
+
+            literal.append(ref, index, open);
+            final String name = ref.substring(open + 1, close);
+            final boolean port = PORT_PLACEHOLDER.equals(name);
+
+            if (port && literal.length() > 0 && literal.charAt(literal.length() - 1) == ':') {
+                literal.setLength(literal.length() - 1);
+                addLiteral(segments, literal);
+                segments.add(PropertyBasedArtifactUrlHandler::appendPort);
+            } else if (!port && PLACEHOLDERS.containsKey(name)) {
+                addLiteral(segments, literal);
+                segments.add(PLACEHOLDERS.get(name));
             } else {
-                urlPattern = urlPattern.replace("{" + entry.getKey() + "}", entry.getValue());
+                literal.append(ref, open, close + 1);
             }
+            index = close + 1;
         }
-        return urlPattern;
+        addLiteral(segments, literal);
+
+        return Collections.unmodifiableList(segments);
     }
 
-    private static Map<String, String> getReplaceMap(final UrlProtocol protocol, final URLPlaceholder placeholder,
-            final URI requestUri) {
-        final Map<String, String> replaceMap = Maps.newHashMapWithExpectedSize(19);
-        replaceMap.put(IP_PLACEHOLDER, protocol.getIp());
-        replaceMap.put(HOSTNAME_PLACEHOLDER, protocol.getHostname());
-
-        replaceMap.put(HOSTNAME_REQUEST_PLACEHOLDER, getRequestHost(protocol, requestUri));
-        replaceMap.put(PORT_REQUEST_PLACEHOLDER, getRequestPort(protocol, requestUri));
-        replaceMap.put(HOSTNAME_WITH_DOMAIN_REQUEST_PLACEHOLDER, computeHostWithRequestDomain(protocol, requestUri));
-
-        replaceMap.put(ARTIFACT_FILENAME_PLACEHOLDER,
-                UrlEscapers.urlFragmentEscaper().escape(placeholder.getSoftwareData().getFilename()));
-        replaceMap.put(ARTIFACT_SHA1_PLACEHOLDER, placeholder.getSoftwareData().getSha1Hash());
-        replaceMap.put(PROTOCOL_PLACEHOLDER, protocol.getProtocol());
-        replaceMap.put(PORT_PLACEHOLDER, getPort(protocol));
-        replaceMap.put(TENANT_PLACEHOLDER, placeholder.getTenant());
-        replaceMap.put(TENANT_ID_BASE10_PLACEHOLDER, String.valueOf(placeholder.getTenantId()));
-        replaceMap.put(TENANT_ID_BASE62_PLACEHOLDER, Base62Util.fromBase10(placeholder.getTenantId()));
-        replaceMap.put(CONTROLLER_ID_PLACEHOLDER, placeholder.getControllerId());
-        replaceMap.put(TARGET_ID_BASE10_PLACEHOLDER, String.valueOf(placeholder.getTargetId()));
-        replaceMap.put(TARGET_ID_BASE62_PLACEHOLDER, Base62Util.fromBase10(placeholder.getTargetId()));
-        replaceMap.put(ARTIFACT_ID_BASE62_PLACEHOLDER,
-                Base62Util.fromBase10(placeholder.getSoftwareData().getArtifactId()));
-        replaceMap.put(ARTIFACT_ID_BASE10_PLACEHOLDER, String.valueOf(placeholder.getSoftwareData().getArtifactId()));
-        replaceMap.put(SOFTWARE_MODULE_ID_BASE10_PLACDEHOLDER,
-                String.valueOf(placeholder.getSoftwareData().getSoftwareModuleId()));
-        replaceMap.put(SOFTWARE_MODULE_ID_BASE62_PLACDEHOLDER,
-                Base62Util.fromBase10(placeholder.getSoftwareData().getSoftwareModuleId()));
-        return replaceMap;
-    }
-
-    private static String getRequestPort(final UrlProtocol protocol, final URI requestUri) {
-        if (requestUri == null) {
-            return getPort(protocol);
+    private static void addLiteral(final List<Segment> segments, final StringBuilder literal) {
+        if (literal.length() > 0) {
+            final String value = literal.toString();
+            segments.add((url, protocol, placeholder, requestUri, artifact) -> url.append(value));
+            literal.setLength(0);
         }
+    }
 
-        return requestUri.getPort() > 0 ? String.valueOf(requestUri.getPort()) : getPort(protocol);
+    private static Map<String, Segment> createPlaceholders() {
+        final Map<String, Segment> placeholders = new HashMap<>();
+        placeholders.put(IP_PLACEHOLDER, (url, protocol, placeholder, requestUri, artifact) -> append(url,
+                protocol.getIp()));
+        placeholders.put(HOSTNAME_PLACEHOLDER, (url, protocol, placeholder, requestUri, artifact) -> append(url,
+                protocol.getHostname()));
+        placeholders.put(HOSTNAME_REQUEST_PLACEHOLDER, (url, protocol, placeholder, requestUri, artifact) -> append(
+                url, getRequestHost(protocol, requestUri)));
+        placeholders.put(PORT_REQUEST_PLACEHOLDER,
+                (url, protocol, placeholder, requestUri, artifact) -> appendRequestPort(url, protocol, requestUri));
+        placeholders.put(HOSTNAME_WITH_DOMAIN_REQUEST_PLACEHOLDER,
+                (url, protocol, placeholder, requestUri, artifact) -> append(url,
+                        computeHostWithRequestDomain(protocol, requestUri)));
+        placeholders.put(ARTIFACT_FILENAME_PLACEHOLDER,
+                (url, protocol, placeholder, requestUri, artifact) -> url.append(artifact.escapedFilename));
+        placeholders.put(ARTIFACT_SHA1_PLACEHOLDER, (url, protocol, placeholder, requestUri, artifact) -> append(url,
+                placeholder.getSoftwareData().getSha1Hash()));
+        placeholders.put(PROTOCOL_PLACEHOLDER, (url, protocol, placeholder, requestUri, artifact) -> append(url,
+                protocol.getProtocol()));
+        placeholders.put(TENANT_PLACEHOLDER, (url, protocol, placeholder, requestUri, artifact) -> append(url,
+                placeholder.getTenant()));
+        placeholders.put(TENANT_ID_BASE10_PLACEHOLDER, (url, protocol, placeholder, requestUri, artifact) -> append(
+                url, placeholder.getTenantId()));
+        placeholders.put(TENANT_ID_BASE62_PLACEHOLDER,
+                (url, protocol, placeholder, requestUri, artifact) -> url.append(artifact.tenantIdBase62));
+        placeholders.put(CONTROLLER_ID_PLACEHOLDER, (url, protocol, placeholder, requestUri, artifact) -> append(url,
+                placeholder.getControllerId()));
+        placeholders.put(TARGET_ID_BASE10_PLACEHOLDER, (url, protocol, placeholder, requestUri, artifact) -> append(
+                url, placeholder.getTargetId()));
+        placeholders.put(TARGET_ID_BASE62_PLACEHOLDER, (url, protocol, placeholder, requestUri, artifact) -> url
+                .append(Base62Util.fromBase10(placeholder.getTargetId())));
+        placeholders.put(ARTIFACT_ID_BASE62_PLACEHOLDER,
+                (url, protocol, placeholder, requestUri, artifact) -> url.append(artifact.artifactIdBase62));
+        placeholders.put(ARTIFACT_ID_BASE10_PLACEHOLDER, (url, protocol, placeholder, requestUri, artifact) -> append(
+                url, placeholder.getSoftwareData().getArtifactId()));
+        placeholders.put(SOFTWARE_MODULE_ID_BASE10_PLACDEHOLDER,
+                (url, protocol, placeholder, requestUri, artifact) -> append(url,
+                        placeholder.getSoftwareData().getSoftwareModuleId()));
+        placeholders.put(SOFTWARE_MODULE_ID_BASE62_PLACDEHOLDER,
+                (url, protocol, placeholder, requestUri, artifact) -> url.append(artifact.softwareModuleIdBase62));
+        return Collections.unmodifiableMap(placeholders);
+    }
+
+    private static void append(final StringBuilder url, final String value) {
+        if (value != null) {
+            url.append(value);
+        }
+    }
+
+    private static void append(final StringBuilder url, final Long value) {
+        if (value != null) {
+            url.append(value.longValue());
+        }
+    }
+
+    private static void appendPort(final StringBuilder url, final UrlProtocol protocol,
+            final URLPlaceholder placeholder, final URI requestUri, final ArtifactSegments artifact) {
+        if (protocol.getPort() != null) {
+            url.append(':').append(protocol.getPort().intValue());
+        }
+    }
+
+    private static void appendRequestPort(final StringBuilder url, final UrlProtocol protocol,
+            final URI requestUri) {
+        if (requestUri != null && requestUri.getPort() > 0) {
+            url.append(requestUri.getPort());
+        } else if (protocol.getPort() != null) {
+            url.append(protocol.getPort().intValue());
+        }
     }
 
     private static String getRequestHost(final UrlProtocol protocol, final URI requestUri) {
@@ -154,10 +272,6 @@ public class PropertyBasedArtifactUrlHandler implements ArtifactUrlHandler {
         return Optional.ofNullable(requestUri.getHost()).orElse(protocol.getHostname());
     }
 
-    private static String getPort(final UrlProtocol protocol) {
-        return protocol.getPort() == null ? null : String.valueOf(protocol.getPort());
-    }
-
     private static String computeHostWithRequestDomain(final UrlProtocol protocol, final URI requestUri) {
 
         if (requestUri == null) {
@@ -182,4 +296,47 @@ public class PropertyBasedArtifactUrlHandler implements ArtifactUrlHandler {
         return host + "." + domain;
     }
 
+    /**
+     * Part of a compiled URL pattern.
+     */
+    @FunctionalInterface
+    private interface Segment {
+        void appendTo(StringBuilder url, UrlProtocol protocol, URLPlaceholder placeholder, URI requestUri,
+                ArtifactSegments artifact);
+    }
+
+    /**
+     * Values of the URL that only depend on the tenant and the artifact.
+     */
+    private static final class ArtifactSegments {
+        private final Long tenantId;
+        private final String filename;
+        private final Long softwareModuleId;
+        private final String escapedFilename;
+        private final String tenantIdBase62;
+        private final String artifactIdBase62;
+        private final String softwareModuleIdBase62;
+
+        private ArtifactSegments(final URLPlaceholder placeholder) {
+            final SoftwareData softwareData = placeholder.getSoftwareData();
+            tenantId = placeholder.getTenantId();
+            filename = softwareData.getFilename();
+            softwareModuleId = softwareData.getSoftwareModuleId();
+            escapedFilename = filename == null ? "" : UrlEscapers.urlFragmentEscaper().escape(filename);
+            tenantIdBase62 = toBase62(tenantId);
+            artifactIdBase62 = toBase62(softwareData.getArtifactId());
+            softwareModuleIdBase62 = toBase62(softwareModuleId);
+        }
+
+        private boolean isFor(final URLPlaceholder placeholder) {
+            final SoftwareData softwareData = placeholder.getSoftwareData();
+            return Objects.equals(tenantId, placeholder.getTenantId())
+                    && Objects.equals(filename, softwareData.getFilename())
+                    && Objects.equals(softwareModuleId, softwareData.getSoftwareModuleId());
+        }
+
+        private static String toBase62(final Long value) {
+            return value == null ? "" : Base62Util.fromBase10(value);
+        }
+    }
 }
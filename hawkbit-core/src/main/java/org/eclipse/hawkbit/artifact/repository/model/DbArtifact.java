@@ -8,8 +8,15 @@
  */
 package org.eclipse.hawkbit.artifact.repository.model;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+
+import com.google.common.base.Throwables;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Closeables;
 
 /**
  * Database representation of artifact.
@@ -69,6 +76,50 @@ public class DbArtifact {
         return fileInputStream;
     }
 
+    /**
+     * @return a new {@link FileChannel} on the binary if the artifact is
+     *         stored in a local file, which allows positioned reads of
+     *         ranges, or <code>null</code> if the binary is only available as
+     *         {@link #getFileInputStream()}. The channel needs to be closed by
+     *         the caller.
+     */
+    public FileChannel getFileChannel() {
+        return null;
+    }
+
+    /**
+     * @return the local file of the binary, which the servlet container can
+     *         send without copying it through the JVM, or <code>null</code>
+     *         if the binary is not stored in a local file that stays
+     *         available for the duration of a download
+     */
+    public File getFile() {
+        return null;
+    }
+
+    /**
+     * Opens the given range of the binary. The default implementation skips
+     * the {@link #getFileInputStream()} to the offset, repositories override
+     * it to read only the bytes of the range from their storage.
+     *
+     * @param offset
+     *            of the first byte of the range
+     * @param length
+     *            of the range in bytes
+     * @return a new {@link InputStream} which ends after the range. The stream
+     *         needs to be closed by the caller.
+     */
+    public InputStream getFileInputStream(final long offset, final long length) {
+        final InputStream in = getFileInputStream();
+        try {
+            ByteStreams.skipFully(in, offset);
+        } catch (final IOException e) {
+            Closeables.closeQuietly(in);
+            throw Throwables.propagate(e);
+        }
+        return ByteStreams.limit(in, length);
+    }
+
     public OutputStream getFileOutputStream() {
         return fileOutputStream;
     }
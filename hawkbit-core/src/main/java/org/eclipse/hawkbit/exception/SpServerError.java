@@ -62,6 +62,11 @@ public enum SpServerError {
     */
     SP_REST_SORT_PARAM_INVALID_DIRECTION("hawkbit.server.error.rest.param.invalidDirection", "The given sort parameter direction does not exist"),
 
+    /**
+    *
+    */
+    SP_REST_PAGING_PARAM_INVALID_NEXT("hawkbit.server.error.rest.param.invalidNext", "The given next parameter does not continue the requested listing"),
+
     /**
     *
     */
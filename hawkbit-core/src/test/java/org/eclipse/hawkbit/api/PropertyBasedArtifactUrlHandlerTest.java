@@ -191,4 +191,25 @@ public class PropertyBasedArtifactUrlHandlerTest {
                         + SOFTWAREMODULEID + "/artifacts/" + FILENAME)),
                 dmfUrls);
     }
+
+    @Test
+    @Description("Verfies that the compiled pattern omits an unset port, keeps unknown placeholders and renders the values of every artifact.")
+    public void urlGenerationWithCompiledPattern() {
+        final UrlProtocol proto = new UrlProtocol();
+        proto.setPort(null);
+        proto.setRef("{protocol}://{hostname}:{port}/{unknown}/{tenantIdBase62}/{softwareModuleIdBase62}/{artifactFileName}");
+        properties.getProtocols().put("download-http", proto);
+
+        final URLPlaceholder otherArtifact = new URLPlaceholder(TENANT, TENANT_ID, CONTROLLER_ID, TARGETID,
+                new SoftwareData(SOFTWAREMODULEID, "other file", ARTIFACTID + 1, SHA1HASH));
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(Lists.newArrayList(new ArtifactUrl("HTTP", "download-http", "http://localhost/{unknown}/"
+                    + Base62Util.fromBase10(TENANT_ID) + "/" + Base62Util.fromBase10(SOFTWAREMODULEID) + "/"
+                    + FILENAME)), urlHandlerUnderTest.getUrls(placeholder, ApiType.DDI));
+            assertEquals(Lists.newArrayList(new ArtifactUrl("HTTP", "download-http", "http://localhost/{unknown}/"
+                    + Base62Util.fromBase10(TENANT_ID) + "/" + Base62Util.fromBase10(SOFTWAREMODULEID) + "/"
+                    + "other%20file")), urlHandlerUnderTest.getUrls(otherArtifact, ApiType.DDI));
+        }
+    }
 }
@@ -0,0 +1,262 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.HawkbitServerProperties;
+import org.eclipse.hawkbit.ddi.json.model.DdiArtifactHash;
+import org.eclipse.hawkbit.repository.event.remote.DistributionSetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.RemoteIdEvent;
+import org.eclipse.hawkbit.repository.event.remote.SoftwareModuleDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetUpdateEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.SoftwareModuleUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.SoftwareModule;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Cache of the target independent part of the chunks of a distribution set,
+ * i.e. the software modules and their artifacts. The chunks of the thousands of
+ * targets of a rollout are then created without reading the modules and
+ * artifacts of the same distribution set again. Only the download links of the
+ * artifacts, which depend on the target and the request, are created on every
+ * request.
+ *
+ * A distribution set is removed from the cache if it or one of its software
+ * modules is updated or deleted. Creating, overriding or deleting an artifact
+ * publishes a {@link SoftwareModuleUpdatedEvent} of its software module, so
+ * the artifacts of the chunks are current as well.
+ */
+@Component
+public class ChunkSkeletonCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChunkSkeletonCache.class);
+
+    private final HawkbitServerProperties serverProperties;
+
+    private final TenantAware tenantAware;
+
+    private final Cache<String, List<ChunkSkeleton>> chunks;
+
+    /**
+     * Constructor.
+     *
+     * @param serverProperties
+     *            for the cache configuration
+     * @param tenantAware
+     *            to get the current tenant
+     */
+    @Autowired
+    public ChunkSkeletonCache(final HawkbitServerProperties serverProperties, final TenantAware tenantAware) {
+        this.serverProperties = serverProperties;
+        this.tenantAware = tenantAware;
+
+        final HawkbitServerProperties.ChunkCache config = serverProperties.getChunkCache();
+        chunks = CacheBuilder.newBuilder().maximumSize(config.getMaxSize())
+                .expireAfterWrite(config.getExpireAfterWrite(), MILLISECONDS).build();
+    }
+
+    /**
+     * Returns the chunks of the given distribution set, which are read from
+     * the distribution set only if they are not cached or the cache is
+     * disabled.
+     *
+     * @param distributionSet
+     *            to get the chunks for
+     * @return the target independent chunks
+     */
+    public List<ChunkSkeleton> getChunks(final DistributionSet distributionSet) {
+        if (!serverProperties.getChunkCache().isEnabled()) {
+            return ChunkSkeleton.of(distributionSet);
+        }
+
+        try {
+            return chunks.get(key(tenantAware.getCurrentTenant(), distributionSet.getId()),
+                    () -> ChunkSkeleton.of(distributionSet));
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Removes the updated distribution set from the cache.
+     *
+     * @param event
+     *            of the distribution set update
+     */
+    @EventListener(classes = DistributionSetUpdateEvent.class)
+    public void onDistributionSetUpdate(final DistributionSetUpdateEvent event) {
+        evictDistributionSet(event);
+    }
+
+    /**
+     * Removes the deleted distribution set from the cache.
+     *
+     * @param event
+     *            of the distribution set deletion
+     */
+    @EventListener(classes = DistributionSetDeletedEvent.class)
+    public void onDistributionSetDelete(final DistributionSetDeletedEvent event) {
+        evictDistributionSet(event);
+    }
+
+    /**
+     * Removes the distribution sets of the updated software module from the
+     * cache.
+     *
+     * @param event
+     *            of the software module update
+     */
+    @EventListener(classes = SoftwareModuleUpdatedEvent.class)
+    public void onSoftwareModuleUpdate(final SoftwareModuleUpdatedEvent event) {
+        evictSoftwareModule(event);
+    }
+
+    /**
+     * Removes the distribution sets of the deleted software module from the
+     * cache.
+     *
+     * @param event
+     *            of the software module deletion
+     */
+    @EventListener(classes = SoftwareModuleDeletedEvent.class)
+    public void onSoftwareModuleDelete(final SoftwareModuleDeletedEvent event) {
+        evictSoftwareModule(event);
+    }
+
+    private void evictDistributionSet(final RemoteIdEvent event) {
+        if (chunks.size() > 0) {
+            chunks.invalidate(key(event.getTenant(), event.getEntityId()));
+        }
+    }
+
+    private void evictSoftwareModule(final RemoteIdEvent event) {
+        if (chunks.size() == 0) {
+            return;
+        }
+
+        final String prefix = event.getTenant().toUpperCase() + "/";
+        final List<String> keys = chunks.asMap().entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(prefix) && entry.getValue().stream()
+                        .anyMatch(chunk -> chunk.getSoftwareModuleId().equals(event.getEntityId())))
+                .map(Map.Entry::getKey).collect(Collectors.toList());
+        LOG.debug("Software module {} changed, evicting chunks {}", event.getEntityId(), keys);
+        chunks.invalidateAll(keys);
+    }
+
+    private static String key(final String tenant, final Long distributionSetId) {
+        return tenant.toUpperCase() + "/" + distributionSetId;
+    }
+
+    /**
+     * Target independent part of a chunk.
+     */
+    public static final class ChunkSkeleton {
+        private final Long softwareModuleId;
+        private final String part;
+        private final String version;
+        private final String name;
+        private final List<ArtifactSkeleton> artifacts;
+
+        private ChunkSkeleton(final SoftwareModule module) {
+            softwareModuleId = module.getId();
+            part = module.getType().getKey();
+            version = module.getVersion();
+            name = module.getName();
+            artifacts = Collections.unmodifiableList(
+                    module.getArtifacts().stream().map(ArtifactSkeleton::new).collect(Collectors.toList()));
+        }
+
+        private static List<ChunkSkeleton> of(final DistributionSet distributionSet) {
+            return Collections.unmodifiableList(
+                    distributionSet.getModules().stream().map(ChunkSkeleton::new).collect(Collectors.toList()));
+        }
+
+        public Long getSoftwareModuleId() {
+            return softwareModuleId;
+        }
+
+        public String getPart() {
+            return part;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<ArtifactSkeleton> getArtifacts() {
+            return artifacts;
+        }
+
+        @Override
+        public String toString() {
+            return "ChunkSkeleton [softwareModuleId=" + softwareModuleId + ", part=" + part + ", version=" + version
+                    + ", name=" + name + ", artifacts=" + artifacts + "]";
+        }
+    }
+
+    /**
+     * Target independent part of an artifact of a chunk.
+     */
+    public static final class ArtifactSkeleton {
+        private final Long artifactId;
+        private final String filename;
+        private final long size;
+        private final DdiArtifactHash hashes;
+
+        private ArtifactSkeleton(final Artifact artifact) {
+            artifactId = artifact.getId();
+            filename = artifact.getFilename();
+            size = artifact.getSize();
+            hashes = new DdiArtifactHash(artifact.getSha1Hash(), artifact.getMd5Hash());
+        }
+
+        public Long getArtifactId() {
+            return artifactId;
+        }
+
+        public String getFilename() {
+            return filename;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public DdiArtifactHash getHashes() {
+            return hashes;
+        }
+
+        @Override
+        public String toString() {
+            return "ArtifactSkeleton [artifactId=" + artifactId + ", filename=" + filename + ", size=" + size
+                    + ", sha1=" + hashes.getSha1() + "]";
+        }
+    }
+}
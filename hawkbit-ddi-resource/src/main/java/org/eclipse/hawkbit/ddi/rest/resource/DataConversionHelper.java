@@ -30,10 +30,13 @@ import org.eclipse.hawkbit.ddi.json.model.DdiConfig;
 import org.eclipse.hawkbit.ddi.json.model.DdiControllerBase;
 import org.eclipse.hawkbit.ddi.json.model.DdiPolling;
 import org.eclipse.hawkbit.ddi.rest.api.DdiRestConstants;
+import org.eclipse.hawkbit.ddi.rest.resource.ChunkSkeletonCache.ArtifactSkeleton;
+import org.eclipse.hawkbit.ddi.rest.resource.ChunkSkeletonCache.ChunkSkeleton;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Artifact;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TenantMetaData;
 import org.eclipse.hawkbit.rest.data.ResponseList;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.springframework.hateoas.Link;
@@ -50,17 +53,40 @@ public final class DataConversionHelper {
 
     }
 
-    static List<DdiChunk> createChunks(final Target target, final Action uAction,
+    static List<DdiChunk> createChunks(final Target target, final List<ChunkSkeleton> chunks,
             final ArtifactUrlHandler artifactUrlHandler, final SystemManagement systemManagement,
             final HttpRequest request) {
-        return uAction.getDistributionSet().getModules().stream()
-                .map(module -> new DdiChunk(mapChunkLegacyKeys(module.getType().getKey()), module.getVersion(),
-                        module.getName(),
-                        createArtifacts(target, module, artifactUrlHandler, systemManagement, request)))
+        final TenantMetaData tenantMetadata = systemManagement.getTenantMetadata();
+
+        return chunks.stream()
+                .map(chunk -> new DdiChunk(mapChunkLegacyKeys(chunk.getPart()), chunk.getVersion(), chunk.getName(),
+                        new ResponseList<>(chunk.getArtifacts().stream()
+                                .map(artifact -> createArtifact(target, artifactUrlHandler, tenantMetadata,
+                                        chunk.getSoftwareModuleId(), artifact, request))
+                                .collect(Collectors.toList()))))
                 .collect(Collectors.toList());
 
     }
 
+    private static DdiArtifact createArtifact(final Target target, final ArtifactUrlHandler artifactUrlHandler,
+            final TenantMetaData tenantMetadata, final Long softwareModuleId, final ArtifactSkeleton artifact,
+            final HttpRequest request) {
+        final DdiArtifact file = new DdiArtifact();
+        file.setHashes(artifact.getHashes());
+        file.setFilename(artifact.getFilename());
+        file.setSize(artifact.getSize());
+
+        artifactUrlHandler
+                .getUrls(new URLPlaceholder(tenantMetadata.getTenant(), tenantMetadata.getId(),
+                        target.getControllerId(), target.getId(),
+                        new SoftwareData(softwareModuleId, artifact.getFilename(), artifact.getArtifactId(),
+                                artifact.getHashes().getSha1())),
+                        ApiType.DDI, request.getURI())
+                .forEach(entry -> file.add(new Link(entry.getRef()).withRel(entry.getRel())));
+
+        return file;
+    }
+
     private static String mapChunkLegacyKeys(final String key) {
         if ("application".equals(key)) {
             return "bApp";
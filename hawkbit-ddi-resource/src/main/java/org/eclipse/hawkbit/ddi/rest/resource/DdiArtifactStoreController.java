@@ -14,6 +14,7 @@ import java.util.List;
 
 import javax.servlet.http.HttpServletRequest;
 
+import org.eclipse.hawkbit.HawkbitServerProperties;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
 import org.eclipse.hawkbit.ddi.dl.rest.api.DdiDlArtifactStoreControllerRestApi;
 import org.eclipse.hawkbit.im.authentication.UserPrincipal;
@@ -63,6 +64,9 @@ public class DdiArtifactStoreController implements DdiDlArtifactStoreControllerR
     @Autowired
     private HawkbitSecurityProperties securityProperties;
 
+    @Autowired
+    private HawkbitServerProperties serverProperties;
+
     @Autowired
     private RequestResponseContextHolder requestResponseContextHolder;
 
@@ -102,11 +106,12 @@ public class DdiArtifactStoreController implements DdiDlArtifactStoreControllerR
                 result = RestResourceConversionHelper.writeFileResponse(artifact,
                         requestResponseContextHolder.getHttpServletResponse(),
                         requestResponseContextHolder.getHttpServletRequest(), file, controllerManagement,
-                        actionStatus.getId());
+                        actionStatus.getId(), serverProperties.getDownload().getAsync());
             } else {
                 result = RestResourceConversionHelper.writeFileResponse(artifact,
                         requestResponseContextHolder.getHttpServletResponse(),
-                        requestResponseContextHolder.getHttpServletRequest(), file);
+                        requestResponseContextHolder.getHttpServletRequest(), file, null, null,
+                        serverProperties.getDownload().getAsync());
             }
 
         }
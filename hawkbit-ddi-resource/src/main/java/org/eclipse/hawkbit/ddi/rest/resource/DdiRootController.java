@@ -10,12 +10,15 @@ package org.eclipse.hawkbit.ddi.rest.resource;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 
+import org.eclipse.hawkbit.HawkbitServerProperties;
 import org.eclipse.hawkbit.api.ArtifactUrlHandler;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
 import org.eclipse.hawkbit.ddi.json.model.DdiActionFeedback;
@@ -29,6 +32,7 @@ import org.eclipse.hawkbit.ddi.json.model.DdiDeployment.HandlingType;
 import org.eclipse.hawkbit.ddi.json.model.DdiDeploymentBase;
 import org.eclipse.hawkbit.ddi.json.model.DdiResult.FinalResult;
 import org.eclipse.hawkbit.ddi.rest.api.DdiRootControllerRestApi;
+import org.eclipse.hawkbit.ddi.rest.resource.ChunkSkeletonCache.ChunkSkeleton;
 import org.eclipse.hawkbit.repository.ArtifactManagement;
 import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.EntityFactory;
@@ -43,6 +47,7 @@ import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.Artifact;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.rest.util.DeepEtag;
 import org.eclipse.hawkbit.rest.util.RequestResponseContextHolder;
 import org.eclipse.hawkbit.rest.util.RestResourceConversionHelper;
 import org.eclipse.hawkbit.security.HawkbitSecurityProperties;
@@ -88,6 +93,9 @@ public class DdiRootController implements DdiRootControllerRestApi {
     @Autowired
     private HawkbitSecurityProperties securityProperties;
 
+    @Autowired
+    private HawkbitServerProperties serverProperties;
+
     @Autowired
     private TenantAware tenantAware;
 
@@ -100,6 +108,9 @@ public class DdiRootController implements DdiRootControllerRestApi {
     @Autowired
     private RequestResponseContextHolder requestResponseContextHolder;
 
+    @Autowired
+    private ChunkSkeletonCache chunkSkeletonCache;
+
     @Autowired
     private EntityFactory entityFactory;
 
@@ -131,11 +142,32 @@ public class DdiRootController implements DdiRootControllerRestApi {
             @PathVariable("controllerId") final String controllerId) {
         LOG.debug("getControllerBase({})", controllerId);
 
-        final Target target = controllerManagement.findOrRegisterTargetIfItDoesNotexist(controllerId, IpUtil
-                .getClientIpFromRequest(requestResponseContextHolder.getHttpServletRequest(), securityProperties));
-        return new ResponseEntity<>(DataConversionHelper.fromTarget(target,
-                controllerManagement.findOldestActiveActionByTarget(controllerId),
-                controllerManagement.getPollingTime(), tenantAware), HttpStatus.OK);
+        final URI address = IpUtil.getClientIpFromRequest(requestResponseContextHolder.getHttpServletRequest(),
+                securityProperties);
+
+        final Optional<Target> idleTarget = controllerManagement.findIdleTargetAndUpdateLastTargetQuery(controllerId,
+                address);
+        if (idleTarget.isPresent()) {
+            return controllerBase(idleTarget.get(), Optional.empty());
+        }
+
+        final Target target = controllerManagement.findOrRegisterTargetIfItDoesNotexist(controllerId, address);
+        return controllerBase(target, controllerManagement.findOldestActiveActionByTarget(controllerId));
+    }
+
+    private ResponseEntity<DdiControllerBase> controllerBase(final Target target, final Optional<Action> action) {
+        final String pollingTime = controllerManagement.getPollingTime();
+        if (DeepEtag.checkNotModified(requestResponseContextHolder.getHttpServletRequest(),
+                requestResponseContextHolder.getHttpServletResponse(), pollingTime,
+                target.getTargetInfo().isRequestControllerAttributes(), action.map(Action::getId).orElse(null),
+                action.map(Action::getOptLockRevision).orElse(null),
+                action.map(Action::isCancelingOrCanceled).orElse(null),
+                action.map(a -> a.isHitAutoForceTime(System.currentTimeMillis())).orElse(null))) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        }
+
+        return new ResponseEntity<>(DataConversionHelper.fromTarget(target, action, pollingTime, tenantAware),
+                HttpStatus.OK);
     }
 
     @Override
@@ -170,7 +202,7 @@ public class DdiRootController implements DdiRootControllerRestApi {
                 result = RestResourceConversionHelper.writeFileResponse(artifact,
                         requestResponseContextHolder.getHttpServletResponse(),
                         requestResponseContextHolder.getHttpServletRequest(), file, controllerManagement,
-                        action.getId());
+                        action.getId(), serverProperties.getDownload().getAsync());
             }
         }
         return result;
@@ -245,12 +277,21 @@ public class DdiRootController implements DdiRootControllerRestApi {
 
         if (!action.isCancelingOrCanceled()) {
 
-            final List<DdiChunk> chunks = DataConversionHelper.createChunks(target, action, artifactUrlHandler,
+            final List<ChunkSkeleton> skeletons = chunkSkeletonCache.getChunks(action.getDistributionSet());
+            final HandlingType handlingType = action.isForce() ? HandlingType.FORCED : HandlingType.ATTEMPT;
+
+            if (DeepEtag.checkNotModified(requestResponseContextHolder.getHttpServletRequest(),
+                    requestResponseContextHolder.getHttpServletResponse(), action.getId(),
+                    action.getOptLockRevision(), handlingType, skeletons)) {
+                controllerManagement.registerRetrieved(action.getId(), RepositoryConstants.SERVER_MESSAGE_PREFIX
+                        + "Target retrieved update action and should start now the download.");
+                return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+            }
+
+            final List<DdiChunk> chunks = DataConversionHelper.createChunks(target, skeletons, artifactUrlHandler,
                     systemManagement,
                     new ServletServerHttpRequest(requestResponseContextHolder.getHttpServletRequest()));
 
-            final HandlingType handlingType = action.isForce() ? HandlingType.FORCED : HandlingType.ATTEMPT;
-
             final DdiDeploymentBase base = new DdiDeploymentBase(Long.toString(action.getId()),
                     new DdiDeployment(handlingType, handlingType, chunks));
 
@@ -8,6 +8,7 @@
  */
 package org.eclipse.hawkbit.ddi.rest.resource;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -20,6 +21,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
@@ -28,7 +30,19 @@ import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
 
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
 import org.apache.commons.lang3.RandomUtils;
+import org.eclipse.hawkbit.HawkbitServerProperties;
 import org.eclipse.hawkbit.ddi.rest.resource.DdiArtifactDownloadTest.DownloadTestConfiguration;
 import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
 import org.eclipse.hawkbit.repository.model.Action;
@@ -38,19 +52,24 @@ import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.test.util.TestdataFactory;
 import org.eclipse.hawkbit.repository.test.util.WithUser;
+import org.eclipse.hawkbit.rest.util.FilterHttpResponse;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.SpringApplicationConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.google.common.base.Charsets;
 import com.google.common.collect.Lists;
 import com.google.common.net.HttpHeaders;
+import com.jayway.awaitility.Awaitility;
 
 import ru.yandex.qatools.allure.annotations.Description;
 import ru.yandex.qatools.allure.annotations.Features;
@@ -69,6 +88,12 @@ public class DdiArtifactDownloadTest extends AbstractDDiApiIntegrationTest {
     private volatile static int downLoadProgress = 0;
     private volatile static long shippedBytes = 0;
 
+    @Autowired
+    private HawkbitServerProperties serverProperties;
+
+    @Autowired
+    private FilterHttpResponse filterHttpResponse;
+
     private final SimpleDateFormat dateFormat = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.ENGLISH);
 
     @Before
@@ -497,6 +522,150 @@ public class DdiArtifactDownloadTest extends AbstractDDiApiIntegrationTest {
 
     }
 
+    @Test
+    @WithUser(principal = TestdataFactory.DEFAULT_CONTROLLER_ID, authorities = "ROLE_CONTROLLER", allSpPermissions = true)
+    @Description("Tests full, standard range and multipart range downloads in the asynchronous download mode. "
+            + "The response is owned by the write listener only, i.e. it is not touched by the controller.")
+    public void asyncDownloadArtifactByName() throws Exception {
+        downLoadProgress = 1;
+        shippedBytes = 0;
+
+        // create target
+        final Target target = testdataFactory.createTarget();
+        final List<Target> targets = Lists.newArrayList(target);
+
+        // create ds
+        final DistributionSet ds = testdataFactory.createDistributionSet("");
+
+        // create artifact
+        final byte random[] = RandomUtils.nextBytes(ARTIFACT_SIZE);
+        final Artifact artifact = artifactManagement.createArtifact(new ByteArrayInputStream(random), getOsModule(ds),
+                "file1", false);
+        assignDistributionSet(ds, targets);
+
+        final NonBlockingResponseFilter nonBlockingFilter = new NonBlockingResponseFilter();
+        final MockMvc asyncMvc = MockMvcBuilders.webAppContextSetup(context).addFilter(nonBlockingFilter)
+                .addFilter(filterHttpResponse).build();
+
+        serverProperties.getDownload().getAsync().setEnabled(true);
+        try {
+            // full download
+            MvcResult result = asyncMvc
+                    .perform(get("/{tenant}/controller/artifacts/v1/filename/{filename}",
+                            tenantAware.getCurrentTenant(), "file1"))
+                    .andExpect(status().isOk()).andExpect(header().string("ETag", artifact.getSha1Hash()))
+                    .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                    .andExpect(header().longValue("Content-Length", ARTIFACT_SIZE))
+                    .andExpect(header().string("Content-Disposition", "attachment;filename=file1")).andReturn();
+
+            assertThat(nonBlockingFilter.writtenAsynchronously).isTrue();
+            assertThat(nonBlockingFilter.touchedByDispatch).isFalse();
+            assertThat(result.getResponse().getContentAsByteArray()).isEqualTo(random);
+            assertThat(downLoadProgress).isEqualTo(10);
+            assertThat(shippedBytes).isEqualTo(ARTIFACT_SIZE);
+
+            // standard range download
+            result = asyncMvc
+                    .perform(get("/{tenant}/controller/artifacts/v1/filename/{filename}",
+                            tenantAware.getCurrentTenant(), "file1").header("Range", "bytes=1000-1999"))
+                    .andExpect(status().isPartialContent()).andExpect(header().longValue("Content-Length", 1000))
+                    .andExpect(header().string("Content-Range", "bytes 1000-1999/" + ARTIFACT_SIZE)).andReturn();
+
+            assertThat(nonBlockingFilter.writtenAsynchronously).isTrue();
+            assertThat(nonBlockingFilter.touchedByDispatch).isFalse();
+            assertThat(result.getResponse().getContentAsByteArray())
+                    .isEqualTo(Arrays.copyOfRange(random, 1000, 2000));
+
+            // multipart range download
+            result = asyncMvc
+                    .perform(get("/{tenant}/controller/artifacts/v1/filename/{filename}",
+                            tenantAware.getCurrentTenant(), "file1").header("Range", "bytes=0-9,10-19"))
+                    .andExpect(status().isPartialContent())
+                    .andExpect(content().contentType("multipart/byteranges; boundary=THIS_STRING_SEPARATES_MULTIPART"))
+                    .andReturn();
+
+            assertThat(nonBlockingFilter.writtenAsynchronously).isTrue();
+            assertThat(nonBlockingFilter.touchedByDispatch).isFalse();
+
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            outputStream.write("\r\n--THIS_STRING_SEPARATES_MULTIPART\r\n".getBytes(StandardCharsets.ISO_8859_1));
+            outputStream
+                    .write(("Content-Range: bytes 0-9/" + ARTIFACT_SIZE + "\r\n").getBytes(StandardCharsets.ISO_8859_1));
+            outputStream.write(Arrays.copyOfRange(random, 0, 10));
+            outputStream.write("\r\n--THIS_STRING_SEPARATES_MULTIPART\r\n".getBytes(StandardCharsets.ISO_8859_1));
+            outputStream.write(
+                    ("Content-Range: bytes 10-19/" + ARTIFACT_SIZE + "\r\n").getBytes(StandardCharsets.ISO_8859_1));
+            outputStream.write(Arrays.copyOfRange(random, 10, 20));
+            outputStream.write("\r\n--THIS_STRING_SEPARATES_MULTIPART--".getBytes(StandardCharsets.ISO_8859_1));
+
+            assertThat(result.getResponse().getContentAsByteArray()).isEqualTo(outputStream.toByteArray());
+        } finally {
+            serverProperties.getDownload().getAsync().setEnabled(false);
+        }
+    }
+
+    @Test
+    @WithUser(principal = TestdataFactory.DEFAULT_CONTROLLER_ID, authorities = "ROLE_CONTROLLER", allSpPermissions = true)
+    @Description("Tests that full and standard range downloads of a file system artifact are handed over to the sendfile "
+            + "support of the container and that the download progress is reported for the handed over range.")
+    public void sendfileDownloadArtifactByName() throws Exception {
+        downLoadProgress = 1;
+        shippedBytes = 0;
+
+        // create target
+        final Target target = testdataFactory.createTarget();
+        final List<Target> targets = Lists.newArrayList(target);
+
+        // create ds
+        final DistributionSet ds = testdataFactory.createDistributionSet("");
+
+        // create artifact
+        final byte random[] = RandomUtils.nextBytes(ARTIFACT_SIZE);
+        final Artifact artifact = artifactManagement.createArtifact(new ByteArrayInputStream(random), getOsModule(ds),
+                "file1", false);
+        assignDistributionSet(ds, targets);
+        final String filename = binaryArtifactRepository.getArtifactBySha1(artifact.getSha1Hash()).getFile()
+                .getCanonicalPath();
+
+        // full download
+        MvcResult result = mvc
+                .perform(get("/{tenant}/controller/artifacts/v1/filename/{filename}", tenantAware.getCurrentTenant(),
+                        "file1").requestAttr("org.apache.tomcat.sendfile.support", Boolean.TRUE))
+                .andExpect(status().isOk()).andExpect(header().string("ETag", artifact.getSha1Hash()))
+                .andExpect(header().longValue("Content-Length", ARTIFACT_SIZE)).andReturn();
+
+        assertThat(result.getResponse().getContentAsByteArray()).isEmpty();
+        assertThat(result.getRequest().getAttribute("org.apache.tomcat.sendfile.filename")).isEqualTo(filename);
+        assertThat(result.getRequest().getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(0L);
+        assertThat(result.getRequest().getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo((long) ARTIFACT_SIZE);
+        // the progress event is delivered asynchronously
+        Awaitility.await().atMost(5, SECONDS).until(() -> downLoadProgress == 2);
+        assertThat(shippedBytes).isEqualTo(ARTIFACT_SIZE);
+
+        // standard range download
+        result = mvc
+                .perform(get("/{tenant}/controller/artifacts/v1/filename/{filename}", tenantAware.getCurrentTenant(),
+                        "file1").header("Range", "bytes=1000-100999")
+                                .requestAttr("org.apache.tomcat.sendfile.support", Boolean.TRUE))
+                .andExpect(status().isPartialContent()).andExpect(header().longValue("Content-Length", 100000))
+                .andExpect(header().string("Content-Range", "bytes 1000-100999/" + ARTIFACT_SIZE)).andReturn();
+
+        assertThat(result.getResponse().getContentAsByteArray()).isEmpty();
+        assertThat(result.getRequest().getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(1000L);
+        assertThat(result.getRequest().getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(101000L);
+
+        // small ranges are written by the application
+        result = mvc
+                .perform(get("/{tenant}/controller/artifacts/v1/filename/{filename}", tenantAware.getCurrentTenant(),
+                        "file1").header("Range", "bytes=1000-1999")
+                                .requestAttr("org.apache.tomcat.sendfile.support", Boolean.TRUE))
+                .andExpect(status().isPartialContent()).andExpect(header().longValue("Content-Length", 1000))
+                .andReturn();
+
+        assertThat(result.getRequest().getAttribute("org.apache.tomcat.sendfile.filename")).isNull();
+        assertThat(result.getResponse().getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(random, 1000, 2000));
+    }
+
     @Test
     @Description("Ensures that the download fails if te controller is not authenticated.")
     public void faildDownloadArtifactByNameIfAuthenticationMissing() throws Exception {
@@ -545,6 +714,101 @@ public class DdiArtifactDownloadTest extends AbstractDDiApiIntegrationTest {
                 .isEqualTo(new String(artifact.getMd5Hash() + "  file1.tar.bz2").getBytes(Charsets.US_ASCII));
     }
 
+    /**
+     * Filter which provides the non-blocking output stream of a container.
+     * The {@link WriteListener} is called after the request has been
+     * dispatched, like the container does when the request thread is
+     * released.
+     */
+    private static final class NonBlockingResponseFilter implements Filter {
+
+        private volatile boolean writtenAsynchronously;
+        private volatile boolean touchedByDispatch;
+
+        @Override
+        public void init(final FilterConfig filterConfig) {
+            // not needed
+        }
+
+        @Override
+        public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain)
+                throws IOException, ServletException {
+            final NonBlockingResponse nonBlockingResponse = new NonBlockingResponse((HttpServletResponse) response);
+            chain.doFilter(request, nonBlockingResponse);
+
+            touchedByDispatch = nonBlockingResponse.touchedAfterAsyncStart || response.isCommitted();
+            writtenAsynchronously = nonBlockingResponse.writeListener != null;
+            if (writtenAsynchronously) {
+                nonBlockingResponse.writeListener.onWritePossible();
+            }
+        }
+
+        @Override
+        public void destroy() {
+            // not needed
+        }
+    }
+
+    private static final class NonBlockingResponse extends HttpServletResponseWrapper {
+
+        private WriteListener writeListener;
+        private boolean touchedAfterAsyncStart;
+
+        private NonBlockingResponse(final HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void setStatus(final int sc) {
+            touchedAfterAsyncStart |= writeListener != null;
+            super.setStatus(sc);
+        }
+
+        @Override
+        public void setHeader(final String name, final String value) {
+            touchedAfterAsyncStart |= writeListener != null;
+            super.setHeader(name, value);
+        }
+
+        @Override
+        public void addHeader(final String name, final String value) {
+            touchedAfterAsyncStart |= writeListener != null;
+            super.addHeader(name, value);
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            touchedAfterAsyncStart |= writeListener != null;
+            super.flushBuffer();
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            final ServletOutputStream out = super.getOutputStream();
+            return new ServletOutputStream() {
+                @Override
+                public void write(final int b) throws IOException {
+                    out.write(b);
+                }
+
+                @Override
+                public void write(final byte[] b, final int off, final int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(final WriteListener listener) {
+                    writeListener = listener;
+                }
+            };
+        }
+    }
+
     public static class DownloadTestConfiguration {
 
         @Bean
@@ -8,6 +8,7 @@
  */
 package org.eclipse.hawkbit.ddi.rest.resource;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.Matchers.contains;
@@ -25,8 +26,12 @@ import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 import org.apache.commons.lang3.RandomUtils;
+import org.eclipse.hawkbit.HawkbitServerProperties;
+import org.eclipse.hawkbit.ddi.rest.resource.ChunkSkeletonCache.ArtifactSkeleton;
+import org.eclipse.hawkbit.ddi.rest.resource.ChunkSkeletonCache.ChunkSkeleton;
 import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetCreatedEvent;
@@ -49,12 +54,15 @@ import org.eclipse.hawkbit.rest.util.JsonBuilder;
 import org.eclipse.hawkbit.rest.util.MockMvcResultPrinter;
 import org.fest.assertions.core.Condition;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.http.MediaType;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
 import org.springframework.test.web.servlet.MvcResult;
 
 import com.google.common.collect.Lists;
+import com.jayway.awaitility.Awaitility;
 import com.jayway.jsonpath.JsonPath;
 
 import ru.yandex.qatools.allure.annotations.Description;
@@ -70,6 +78,12 @@ public class DdiDeploymentBaseTest extends AbstractDDiApiIntegrationTest {
 
     private static final String HTTP_LOCALHOST = "http://localhost:8080/";
 
+    @Autowired
+    private HawkbitServerProperties serverProperties;
+
+    @Autowired
+    private ChunkSkeletonCache chunkSkeletonCache;
+
     @Test
     @Description("Ensures that artifacts are not found, when softare module does not exists.")
     public void artifactsNotFound() throws Exception {
@@ -269,6 +283,78 @@ public class DdiDeploymentBaseTest extends AbstractDDiApiIntegrationTest {
                 .toString()).isNotEqualTo(urlBeforeSwitch);
     }
 
+    @Test
+    @Description("Verifies that the chunks of a distribution set are cached and read again after a module update.")
+    public void deploymentChunksAreCached() throws Exception {
+        final DistributionSet ds = testdataFactory.createDistributionSet("", true);
+        artifactManagement.createArtifact(new ByteArrayInputStream(RandomUtils.nextBytes(1024)), getOsModule(ds),
+                "test1", false);
+        final Target target = testdataFactory.createTarget("4712");
+        final Long actionId = assignDistributionSet(ds.getId(), target.getControllerId()).getActions().get(0);
+
+        serverProperties.getChunkCache().setEnabled(true);
+        try {
+            final List<ChunkSkeleton> chunks = chunkSkeletonCache.getChunks(ds);
+            assertThat(chunkSkeletonCache.getChunks(ds)).isSameAs(chunks);
+
+            mvc.perform(get("/{tenant}/controller/v1/4712/deploymentBase/" + actionId, tenantAware.getCurrentTenant())
+                    .accept(MediaType.APPLICATION_JSON)).andDo(MockMvcResultPrinter.print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.deployment.chunks[?(@.part==os)].artifacts[0].filename", contains("test1")))
+                    .andExpect(jsonPath("$.deployment.chunks[?(@.part==os)].artifacts[0]._links.download.href",
+                            contains(HTTP_LOCALHOST + tenantAware.getCurrentTenant()
+                                    + "/controller/v1/4712/softwaremodules/" + getOsModule(ds) + "/artifacts/test1")));
+
+            softwareManagement.updateSoftwareModule(
+                    entityFactory.softwareModule().update(getOsModule(ds)).description("changed"));
+            // the update event is delivered asynchronously
+            Awaitility.await().atMost(5, SECONDS).until(
+                    new DelegatingSecurityContextCallable<>(() -> chunkSkeletonCache.getChunks(ds) != chunks));
+        } finally {
+            serverProperties.getChunkCache().setEnabled(false);
+        }
+    }
+
+    @Test
+    @Description("Verifies that the cached chunks of a distribution set follow the creation, override and deletion of the artifacts of its modules.")
+    public void deploymentChunksFollowArtifactChanges() throws Exception {
+        final DistributionSet ds = testdataFactory.createDistributionSet("", true);
+        artifactManagement.createArtifact(new ByteArrayInputStream(RandomUtils.nextBytes(1024)), getOsModule(ds),
+                "test1", false);
+
+        serverProperties.getChunkCache().setEnabled(true);
+        try {
+            assertThat(getOsArtifacts(ds)).hasSize(1);
+
+            final Artifact added = artifactManagement.createArtifact(
+                    new ByteArrayInputStream(RandomUtils.nextBytes(1024)), getOsModule(ds), "test2", false);
+            awaitOsArtifacts(ds, artifacts -> artifacts.size() == 2);
+
+            final Artifact overridden = artifactManagement.createArtifact(
+                    new ByteArrayInputStream(RandomUtils.nextBytes(1024)), getOsModule(ds), "test1", true);
+            awaitOsArtifacts(ds, artifacts -> artifacts.stream()
+                    .anyMatch(artifact -> artifact.getHashes().getMd5().equals(overridden.getMd5Hash())));
+
+            artifactManagement.deleteArtifact(added.getId());
+            awaitOsArtifacts(ds, artifacts -> artifacts.size() == 1);
+        } finally {
+            serverProperties.getChunkCache().setEnabled(false);
+        }
+    }
+
+    private List<ArtifactSkeleton> getOsArtifacts(final DistributionSet ds) {
+        return chunkSkeletonCache
+                .getChunks(distributionSetManagement.findDistributionSetByIdWithDetails(ds.getId())).stream()
+                .filter(chunk -> chunk.getSoftwareModuleId().equals(getOsModule(ds))).findFirst().get()
+                .getArtifacts();
+    }
+
+    private void awaitOsArtifacts(final DistributionSet ds, final Predicate<List<ArtifactSkeleton>> condition) {
+        // the update event is delivered asynchronously
+        Awaitility.await().atMost(5, SECONDS)
+                .until(new DelegatingSecurityContextCallable<>(() -> condition.test(getOsArtifacts(ds))));
+    }
+
     @Test
     @Description("Attempt/soft deployment to a controller. Checks if the resource reponse payload  for a given deployment is as expected.")
     public void deplomentAttemptAction() throws Exception {
@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.amqp;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.builder.ActionStatusCreate;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the action status updates of the concurrent DMF listener threads
+ * and persists them in batches, i.e. one transaction per tenant and batch
+ * instead of one per message. The listener threads wait for the result of
+ * their batch, so every message is still acknowledged or rejected on its own.
+ *
+ * If a batch fails as a whole the listener threads are told to add their
+ * status on their own, so that only the faulty message is rejected.
+ */
+class ActionStatusBatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ActionStatusBatcher.class);
+
+    private final BlockingQueue<PendingStatus> queue = new LinkedBlockingQueue<>();
+
+    private final BiFunction<String, List<ActionStatusCreate>, List<Action>> bulkUpdate;
+
+    private final int maxSize;
+
+    private final long maxWait;
+
+    private final ExecutorService executor;
+
+    private volatile boolean running = true;
+
+    /**
+     * Constructor.
+     *
+     * @param bulkUpdate
+     *            persists the status updates of one tenant
+     * @param maxSize
+     *            maximum number of status updates per batch
+     * @param maxWait
+     *            time in milliseconds a batch waits for further status
+     *            updates
+     */
+    ActionStatusBatcher(final BiFunction<String, List<ActionStatusCreate>, List<Action>> bulkUpdate,
+            final int maxSize, final long maxWait) {
+        this.bulkUpdate = bulkUpdate;
+        this.maxSize = Math.max(1, maxSize);
+        this.maxWait = maxWait;
+
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "dmf-action-status-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::collect);
+    }
+
+    /**
+     * Hands the status update over to the next batch and waits until the
+     * batch is persisted.
+     *
+     * @param tenant
+     *            of the status update
+     * @param create
+     *            the status update
+     * @return the updated {@link Action} or empty if the caller has to add the
+     *         status on its own, e.g. as the batch failed
+     */
+    Optional<Action> submit(final String tenant, final ActionStatusCreate create) {
+        if (!running) {
+            return Optional.empty();
+        }
+
+        final PendingStatus pending = new PendingStatus(tenant, create);
+        queue.add(pending);
+
+        // the batcher may have been shut down in the meantime
+        if (!running && queue.remove(pending)) {
+            return Optional.empty();
+        }
+
+        return pending.result.join();
+    }
+
+    /**
+     * Stops the batching. Pending status updates are handed back to the
+     * listener threads.
+     */
+    void shutdown() {
+        running = false;
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        final List<PendingStatus> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        pending.forEach(PendingStatus::retryOnCaller);
+    }
+
+    private void collect() {
+        final List<PendingStatus> batch = new ArrayList<>(maxSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                fill(batch);
+                persist(batch);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.forEach(PendingStatus::retryOnCaller);
+                batch.clear();
+            }
+        }
+    }
+
+    private void fill(final List<PendingStatus> batch) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + maxWait;
+        while (batch.size() < maxSize) {
+            final long remaining = deadline - System.currentTimeMillis();
+            final PendingStatus next = remaining > 0 ? queue.poll(remaining, TimeUnit.MILLISECONDS) : queue.poll();
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void persist(final List<PendingStatus> batch) {
+        final Map<String, List<PendingStatus>> byTenant = batch.stream()
+                .collect(Collectors.groupingBy(p -> p.tenant, LinkedHashMap::new, Collectors.toList()));
+
+        byTenant.forEach((tenant, tenantBatch) -> {
+            try {
+                final List<Action> actions = bulkUpdate.apply(tenant,
+                        tenantBatch.stream().map(p -> p.create).collect(Collectors.toList()));
+                for (int i = 0; i < tenantBatch.size(); i++) {
+                    tenantBatch.get(i).result.complete(Optional.of(actions.get(i)));
+                }
+                LOG.debug("Persisted batch of {} action status updates for tenant {}", tenantBatch.size(), tenant);
+            } catch (final RuntimeException e) {
+                LOG.debug("Batch of {} action status updates for tenant {} failed, falling back to single updates",
+                        tenantBatch.size(), tenant, e);
+            }
+        });
+    }
+
+    private static final class PendingStatus {
+        private final String tenant;
+        private final ActionStatusCreate create;
+        private final CompletableFuture<Optional<Action>> result = new CompletableFuture<>();
+
+        private PendingStatus(final String tenant, final ActionStatusCreate create) {
+            this.tenant = tenant;
+            this.create = create;
+        }
+
+        private void retryOnCaller() {
+            result.complete(Optional.empty());
+        }
+    }
+}
@@ -26,6 +26,7 @@ import org.eclipse.hawkbit.repository.TargetManagement;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.security.DdiSecurityProperties;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.eclipse.hawkbit.security.TargetSecurityTokenCache;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -301,7 +302,7 @@ public class AmqpConfiguration {
             final AmqpMessageDispatcherService amqpMessageDispatcherService,
             final ControllerManagement controllerManagement, final EntityFactory entityFactory) {
         return new AmqpMessageHandlerService(rabbitTemplate, amqpMessageDispatcherService, controllerManagement,
-                entityFactory);
+                entityFactory, amqpProperties.getActionStatusBatch());
     }
 
     /**
@@ -360,8 +361,8 @@ public class AmqpConfiguration {
      *
      * @param systemManagement
      *            the systemManagement
-     * @param controllerManagement
-     *            the controllerManagement
+     * @param securityTokenCache
+     *            the securityTokenCache
      * @param tenantConfigurationManagement
      *            the tenantConfigurationManagement
      * @param tenantAware
@@ -375,10 +376,10 @@ public class AmqpConfiguration {
     @Bean
     @ConditionalOnMissingBean(AmqpControllerAuthentication.class)
     public AmqpControllerAuthentication amqpControllerAuthentication(final SystemManagement systemManagement,
-            final ControllerManagement controllerManagement,
+            final TargetSecurityTokenCache securityTokenCache,
             final TenantConfigurationManagement tenantConfigurationManagement, final TenantAware tenantAware,
             final DdiSecurityProperties ddiSecruityProperties, final SystemSecurityContext systemSecurityContext) {
-        return new AmqpControllerAuthentication(systemManagement, controllerManagement, tenantConfigurationManagement,
+        return new AmqpControllerAuthentication(systemManagement, securityTokenCache, tenantConfigurationManagement,
                 tenantAware, ddiSecruityProperties, systemSecurityContext);
     }
 
@@ -406,7 +407,8 @@ public class AmqpConfiguration {
             final SystemSecurityContext systemSecurityContext, final SystemManagement systemManagement,
             final TargetManagement targetManagement) {
         return new AmqpMessageDispatcherService(rabbitTemplate, amqpSenderService, artifactUrlHandler,
-                systemSecurityContext, systemManagement, targetManagement, serviceMatcher);
+                systemSecurityContext, systemManagement, targetManagement, serviceMatcher,
+                amqpProperties.getDispatchBatch());
     }
 
     private static Map<String, Object> getTTLMaxArgsAuthenticationQueue() {
@@ -26,6 +26,7 @@ import org.eclipse.hawkbit.security.DdiSecurityProperties;
 import org.eclipse.hawkbit.security.PreAuthTokenSourceTrustAuthenticationProvider;
 import org.eclipse.hawkbit.security.PreAuthentificationFilter;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.eclipse.hawkbit.security.TargetSecurityTokenCache;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,7 +47,7 @@ public class AmqpControllerAuthentication {
 
     private List<PreAuthentificationFilter> filterChain;
 
-    private final ControllerManagement controllerManagement;
+    private final TargetSecurityTokenCache securityTokenCache;
 
     private final SystemManagement systemManagement;
 
@@ -75,7 +76,29 @@ public class AmqpControllerAuthentication {
             final ControllerManagement controllerManagement,
             final TenantConfigurationManagement tenantConfigurationManagement, final TenantAware tenantAware,
             final DdiSecurityProperties ddiSecruityProperties, final SystemSecurityContext systemSecurityContext) {
-        this.controllerManagement = controllerManagement;
+        this(systemManagement, new TargetSecurityTokenCache(controllerManagement, systemSecurityContext),
+                tenantConfigurationManagement, tenantAware, ddiSecruityProperties, systemSecurityContext);
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param systemManagement
+     * @param securityTokenCache
+     *            to read the target security tokens
+     * @param tenantConfigurationManagement
+     * @param tenantAware
+     *            current tenant
+     * @param ddiSecruityProperties
+     *            security configurations
+     * @param systemSecurityContext
+     *            security context
+     */
+    public AmqpControllerAuthentication(final SystemManagement systemManagement,
+            final TargetSecurityTokenCache securityTokenCache,
+            final TenantConfigurationManagement tenantConfigurationManagement, final TenantAware tenantAware,
+            final DdiSecurityProperties ddiSecruityProperties, final SystemSecurityContext systemSecurityContext) {
+        this.securityTokenCache = securityTokenCache;
         this.systemManagement = systemManagement;
         this.tenantConfigurationManagement = tenantConfigurationManagement;
         this.tenantAware = tenantAware;
@@ -104,7 +127,7 @@ public class AmqpControllerAuthentication {
         filterChain.add(securityHeaderFilter);
 
         final ControllerPreAuthenticateSecurityTokenFilter securityTokenFilter = new ControllerPreAuthenticateSecurityTokenFilter(
-                tenantConfigurationManagement, controllerManagement, tenantAware, systemSecurityContext);
+                tenantConfigurationManagement, securityTokenCache, tenantAware, systemSecurityContext);
         filterChain.add(securityTokenFilter);
 
         final ControllerPreAuthenticatedAnonymousDownload anonymousDownloadFilter = new ControllerPreAuthenticatedAnonymousDownload(
@@ -11,9 +11,15 @@ package org.eclipse.hawkbit.amqp;
 import java.net.URI;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import javax.annotation.PreDestroy;
+
 import org.eclipse.hawkbit.api.ApiType;
 import org.eclipse.hawkbit.api.ArtifactUrl;
 import org.eclipse.hawkbit.api.ArtifactUrlHandler;
@@ -28,11 +34,15 @@ import org.eclipse.hawkbit.dmf.json.model.DownloadAndUpdateRequest;
 import org.eclipse.hawkbit.dmf.json.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.event.remote.RemoteTenantAwareEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.CancelTargetAssignmentEvent;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TenantMetaData;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.util.IpUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -47,15 +57,23 @@ import org.springframework.context.event.EventListener;
  * Additionally the dispatcher listener/subscribe for some target events e.g.
  * assignment.
  *
+ * If {@link AmqpProperties.DispatchBatch} is enabled the assignment and cancel
+ * events are dispatched in batches by a {@link DispatchBatcher}. The targets
+ * and the tenant metadata are then loaded once per tenant and batch instead
+ * of once per event.
+ *
  */
 public class AmqpMessageDispatcherService extends BaseAmqpService {
 
+    private static final Logger LOG = LoggerFactory.getLogger(AmqpMessageDispatcherService.class);
+
     private final ArtifactUrlHandler artifactUrlHandler;
     private final AmqpSenderService amqpSenderService;
     private final SystemSecurityContext systemSecurityContext;
     private final SystemManagement systemManagement;
     private final TargetManagement targetManagement;
     private final ServiceMatcher serviceMatcher;
+    private final DispatchBatcher dispatchBatcher;
 
     /**
      * Constructor.
@@ -80,6 +98,35 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
             final ArtifactUrlHandler artifactUrlHandler, final SystemSecurityContext systemSecurityContext,
             final SystemManagement systemManagement, final TargetManagement targetManagement,
             final ServiceMatcher serviceMatcher) {
+        this(rabbitTemplate, amqpSenderService, artifactUrlHandler, systemSecurityContext, systemManagement,
+                targetManagement, serviceMatcher, new AmqpProperties.DispatchBatch());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param rabbitTemplate
+     *            the rabbitTemplate
+     * @param amqpSenderService
+     *            to send AMQP message
+     * @param artifactUrlHandler
+     *            for generating download URLs
+     * @param systemSecurityContext
+     *            for execution with system permissions
+     * @param systemManagement
+     *            the systemManagement
+     * @param targetManagement
+     *            to access target information
+     * @param serviceMatcher
+     *            to check in cluster case if the message is from the same
+     *            cluster node
+     * @param dispatchBatch
+     *            configuration of the batched dispatch
+     */
+    public AmqpMessageDispatcherService(final RabbitTemplate rabbitTemplate, final AmqpSenderService amqpSenderService,
+            final ArtifactUrlHandler artifactUrlHandler, final SystemSecurityContext systemSecurityContext,
+            final SystemManagement systemManagement, final TargetManagement targetManagement,
+            final ServiceMatcher serviceMatcher, final AmqpProperties.DispatchBatch dispatchBatch) {
         super(rabbitTemplate);
         this.artifactUrlHandler = artifactUrlHandler;
         this.amqpSenderService = amqpSenderService;
@@ -87,6 +134,20 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         this.systemManagement = systemManagement;
         this.targetManagement = targetManagement;
         this.serviceMatcher = serviceMatcher;
+        this.dispatchBatcher = dispatchBatch.isEnabled()
+                ? new DispatchBatcher(this::dispatchBatch, dispatchBatch.getMaxSize(), dispatchBatch.getMaxWait(),
+                        dispatchBatch.getMaxPending())
+                : null;
+    }
+
+    /**
+     * Stops the batched dispatch and sends the pending messages.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (dispatchBatcher != null) {
+            dispatchBatcher.shutdown();
+        }
     }
 
     /**
@@ -98,7 +159,7 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
      */
     @EventListener(classes = TargetAssignDistributionSetEvent.class)
     public void targetAssignDistributionSet(final TargetAssignDistributionSetEvent assignedEvent) {
-        if (isFromSelf(assignedEvent)) {
+        if (isFromSelf(assignedEvent) || submitToBatch(assignedEvent)) {
             return;
         }
 
@@ -109,6 +170,12 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
 
     void sendUpdateMessageToTarget(final String tenant, final Target target, final Long actionId,
             final Collection<org.eclipse.hawkbit.repository.model.SoftwareModule> modules) {
+        sendUpdateMessageToTarget(tenant, target, actionId, modules, systemManagement::getTenantMetadata);
+    }
+
+    private void sendUpdateMessageToTarget(final String tenant, final Target target, final Long actionId,
+            final Collection<org.eclipse.hawkbit.repository.model.SoftwareModule> modules,
+            final Supplier<TenantMetaData> tenantMetadataSupplier) {
         if (target == null) {
             return;
         }
@@ -118,6 +185,7 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
             return;
         }
 
+        final TenantMetaData tenantMetadata = tenantMetadataSupplier.get();
         final DownloadAndUpdateRequest downloadAndUpdateRequest = new DownloadAndUpdateRequest();
         downloadAndUpdateRequest.setActionId(actionId);
 
@@ -125,7 +193,8 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         downloadAndUpdateRequest.setTargetSecurityToken(targetSecurityToken);
 
         for (final org.eclipse.hawkbit.repository.model.SoftwareModule softwareModule : modules) {
-            final SoftwareModule amqpSoftwareModule = convertToAmqpSoftwareModule(target, softwareModule);
+            final SoftwareModule amqpSoftwareModule = convertToAmqpSoftwareModule(target, softwareModule,
+                    tenantMetadata);
             downloadAndUpdateRequest.addSoftwareModule(amqpSoftwareModule);
         }
 
@@ -143,18 +212,67 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
      */
     @EventListener(classes = CancelTargetAssignmentEvent.class)
     public void targetCancelAssignmentToDistributionSet(final CancelTargetAssignmentEvent cancelEvent) {
-        if (isFromSelf(cancelEvent)) {
+        if (isFromSelf(cancelEvent) || submitToBatch(cancelEvent)) {
             return;
         }
 
-        sendCancelMessageToTarget(cancelEvent.getTenant(), cancelEvent.getEntity().getControllerId(),
-                cancelEvent.getActionId(), cancelEvent.getEntity().getTargetInfo().getAddress());
+        sendCancelMessageToTarget(cancelEvent.getTenant(), cancelEvent.getControllerId(), cancelEvent.getActionId(),
+                getTargetAddress(cancelEvent));
     }
 
     private boolean isFromSelf(final RemoteApplicationEvent event) {
         return serviceMatcher != null && !serviceMatcher.isFromSelf(event);
     }
 
+    private boolean submitToBatch(final RemoteTenantAwareEvent event) {
+        return dispatchBatcher != null && dispatchBatcher.submit(event);
+    }
+
+    private void dispatchBatch(final List<RemoteTenantAwareEvent> batch) {
+        final Map<String, List<RemoteTenantAwareEvent>> byTenant = batch.stream()
+                .collect(Collectors.groupingBy(RemoteTenantAwareEvent::getTenant, LinkedHashMap::new,
+                        Collectors.toList()));
+
+        byTenant.forEach((tenant, events) -> {
+            try {
+                systemSecurityContext.runAsSystemAsTenant(() -> {
+                    dispatchAsTenant(tenant, events);
+                    return null;
+                }, tenant);
+            } catch (final RuntimeException e) {
+                LOG.error("Failed to dispatch {} events of tenant {}", events.size(), tenant, e);
+            }
+        });
+    }
+
+    private void dispatchAsTenant(final String tenant, final List<RemoteTenantAwareEvent> events) {
+        final List<String> controllerIds = events.stream().filter(TargetAssignDistributionSetEvent.class::isInstance)
+                .map(event -> ((TargetAssignDistributionSetEvent) event).getControllerId()).distinct()
+                .collect(Collectors.toList());
+        final Map<String, Target> targets = controllerIds.isEmpty() ? Collections.emptyMap()
+                : targetManagement.findTargetByControllerID(controllerIds).stream()
+                        .collect(Collectors.toMap(Target::getControllerId, Function.identity()));
+        final TenantMetaData tenantMetadata = controllerIds.isEmpty() ? null : systemManagement.getTenantMetadata();
+
+        for (final RemoteTenantAwareEvent event : events) {
+            if (event instanceof TargetAssignDistributionSetEvent) {
+                final TargetAssignDistributionSetEvent assignedEvent = (TargetAssignDistributionSetEvent) event;
+                sendUpdateMessageToTarget(tenant, targets.get(assignedEvent.getControllerId()),
+                        assignedEvent.getActionId(), assignedEvent.getModules(), () -> tenantMetadata);
+            } else if (event instanceof CancelTargetAssignmentEvent) {
+                final CancelTargetAssignmentEvent cancelEvent = (CancelTargetAssignmentEvent) event;
+                sendCancelMessageToTarget(tenant, cancelEvent.getControllerId(), cancelEvent.getActionId(),
+                        getTargetAddress(cancelEvent));
+            }
+        }
+        LOG.debug("Dispatched {} events of tenant {} for {} targets", events.size(), tenant, targets.size());
+    }
+
+    private static URI getTargetAddress(final CancelTargetAssignmentEvent cancelEvent) {
+        final String address = cancelEvent.getTargetAddress();
+        return address == null ? null : URI.create(address);
+    }
+
     void sendCancelMessageToTarget(final String tenant, final String controllerId, final Long actionId,
             final URI address) {
         if (!IpUtil.isAmqpUri(address)) {
@@ -186,34 +304,36 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
     }
 
     private SoftwareModule convertToAmqpSoftwareModule(final Target target,
-            final org.eclipse.hawkbit.repository.model.SoftwareModule softwareModule) {
+            final org.eclipse.hawkbit.repository.model.SoftwareModule softwareModule,
+            final TenantMetaData tenantMetadata) {
         final SoftwareModule amqpSoftwareModule = new SoftwareModule();
         amqpSoftwareModule.setModuleId(softwareModule.getId());
         amqpSoftwareModule.setModuleType(softwareModule.getType().getKey());
         amqpSoftwareModule.setModuleVersion(softwareModule.getVersion());
 
-        final List<Artifact> artifacts = convertArtifacts(target, softwareModule.getArtifacts());
+        final List<Artifact> artifacts = convertArtifacts(target, softwareModule.getArtifacts(), tenantMetadata);
         amqpSoftwareModule.setArtifacts(artifacts);
         return amqpSoftwareModule;
     }
 
     private List<Artifact> convertArtifacts(final Target target,
-            final List<org.eclipse.hawkbit.repository.model.Artifact> localArtifacts) {
+            final List<org.eclipse.hawkbit.repository.model.Artifact> localArtifacts,
+            final TenantMetaData tenantMetadata) {
         if (localArtifacts.isEmpty()) {
             return Collections.emptyList();
         }
 
-        return localArtifacts.stream().map(localArtifact -> convertArtifact(target, localArtifact))
+        return localArtifacts.stream().map(localArtifact -> convertArtifact(target, localArtifact, tenantMetadata))
                 .collect(Collectors.toList());
     }
 
     private Artifact convertArtifact(final Target target,
-            final org.eclipse.hawkbit.repository.model.Artifact localArtifact) {
+            final org.eclipse.hawkbit.repository.model.Artifact localArtifact, final TenantMetaData tenantMetadata) {
         final Artifact artifact = new Artifact();
 
         artifact.setUrls(artifactUrlHandler
-                .getUrls(new URLPlaceholder(systemManagement.getTenantMetadata().getTenant(),
-                        systemManagement.getTenantMetadata().getId(), target.getControllerId(), target.getId(),
+                .getUrls(new URLPlaceholder(tenantMetadata.getTenant(), tenantMetadata.getId(),
+                        target.getControllerId(), target.getId(),
                         new SoftwareData(localArtifact.getSoftwareModule().getId(), localArtifact.getFilename(),
                                 localArtifact.getId(), localArtifact.getSha1Hash())),
                         ApiType.DMF)
@@ -10,16 +10,20 @@ package org.eclipse.hawkbit.amqp;
 
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import javax.annotation.PreDestroy;
+
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.hawkbit.dmf.amqp.api.EventTopic;
 import org.eclipse.hawkbit.dmf.amqp.api.MessageHeaderKey;
 import org.eclipse.hawkbit.dmf.amqp.api.MessageType;
+import org.eclipse.hawkbit.dmf.json.model.ActionStatus;
 import org.eclipse.hawkbit.dmf.json.model.ActionUpdateStatus;
 import org.eclipse.hawkbit.dmf.json.model.AttributeUpdate;
 import org.eclipse.hawkbit.im.authentication.SpPermission.SpringEvalExpressions;
@@ -64,6 +68,8 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
 
     private final EntityFactory entityFactory;
 
+    private final ActionStatusBatcher actionStatusBatcher;
+
     /**
      * Constructor.
      * 
@@ -79,10 +85,46 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
     public AmqpMessageHandlerService(final RabbitTemplate rabbitTemplate,
             final AmqpMessageDispatcherService amqpMessageDispatcherService,
             final ControllerManagement controllerManagement, final EntityFactory entityFactory) {
+        this(rabbitTemplate, amqpMessageDispatcherService, controllerManagement, entityFactory,
+                new AmqpProperties.ActionStatusBatch());
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param rabbitTemplate
+     *            for converting messages
+     * @param amqpMessageDispatcherService
+     *            to sending events to DMF client
+     * @param controllerManagement
+     *            for target repo access
+     * @param entityFactory
+     *            to create entities
+     * @param actionStatusBatch
+     *            configuration of the batched action status persistence
+     */
+    public AmqpMessageHandlerService(final RabbitTemplate rabbitTemplate,
+            final AmqpMessageDispatcherService amqpMessageDispatcherService,
+            final ControllerManagement controllerManagement, final EntityFactory entityFactory,
+            final AmqpProperties.ActionStatusBatch actionStatusBatch) {
         super(rabbitTemplate);
         this.amqpMessageDispatcherService = amqpMessageDispatcherService;
         this.controllerManagement = controllerManagement;
         this.entityFactory = entityFactory;
+        this.actionStatusBatcher = actionStatusBatch.isEnabled()
+                ? new ActionStatusBatcher(this::addUpdateActionStatusesAsTenant, actionStatusBatch.getMaxSize(),
+                        actionStatusBatch.getMaxWait())
+                : null;
+    }
+
+    /**
+     * Stops the batched action status persistence, if enabled.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (actionStatusBatcher != null) {
+            actionStatusBatcher.shutdown();
+        }
     }
 
     /**
@@ -130,7 +172,7 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
                 setTenantSecurityContext(tenant);
                 final String topicValue = getStringHeaderKey(message, MessageHeaderKey.TOPIC, "EventTopic is null");
                 final EventTopic eventTopic = EventTopic.valueOf(topicValue);
-                handleIncomingEvent(message, eventTopic);
+                handleIncomingEvent(message, eventTopic, tenant);
                 break;
             default:
                 logAndThrowMessageError(message, "No handle method was found for the given message type.");
@@ -205,12 +247,14 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
      *            the incoming event message.
      * @param topic
      *            the topic of the event.
+     * @param tenant
+     *            the tenant of the event.
      */
-    private void handleIncomingEvent(final Message message, final EventTopic topic) {
+    private void handleIncomingEvent(final Message message, final EventTopic topic, final String tenant) {
 
         switch (topic) {
         case UPDATE_ACTION_STATUS:
-            updateActionStatus(message);
+            updateActionStatus(message, tenant);
             break;
         case UPDATE_ATTRIBUTES:
             updateAttributes(message);
@@ -234,22 +278,32 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
      *
      * @param actionUpdateStatus
      *            the object form the ampq message
+     * @param tenant
+     *            the tenant of the message
      */
-    private void updateActionStatus(final Message message) {
+    private void updateActionStatus(final Message message, final String tenant) {
         final ActionUpdateStatus actionUpdateStatus = convertMessage(message, ActionUpdateStatus.class);
-        final Action action = checkActionExist(message, actionUpdateStatus);
 
-        final List<String> messages = actionUpdateStatus.getMessage();
-        if (ArrayUtils.isNotEmpty(message.getMessageProperties().getCorrelationId())) {
-            messages.add(RepositoryConstants.SERVER_MESSAGE_PREFIX + "DMF message correlation-id "
-                    + convertCorrelationId(message));
+        if (isBatchable(actionUpdateStatus)) {
+            final Status status = mapStatus(message, actionUpdateStatus, null);
+            final Optional<Action> updated = actionStatusBatcher.submit(tenant,
+                    entityFactory.actionStatus().create(actionUpdateStatus.getActionId()).status(status)
+                            .messages(getMessages(message, actionUpdateStatus)));
+            if (updated.isPresent()) {
+                if (!updated.get().isActive()) {
+                    lookIfUpdateAvailable(updated.get().getTarget());
+                }
+                return;
+            }
         }
 
+        final Action action = checkActionExist(message, actionUpdateStatus);
+
         updateLastPollTime(action.getTarget());
 
         final Status status = mapStatus(message, actionUpdateStatus, action);
         final ActionStatusCreate actionStatus = entityFactory.actionStatus().create(action.getId()).status(status)
-                .messages(messages);
+                .messages(getMessages(message, actionUpdateStatus));
 
         final Action addUpdateActionStatus = getUpdateActionStatus(status, actionStatus);
 
@@ -258,6 +312,35 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
         }
     }
 
+    /**
+     * Cancel feedback depends on the current state of the action and is
+     * therefore never batched.
+     */
+    private boolean isBatchable(final ActionUpdateStatus actionUpdateStatus) {
+        final ActionStatus actionStatus = actionUpdateStatus.getActionStatus();
+        return actionStatusBatcher != null && actionUpdateStatus.getActionId() != null && actionStatus != null
+                && actionStatus != ActionStatus.CANCELED && actionStatus != ActionStatus.CANCEL_REJECTED;
+    }
+
+    private List<Action> addUpdateActionStatusesAsTenant(final String tenant, final List<ActionStatusCreate> creates) {
+        final SecurityContext oldContext = SecurityContextHolder.getContext();
+        try {
+            setTenantSecurityContext(tenant);
+            return controllerManagement.addUpdateActionStatuses(creates);
+        } finally {
+            SecurityContextHolder.setContext(oldContext);
+        }
+    }
+
+    private static List<String> getMessages(final Message message, final ActionUpdateStatus actionUpdateStatus) {
+        final List<String> messages = new ArrayList<>(actionUpdateStatus.getMessage());
+        if (ArrayUtils.isNotEmpty(message.getMessageProperties().getCorrelationId())) {
+            messages.add(RepositoryConstants.SERVER_MESSAGE_PREFIX + "DMF message correlation-id "
+                    + convertCorrelationId(message));
+        }
+        return messages;
+    }
+
     private Status mapStatus(final Message message, final ActionUpdateStatus actionUpdateStatus, final Action action) {
         Status status = null;
         switch (actionUpdateStatus.getActionStatus()) {
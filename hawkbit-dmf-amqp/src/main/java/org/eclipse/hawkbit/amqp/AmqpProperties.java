@@ -98,6 +98,21 @@ public class AmqpProperties {
      */
     private long requeueDelay = DEFAULT_REQUEUE_DELAY;
 
+    /**
+     * Batched persistence of action status updates.
+     */
+    private final ActionStatusBatch actionStatusBatch = new ActionStatusBatch();
+
+    private final DispatchBatch dispatchBatch = new DispatchBatch();
+
+    public ActionStatusBatch getActionStatusBatch() {
+        return actionStatusBatch;
+    }
+
+    public DispatchBatch getDispatchBatch() {
+        return dispatchBatch;
+    }
+
     public long getRequeueDelay() {
         return requeueDelay;
     }
@@ -193,4 +208,126 @@ public class AmqpProperties {
     public void setEnabled(final boolean enabled) {
         this.enabled = enabled;
     }
+
+    /**
+     * Configuration of the batched persistence of UPDATE_ACTION_STATUS
+     * events. If enabled the status updates that arrive concurrently on the
+     * listener threads are collected and persisted together per tenant.
+     */
+    public static class ActionStatusBatch {
+
+        private static final int DEFAULT_MAX_SIZE = 100;
+
+        /**
+         * Set to <code>true</code> to persist action status updates in
+         * batches.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of status updates that are persisted in one
+         * transaction.
+         */
+        private int maxSize = DEFAULT_MAX_SIZE;
+
+        /**
+         * Time in milliseconds a batch waits for further status updates
+         * before it is persisted. With the default of 0 a batch contains the
+         * updates that arrived while the previous one was persisted.
+         */
+        private long maxWait;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(final int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public long getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(final long maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+
+    /**
+     * Configuration of the batched dispatch of DOWNLOAD_AND_INSTALL and
+     * CANCEL_DOWNLOAD messages. If enabled the assignment and cancel events
+     * are collected and the targets of a batch are loaded together per
+     * tenant.
+     */
+    public static class DispatchBatch {
+
+        private static final int DEFAULT_MAX_SIZE = 500;
+
+        private static final long DEFAULT_MAX_WAIT = 100;
+
+        private static final int DEFAULT_MAX_PENDING = 10_000;
+
+        /**
+         * Set to <code>true</code> to dispatch the messages in batches.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of events that are dispatched in one batch.
+         */
+        private int maxSize = DEFAULT_MAX_SIZE;
+
+        /**
+         * Time in milliseconds a batch waits for further events before it is
+         * dispatched.
+         */
+        private long maxWait = DEFAULT_MAX_WAIT;
+
+        /**
+         * Maximum number of events waiting to be dispatched. If the limit is
+         * reached the events are dispatched one by one by the event listener.
+         */
+        private int maxPending = DEFAULT_MAX_PENDING;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(final int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public long getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(final long maxWait) {
+            this.maxWait = maxWait;
+        }
+
+        public int getMaxPending() {
+            return maxPending;
+        }
+
+        public void setMaxPending(final int maxPending) {
+            this.maxPending = maxPending;
+        }
+    }
 }
@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.amqp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.hawkbit.repository.event.remote.RemoteTenantAwareEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the assignment and cancel events of the targets and hands them over
+ * to the dispatcher in batches, so that the targets of a batch can be loaded
+ * together. The events are kept in the order of their arrival, i.e. the cancel
+ * message of an action is never sent before its update message.
+ *
+ * In contrast to the {@link ActionStatusBatcher} the event listeners do not
+ * wait for their batch. The number of pending events is limited. If the limit
+ * is still reached after waiting for the next batch, the event is rejected
+ * and the caller dispatches it on its own, in which case the order with the
+ * pending events is not guaranteed anymore.
+ */
+class DispatchBatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DispatchBatcher.class);
+
+    private static final long POLL_INTERVAL = 100;
+
+    private static final long SHUTDOWN_TIMEOUT = 10_000;
+
+    private final BlockingQueue<RemoteTenantAwareEvent> queue;
+
+    private final Consumer<List<RemoteTenantAwareEvent>> dispatch;
+
+    private final int maxSize;
+
+    private final long maxWait;
+
+    private final ExecutorService executor;
+
+    private volatile boolean running = true;
+
+    /**
+     * Constructor.
+     *
+     * @param dispatch
+     *            sends the messages of a batch
+     * @param maxSize
+     *            maximum number of events per batch
+     * @param maxWait
+     *            time in milliseconds a batch waits for further events
+     * @param maxPending
+     *            maximum number of events waiting to be dispatched
+     */
+    DispatchBatcher(final Consumer<List<RemoteTenantAwareEvent>> dispatch, final int maxSize, final long maxWait,
+            final int maxPending) {
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, maxPending));
+        this.dispatch = dispatch;
+        this.maxSize = Math.max(1, maxSize);
+        this.maxWait = maxWait;
+
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "dmf-dispatch-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::collect);
+    }
+
+    /**
+     * Hands the event over to the next batch.
+     *
+     * @param event
+     *            to dispatch
+     * @return <code>false</code> if the batcher is shut down or too many
+     *         events are pending and the caller has to dispatch the event on
+     *         its own
+     */
+    boolean submit(final RemoteTenantAwareEvent event) {
+        if (!running) {
+            return false;
+        }
+
+        try {
+            if (queue.offer(event, maxWait, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        LOG.warn("{} events are pending for dispatch, dispatching event {} directly", queue.size(), event);
+        return false;
+    }
+
+    /**
+     * Stops the batching, waits until the current batch is dispatched and
+     * dispatches the pending events on the calling thread.
+     */
+    void shutdown() {
+        running = false;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                LOG.warn("Dispatch of the current batch did not finish within {} ms", SHUTDOWN_TIMEOUT);
+                executor.shutdownNow();
+                executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        final List<RemoteTenantAwareEvent> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        if (!pending.isEmpty()) {
+            dispatch(pending);
+        }
+    }
+
+    private void collect() {
+        final List<RemoteTenantAwareEvent> batch = new ArrayList<>(maxSize);
+        while (running) {
+            try {
+                final RemoteTenantAwareEvent first = queue.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // the collected events are sent before the pending ones
+                dispatch(batch);
+                return;
+            }
+            dispatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void fill(final List<RemoteTenantAwareEvent> batch) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + maxWait;
+        while (batch.size() < maxSize) {
+            final long remaining = deadline - System.currentTimeMillis();
+            final RemoteTenantAwareEvent next = remaining > 0 ? queue.poll(remaining, TimeUnit.MILLISECONDS)
+                    : queue.poll();
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void dispatch(final List<RemoteTenantAwareEvent> batch) {
+        try {
+            dispatch.accept(batch);
+            LOG.debug("Dispatched batch of {} events", batch.size());
+        } catch (final RuntimeException e) {
+            LOG.error("Failed to dispatch batch of {} events", batch.size(), e);
+        }
+    }
+}
@@ -82,6 +82,8 @@ public class AmqpMessageDispatcherServiceTest extends AbstractIntegrationTest {
 
     private Target testTarget;
 
+    private ArtifactUrlHandler artifactUrlHandlerMock;
+
     @Override
     public void before() throws Exception {
         super.before();
@@ -93,7 +95,7 @@ public class AmqpMessageDispatcherServiceTest extends AbstractIntegrationTest {
 
         senderService = Mockito.mock(DefaultAmqpSenderService.class);
 
-        final ArtifactUrlHandler artifactUrlHandlerMock = Mockito.mock(ArtifactUrlHandler.class);
+        artifactUrlHandlerMock = Mockito.mock(ArtifactUrlHandler.class);
         when(artifactUrlHandlerMock.getUrls(anyObject(), anyObject()))
                 .thenReturn(Lists.newArrayList(new ArtifactUrl("http", "download", "http://mockurl")));
 
@@ -228,6 +230,38 @@ public class AmqpMessageDispatcherServiceTest extends AbstractIntegrationTest {
 
     }
 
+    @Test
+    @Description("Verfies that the batched dispatch sends the update and cancel message of an action in their order")
+    public void batchedDispatchKeepsOrderOfUpdateAndCancel() {
+        final AmqpProperties.DispatchBatch dispatchBatch = new AmqpProperties.DispatchBatch();
+        dispatchBatch.setEnabled(true);
+        final AmqpMessageDispatcherService batchedDispatcherService = new AmqpMessageDispatcherService(
+                rabbitTemplate, senderService, artifactUrlHandlerMock, systemSecurityContext, systemManagement,
+                targetManagement, serviceMatcher, dispatchBatch);
+
+        final Action action = createAction(testdataFactory.createDistributionSet(UUID.randomUUID().toString()));
+        try {
+            batchedDispatcherService.targetAssignDistributionSet(
+                    new TargetAssignDistributionSetEvent(action, serviceMatcher.getServiceId()));
+            batchedDispatcherService.targetCancelAssignmentToDistributionSet(
+                    new CancelTargetAssignmentEvent(testTarget, action.getId(), serviceMatcher.getServiceId()));
+
+            final ArgumentCaptor<Message> argumentCaptor = ArgumentCaptor.forClass(Message.class);
+            Mockito.verify(senderService, Mockito.timeout(5_000).times(2)).sendMessage(argumentCaptor.capture(),
+                    eq(AMQP_URI));
+
+            final List<Message> messages = argumentCaptor.getAllValues();
+            final DownloadAndUpdateRequest downloadAndUpdateRequest = assertDownloadAndInstallMessage(
+                    messages.get(0), action.getId());
+            assertThat(downloadAndUpdateRequest.getSoftwareModules()).hasSize(3);
+            assertEquals("The topic of the second message should be a CANCEL_DOWNLOAD value",
+                    EventTopic.CANCEL_DOWNLOAD, messages.get(1).getMessageProperties().getHeaders()
+                            .get(MessageHeaderKey.TOPIC));
+        } finally {
+            batchedDispatcherService.shutdown();
+        }
+    }
+
     private void assertCancelMessage(final Message sendMessage) {
         assertEventMessage(sendMessage);
         final Long actionId = convertMessage(sendMessage, Long.class);
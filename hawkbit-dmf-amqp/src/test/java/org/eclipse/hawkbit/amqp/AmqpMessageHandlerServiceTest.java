@@ -13,6 +13,7 @@ import static org.junit.Assert.fail;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -21,6 +22,7 @@ import java.lang.reflect.Field;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
@@ -433,6 +435,83 @@ public class AmqpMessageHandlerServiceTest {
 
     }
 
+    @Test
+    @Description("Verifies that an action status update is persisted in a batch if batching is enabled and the next update is looked up afterwards.")
+    public void updateActionStatusIsPersistedInBatch() throws IllegalAccessException {
+        final AmqpMessageHandlerService batchingHandlerService = createBatchingHandlerService();
+
+        // Mock
+        final Action action = createActionWithTarget(22L, Status.FINISHED);
+        when(controllerManagementMock.addUpdateActionStatuses(Matchers.any())).thenReturn(Arrays.asList(action));
+        mockActionStatusCreate(22L);
+        when(controllerManagementMock.findOldestActiveActionByTarget(Matchers.any())).thenReturn(Optional.of(action));
+
+        final MessageProperties messageProperties = createMessageProperties(MessageType.EVENT);
+        messageProperties.setHeader(MessageHeaderKey.TOPIC, EventTopic.UPDATE_ACTION_STATUS.name());
+        final Message message = batchingHandlerService.getMessageConverter()
+                .toMessage(createActionUpdateStatus(ActionStatus.FINISHED, 22L), messageProperties);
+
+        // test
+        try {
+            batchingHandlerService.onMessage(message, MessageType.EVENT.name(), TENANT, "vHost");
+        } finally {
+            batchingHandlerService.shutdown();
+        }
+
+        // verify
+        verify(controllerManagementMock).addUpdateActionStatuses(Matchers.any());
+        verify(controllerManagementMock, never()).addUpdateActionStatus(Matchers.any());
+        verify(amqpMessageDispatcherServiceMock).sendUpdateMessageToTarget(Matchers.eq(TENANT), Matchers.any(),
+                Matchers.eq(22L), Matchers.any(Collection.class));
+    }
+
+    @Test
+    @Description("Verifies that an action status update is persisted on its own if the batch fails.")
+    public void updateActionStatusFallsBackToSingleUpdateIfBatchFails() throws IllegalAccessException {
+        final AmqpMessageHandlerService batchingHandlerService = createBatchingHandlerService();
+
+        // Mock
+        final Action action = createActionWithTarget(22L, Status.RUNNING);
+        when(action.isActive()).thenReturn(true);
+        when(controllerManagementMock.addUpdateActionStatuses(Matchers.any()))
+                .thenThrow(new EntityNotFoundException("test"));
+        when(controllerManagementMock.findActionWithDetails(22L)).thenReturn(action);
+        when(controllerManagementMock.addUpdateActionStatus(Matchers.any())).thenReturn(action);
+        mockActionStatusCreate(22L);
+
+        final MessageProperties messageProperties = createMessageProperties(MessageType.EVENT);
+        messageProperties.setHeader(MessageHeaderKey.TOPIC, EventTopic.UPDATE_ACTION_STATUS.name());
+        final Message message = batchingHandlerService.getMessageConverter()
+                .toMessage(createActionUpdateStatus(ActionStatus.RUNNING, 22L), messageProperties);
+
+        // test
+        try {
+            batchingHandlerService.onMessage(message, MessageType.EVENT.name(), TENANT, "vHost");
+        } finally {
+            batchingHandlerService.shutdown();
+        }
+
+        // verify
+        verify(controllerManagementMock).updateLastTargetQuery(Matchers.eq("target1"), Matchers.isNull(URI.class));
+        verify(controllerManagementMock).addUpdateActionStatus(Matchers.any());
+    }
+
+    private AmqpMessageHandlerService createBatchingHandlerService() {
+        final AmqpProperties.ActionStatusBatch actionStatusBatch = new AmqpProperties.ActionStatusBatch();
+        actionStatusBatch.setEnabled(true);
+        return new AmqpMessageHandlerService(rabbitTemplate, amqpMessageDispatcherServiceMock,
+                controllerManagementMock, entityFactoryMock, actionStatusBatch);
+    }
+
+    private void mockActionStatusCreate(final Long actionId) {
+        final ActionStatusBuilder builder = mock(ActionStatusBuilder.class);
+        final ActionStatusCreate create = mock(ActionStatusCreate.class);
+        when(builder.create(actionId)).thenReturn(create);
+        when(create.status(Matchers.any())).thenReturn(create);
+        when(create.messages(Matchers.any())).thenReturn(create);
+        when(entityFactoryMock.actionStatus()).thenReturn(builder);
+    }
+
     private ActionUpdateStatus createActionUpdateStatus(final ActionStatus status) {
         return createActionUpdateStatus(status, 2L);
     }
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.amqp;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.hawkbit.repository.event.remote.RemoteTenantAwareEvent;
+import org.junit.Test;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Device Management Federation API")
+@Stories("Dispatch Batcher")
+public class DispatchBatcherTest {
+
+    private final List<List<RemoteTenantAwareEvent>> batches = new CopyOnWriteArrayList<>();
+
+    private final CountDownLatch dispatching = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final AtomicBoolean concurrentDispatch = new AtomicBoolean();
+
+    private final AtomicBoolean inDispatch = new AtomicBoolean();
+
+    @Test
+    @Description("Verifies that an event is rejected and has to be dispatched by the caller if too many events are pending.")
+    public void eventIsRejectedIfTooManyEventsArePending() throws InterruptedException {
+        final DispatchBatcher underTest = new DispatchBatcher(this::blockingDispatch, 1, 10, 1);
+        try {
+            assertThat(underTest.submit(event("first"))).isTrue();
+            assertThat(dispatching.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(underTest.submit(event("second"))).isTrue();
+            assertThat(underTest.submit(event("third"))).isFalse();
+        } finally {
+            release.countDown();
+            underTest.shutdown();
+        }
+        assertThat(batches).hasSize(2);
+    }
+
+    @Test
+    @Description("Verifies that the shutdown waits for the batch in dispatch before the pending events are dispatched.")
+    public void shutdownWaitsForCurrentBatchBeforePendingEventsAreDispatched() throws InterruptedException {
+        final DispatchBatcher underTest = new DispatchBatcher(this::blockingDispatch, 1, 10, 10);
+        final RemoteTenantAwareEvent first = event("first");
+        final RemoteTenantAwareEvent second = event("second");
+
+        underTest.submit(first);
+        assertThat(dispatching.await(5, TimeUnit.SECONDS)).isTrue();
+        underTest.submit(second);
+
+        final Thread releaser = new Thread(() -> {
+            sleep(200);
+            release.countDown();
+        });
+        releaser.start();
+        underTest.shutdown();
+        releaser.join();
+
+        assertThat(concurrentDispatch.get()).isFalse();
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(0)).containsExactly(first);
+        assertThat(batches.get(1)).containsExactly(second);
+        assertThat(underTest.submit(event("late"))).isFalse();
+    }
+
+    private void blockingDispatch(final List<RemoteTenantAwareEvent> batch) {
+        if (!inDispatch.compareAndSet(false, true)) {
+            concurrentDispatch.set(true);
+        }
+        try {
+            dispatching.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            batches.add(new ArrayList<>(batch));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inDispatch.set(false);
+        }
+    }
+
+    private static RemoteTenantAwareEvent event(final String source) {
+        return new RemoteTenantAwareEvent(source, "tenant", "node");
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -30,7 +30,7 @@ import org.eclipse.hawkbit.tenancy.TenantAware;
  */
 public class HttpControllerPreAuthenticateSecurityTokenFilter extends AbstractHttpControllerAuthenticationFilter {
 
-    private final ControllerManagement controllerManagement;
+    private final TargetSecurityTokenCache securityTokenCache;
 
     /**
      * Constructor.
@@ -50,13 +50,35 @@ public class HttpControllerPreAuthenticateSecurityTokenFilter extends AbstractHt
     public HttpControllerPreAuthenticateSecurityTokenFilter(
             final TenantConfigurationManagement tenantConfigurationManagement, final TenantAware tenantAware,
             final ControllerManagement controllerManagement, final SystemSecurityContext systemSecurityContext) {
+        this(tenantConfigurationManagement, tenantAware,
+                new TargetSecurityTokenCache(controllerManagement, systemSecurityContext), systemSecurityContext);
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param tenantConfigurationManagement
+     *            the system management service to retrieve configuration
+     *            properties
+     * @param tenantAware
+     *            the tenant aware service to get configuration for the specific
+     *            tenant
+     * @param securityTokenCache
+     *            the cache to retrieve the specific target security token to
+     *            verify
+     * @param systemSecurityContext
+     *            the system security context
+     */
+    public HttpControllerPreAuthenticateSecurityTokenFilter(
+            final TenantConfigurationManagement tenantConfigurationManagement, final TenantAware tenantAware,
+            final TargetSecurityTokenCache securityTokenCache, final SystemSecurityContext systemSecurityContext) {
         super(tenantConfigurationManagement, tenantAware, systemSecurityContext);
-        this.controllerManagement = controllerManagement;
+        this.securityTokenCache = securityTokenCache;
     }
 
     @Override
     protected PreAuthentificationFilter createControllerAuthenticationFilter() {
-        return new ControllerPreAuthenticateSecurityTokenFilter(tenantConfigurationManagement, controllerManagement,
+        return new ControllerPreAuthenticateSecurityTokenFilter(tenantConfigurationManagement, securityTokenCache,
                 tenantAware, systemSecurityContext);
     }
 
@@ -37,7 +37,9 @@ public class PagedList<T> extends ResourceSupport {
     @JsonProperty
     private final List<T> content;
     @JsonProperty
-    private final long total;
+    private final Long total;
+    @JsonProperty
+    private final String next;
     private final int size;
 
     /**
@@ -51,10 +53,30 @@ public class PagedList<T> extends ResourceSupport {
      * @throws NullPointerException
      *             in case {@code content} is {@code null}.
      */
+    public PagedList(final List<T> content, final long total) {
+        this(content, Long.valueOf(total), null);
+    }
+
+    /**
+     * creates a new paged list with the given {@code content}, {@code total}
+     * and {@code next} token.
+     *
+     * @param content
+     *            the actual content of the list
+     * @param total
+     *            the total amount of elements, {@code null} if not counted
+     * @param next
+     *            the token of the next slice of the list, {@code null} if
+     *            there is none
+     * @throws NullPointerException
+     *             in case {@code content} is {@code null}.
+     */
     @JsonCreator
-    public PagedList(@JsonProperty("content") @NotNull final List<T> content, @JsonProperty("total") final long total) {
+    public PagedList(@JsonProperty("content") @NotNull final List<T> content,
+            @JsonProperty("total") final Long total, @JsonProperty("next") final String next) {
         this.size = content.size();
         this.total = total;
+        this.next = next;
         this.content = content;
     }
 
@@ -66,12 +88,20 @@ public class PagedList<T> extends ResourceSupport {
     }
 
     /**
-     * @return the total amount of elements
+     * @return the total amount of elements, {@code null} if not counted
      */
-    public long getTotal() {
+    public Long getTotal() {
         return total;
     }
 
+    /**
+     * @return the token of the next slice of the list, {@code null} if there
+     *         is none
+     */
+    public String getNext() {
+        return next;
+    }
+
     public List<T> getContent() {
         return Collections.unmodifiableList(content);
     }
@@ -137,6 +137,21 @@ public final class MgmtRestConstants {
      */
     public static final String REQUEST_PARAMETER_PAGING_OFFSET = "offset";
 
+    /**
+     * Paging http parameter for the token of the next slice of a listing,
+     * which continues after the last entity of the previous slice instead of
+     * skipping an offset. The token is returned as {@code next} of the
+     * previous slice, the search and sort parameters have to be repeated.
+     */
+    public static final String REQUEST_PARAMETER_PAGING_NEXT = "next";
+
+    /**
+     * Paging http parameter to opt out of counting the total amount of
+     * entities of a listing. The total is counted by default unless the
+     * {@link #REQUEST_PARAMETER_PAGING_NEXT} parameter is given.
+     */
+    public static final String REQUEST_PARAMETER_PAGING_COUNT = "count";
+
     /**
      * The request parameter for sorting. The value of the sort parameter must
      * be in the following pattern. Example:
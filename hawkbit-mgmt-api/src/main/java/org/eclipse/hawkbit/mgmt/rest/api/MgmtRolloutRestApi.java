@@ -182,6 +182,13 @@ public interface MgmtRolloutRestApi {
      * @param rsqlParam
      *            the search parameter in the request URL, syntax
      *            {@code q=name==abc}
+     * @param nextParam
+     *            the token of the next slice of the list, which continues
+     *            after the last entity of the previous slice instead of
+     *            skipping an offset
+     * @param countParam
+     *            {@code false} to omit the total amount of entities, which is
+     *            counted by default unless a next token is given
      * @return a paged list of targets related to a specific rollout and rollout
      *         group.
      */
@@ -192,5 +199,7 @@ public interface MgmtRolloutRestApi {
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) final int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) final int pagingLimitParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam);
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_NEXT, required = false) final String nextParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_COUNT, required = false) final Boolean countParam);
 }
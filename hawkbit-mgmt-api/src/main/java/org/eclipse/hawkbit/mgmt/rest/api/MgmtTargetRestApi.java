@@ -59,6 +59,13 @@ public interface MgmtTargetRestApi {
      * @param rsqlParam
      *            the search parameter in the request URL, syntax
      *            {@code q=name==abc}
+     * @param nextParam
+     *            the token of the next slice of the list, which continues
+     *            after the last entity of the previous slice instead of
+     *            skipping an offset
+     * @param countParam
+     *            {@code false} to omit the total amount of entities, which is
+     *            counted by default unless a next token is given
      * @return a list of all targets for a defined or default page request with
      *         status OK. The response is always paged. In any failure the
      *         JsonResponseExceptionHandler is handling the response.
@@ -70,7 +77,9 @@ public interface MgmtTargetRestApi {
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) final int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) final int pagingLimitParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam);
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_NEXT, required = false) final String nextParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_COUNT, required = false) final Boolean countParam);
 
     /**
      * Handles the POST request of creating new targets. The request body must
@@ -149,6 +158,13 @@ public interface MgmtTargetRestApi {
      * @param rsqlParam
      *            the search parameter in the request URL, syntax
      *            {@code q=status==pending}
+     * @param nextParam
+     *            the token of the next slice of the list, which continues
+     *            after the last entity of the previous slice instead of
+     *            skipping an offset
+     * @param countParam
+     *            {@code false} to omit the total amount of entities, which is
+     *            counted by default unless a next token is given
      * @return a list of all Actions for a defined or default page request with
      *         status OK. The response is always paged. In any failure the
      *         JsonResponseExceptionHandler is handling the response.
@@ -159,7 +175,9 @@ public interface MgmtTargetRestApi {
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) final int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) final int pagingLimitParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam);
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_NEXT, required = false) final String nextParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_COUNT, required = false) final Boolean countParam);
 
     /**
      * Handles the GET request of retrieving a specific Actions of a specific
@@ -210,6 +228,13 @@ public interface MgmtTargetRestApi {
      * @param sortParam
      *            the sorting parameter in the request URL, syntax
      *            {@code field:direction, field:direction}
+     * @param nextParam
+     *            the token of the next slice of the list, which continues
+     *            after the last entity of the previous slice instead of
+     *            skipping an offset
+     * @param countParam
+     *            {@code false} to omit the total amount of entities, which is
+     *            counted by default unless a next token is given
      * @return a list of all ActionStatus for a defined or default page request
      *         with status OK. The response is always paged. In any failure the
      *         JsonResponseExceptionHandler is handling the response.
@@ -220,7 +245,9 @@ public interface MgmtTargetRestApi {
             @PathVariable("controllerId") final String controllerId, @PathVariable("actionId") final Long actionId,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) final int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) final int pagingLimitParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam);
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_NEXT, required = false) final String nextParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_COUNT, required = false) final Boolean countParam);
 
     /**
      * Handles the GET request of retrieving the assigned distribution set of an
@@ -41,6 +41,7 @@ import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
 import org.eclipse.hawkbit.repository.model.TargetWithActionType;
+import org.eclipse.hawkbit.rest.util.DeepEtag;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -113,6 +114,14 @@ public class MgmtDistributionSetResource implements MgmtDistributionSetRestApi {
     public ResponseEntity<MgmtDistributionSet> getDistributionSet(
             @PathVariable("distributionSetId") final Long distributionSetId) {
         final DistributionSet foundDs = findDistributionSetWithExceptionIfNotFound(distributionSetId);
+        // the modules are part of the response
+        final List<String> moduleRevisions = foundDs.getModules().stream()
+                .map(module -> module.getId() + ":" + module.getOptLockRevision()).sorted()
+                .collect(Collectors.toList());
+        if (DeepEtag.checkNotModified(foundDs.getId(), foundDs.getOptLockRevision(), foundDs.getLastModifiedAt(),
+                foundDs.getType().getId(), foundDs.getType().getOptLockRevision(), moduleRevisions)) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        }
 
         return new ResponseEntity<>(MgmtDistributionSetMapper.toResponse(foundDs), HttpStatus.OK);
     }
@@ -36,6 +36,7 @@ import org.eclipse.hawkbit.repository.model.Target;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -186,23 +187,37 @@ public class MgmtRolloutResource implements MgmtRolloutRestApi {
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) final int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) final int pagingLimitParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam) {
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_NEXT, required = false) final String nextParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_COUNT, required = false) final Boolean countParam) {
         findRolloutOrThrowException(rolloutId);
         final int sanitizedOffsetParam = PagingUtility.sanitizeOffsetParam(pagingOffsetParam);
         final int sanitizedLimitParam = PagingUtility.sanitizePageLimitParam(pagingLimitParam);
         final Sort sorting = PagingUtility.sanitizeTargetSortParam(sortParam);
 
-        final Pageable pageable = new OffsetBasedPageRequest(sanitizedOffsetParam, sanitizedLimitParam, sorting);
+        final Pageable pageable = PagingUtility.toPageRequest(sanitizedOffsetParam, sanitizedLimitParam, sorting,
+                nextParam);
 
-        final Page<Target> rolloutGroupTargets;
-        if (rsqlParam != null) {
-            rolloutGroupTargets = this.rolloutGroupManagement.findRolloutGroupTargets(groupId, rsqlParam, pageable);
+        final Slice<Target> rolloutGroupTargets;
+        final Long totalTargetCount;
+        if (!PagingUtility.isCounted(pageable, countParam)) {
+            rolloutGroupTargets = this.rolloutGroupManagement.findRolloutGroupTargetSlice(groupId, rsqlParam,
+                    pageable);
+            totalTargetCount = null;
         } else {
-            final Page<Target> pageTargets = this.rolloutGroupManagement.findRolloutGroupTargets(groupId, pageable);
+            final Page<Target> pageTargets;
+            if (rsqlParam != null) {
+                pageTargets = this.rolloutGroupManagement.findRolloutGroupTargets(groupId, rsqlParam, pageable);
+            } else {
+                pageTargets = this.rolloutGroupManagement.findRolloutGroupTargets(groupId, pageable);
+            }
+            totalTargetCount = pageTargets.getTotalElements();
             rolloutGroupTargets = pageTargets;
         }
         final List<MgmtTarget> rest = MgmtTargetMapper.toResponse(rolloutGroupTargets.getContent());
-        return new ResponseEntity<>(new PagedList<>(rest, rolloutGroupTargets.getTotalElements()), HttpStatus.OK);
+        return new ResponseEntity<>(
+                new PagedList<>(rest, totalTargetCount, PagingUtility.toNextParam(rolloutGroupTargets, pageable)),
+                HttpStatus.OK);
     }
 
     private Rollout findRolloutOrThrowException(final Long rolloutId) {
@@ -35,6 +35,7 @@ import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.model.Artifact;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
+import org.eclipse.hawkbit.rest.util.DeepEtag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -161,6 +162,10 @@ public class MgmtSoftwareModuleResource implements MgmtSoftwareModuleRestApi {
             @PathVariable("softwareModuleId") final Long softwareModuleId) {
 
         final SoftwareModule findBaseSoftareModule = findSoftwareModuleWithExceptionIfNotFound(softwareModuleId, null);
+        if (DeepEtag.checkNotModified(findBaseSoftareModule.getId(), findBaseSoftareModule.getOptLockRevision(),
+                findBaseSoftareModule.getLastModifiedAt(), findBaseSoftareModule.getType().getId())) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        }
         return ResponseEntity.ok(toResponse(findBaseSoftareModule));
     }
 
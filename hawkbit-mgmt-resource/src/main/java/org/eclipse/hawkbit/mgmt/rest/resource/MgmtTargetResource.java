@@ -16,6 +16,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.lang3.ArrayUtils;
 import org.eclipse.hawkbit.mgmt.json.model.PagedList;
 import org.eclipse.hawkbit.mgmt.json.model.action.MgmtAction;
 import org.eclipse.hawkbit.mgmt.json.model.action.MgmtActionStatus;
@@ -30,14 +31,16 @@ import org.eclipse.hawkbit.mgmt.rest.api.MgmtTargetRestApi;
 import org.eclipse.hawkbit.repository.ActionStatusFields;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.EntityFactory;
-import org.eclipse.hawkbit.repository.OffsetBasedPageRequest;
 import org.eclipse.hawkbit.repository.TargetManagement;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.ActionType;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
+import org.eclipse.hawkbit.repository.model.PollStatus;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetInfo;
 import org.eclipse.hawkbit.rest.data.SortDirection;
+import org.eclipse.hawkbit.rest.util.DeepEtag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -73,6 +76,15 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
     @Override
     public ResponseEntity<MgmtTarget> getTarget(@PathVariable("controllerId") final String controllerId) {
         final Target findTarget = findTargetWithExceptionIfNotFound(controllerId);
+        final TargetInfo targetInfo = findTarget.getTargetInfo();
+        final PollStatus pollStatus = targetInfo.getPollStatus();
+        if (DeepEtag.checkNotModified(findTarget.getId(), findTarget.getOptLockRevision(),
+                targetInfo.getUpdateStatus(), targetInfo.getAddress(), targetInfo.getLastTargetQuery(),
+                targetInfo.getInstallationDate(), pollStatus != null ? pollStatus.getNextPollDate() : null,
+                pollStatus != null ? pollStatus.isOverdue() : null)) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        }
+
         // to single response include poll status
         final MgmtTarget response = MgmtTargetMapper.toResponse(findTarget);
         MgmtTargetMapper.addPollStatus(findTarget, response);
@@ -86,16 +98,22 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) final int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) final int pagingLimitParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam) {
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_NEXT, required = false) final String nextParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_COUNT, required = false) final Boolean countParam) {
 
         final int sanitizedOffsetParam = PagingUtility.sanitizeOffsetParam(pagingOffsetParam);
         final int sanitizedLimitParam = PagingUtility.sanitizePageLimitParam(pagingLimitParam);
         final Sort sorting = PagingUtility.sanitizeTargetSortParam(sortParam);
 
-        final Pageable pageable = new OffsetBasedPageRequest(sanitizedOffsetParam, sanitizedLimitParam, sorting);
+        final Pageable pageable = PagingUtility.toPageRequest(sanitizedOffsetParam, sanitizedLimitParam, sorting,
+                nextParam);
         final Slice<Target> findTargetsAll;
         final Long countTargetsAll;
-        if (rsqlParam != null) {
+        if (!PagingUtility.isCounted(pageable, countParam)) {
+            findTargetsAll = this.targetManagement.findTargetSlice(rsqlParam, pageable);
+            countTargetsAll = null;
+        } else if (rsqlParam != null) {
             final Page<Target> findTargetPage = this.targetManagement.findTargetsAll(rsqlParam, pageable);
             countTargetsAll = findTargetPage.getTotalElements();
             findTargetsAll = findTargetPage;
@@ -105,7 +123,9 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
         }
 
         final List<MgmtTarget> rest = MgmtTargetMapper.toResponse(findTargetsAll.getContent());
-        return new ResponseEntity<>(new PagedList<>(rest, countTargetsAll), HttpStatus.OK);
+        return new ResponseEntity<>(
+                new PagedList<>(rest, countTargetsAll, PagingUtility.toNextParam(findTargetsAll, pageable)),
+                HttpStatus.OK);
     }
 
     @Override
@@ -155,18 +175,24 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) final int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) final int pagingLimitParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam) {
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_NEXT, required = false) final String nextParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_COUNT, required = false) final Boolean countParam) {
 
         findTargetWithExceptionIfNotFound(controllerId);
 
         final int sanitizedOffsetParam = PagingUtility.sanitizeOffsetParam(pagingOffsetParam);
         final int sanitizedLimitParam = PagingUtility.sanitizePageLimitParam(pagingLimitParam);
         final Sort sorting = PagingUtility.sanitizeActionSortParam(sortParam);
-        final Pageable pageable = new OffsetBasedPageRequest(sanitizedOffsetParam, sanitizedLimitParam, sorting);
+        final Pageable pageable = PagingUtility.toPageRequest(sanitizedOffsetParam, sanitizedLimitParam, sorting,
+                nextParam);
 
         final Slice<Action> activeActions;
         final Long totalActionCount;
-        if (rsqlParam != null) {
+        if (!PagingUtility.isCounted(pageable, countParam)) {
+            activeActions = this.deploymentManagement.findActionSliceByTarget(rsqlParam, controllerId, pageable);
+            totalActionCount = null;
+        } else if (rsqlParam != null) {
             activeActions = this.deploymentManagement.findActionsByTarget(rsqlParam, controllerId, pageable);
             totalActionCount = this.deploymentManagement.countActionsByTarget(rsqlParam, controllerId);
         } else {
@@ -176,7 +202,7 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
 
         return new ResponseEntity<>(
                 new PagedList<>(MgmtTargetMapper.toResponse(controllerId, activeActions.getContent()),
-                        totalActionCount),
+                        totalActionCount, PagingUtility.toNextParam(activeActions, pageable)),
                 HttpStatus.OK);
     }
 
@@ -203,8 +229,8 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
 
         result.add(linkTo(methodOn(MgmtTargetRestApi.class).getActionStatusList(controllerId, action.getId(), 0,
                 MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE,
-                ActionStatusFields.ID.getFieldName() + ":" + SortDirection.DESC))
-                        .withRel(MgmtRestConstants.TARGET_V1_ACTION_STATUS));
+                ActionStatusFields.ID.getFieldName() + ":" + SortDirection.DESC, null, null))
+                        .withRel(MgmtRestConstants.TARGET_V1_ACTION_STATUS).expand(ArrayUtils.toArray()));
 
         return new ResponseEntity<>(result, HttpStatus.OK);
     }
@@ -236,7 +262,9 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
             @PathVariable("controllerId") final String controllerId, @PathVariable("actionId") final Long actionId,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) final int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) final int pagingLimitParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam) {
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_NEXT, required = false) final String nextParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_COUNT, required = false) final Boolean countParam) {
 
         final Target target = findTargetWithExceptionIfNotFound(controllerId);
 
@@ -249,13 +277,25 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
         final int sanitizedOffsetParam = PagingUtility.sanitizeOffsetParam(pagingOffsetParam);
         final int sanitizedLimitParam = PagingUtility.sanitizePageLimitParam(pagingLimitParam);
         final Sort sorting = PagingUtility.sanitizeActionStatusSortParam(sortParam);
-
-        final Page<ActionStatus> statusList = this.deploymentManagement.findActionStatusByActionWithMessages(
-                new OffsetBasedPageRequest(sanitizedOffsetParam, sanitizedLimitParam, sorting), action.getId());
+        final Pageable pageable = PagingUtility.toPageRequest(sanitizedOffsetParam, sanitizedLimitParam, sorting,
+                nextParam);
+
+        final Slice<ActionStatus> statusList;
+        final Long totalStatusCount;
+        if (!PagingUtility.isCounted(pageable, countParam)) {
+            statusList = this.deploymentManagement.findActionStatusSliceByActionWithMessages(pageable,
+                    action.getId());
+            totalStatusCount = null;
+        } else {
+            final Page<ActionStatus> statusPage = this.deploymentManagement
+                    .findActionStatusByActionWithMessages(pageable, action.getId());
+            totalStatusCount = statusPage.getTotalElements();
+            statusList = statusPage;
+        }
 
         return new ResponseEntity<>(
                 new PagedList<>(MgmtTargetMapper.toActionStatusRestResponse(statusList.getContent()),
-                        statusList.getTotalElements()),
+                        totalStatusCount, PagingUtility.toNextParam(statusList, pageable)),
                 HttpStatus.OK);
 
     }
@@ -8,12 +8,19 @@
  */
 package org.eclipse.hawkbit.mgmt.rest.resource;
 
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
 import org.eclipse.hawkbit.repository.ActionFields;
 import org.eclipse.hawkbit.repository.ActionStatusFields;
 import org.eclipse.hawkbit.repository.DistributionSetFields;
 import org.eclipse.hawkbit.repository.DistributionSetMetadataFields;
 import org.eclipse.hawkbit.repository.DistributionSetTypeFields;
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
+import org.eclipse.hawkbit.repository.OffsetBasedPageRequest;
 import org.eclipse.hawkbit.repository.RolloutFields;
 import org.eclipse.hawkbit.repository.RolloutGroupFields;
 import org.eclipse.hawkbit.repository.SoftwareModuleFields;
@@ -21,15 +28,23 @@ import org.eclipse.hawkbit.repository.SoftwareModuleMetadataFields;
 import org.eclipse.hawkbit.repository.SoftwareModuleTypeFields;
 import org.eclipse.hawkbit.repository.TargetFields;
 import org.eclipse.hawkbit.repository.TargetFilterQueryFields;
+import org.eclipse.hawkbit.repository.model.BaseEntity;
+import org.eclipse.hawkbit.rest.exception.PagingNextParameterInvalidException;
 import org.eclipse.hawkbit.rest.util.SortUtility;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort.Order;
 
 /**
  * Utility class for for paged body generation.
  *
  */
 public final class PagingUtility {
+
+    private static final String NEXT_DELIMITER = ":";
+
     /*
      * utility constructor private.
      */
@@ -52,6 +67,86 @@ public final class PagingUtility {
         return pageLimit;
     }
 
+    /**
+     * @param offset
+     *            the sanitized offset
+     * @param limit
+     *            the sanitized limit
+     * @param sort
+     *            the sanitized sort order
+     * @param nextParam
+     *            the next token of the previous slice, may be {@code null}
+     * @return the request of the slice after the entity of the next token or
+     *         an offset based request if no token is given, which is ordered
+     *         by the ID as well so its last entity can be continued by keyset
+     * @throws PagingNextParameterInvalidException
+     *             if the token is malformed or was not created for the given
+     *             sort order
+     */
+    static Pageable toPageRequest(final int offset, final int limit, final Sort sort, final String nextParam) {
+        if (nextParam == null) {
+            return new OffsetBasedPageRequest(offset, limit, KeysetPageRequest.sortWithId(sort));
+        }
+
+        try {
+            final String[] next = new String(Base64.getUrlDecoder().decode(nextParam), StandardCharsets.UTF_8)
+                    .split(NEXT_DELIMITER, 4);
+            if (next.length < 3) {
+                throw new PagingNextParameterInvalidException();
+            }
+
+            final Order order = new Order(Direction.fromString(next[1]), next[0]);
+            if (!new Sort(order).equals(sort)) {
+                throw new PagingNextParameterInvalidException();
+            }
+            return new KeysetPageRequest(limit, order, next.length > 3 ? next[3] : null, Long.valueOf(next[2]));
+        } catch (final IllegalArgumentException e) {
+            throw new PagingNextParameterInvalidException(e);
+        }
+    }
+
+    /**
+     * @param pageable
+     *            the request of the slice
+     * @param countParam
+     *            the count parameter of the request, may be {@code null}
+     * @return {@code true} if the total amount of entities has to be counted
+     */
+    static boolean isCounted(final Pageable pageable, final Boolean countParam) {
+        return !(pageable instanceof KeysetPageRequest) && !Boolean.FALSE.equals(countParam);
+    }
+
+    /**
+     * @param slice
+     *            the retrieved slice
+     * @param pageable
+     *            the request of the slice
+     * @return the next token which continues after the last entity of the
+     *         slice, {@code null} if the slice is the last one or the entities
+     *         cannot be paged by keyset in the requested order
+     */
+    static String toNextParam(final Slice<? extends BaseEntity> slice, final Pageable pageable) {
+        final List<? extends BaseEntity> content = slice.getContent();
+        if (content.size() < pageable.getPageSize()) {
+            return null;
+        }
+
+        final KeysetPageRequest next = KeysetPageRequest.after(content.get(content.size() - 1), pageable);
+        if (next == null) {
+            return null;
+        }
+
+        final StringBuilder token = new StringBuilder(next.getOrder().getProperty()).append(NEXT_DELIMITER)
+                .append(next.getOrder().getDirection()).append(NEXT_DELIMITER).append(next.getLastId());
+        final Serializable lastValue = next.getLastValue();
+        if (lastValue != null) {
+            token.append(NEXT_DELIMITER)
+                    .append(lastValue instanceof Enum ? ((Enum<?>) lastValue).name() : lastValue.toString());
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
     static Sort sanitizeTargetSortParam(final String sortParam) {
         if (sortParam == null) {
             // default
@@ -658,6 +658,30 @@ public class MgmtSoftwareModuleResourceTest extends AbstractManagementApiIntegra
         assertThat(softwareManagement.findSoftwareModulesAll(pageReq)).as("Softwaremodule size is wrong").hasSize(1);
     }
 
+    @Test
+    @WithUser(principal = "uploadTester", allSpPermissions = true)
+    @Description("Verfies that a GET request with the current ETag of the software module is answered with NOT MODIFIED and that the ETag changes with an update of the module.")
+    public void getSoftwareModuleWithEtag() throws Exception {
+        final SoftwareModule os = testdataFactory.createSoftwareModuleOs();
+
+        final String etag = mvc.perform(get("/rest/v1/softwaremodules/{smId}", os.getId()))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk()).andReturn().getResponse()
+                .getHeader("ETag");
+        assertThat(etag).isNotNull();
+
+        mvc.perform(get("/rest/v1/softwaremodules/{smId}", os.getId()).header("If-None-Match", etag))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+
+        softwareManagement
+                .updateSoftwareModule(entityFactory.softwareModule().update(os.getId()).description("changed"));
+
+        mvc.perform(get("/rest/v1/softwaremodules/{smId}", os.getId()).header("If-None-Match", etag))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(equalTo(etag))))
+                .andExpect(jsonPath("$.description", equalTo("changed")));
+    }
+
     @Test
     @WithUser(principal = "uploadTester", allSpPermissions = true)
     @Description("Verfies that the create request actually results in the creation of the modules in the repository.")
@@ -58,6 +58,7 @@ import org.springframework.data.domain.Sort.Direction;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
 
 import com.google.common.collect.Lists;
 import com.jayway.jsonpath.JsonPath;
@@ -505,6 +506,106 @@ public class MgmtTargetResourceTest extends AbstractManagementApiIntegrationTest
                 .andExpect(jsonPath("$.content.[?(@.name==" + idE + ")].updateStatus", contains("registered")));
     }
 
+    @Test
+    @Description("Ensures that all targets are retrieved by following the next parameter of the target query, "
+            + "which does not count the targets.")
+    public void getTargetWithPagingNextRequestParameter() throws Exception {
+        final int knownTargetAmount = 5;
+        final int limitSize = 2;
+        createTargetsAlphabetical(knownTargetAmount);
+
+        final List<String> names = Lists.newArrayList();
+        String next = null;
+        do {
+            final ResultActions actions = mvc
+                    .perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING)
+                            .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, String.valueOf(limitSize))
+                            .param(MgmtRestConstants.REQUEST_PARAMETER_SORTING, "NAME:DESC")
+                            .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_NEXT, next))
+                    .andExpect(status().isOk()).andDo(MockMvcResultPrinter.print());
+            if (next != null) {
+                actions.andExpect(jsonPath(JSON_PATH_PAGED_LIST_TOTAL).doesNotExist());
+            }
+            final MvcResult result = actions.andReturn();
+
+            final String response = result.getResponse().getContentAsString();
+            names.addAll(JsonPath.read(response, "$.content[*].name"));
+            next = (String) new JSONObject(response).opt("next");
+        } while (next != null);
+
+        assertThat(names).containsExactly("e", "d", "c", "b", "a");
+    }
+
+    @Test
+    @Description("Ensures that targets with the same name are neither skipped nor repeated when the next parameter "
+            + "continues a listing between them.")
+    public void getTargetWithPagingNextRequestParameterAndDuplicateNames() throws Exception {
+        for (int index = 0; index < 5; index++) {
+            targetManagement.createTarget(
+                    entityFactory.target().create().controllerId("target" + index).name("duplicate"));
+        }
+
+        assertThat(getAllTargetControllerIdsByNext("NAME:ASC")).containsExactly("target0", "target1", "target2",
+                "target3", "target4");
+        assertThat(getAllTargetControllerIdsByNext("NAME:DESC")).containsExactly("target4", "target3", "target2",
+                "target1", "target0");
+    }
+
+    private List<String> getAllTargetControllerIdsByNext(final String sort) throws Exception {
+        final List<String> controllerIds = Lists.newArrayList();
+        String next = null;
+        do {
+            final String response = mvc
+                    .perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING)
+                            .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, String.valueOf(2))
+                            .param(MgmtRestConstants.REQUEST_PARAMETER_SORTING, sort)
+                            .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_NEXT, next))
+                    .andExpect(status().isOk()).andDo(MockMvcResultPrinter.print()).andReturn().getResponse()
+                    .getContentAsString();
+            controllerIds.addAll(JsonPath.read(response, "$.content[*].controllerId"));
+            next = (String) new JSONObject(response).opt("next");
+        } while (next != null);
+        return controllerIds;
+    }
+
+    @Test
+    @Description("Ensures that the target query does not count the targets if requested.")
+    public void getTargetWithoutCount() throws Exception {
+        final int knownTargetAmount = 3;
+        createTargetsAlphabetical(knownTargetAmount);
+
+        mvc.perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING)
+                .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, String.valueOf(knownTargetAmount))
+                .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_COUNT, String.valueOf(false)))
+                .andExpect(status().isOk()).andDo(MockMvcResultPrinter.print())
+                .andExpect(jsonPath(JSON_PATH_PAGED_LIST_TOTAL).doesNotExist())
+                .andExpect(jsonPath(JSON_PATH_PAGED_LIST_SIZE, equalTo(knownTargetAmount)))
+                .andExpect(jsonPath("$.next", notNullValue()));
+    }
+
+    @Test
+    @Description("Ensures that the target query fails with bad request for a next parameter which does not "
+            + "continue the requested listing.")
+    public void getTargetWithInvalidPagingNextRequestParameter() throws Exception {
+        createTargetsAlphabetical(3);
+
+        mvc.perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING)
+                .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_NEXT, "invalid"))
+                .andExpect(status().isBadRequest()).andDo(MockMvcResultPrinter.print())
+                .andExpect(jsonPath("$.errorCode", equalTo(SpServerError.SP_REST_PAGING_PARAM_INVALID_NEXT.getKey())));
+
+        final String next = new JSONObject(mvc
+                .perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING)
+                        .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, String.valueOf(1))
+                        .param(MgmtRestConstants.REQUEST_PARAMETER_SORTING, "NAME:ASC"))
+                .andReturn().getResponse().getContentAsString()).getString("next");
+
+        mvc.perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING)
+                .param(MgmtRestConstants.REQUEST_PARAMETER_SORTING, "NAME:DESC")
+                .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_NEXT, next))
+                .andExpect(status().isBadRequest()).andDo(MockMvcResultPrinter.print());
+    }
+
     @Test
     @Description("Ensures that the get request for a target works.")
     public void getSingleTarget() throws Exception {
@@ -9,6 +9,7 @@
 package org.eclipse.hawkbit.repository;
 
 import java.net.URI;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -110,6 +111,27 @@ public interface ControllerManagement {
     @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
     Action addUpdateActionStatus(@NotNull ActionStatusCreate create);
 
+    /**
+     * Adds {@link ActionStatus} entries for update {@link Action}s in one
+     * transaction including the poll time refresh of the affected targets.
+     * The entries are applied in the given order with the same semantics as
+     * {@link #updateLastTargetQuery(String, URI)} and
+     * {@link #addUpdateActionStatus(ActionStatusCreate)} per entry, but the
+     * actions are loaded with one query and the batch fails as a whole.
+     *
+     * @param creates
+     *            to be added
+     * @return the updated {@link Action}s in the order of the given entries
+     *
+     * @throws EntityNotFoundException
+     *             if one of the actions does not exist
+     * @throws TooManyStatusEntriesException
+     *             if more than the allowed number of status entries are
+     *             inserted for one of the actions
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
+    List<Action> addUpdateActionStatuses(@NotNull List<ActionStatusCreate> creates);
+
     /**
      * Retrieves oldest {@link Action} that is active and assigned to a
      * {@link Target}.
@@ -147,6 +169,24 @@ public interface ControllerManagement {
     @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
     Target findOrRegisterTargetIfItDoesNotexist(@NotEmpty String controllerId, URI address);
 
+    /**
+     * Poll fast path for targets that are known to have no active
+     * {@link Action}. The poll time is refreshed without a write transaction
+     * and the actions of the target are not looked up.
+     *
+     * @param controllerId
+     *            reference
+     * @param address
+     *            the client IP address of the target, might be {@code null}
+     * @return the polling target or {@link Optional#empty()} if the target
+     *         is not known to be idle or the poll needs a write, e.g. as the
+     *         address has changed. In this case the caller has to fall back
+     *         to {@link #findOrRegisterTargetIfItDoesNotexist(String, URI)}
+     *         and {@link #findOldestActiveActionByTarget(String)}.
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
+    Optional<Target> findIdleTargetAndUpdateLastTargetQuery(@NotEmpty String controllerId, URI address);
+
     /**
      * Retrieves last {@link Action} for a download of an artifact of given
      * module and target.
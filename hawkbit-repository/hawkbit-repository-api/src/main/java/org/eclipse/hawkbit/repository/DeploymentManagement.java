@@ -246,6 +246,31 @@ public interface DeploymentManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     Slice<Action> findActionsByTarget(@NotEmpty String controllerId, @NotNull Pageable pageable);
 
+    /**
+     * Retrieves a slice of the {@link Action}s assigned to a specific
+     * {@link Target} without counting all of them.
+     *
+     * @param rsqlParam
+     *            rsql query string, {@code null} to retrieve all actions of
+     *            the target
+     * @param controllerId
+     *            the target which must be assigned to the actions
+     * @param pageable
+     *            the page request, a {@link KeysetPageRequest} to retrieve the
+     *            actions after the last action of the previous slice
+     * @return a slice of actions assigned to the specific target and the
+     *         specification
+     *
+     * @throws RSQLParameterUnsupportedFieldException
+     *             if a field in the RSQL string is used but not provided by the
+     *             given {@code fieldNameProvider}
+     * @throws RSQLParameterSyntaxException
+     *             if the RSQL syntax is wrong
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Slice<Action> findActionSliceByTarget(String rsqlParam, @NotEmpty String controllerId,
+            @NotNull Pageable pageable);
+
     /**
      * Retrieves all the {@link ActionStatus} entries of the given
      * {@link Action} and {@link Target}.
@@ -272,6 +297,22 @@ public interface DeploymentManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     Page<ActionStatus> findActionStatusByActionWithMessages(@NotNull Pageable pageable, @NotNull Long actionId);
 
+    /**
+     * Retrieves a slice of the {@link ActionStatus} entries inclusive their
+     * messages of a specific {@link Action} without counting all of them.
+     *
+     * @param pageable
+     *            the page request parameter for paging and sorting the result,
+     *            a {@link KeysetPageRequest} to retrieve the entries after the
+     *            last entry of the previous slice
+     * @param actionId
+     *            the {@link Action} to retrieve the {@link ActionStatus} from
+     * @return a slice of {@link ActionStatus} of the {@link Action}
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Slice<ActionStatus> findActionStatusSliceByActionWithMessages(@NotNull Pageable pageable,
+            @NotNull Long actionId);
+
     /**
      * Retrieves all {@link Action}s of a specific target ordered by action ID.
      *
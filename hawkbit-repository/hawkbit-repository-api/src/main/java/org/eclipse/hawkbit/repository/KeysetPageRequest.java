@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.Objects;
+
+import org.eclipse.hawkbit.repository.model.BaseEntity;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.BeansException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Order;
+
+/**
+ * A {@link PageRequest} which continues after the last entity of the previous
+ * slice instead of skipping an offset, so reading a deep slice is as cheap as
+ * reading the first one. The entities are ordered by a single attribute and
+ * by their ID to break ties. The next slice is selected by the value of that
+ * attribute and the ID of the last entity of the previous slice.
+ *
+ * The value of the attribute may be given as {@link String}, it is converted
+ * to the type of the attribute by the repository.
+ */
+public final class KeysetPageRequest extends PageRequest {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String ID = "id";
+
+    private final Order order;
+    private final Serializable lastValue;
+    private final Long lastId;
+
+    /**
+     * Creates a new {@link KeysetPageRequest} for the first slice.
+     *
+     * @param limit
+     *            the limit of the slice to be returned.
+     * @param order
+     *            the order of the entities
+     */
+    public KeysetPageRequest(final int limit, final Order order) {
+        this(limit, order, null, null);
+    }
+
+    /**
+     * Creates a new {@link KeysetPageRequest} for the slice after the given
+     * entity.
+     *
+     * @param limit
+     *            the limit of the slice to be returned.
+     * @param order
+     *            the order of the entities
+     * @param lastValue
+     *            the value of the ordered attribute of the last entity of the
+     *            previous slice, may be {@code null}
+     * @param lastId
+     *            the ID of the last entity of the previous slice,
+     *            {@code null} for the first slice
+     */
+    public KeysetPageRequest(final int limit, final Order order, final Serializable lastValue, final Long lastId) {
+        super(0, limit, sortWithId(order));
+        this.order = order;
+        this.lastValue = lastValue;
+        this.lastId = lastId;
+    }
+
+    private static Sort sortWithId(final Order order) {
+        final Sort sort = new Sort(order);
+        if (ID.equals(order.getProperty())) {
+            return sort;
+        }
+        return sort.and(new Sort(order.getDirection(), ID));
+    }
+
+    /**
+     * Adds the ID in the same direction as secondary order to a sort by a
+     * single attribute, so entities with the same value keep their order
+     * across offset based requests and the slices can be continued by keyset.
+     *
+     * @param sort
+     *            the requested sort, may be {@code null}
+     * @return the sort with the ID as secondary order or the given sort if the
+     *         entities cannot be paged by keyset in its order
+     */
+    public static Sort sortWithId(final Sort sort) {
+        final Order order = singleOrder(sort);
+        if (order == null) {
+            return sort;
+        }
+        return sortWithId(order);
+    }
+
+    /**
+     * Creates the request of the slice after the given entity.
+     *
+     * @param last
+     *            the last entity of the current slice
+     * @param pageable
+     *            the request of the current slice
+     * @return the request of the next slice or {@code null} if the entities
+     *         cannot be paged by keyset in the order of the given request,
+     *         e.g. as they are ordered by multiple attributes
+     */
+    public static KeysetPageRequest after(final BaseEntity last, final Pageable pageable) {
+        final Order lastOrder = pageable instanceof KeysetPageRequest ? ((KeysetPageRequest) pageable).order
+                : singleOrder(pageable.getSort());
+        if (lastOrder == null || lastOrder.getProperty().contains(".")) {
+            return null;
+        }
+
+        final Object value;
+        try {
+            value = new BeanWrapperImpl(last).getPropertyValue(lastOrder.getProperty());
+        } catch (final BeansException e) {
+            return null;
+        }
+
+        if (value != null && !(value instanceof String || value instanceof Number || value instanceof Boolean
+                || value instanceof Enum)) {
+            return null;
+        }
+        return new KeysetPageRequest(pageable.getPageSize(), lastOrder, (Serializable) value, last.getId());
+    }
+
+    private static Order singleOrder(final Sort sort) {
+        if (sort == null) {
+            return null;
+        }
+        final Iterator<Order> orders = sort.iterator();
+        if (!orders.hasNext()) {
+            return null;
+        }
+        final Order first = orders.next();
+        if (!orders.hasNext()) {
+            return first;
+        }
+        // the ID which has been added as secondary order by sortWithId
+        final Order second = orders.next();
+        if (orders.hasNext() || !ID.equals(second.getProperty())
+                || second.getDirection() != first.getDirection()) {
+            return null;
+        }
+        return first;
+    }
+
+    /**
+     * @return the order of the entities
+     */
+    public Order getOrder() {
+        return order;
+    }
+
+    /**
+     * @return the value of the ordered attribute of the last entity of the
+     *         previous slice
+     */
+    public Serializable getLastValue() {
+        return lastValue;
+    }
+
+    /**
+     * @return the ID of the last entity of the previous slice, {@code null}
+     *         for the first slice
+     */
+    public Long getLastId() {
+        return lastId;
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetPageRequest [order=" + order + ", lastValue=" + lastValue + ", lastId=" + lastId
+                + ", getPageSize()=" + getPageSize() + "]";
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), lastValue, lastId);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!super.equals(obj)) {
+            return false;
+        }
+        if (!(obj instanceof KeysetPageRequest)) {
+            return false;
+        }
+        final KeysetPageRequest other = (KeysetPageRequest) obj;
+        return Objects.equals(lastValue, other.lastValue) && Objects.equals(lastId, other.lastId);
+    }
+
+}
@@ -26,6 +26,228 @@ public class RepositoryProperties {
      */
     private boolean rejectActionStatusForClosedAction = false;
 
+    /**
+     * Write-behind buffer for the last poll time of the targets.
+     */
+    private final PollBuffer pollBuffer = new PollBuffer();
+
+    /**
+     * Cache of targets without active actions for the controller poll fast
+     * path.
+     */
+    private final IdleTargetCache idleTargetCache = new IdleTargetCache();
+
+    /**
+     * Aggregation of the download progress events.
+     */
+    private final DownloadProgress downloadProgress = new DownloadProgress();
+
+    /**
+     * Creation of targets in JDBC batches.
+     */
+    private final BulkTargetCreation bulkTargetCreation = new BulkTargetCreation();
+
+    /**
+     * Configuration of the write-behind buffer that coalesces the
+     * {@link org.eclipse.hawkbit.repository.model.TargetInfo#getLastTargetQuery()}
+     * updates of polling targets and flushes them in bulk. A buffered poll time
+     * is persisted at the latest after {@link #getFlushInterval()} and with an
+     * accuracy of {@link #getTimestampResolution()}.
+     */
+    public static class PollBuffer {
+        // used by @Scheduled annotation which needs constant
+        public static final String PROP_FLUSH_DELAY_PLACEHOLDER = "${hawkbit.server.repository.pollBuffer.flushInterval:2000}";
+
+        /**
+         * Set to <code>true</code> to buffer the poll time updates in memory
+         * instead of writing them with every poll. Note: the address of a
+         * target and the status change from UNKNOWN to REGISTERED are always
+         * written immediately.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Interval in milliseconds in which the buffered poll times are
+         * written into the repository.
+         */
+        private long flushInterval = 2000L;
+
+        /**
+         * Resolution in milliseconds of the stored poll times. Targets that
+         * polled within the same resolution window are updated with one
+         * statement.
+         */
+        private long timestampResolution = 1000L;
+
+        /**
+         * Maximum number of targets per tenant that are kept in the buffer.
+         * Polls beyond that are written immediately.
+         */
+        private int maxPendingPerTenant = 100_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(final long flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public long getTimestampResolution() {
+            return timestampResolution;
+        }
+
+        public void setTimestampResolution(final long timestampResolution) {
+            this.timestampResolution = timestampResolution;
+        }
+
+        public int getMaxPendingPerTenant() {
+            return maxPendingPerTenant;
+        }
+
+        public void setMaxPendingPerTenant(final int maxPendingPerTenant) {
+            this.maxPendingPerTenant = maxPendingPerTenant;
+        }
+    }
+
+    /**
+     * Configuration of the cache that remembers which targets have no active
+     * {@link org.eclipse.hawkbit.repository.model.Action}. Polls of these
+     * targets are answered without looking up the actions as long as no
+     * assignment, cancellation or action update invalidated the entry.
+     */
+    public static class IdleTargetCache {
+        /**
+         * Set to <code>true</code> to answer polls of idle targets from the
+         * cache. Note: the fast path needs the {@link PollBuffer} to be
+         * enabled as well as it must not write the poll time directly.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of cached targets over all tenants.
+         */
+        private long maxSize = 100_000L;
+
+        /**
+         * Time in milliseconds after which an entry is dropped in any case,
+         * i.e. the upper bound for a missed invalidation.
+         */
+        private long expireAfterWrite = 60_000L;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(final long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public long getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        public void setExpireAfterWrite(final long expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+
+    /**
+     * Configuration of the aggregation of
+     * {@link org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent}s.
+     * If enabled the shipped bytes are summed up per tenant and published as
+     * one event per tenant and {@link #getPublishInterval()}.
+     */
+    public static class DownloadProgress {
+        // used by @Scheduled annotation which needs constant
+        public static final String PROP_PUBLISH_DELAY_PLACEHOLDER = "${hawkbit.server.repository.downloadProgress.publishInterval:1000}";
+
+        /**
+         * Set to <code>true</code> to aggregate the download progress instead
+         * of publishing an event for every progress update.
+         */
+        private boolean aggregate = false;
+
+        /**
+         * Interval in milliseconds in which the aggregated download progress
+         * is published.
+         */
+        private long publishInterval = 1000L;
+
+        public boolean isAggregate() {
+            return aggregate;
+        }
+
+        public void setAggregate(final boolean aggregate) {
+            this.aggregate = aggregate;
+        }
+
+        public long getPublishInterval() {
+            return publishInterval;
+        }
+
+        public void setPublishInterval(final long publishInterval) {
+            this.publishInterval = publishInterval;
+        }
+    }
+
+    /**
+     * Configuration of the creation of multiple targets at once, e.g. by the
+     * bulk upload or the management API. If enabled the existing controller
+     * IDs are looked up with one query per chunk and the targets and their
+     * {@link org.eclipse.hawkbit.repository.model.TargetInfo}s are inserted
+     * in JDBC batches instead of one JPA insert per target.
+     */
+    public static class BulkTargetCreation {
+
+        /**
+         * Set to <code>true</code> to create multiple targets in JDBC batches.
+         * Note: one aggregated
+         * {@link org.eclipse.hawkbit.repository.event.remote.TargetsCreatedEvent}
+         * is published per batch instead of a
+         * {@link org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent}
+         * per target.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of rows per JDBC batch.
+         */
+        private int batchSize = 500;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
     public boolean isRejectActionStatusForClosedAction() {
         return rejectActionStatusForClosedAction;
     }
@@ -34,4 +256,20 @@ public class RepositoryProperties {
         this.rejectActionStatusForClosedAction = rejectActionStatusForClosedAction;
     }
 
+    public PollBuffer getPollBuffer() {
+        return pollBuffer;
+    }
+
+    public IdleTargetCache getIdleTargetCache() {
+        return idleTargetCache;
+    }
+
+    public DownloadProgress getDownloadProgress() {
+        return downloadProgress;
+    }
+
+    public BulkTargetCreation getBulkTargetCreation() {
+        return bulkTargetCreation;
+    }
+
 }
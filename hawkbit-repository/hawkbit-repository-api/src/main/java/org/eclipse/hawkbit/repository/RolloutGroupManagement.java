@@ -21,6 +21,7 @@ import org.eclipse.hawkbit.repository.model.TargetWithActionStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.prepost.PreAuthorize;
 
 /**
@@ -145,6 +146,34 @@ public interface RolloutGroupManagement {
     Page<Target> findRolloutGroupTargets(@NotNull Long rolloutGroupId, @NotNull String rsqlParam,
             @NotNull Pageable pageable);
 
+    /**
+     * Get a slice of the targets of specified rollout group without counting
+     * all of them.
+     *
+     * @param rolloutGroupId
+     *            rollout group
+     * @param rsqlParam
+     *            the specification for filtering the targets of a rollout
+     *            group, {@code null} to retrieve all targets of the group
+     * @param pageable
+     *            the page request to sort and limit the result, a
+     *            {@link KeysetPageRequest} to retrieve the targets after the
+     *            last target of the previous slice
+     *
+     * @return Slice<Target> list of targets of a rollout group
+     *
+     * @throws EntityNotFoundException
+     *             if group with ID does not exist
+     * @throws RSQLParameterUnsupportedFieldException
+     *             if a field in the RSQL string is used but not provided by the
+     *             given {@code fieldNameProvider}
+     * @throws RSQLParameterSyntaxException
+     *             if the RSQL syntax is wrong
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_ROLLOUT_MANAGEMENT_READ_AND_TARGET_READ)
+    Slice<Target> findRolloutGroupTargetSlice(@NotNull Long rolloutGroupId, String rsqlParam,
+            @NotNull Pageable pageable);
+
     /**
      * Get {@link RolloutGroup} by Id.
      *
@@ -28,6 +28,9 @@ public class RolloutProperties {
     // used by @Scheduled annotation which needs constant
     public static final String PROP_READY_SCHEDULER_DELAY_PLACEHOLDER = "${hawkbit.rollout.readyScheduler.fixedDelay:30000}";
 
+    // used by @Scheduled annotation which needs constant
+    public static final String PROP_GROUP_STATUS_COUNTERS_DELAY_PLACEHOLDER = "${hawkbit.rollout.groupStatusCounters.fixedDelay:1000}";
+
     /**
      * Rollout scheduler configuration.
      */
@@ -62,6 +65,192 @@ public class RolloutProperties {
         }
     }
 
+    /**
+     * Parallel execution of the rollout checks of the tenants.
+     */
+    public static class ParallelExecution {
+
+        /**
+         * Set to <code>true</code> to run the rollout checks of the tenants
+         * in parallel instead of one after another on the scheduler thread.
+         */
+        private boolean enabled;
+
+        /**
+         * Number of threads that run the rollout checks of the tenants.
+         */
+        private int threads = 4;
+
+        /**
+         * Time in milliseconds a scheduler run waits for the check of each
+         * tenant, measured from the start of the check. A check that takes
+         * longer keeps running in the background and the tenant is skipped by
+         * the following runs until the check is finished.
+         */
+        private long tenantTimeout = 60_000L;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(final int threads) {
+            this.threads = threads;
+        }
+
+        public long getTenantTimeout() {
+            return tenantTimeout;
+        }
+
+        public void setTenantTimeout(final long tenantTimeout) {
+            this.tenantTimeout = tenantTimeout;
+        }
+    }
+
+    /**
+     * Cache of the tenants that have rollouts in a state that is checked by
+     * the schedulers.
+     */
+    public static class TenantIndex {
+
+        /**
+         * Set to <code>true</code> to skip the rollout checks of tenants
+         * without rollouts to check.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of cached tenants.
+         */
+        private long maxSize = 10_000L;
+
+        /**
+         * Time in milliseconds after which the rollouts of a tenant are
+         * counted again. Tenants with a rollout or rollout group event are
+         * marked as active immediately.
+         */
+        private long expireAfterWrite = 300_000L;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(final long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public long getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        public void setExpireAfterWrite(final long expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+
+    /**
+     * Creation of the rollout actions and their initial status in JDBC
+     * batches instead of one JPA insert per target.
+     */
+    public static class BulkActionCreation {
+
+        /**
+         * Set to <code>true</code> to write the scheduled actions of the
+         * rollout groups and the running status of the started actions in
+         * JDBC batches.
+         */
+        private boolean enabled;
+
+        /**
+         * Number of rows per JDBC batch.
+         */
+        private int batchSize = 500;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    /**
+     * In-memory counters of the action status per rollout group, which are
+     * used to evaluate the threshold conditions and the completion of the
+     * running groups.
+     */
+    public static class GroupStatusCounters {
+
+        /**
+         * Set to <code>true</code> to evaluate the threshold conditions with
+         * the counters instead of counting the actions of the group on every
+         * check, and to check a rollout as soon as one of its groups crossed a
+         * threshold.
+         */
+        private boolean enabled;
+
+        /**
+         * Time in milliseconds after which the counters of a group are counted
+         * again from the database, which corrects them if a status change
+         * event has been missed.
+         */
+        private long maxAge = 300_000L;
+
+        /**
+         * Schedule in milliseconds where the rollouts with a crossed threshold
+         * are checked.
+         */
+        private long fixedDelay = 1_000L;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxAge() {
+            return maxAge;
+        }
+
+        public void setMaxAge(final long maxAge) {
+            this.maxAge = maxAge;
+        }
+
+        public long getFixedDelay() {
+            return fixedDelay;
+        }
+
+        public void setFixedDelay(final long fixedDelay) {
+            this.fixedDelay = fixedDelay;
+        }
+    }
+
     private final Scheduler scheduler = new Scheduler(30000L);
 
     private final Scheduler creatingScheduler = new Scheduler(2000L);
@@ -70,6 +259,14 @@ public class RolloutProperties {
 
     private final Scheduler readyScheduler = new Scheduler(30000L);
 
+    private final ParallelExecution parallelExecution = new ParallelExecution();
+
+    private final TenantIndex tenantIndex = new TenantIndex();
+
+    private final BulkActionCreation bulkActionCreation = new BulkActionCreation();
+
+    private final GroupStatusCounters groupStatusCounters = new GroupStatusCounters();
+
     public Scheduler getScheduler() {
         return scheduler;
     }
@@ -85,4 +282,20 @@ public class RolloutProperties {
     public Scheduler getReadyScheduler() {
         return readyScheduler;
     }
+
+    public ParallelExecution getParallelExecution() {
+        return parallelExecution;
+    }
+
+    public TenantIndex getTenantIndex() {
+        return tenantIndex;
+    }
+
+    public BulkActionCreation getBulkActionCreation() {
+        return bulkActionCreation;
+    }
+
+    public GroupStatusCounters getGroupStatusCounters() {
+        return groupStatusCounters;
+    }
 }
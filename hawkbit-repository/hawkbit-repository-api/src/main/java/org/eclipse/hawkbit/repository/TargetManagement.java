@@ -460,6 +460,28 @@ public interface TargetManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     Page<Target> findTargetsAll(@NotNull String rsqlParam, @NotNull Pageable pageable);
 
+    /**
+     * Retrieves a slice of the targets without details, i.e. NO
+     * {@link Target#getTags()} and {@link Target#getActions()} possible and
+     * without counting all targets.
+     *
+     * @param rsqlParam
+     *            in RSQL notation, {@code null} to retrieve all targets
+     * @param pageable
+     *            pagination parameter, a {@link KeysetPageRequest} to retrieve
+     *            the targets after the last target of the previous slice
+     *
+     * @return the found {@link Target}s, never {@code null}
+     *
+     * @throws RSQLParameterUnsupportedFieldException
+     *             if a field in the RSQL string is used but not provided by the
+     *             given {@code fieldNameProvider}
+     * @throws RSQLParameterSyntaxException
+     *             if the RSQL syntax is wrong
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Slice<Target> findTargetSlice(String rsqlParam, @NotNull Pageable pageable);
+
     /**
      * Retrieves all targets without details, i.e. NO {@link Target#getTags()}
      * and {@link Target#getActions()} possible based on
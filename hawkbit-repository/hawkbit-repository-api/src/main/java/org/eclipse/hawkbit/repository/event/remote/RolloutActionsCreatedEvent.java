@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.event.remote;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Event is send once for a batch of actions of a rollout group which have been
+ * created at once, instead of a
+ * {@link org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent}
+ * per action.
+ */
+public class RolloutActionsCreatedEvent extends RemoteTenantAwareEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long rolloutId;
+
+    private Long rolloutGroupId;
+
+    private Long distributionSetId;
+
+    private List<Long> targetIds;
+
+    /**
+     * Default constructor.
+     */
+    public RolloutActionsCreatedEvent() {
+        // for serialization libs like jackson
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param tenant
+     *            the tenant
+     * @param rolloutId
+     *            the rollout of the created actions
+     * @param rolloutGroupId
+     *            the rollout group of the created actions
+     * @param distributionSetId
+     *            the distribution set of the created actions
+     * @param targetIds
+     *            the IDs of the targets the actions have been created for
+     * @param applicationId
+     *            the origin application id
+     */
+    public RolloutActionsCreatedEvent(final String tenant, final Long rolloutId, final Long rolloutGroupId,
+            final Long distributionSetId, final List<Long> targetIds, final String applicationId) {
+        super(tenant, tenant, applicationId);
+        this.rolloutId = rolloutId;
+        this.rolloutGroupId = rolloutGroupId;
+        this.distributionSetId = distributionSetId;
+        this.targetIds = targetIds;
+    }
+
+    public Long getRolloutId() {
+        return rolloutId;
+    }
+
+    public Long getRolloutGroupId() {
+        return rolloutGroupId;
+    }
+
+    public Long getDistributionSetId() {
+        return distributionSetId;
+    }
+
+    public List<Long> getTargetIds() {
+        if (targetIds == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(targetIds);
+    }
+}
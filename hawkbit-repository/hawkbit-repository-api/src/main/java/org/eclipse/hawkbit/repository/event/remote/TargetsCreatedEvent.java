@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.event.remote;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Event is send once for a batch of targets which have been created at once,
+ * instead of a
+ * {@link org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent}
+ * per target.
+ */
+public class TargetsCreatedEvent extends RemoteTenantAwareEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<Long> targetIds;
+
+    private List<String> controllerIds;
+
+    /**
+     * Default constructor.
+     */
+    public TargetsCreatedEvent() {
+        // for serialization libs like jackson
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param tenant
+     *            the tenant
+     * @param targetIds
+     *            the IDs of the created targets
+     * @param controllerIds
+     *            the controller IDs of the created targets in the same order
+     * @param applicationId
+     *            the origin application id
+     */
+    public TargetsCreatedEvent(final String tenant, final List<Long> targetIds, final List<String> controllerIds,
+            final String applicationId) {
+        super(tenant, tenant, applicationId);
+        this.targetIds = targetIds;
+        this.controllerIds = controllerIds;
+    }
+
+    public List<Long> getTargetIds() {
+        if (targetIds == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(targetIds);
+    }
+
+    public List<String> getControllerIds() {
+        if (controllerIds == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(controllerIds);
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.event.remote;
+
+/**
+ * Event is send in case the configuration of a tenant has been changed, i.e.
+ * a configuration value was added, updated or deleted or the tenant itself
+ * was deleted.
+ */
+public class TenantConfigurationChangedEvent extends RemoteTenantAwareEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private String configurationKeyName;
+
+    /**
+     * Default constructor.
+     */
+    public TenantConfigurationChangedEvent() {
+        // for serialization libs like jackson
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param tenant
+     *            the tenant
+     * @param configurationKeyName
+     *            the key of the changed configuration or <code>null</code> if
+     *            the whole configuration of the tenant has been changed
+     * @param applicationId
+     *            the origin application id
+     */
+    public TenantConfigurationChangedEvent(final String tenant, final String configurationKeyName,
+            final String applicationId) {
+        super(tenant, tenant, applicationId);
+        this.configurationKeyName = configurationKeyName;
+    }
+
+    public String getConfigurationKeyName() {
+        return configurationKeyName;
+    }
+}
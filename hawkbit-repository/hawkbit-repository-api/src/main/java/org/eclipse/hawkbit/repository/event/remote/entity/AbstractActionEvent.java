@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.event.remote.entity;
+
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+
+/**
+ * A base definition class for remote events of an {@link Action}. The event
+ * carries the IDs of the target, the rollout and the rollout group of the
+ * action, so the listeners on the other nodes do not have to reload the
+ * action for them.
+ */
+public abstract class AbstractActionEvent extends RemoteEntityEvent<Action> {
+
+    private static final long serialVersionUID = 1L;
+
+    private String controllerId;
+
+    private Long rolloutId;
+
+    private Long rolloutGroupId;
+
+    /**
+     * Default constructor.
+     */
+    protected AbstractActionEvent() {
+        // for serialization libs like jackson
+    }
+
+    /**
+     * Constructor
+     * 
+     * @param action
+     *            the action
+     * @param applicationId
+     *            the origin application id
+     */
+    protected AbstractActionEvent(final Action action, final String applicationId) {
+        super(action, applicationId);
+        this.controllerId = action.getTarget().getControllerId();
+        this.rolloutId = getRolloutId(action.getRollout());
+        this.rolloutGroupId = getRolloutGroupId(action.getRolloutGroup());
+    }
+
+    private static Long getRolloutId(final Rollout rollout) {
+        if (rollout != null) {
+            return rollout.getId();
+        }
+        return null;
+    }
+
+    private static Long getRolloutGroupId(final RolloutGroup rolloutGroup) {
+        if (rolloutGroup != null) {
+            return rolloutGroup.getId();
+        }
+        return null;
+    }
+
+    /**
+     * @return the controller ID of the target of the action
+     */
+    public String getControllerId() {
+        return controllerId;
+    }
+
+    /**
+     * @return the ID of the rollout of the action or <code>null</code> if the
+     *         action is not part of a rollout
+     */
+    public Long getRolloutId() {
+        return rolloutId;
+    }
+
+    /**
+     * @return the ID of the rollout group of the action or <code>null</code>
+     *         if the action is not part of a rollout
+     */
+    public Long getRolloutGroupId() {
+        return rolloutGroupId;
+    }
+}
@@ -9,13 +9,18 @@
 package org.eclipse.hawkbit.repository.event.remote.entity;
 
 import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.Status;
 
 /**
  * Defines the remote event of updated a {@link Action}.
  */
-public class ActionUpdatedEvent extends RemoteEntityEvent<Action> {
+public class ActionUpdatedEvent extends AbstractActionEvent {
     private static final long serialVersionUID = 1L;
 
+    private Status status;
+
+    private Status previousStatus;
+
     /**
      * Default constructor.
      */
@@ -32,7 +37,42 @@ public class ActionUpdatedEvent extends RemoteEntityEvent<Action> {
      *            the origin application id
      */
     public ActionUpdatedEvent(final Action action, final String applicationId) {
+        this(action, null, action.getStatus(), applicationId);
+    }
+
+    /**
+     * Constructor
+     * 
+     * @param action
+     *            the updated action
+     * @param previousStatus
+     *            the status of the action before the update or
+     *            <code>null</code> if the update did not change the status
+     * @param status
+     *            the status of the action after the update
+     * @param applicationId
+     *            the origin application id
+     */
+    public ActionUpdatedEvent(final Action action, final Status previousStatus, final Status status,
+            final String applicationId) {
         super(action, applicationId);
+        this.previousStatus = previousStatus;
+        this.status = status;
+    }
+
+    /**
+     * @return the status of the action after the update
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the status of the action before the update or <code>null</code>
+     *         if the update did not change the status
+     */
+    public Status getPreviousStatus() {
+        return previousStatus;
     }
 
 }
@@ -8,6 +8,9 @@
  */
 package org.eclipse.hawkbit.repository.event.remote.entity;
 
+import java.net.URI;
+import java.util.Optional;
+
 import org.eclipse.hawkbit.repository.model.Target;
 
 /**
@@ -20,6 +23,10 @@ public class CancelTargetAssignmentEvent extends RemoteEntityEvent<Target> {
 
     private Long actionId;
 
+    private String controllerId;
+
+    private String targetAddress;
+
     /**
      * Default constructor.
      */
@@ -40,6 +47,9 @@ public class CancelTargetAssignmentEvent extends RemoteEntityEvent<Target> {
     public CancelTargetAssignmentEvent(final Target baseEntity, final Long actionId, final String applicationId) {
         super(baseEntity, applicationId);
         this.actionId = actionId;
+        this.controllerId = baseEntity.getControllerId();
+        this.targetAddress = Optional.ofNullable(baseEntity.getTargetInfo().getAddress()).map(URI::toString)
+                .orElse(null);
     }
 
     /**
@@ -49,4 +59,19 @@ public class CancelTargetAssignmentEvent extends RemoteEntityEvent<Target> {
         return actionId;
     }
 
+    /**
+     * @return the controller ID of the target
+     */
+    public String getControllerId() {
+        return controllerId;
+    }
+
+    /**
+     * @return the address of the target or <code>null</code> if the target
+     *         has no address
+     */
+    public String getTargetAddress() {
+        return targetAddress;
+    }
+
 }
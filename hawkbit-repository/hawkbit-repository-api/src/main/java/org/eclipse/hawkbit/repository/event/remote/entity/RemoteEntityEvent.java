@@ -8,6 +8,13 @@
  */
 package org.eclipse.hawkbit.repository.event.remote.entity;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 import org.apache.commons.lang3.ClassUtils;
 import org.eclipse.hawkbit.repository.event.remote.EventEntityManagerHolder;
 import org.eclipse.hawkbit.repository.event.remote.RemoteIdEvent;
@@ -60,6 +67,40 @@ public class RemoteEntityEvent<E extends TenantAwareBaseEntity> extends RemoteId
         return entity;
     }
 
+    /**
+     * Reloads the entities of the given events which were received from
+     * another node with one query per tenant and entity type, instead of one
+     * query per event on {@link #getEntity()}.
+     *
+     * @param events
+     *            the events to load the entities for
+     */
+    public static void loadEntities(final Collection<? extends RemoteEntityEvent<?>> events) {
+        final Map<List<String>, List<RemoteEntityEvent<?>>> unloaded = events.stream()
+                .<RemoteEntityEvent<?>> map(Function.identity()).filter(event -> event.entity == null)
+                .collect(Collectors.groupingBy(event -> Arrays.asList(event.getTenant(), event.getEntityClass())));
+
+        unloaded.forEach((tenantAndType, typeEvents) -> {
+            try {
+                final Class<? extends TenantAwareBaseEntity> clazz = ClassUtils.getClass(tenantAndType.get(1))
+                        .asSubclass(TenantAwareBaseEntity.class);
+                final Map<Long, TenantAwareBaseEntity> entities = EventEntityManagerHolder.getInstance()
+                        .getEventEntityManager()
+                        .findEntities(tenantAndType.get(0),
+                                typeEvents.stream().map(RemoteIdEvent::getEntityId).collect(Collectors.toSet()), clazz)
+                        .stream().collect(Collectors.toMap(TenantAwareBaseEntity::getId, Function.identity()));
+                typeEvents.forEach(event -> event.setLoadedEntity(entities.get(event.getEntityId())));
+            } catch (final ClassNotFoundException e) {
+                LOG.error("Cannot reload entities because class is not found", e);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void setLoadedEntity(final TenantAwareBaseEntity loaded) {
+        entity = (E) loaded;
+    }
+
     @SuppressWarnings("unchecked")
     private E reloadEntityFromRepository() {
         try {
@@ -17,6 +17,8 @@ public class RolloutGroupUpdatedEvent extends RemoteEntityEvent<RolloutGroup> {
 
     private static final long serialVersionUID = 1L;
 
+    private Long rolloutId;
+
     /**
      * Default constructor.
      */
@@ -34,6 +36,11 @@ public class RolloutGroupUpdatedEvent extends RemoteEntityEvent<RolloutGroup> {
      */
     public RolloutGroupUpdatedEvent(final RolloutGroup rolloutGroup, final String applicationId) {
         super(rolloutGroup, applicationId);
+        this.rolloutId = rolloutGroup.getRollout().getId();
+    }
+
+    public Long getRolloutId() {
+        return rolloutId;
     }
 
 }
@@ -15,11 +15,14 @@ import java.util.Optional;
 import org.eclipse.hawkbit.repository.event.remote.DistributionSetDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.DistributionSetTagDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
+import org.eclipse.hawkbit.repository.event.remote.RolloutActionsCreatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.SoftwareModuleDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetTagDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetsCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TenantConfigurationChangedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.ActionUpdatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.CancelTargetAssignmentEvent;
@@ -97,6 +100,13 @@ public class EventType {
         TYPES.put(23, SoftwareModuleUpdatedEvent.class);
 
         TYPES.put(24, TargetPollEvent.class);
+
+        // tenant configuration
+        TYPES.put(25, TenantConfigurationChangedEvent.class);
+
+        TYPES.put(26, TargetsCreatedEvent.class);
+
+        TYPES.put(27, RolloutActionsCreatedEvent.class);
     }
 
     private int value;
@@ -55,6 +55,17 @@ public interface ActionRepository extends BaseEntityRepository<JpaAction, Long>,
     @EntityGraph(value = "Action.all", type = EntityGraphType.LOAD)
     JpaAction findById(Long actionId);
 
+    /**
+     * Retrieves the Actions with the given IDs with all lazy attributes.
+     *
+     * @param actionIds
+     *            the IDs of the actions
+     * @return the found {@link Action}s
+     */
+    @EntityGraph(value = "Action.all", type = EntityGraphType.LOAD)
+    @Query("SELECT a FROM JpaAction a WHERE a.id IN :ids")
+    List<JpaAction> findByIdIn(@Param("ids") Collection<Long> actionIds);
+
     /**
      * Retrieves all {@link Action}s which are referring the given
      * {@link DistributionSet}.
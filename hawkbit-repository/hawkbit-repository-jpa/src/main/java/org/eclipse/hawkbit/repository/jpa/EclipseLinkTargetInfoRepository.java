@@ -10,9 +10,11 @@ package org.eclipse.hawkbit.repository.jpa;
 
 import java.util.List;
 
+import javax.persistence.Cache;
 import javax.persistence.EntityManager;
 import javax.persistence.Query;
 
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTargetInfo;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,12 +38,42 @@ public class EclipseLinkTargetInfoRepository implements TargetInfoRepository {
     @Override
     @Modifying
     @Transactional(isolation = Isolation.READ_UNCOMMITTED)
-    public void setTargetUpdateStatus(final TargetUpdateStatus status, final List<Long> targets) {
+    public int setTargetUpdateStatus(final TargetUpdateStatus status, final List<Long> targets) {
         final Query query = entityManager.createQuery(
                 "update JpaTargetInfo ti set ti.updateStatus = :status where ti.targetId in :targets and ti.updateStatus != :status");
         query.setParameter("targets", targets);
         query.setParameter("status", status);
+        final int updated = query.executeUpdate();
 
+        evictFromCache(targets);
+        return updated;
+    }
+
+    @Override
+    @Modifying
+    @Transactional(isolation = Isolation.READ_UNCOMMITTED)
+    public int setLastTargetQuery(final Long lastTargetQuery, final List<Long> targets) {
+        final Query query = entityManager.createQuery(
+                "update JpaTargetInfo ti set ti.lastTargetQuery = :lastTargetQuery where ti.targetId in :targets and (ti.lastTargetQuery is null or ti.lastTargetQuery < :lastTargetQuery)");
+        query.setParameter("targets", targets);
+        query.setParameter("lastTargetQuery", lastTargetQuery);
+        final int updated = query.executeUpdate();
+
+        evictFromCache(targets);
+        return updated;
+    }
+
+    /**
+     * Bulk updates bypass the entities of the shared cache. So the target
+     * infos and the targets referencing them are evicted to keep the cache
+     * coherent.
+     */
+    private void evictFromCache(final List<Long> targets) {
+        final Cache cache = entityManager.getEntityManagerFactory().getCache();
+        targets.forEach(targetId -> {
+            cache.evict(JpaTargetInfo.class, targetId);
+            cache.evict(JpaTarget.class, targetId);
+        });
     }
 
     @Override
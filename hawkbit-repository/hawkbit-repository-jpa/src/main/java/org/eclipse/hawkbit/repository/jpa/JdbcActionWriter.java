@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import org.eclipse.hawkbit.repository.RolloutProperties;
+import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.ActionType;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Writes the rows of {@link JpaAction}s and their initial action status in
+ * JDBC batches, which saves the round trip of one JPA insert per target when
+ * the actions of a rollout group are created or started.
+ *
+ * The statements run in the transaction of the calling JPA transaction. As
+ * the rows bypass the persistence context no entity events are published and
+ * the entities that reference the new rows are evicted from the shared cache.
+ * The caller publishes a
+ * {@link org.eclipse.hawkbit.repository.event.remote.RolloutActionsCreatedEvent}
+ * per batch instead.
+ */
+public class JdbcActionWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JdbcActionWriter.class);
+
+    private static final String INSERT_ACTION = "INSERT INTO sp_action (created_at, created_by, last_modified_at, "
+            + "last_modified_by, optlock_revision, tenant, action_type, active, forced_time, status, "
+            + "distribution_set, target, rollout, rolloutgroup) VALUES (?, ?, ?, ?, 1, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ACTION_STATUS = "INSERT INTO sp_action_status (created_at, created_by, "
+            + "last_modified_at, last_modified_by, optlock_revision, tenant, target_occurred_at, status, action) "
+            + "VALUES (?, ?, ?, ?, 1, ?, ?, ?, ?)";
+
+    private final RolloutProperties rolloutProperties;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TenantAware tenantAware;
+
+    private final AuditorAware<String> auditorProvider;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Constructor.
+     *
+     * @param rolloutProperties
+     *            for the batch configuration
+     * @param dataSource
+     *            of the repository
+     * @param tenantAware
+     *            to get the current tenant
+     * @param auditorProvider
+     *            to get the current user, may be <code>null</code>
+     * @param entityManagerFactory
+     *            to evict the referencing entities from the shared cache
+     */
+    public JdbcActionWriter(final RolloutProperties rolloutProperties, final DataSource dataSource,
+            final TenantAware tenantAware, final AuditorAware<String> auditorProvider,
+            final EntityManagerFactory entityManagerFactory) {
+        this.rolloutProperties = rolloutProperties;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.tenantAware = tenantAware;
+        this.auditorProvider = auditorProvider;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * @return <code>true</code> if the bulk action creation is enabled by
+     *         configuration.
+     */
+    public boolean isEnabled() {
+        return rolloutProperties.getBulkActionCreation().isEnabled();
+    }
+
+    /**
+     * Inserts an in-active {@link Status#SCHEDULED} action for each of the
+     * given targets.
+     *
+     * @param targetIds
+     *            the targets to create scheduled actions for
+     * @param distributionSetId
+     *            the distribution set of the actions
+     * @param actionType
+     *            the action type of the actions
+     * @param forcedTime
+     *            the forced time of the actions
+     * @param rolloutId
+     *            the rollout of the actions
+     * @param rolloutGroupId
+     *            the rollout group of the actions
+     */
+    public void createScheduledActions(final List<Long> targetIds, final long distributionSetId,
+            final ActionType actionType, final long forcedTime, final long rolloutId, final long rolloutGroupId) {
+        final String tenant = currentTenant();
+        final String user = currentUser();
+        final long now = System.currentTimeMillis();
+
+        jdbcTemplate.batchUpdate(INSERT_ACTION, targetIds, getBatchSize(), (ps, targetId) -> {
+            setAuditColumns(ps, now, user);
+            ps.setString(5, tenant);
+            ps.setString(6, actionType.name());
+            ps.setBoolean(7, false);
+            ps.setLong(8, forcedTime);
+            ps.setInt(9, Status.SCHEDULED.ordinal());
+            ps.setLong(10, distributionSetId);
+            ps.setLong(11, targetId);
+            ps.setLong(12, rolloutId);
+            ps.setLong(13, rolloutGroupId);
+        });
+        LOGGER.debug("Inserted {} scheduled actions of rollout group {}", targetIds.size(), rolloutGroupId);
+
+        evictFromCache(JpaTarget.class, targetIds);
+    }
+
+    /**
+     * Inserts the initial {@link Status#RUNNING} action status for each of the
+     * given actions, which occurred at the creation of the action.
+     *
+     * @param actions
+     *            the started actions
+     */
+    public void createRunningActionStatus(final Collection<? extends Action> actions) {
+        final String tenant = currentTenant();
+        final String user = currentUser();
+        final long now = System.currentTimeMillis();
+
+        jdbcTemplate.batchUpdate(INSERT_ACTION_STATUS, actions, getBatchSize(), (ps, action) -> {
+            setAuditColumns(ps, now, user);
+            ps.setString(5, tenant);
+            ps.setLong(6, action.getCreatedAt());
+            ps.setInt(7, Status.RUNNING.ordinal());
+            ps.setLong(8, action.getId());
+        });
+        LOGGER.debug("Inserted {} running action status", actions.size());
+
+        evictFromCache(JpaAction.class, actions.stream().map(Action::getId).collect(Collectors.toList()));
+    }
+
+    private static void setAuditColumns(final PreparedStatement ps, final long now, final String user)
+            throws SQLException {
+        ps.setLong(1, now);
+        if (user != null) {
+            ps.setString(2, user);
+            ps.setString(4, user);
+        } else {
+            ps.setNull(2, Types.VARCHAR);
+            ps.setNull(4, Types.VARCHAR);
+        }
+        ps.setLong(3, now);
+    }
+
+    private void evictFromCache(final Class<?> entityClass, final Collection<Long> ids) {
+        final Cache cache = entityManagerFactory.getCache();
+        ids.forEach(id -> cache.evict(entityClass, id));
+    }
+
+    private int getBatchSize() {
+        return Math.max(1, rolloutProperties.getBulkActionCreation().getBatchSize());
+    }
+
+    private String currentTenant() {
+        return tenantAware.getCurrentTenant().toUpperCase();
+    }
+
+    private String currentUser() {
+        return auditorProvider != null ? auditorProvider.getCurrentAuditor() : null;
+    }
+}
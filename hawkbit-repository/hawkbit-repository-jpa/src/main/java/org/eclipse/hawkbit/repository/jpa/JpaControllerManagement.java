@@ -9,9 +9,15 @@
 package org.eclipse.hawkbit.repository.jpa;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.persistence.EntityManager;
 import javax.persistence.criteria.CriteriaBuilder;
@@ -23,7 +29,6 @@ import org.eclipse.hawkbit.repository.EntityFactory;
 import org.eclipse.hawkbit.repository.RepositoryConstants;
 import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.TargetManagement;
-import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.repository.builder.ActionStatusCreate;
 import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
@@ -33,6 +38,8 @@ import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.exception.ToManyAttributeEntriesException;
 import org.eclipse.hawkbit.repository.exception.TooManyStatusEntriesException;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaActionStatusCreate;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.event.DownloadProgressAggregator;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.jpa.model.JpaActionStatus;
@@ -43,6 +50,8 @@ import org.eclipse.hawkbit.repository.jpa.model.JpaSoftwareModule;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTargetInfo;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget_;
+import org.eclipse.hawkbit.repository.jpa.poll.IdleTargetCache;
+import org.eclipse.hawkbit.repository.jpa.poll.TargetPollBuffer;
 import org.eclipse.hawkbit.repository.jpa.specifications.ActionSpecifications;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
@@ -52,7 +61,6 @@ import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetInfo;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.security.HawkbitSecurityProperties;
-import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 import org.slf4j.Logger;
@@ -65,9 +73,12 @@ import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import com.google.common.collect.Lists;
+
 /**
  * JPA based {@link ControllerManagement} implementation.
  *
@@ -102,15 +113,9 @@ public class JpaControllerManagement implements ControllerManagement {
     @Autowired
     private RepositoryProperties repositoryProperties;
 
-    @Autowired
-    private TenantConfigurationManagement tenantConfigurationManagement;
-
     @Autowired
     private TenantAware tenantAware;
 
-    @Autowired
-    private SystemSecurityContext systemSecurityContext;
-
     @Autowired
     private EntityFactory entityFactory;
 
@@ -123,20 +128,33 @@ public class JpaControllerManagement implements ControllerManagement {
     @Autowired
     private AfterTransactionCommitExecutor afterCommit;
 
+    @Autowired
+    private TargetPollBuffer targetPollBuffer;
+
+    @Autowired
+    private IdleTargetCache idleTargetCache;
+
+    @Autowired
+    private TenantConfigurationSnapshots tenantConfigurationSnapshots;
+
+    @Autowired
+    private DownloadProgressAggregator downloadProgressAggregator;
+
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public String getPollingTime() {
-        return systemSecurityContext.runAsSystem(() -> tenantConfigurationManagement
-                .getConfigurationValue(TenantConfigurationKey.POLLING_TIME_INTERVAL, String.class).getValue());
+        return tenantConfigurationSnapshots
+                .getConfigurationValue(TenantConfigurationKey.POLLING_TIME_INTERVAL, String.class).getValue();
     }
 
     @Override
     @Modifying
     @Transactional(isolation = Isolation.READ_UNCOMMITTED)
     public Target updateLastTargetQuery(final String controllerId, final URI address) {
-        final Target target = Optional.ofNullable(targetRepository.findByControllerId(controllerId))
+        final JpaTarget target = Optional.ofNullable(targetRepository.findByControllerId(controllerId))
                 .orElseThrow(() -> new EntityNotFoundException("Target with given ID " + controllerId + " not found"));
 
-        return updateTargetStatus(target.getTargetInfo(), null, System.currentTimeMillis(), address).getTarget();
+        return updateLastTargetQuery(target, address);
     }
 
     @Override
@@ -173,10 +191,15 @@ public class JpaControllerManagement implements ControllerManagement {
 
     @Override
     public Optional<Action> findOldestActiveActionByTarget(final String controllerId) {
+        final long stamp = idleTargetCache.stamp();
         // used in favorite to findFirstByTargetAndActiveOrderByIdAsc due to
         // DATAJPA-841 issue.
-        return actionRepository.findFirstByTargetControllerIdAndActive(new Sort(Direction.ASC, "id"), controllerId,
-                true);
+        final Optional<Action> action = actionRepository
+                .findFirstByTargetControllerIdAndActive(new Sort(Direction.ASC, "id"), controllerId, true);
+        if (!action.isPresent()) {
+            idleTargetCache.markIdle(controllerId, stamp);
+        }
+        return action;
     }
 
     @Override
@@ -205,7 +228,47 @@ public class JpaControllerManagement implements ControllerManagement {
             return result;
         }
 
-        return updateTargetStatus(target.getTargetInfo(), null, System.currentTimeMillis(), address).getTarget();
+        return updateLastTargetQuery(target, address);
+    }
+
+    @Override
+    public Optional<Target> findIdleTargetAndUpdateLastTargetQuery(final String controllerId, final URI address) {
+        if (!targetPollBuffer.isEnabled() || !idleTargetCache.isIdle(controllerId)) {
+            return Optional.empty();
+        }
+
+        final JpaTarget target = targetRepository.findByControllerId(controllerId);
+        if (target == null) {
+            idleTargetCache.invalidate(controllerId);
+            return Optional.empty();
+        }
+
+        if (!isPollOnly(target.getTargetInfo(), address)
+                || !targetPollBuffer.offer(target.getId(), System.currentTimeMillis())) {
+            return Optional.empty();
+        }
+
+        return Optional.of(target);
+    }
+
+    /**
+     * Refreshes the last poll time of the given target. The update is handed
+     * over to the {@link TargetPollBuffer} if nothing but the poll time has
+     * changed, otherwise it is written immediately.
+     */
+    private Target updateLastTargetQuery(final JpaTarget target, final URI address) {
+        final long now = System.currentTimeMillis();
+
+        if (isPollOnly(target.getTargetInfo(), address) && targetPollBuffer.offer(target.getId(), now)) {
+            return target;
+        }
+
+        return updateTargetStatus(target.getTargetInfo(), null, now, address).getTarget();
+    }
+
+    private boolean isPollOnly(final TargetInfo targetInfo, final URI address) {
+        return targetPollBuffer.isEnabled() && targetInfo.getUpdateStatus() != TargetUpdateStatus.UNKNOWN
+                && (address == null || address.equals(targetInfo.getAddress()));
     }
 
     private TargetInfo updateTargetStatus(final TargetInfo targetInfo, final TargetUpdateStatus status,
@@ -299,6 +362,49 @@ public class JpaControllerManagement implements ControllerManagement {
         return handleAddUpdateActionStatus(actionStatus, action);
     }
 
+    @Override
+    @Modifying
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public List<Action> addUpdateActionStatuses(final List<ActionStatusCreate> creates) {
+        final Map<Long, JpaAction> actions = findActionsById(
+                creates.stream().map(c -> ((JpaActionStatusCreate) c).getActionId()).collect(Collectors.toSet()));
+        final Set<Long> polledTargets = new HashSet<>();
+        final List<Action> result = new ArrayList<>(creates.size());
+
+        for (final ActionStatusCreate c : creates) {
+            final JpaActionStatusCreate create = (JpaActionStatusCreate) c;
+            final JpaAction action = Optional.ofNullable(actions.get(create.getActionId())).orElseThrow(
+                    () -> new EntityNotFoundException("Action with ID " + create.getActionId() + " not found!"));
+
+            final JpaTarget target = (JpaTarget) action.getTarget();
+            if (polledTargets.add(target.getId())) {
+                updateLastTargetQuery(target, null);
+            }
+
+            final JpaActionStatus actionStatus = create.build();
+            if (actionIsNotActiveButIntermediateFeedbackStillAllowed(actionStatus, action.isActive())) {
+                LOG.debug("Update of actionStatus {} for action {} not possible since action not active anymore.",
+                        actionStatus.getStatus(), action.getId());
+                result.add(action);
+                continue;
+            }
+
+            final JpaAction updated = (JpaAction) handleAddUpdateActionStatus(actionStatus, action);
+            actions.put(updated.getId(), updated);
+            result.add(updated);
+        }
+
+        return result;
+    }
+
+    private Map<Long, JpaAction> findActionsById(final Collection<Long> actionIds) {
+        final Map<Long, JpaAction> actions = new HashMap<>(actionIds.size());
+        for (final List<Long> ids : Lists.partition(new ArrayList<>(actionIds), Constants.MAX_ENTRIES_IN_STATEMENT)) {
+            actionRepository.findByIdIn(ids).forEach(action -> actions.put(action.getId(), action));
+        }
+        return actions;
+    }
+
     private boolean actionIsNotActiveButIntermediateFeedbackStillAllowed(final ActionStatus actionStatus,
             final boolean actionActive) {
         return !actionActive && (repositoryProperties.isRejectActionStatusForClosedAction()
@@ -499,6 +605,11 @@ public class JpaControllerManagement implements ControllerManagement {
     @Override
     public void downloadProgress(final Long statusId, final Long requestedBytes, final Long shippedBytesSinceLast,
             final Long shippedBytesOverall) {
+        if (downloadProgressAggregator.isEnabled()) {
+            downloadProgressAggregator.add(shippedBytesSinceLast);
+            return;
+        }
+
         eventPublisher.publishEvent(new DownloadProgressEvent(tenantAware.getCurrentTenant(), shippedBytesSinceLast,
                 applicationContext.getId()));
     }
@@ -16,10 +16,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.persistence.EntityManager;
+import javax.persistence.PersistenceUnitUtil;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Join;
@@ -43,6 +45,7 @@ import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.jpa.model.JpaActionStatus;
+import org.eclipse.hawkbit.repository.jpa.model.JpaActionStatus_;
 import org.eclipse.hawkbit.repository.jpa.model.JpaActionWithStatusCount;
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction_;
 import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSet;
@@ -54,6 +57,8 @@ import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTargetInfo;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget_;
 import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
+import org.eclipse.hawkbit.repository.jpa.specifications.KeysetSpecifications;
+import org.eclipse.hawkbit.repository.jpa.specifications.SpecificationsBuilder;
 import org.eclipse.hawkbit.repository.jpa.specifications.TargetSpecifications;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.ActionType;
@@ -82,7 +87,9 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.domain.Specifications;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
@@ -123,6 +130,9 @@ public class JpaDeploymentManagement implements DeploymentManagement {
     @Autowired
     private ActionStatusRepository actionStatusRepository;
 
+    @Autowired
+    private NoCountPagingRepository criteriaNoCountDao;
+
     @Autowired
     private TargetManagement targetManagement;
 
@@ -147,6 +157,9 @@ public class JpaDeploymentManagement implements DeploymentManagement {
     @Autowired
     private PlatformTransactionManager txManager;
 
+    @Autowired
+    private JdbcActionWriter jdbcActionWriter;
+
     @Override
     @Modifying
     @Transactional(isolation = Isolation.READ_UNCOMMITTED)
@@ -261,7 +274,7 @@ public class JpaDeploymentManagement implements DeploymentManagement {
 
         targetIds.forEach(tIds -> targetRepository.setAssignedDistributionSet(set, System.currentTimeMillis(),
                 currentUser, tIds));
-        targetIds.forEach(tIds -> targetInfoRepository.setTargetUpdateStatus(TargetUpdateStatus.PENDING, tIds));
+        setTargetUpdateStatus(TargetUpdateStatus.PENDING, targets);
         final Map<String, JpaAction> targetIdsToActions = targets.stream().map(
                 t -> actionRepository.save(createTargetAction(targetsWithActionMap, t, set, rollout, rolloutGroup)))
                 .collect(Collectors.toMap(a -> a.getTarget().getControllerId(), Function.identity()));
@@ -312,9 +325,32 @@ public class JpaDeploymentManagement implements DeploymentManagement {
         return actionForTarget;
     }
 
-    private void assignDistributionSetEvent(final Action action) {
-        ((JpaTargetInfo) action.getTarget().getTargetInfo()).setUpdateStatus(TargetUpdateStatus.PENDING);
+    /**
+     * Sets the {@link TargetUpdateStatus} of the given targets with one bulk
+     * update per {@link Constants#MAX_ENTRIES_IN_STATEMENT} targets instead of
+     * an update per dirty {@link JpaTargetInfo} at flush. Target infos which
+     * are already loaded into the persistence context are refreshed, the
+     * others read the new status when they are loaded.
+     *
+     * @param status
+     *            to set
+     * @param targets
+     *            to set it for
+     */
+    private void setTargetUpdateStatus(final TargetUpdateStatus status, final List<JpaTarget> targets) {
+        Lists.partition(targets.stream().map(Target::getId).collect(Collectors.toList()),
+                Constants.MAX_ENTRIES_IN_STATEMENT)
+                .forEach(tIds -> targetInfoRepository.setTargetUpdateStatus(status, tIds));
 
+        final PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory()
+                .getPersistenceUnitUtil();
+        targets.stream().filter(target -> persistenceUnitUtil.isLoaded(target, JpaTarget_.targetInfo.getName()))
+                .map(Target::getTargetInfo)
+                .filter(targetInfo -> targetInfo.getUpdateStatus() != status && entityManager.contains(targetInfo))
+                .forEach(entityManager::refresh);
+    }
+
+    private void assignDistributionSetEvent(final Action action) {
         afterCommit.afterCommit(() -> eventPublisher
                 .publishEvent(new TargetUpdatedEvent(action.getTarget(), applicationContext.getId())));
         afterCommit.afterCommit(() -> eventPublisher
@@ -462,7 +498,17 @@ public class JpaDeploymentManagement implements DeploymentManagement {
             final Page<Action> rolloutGroupActions = findActionsByRolloutAndRolloutGroupParent(rollout,
                     rolloutGroupParent, limit);
 
-            rolloutGroupActions.map(action -> (JpaAction) action).forEach(this::startScheduledAction);
+            final List<JpaAction> startedActions = new ArrayList<>(rolloutGroupActions.getNumberOfElements());
+            rolloutGroupActions.map(action -> (JpaAction) action)
+                    .forEach(action -> startScheduledAction(action, startedActions::add));
+
+            if (jdbcActionWriter.isEnabled()) {
+                jdbcActionWriter.createRunningActionStatus(startedActions);
+            } else {
+                startedActions.forEach(started -> setRunningActionStatus(started, null));
+            }
+            setTargetUpdateStatus(TargetUpdateStatus.PENDING, startedActions.stream()
+                    .map(started -> (JpaTarget) started.getTarget()).collect(Collectors.toList()));
 
             return rolloutGroupActions.getTotalElements();
         });
@@ -482,7 +528,7 @@ public class JpaDeploymentManagement implements DeploymentManagement {
         }
     }
 
-    private Action startScheduledAction(final JpaAction action) {
+    private Action startScheduledAction(final JpaAction action, final Consumer<JpaAction> runningStatusWriter) {
         // check if we need to override running update actions
         final Set<Long> overrideObsoleteUpdateActions = overrideObsoleteUpdateActions(
                 Collections.singletonList(action.getTarget().getId()));
@@ -501,15 +547,12 @@ public class JpaDeploymentManagement implements DeploymentManagement {
         action.setStatus(Status.RUNNING);
         final JpaAction savedAction = actionRepository.save(action);
 
-        setRunningActionStatus(savedAction, null);
+        runningStatusWriter.accept(savedAction);
 
         final JpaTarget target = (JpaTarget) savedAction.getTarget();
 
         target.setAssignedDistributionSet(savedAction.getDistributionSet());
-        final JpaTargetInfo targetInfo = (JpaTargetInfo) target.getTargetInfo();
-        targetInfo.setUpdateStatus(TargetUpdateStatus.PENDING);
         targetRepository.save(target);
-        targetInfoRepository.save(targetInfo);
 
         // in case we canceled an action before for this target, then don't fire
         // assignment event
@@ -588,6 +631,23 @@ public class JpaDeploymentManagement implements DeploymentManagement {
         return convertAcPage(actions, pageable);
     }
 
+    @Override
+    public Slice<Action> findActionSliceByTarget(final String rsqlParam, final String controllerId,
+            final Pageable pageable) {
+        final List<Specification<JpaAction>> specList = new ArrayList<>(3);
+        specList.add((root, query, cb) -> cb.equal(root.get(JpaAction_.target).get(JpaTarget_.controllerId),
+                controllerId));
+        if (rsqlParam != null) {
+            specList.add(RSQLUtility.parse(rsqlParam, ActionFields.class, virtualPropertyReplacer));
+        }
+        specList.add(KeysetSpecifications.after(pageable));
+
+        final List<JpaAction> actions = criteriaNoCountDao
+                .findAll(SpecificationsBuilder.combineWithAnd(specList), pageable, JpaAction.class).getContent();
+        return new SliceImpl<>(Collections.unmodifiableList(actions), pageable,
+                actions.size() == pageable.getPageSize());
+    }
+
     private Specification<JpaAction> createSpecificationFor(final String controllerId, final String rsqlParam) {
         final Specification<JpaAction> spec = RSQLUtility.parse(rsqlParam, ActionFields.class, virtualPropertyReplacer);
         return (root, query, cb) -> cb.and(spec.toPredicate(root, query, cb),
@@ -640,6 +700,20 @@ public class JpaDeploymentManagement implements DeploymentManagement {
         return actionStatusRepository.getByActionId(pageReq, actionId);
     }
 
+    @Override
+    public Slice<ActionStatus> findActionStatusSliceByActionWithMessages(final Pageable pageable,
+            final Long actionId) {
+        final Specification<JpaActionStatus> byAction = (root, query, cb) -> cb
+                .equal(root.get(JpaActionStatus_.action).get(JpaAction_.id), actionId);
+
+        final List<JpaActionStatus> statusList = criteriaNoCountDao
+                .findAll(Specifications.where(byAction).and(KeysetSpecifications.after(pageable)), pageable,
+                        JpaActionStatus.class, "ActionStatus.withMessages")
+                .getContent();
+        return new SliceImpl<>(Collections.unmodifiableList(statusList), pageable,
+                statusList.size() == pageable.getPageSize());
+    }
+
     @Override
     public Page<ActionStatus> findActionStatusAll(final Pageable pageable) {
         return convertAcSPage(actionStatusRepository.findAll(pageable), pageable);
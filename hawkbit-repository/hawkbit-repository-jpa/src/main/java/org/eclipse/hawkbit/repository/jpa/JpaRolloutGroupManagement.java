@@ -8,6 +8,7 @@
  */
 package org.eclipse.hawkbit.repository.jpa;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +38,8 @@ import org.eclipse.hawkbit.repository.jpa.model.JpaTarget_;
 import org.eclipse.hawkbit.repository.jpa.model.RolloutTargetGroup;
 import org.eclipse.hawkbit.repository.jpa.model.RolloutTargetGroup_;
 import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
+import org.eclipse.hawkbit.repository.jpa.specifications.KeysetSpecifications;
+import org.eclipse.hawkbit.repository.jpa.specifications.SpecificationsBuilder;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Rollout.RolloutStatus;
 import org.eclipse.hawkbit.repository.model.RolloutGroup;
@@ -50,6 +53,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
@@ -74,6 +79,9 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
     @Autowired
     private EntityManager entityManager;
 
+    @Autowired
+    private NoCountPagingRepository criteriaNoCountDao;
+
     @Autowired
     private VirtualPropertyReplacer virtualPropertyReplacer;
 
@@ -181,6 +189,34 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
         return targetRepository.findByActionsRolloutGroupId(rolloutGroupId, page);
     }
 
+    @Override
+    public Slice<Target> findRolloutGroupTargetSlice(final Long rolloutGroupId, final String rsqlParam,
+            final Pageable pageable) {
+        final JpaRolloutGroup rolloutGroup = Optional.ofNullable(rolloutGroupRepository.findOne(rolloutGroupId))
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Rollout Group with given ID " + rolloutGroupId + " not found."));
+
+        final List<Specification<JpaTarget>> specList = new ArrayList<>(3);
+        if (rsqlParam != null || isRolloutStatusReady(rolloutGroup)) {
+            // same relations as in findRolloutGroupTargets
+            specList.add((root, query, cb) -> cb.equal(root.join(JpaTarget_.rolloutTargetGroup)
+                    .get(RolloutTargetGroup_.rolloutGroup).get(JpaRolloutGroup_.id), rolloutGroupId));
+        } else {
+            specList.add((root, query, cb) -> cb.equal(
+                    root.join(JpaTarget_.actions).get(JpaAction_.rolloutGroup).get(JpaRolloutGroup_.id),
+                    rolloutGroupId));
+        }
+        if (rsqlParam != null) {
+            specList.add(RSQLUtility.parse(rsqlParam, TargetFields.class, virtualPropertyReplacer));
+        }
+        specList.add(KeysetSpecifications.after(pageable));
+
+        final List<JpaTarget> targets = criteriaNoCountDao
+                .findAll(SpecificationsBuilder.combineWithAnd(specList), pageable, JpaTarget.class).getContent();
+        return new SliceImpl<>(Collections.unmodifiableList(targets), pageable,
+                targets.size() == pageable.getPageSize());
+    }
+
     private static boolean isRolloutStatusReady(final RolloutGroup rolloutGroup) {
         return rolloutGroup != null && RolloutStatus.READY.equals(rolloutGroup.getRollout().getStatus());
     }
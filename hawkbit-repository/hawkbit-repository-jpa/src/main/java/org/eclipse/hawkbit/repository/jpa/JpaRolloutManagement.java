@@ -31,6 +31,7 @@ import org.eclipse.hawkbit.repository.builder.GenericRolloutUpdate;
 import org.eclipse.hawkbit.repository.builder.RolloutCreate;
 import org.eclipse.hawkbit.repository.builder.RolloutGroupCreate;
 import org.eclipse.hawkbit.repository.builder.RolloutUpdate;
+import org.eclipse.hawkbit.repository.event.remote.RolloutActionsCreatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.RolloutGroupCreatedEvent;
 import org.eclipse.hawkbit.repository.exception.ConstraintViolationException;
 import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
@@ -40,6 +41,7 @@ import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
 import org.eclipse.hawkbit.repository.jpa.model.RolloutTargetGroup;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounters;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.RolloutGroupActionEvaluator;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.RolloutGroupConditionEvaluator;
 import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
@@ -140,6 +142,12 @@ public class JpaRolloutManagement implements RolloutManagement {
     @Autowired
     private AfterTransactionCommitExecutor afterCommit;
 
+    @Autowired
+    private JdbcActionWriter jdbcActionWriter;
+
+    @Autowired
+    private RolloutGroupStatusCounters rolloutGroupStatusCounters;
+
     @Override
     public Page<Rollout> findAll(final Pageable pageable) {
         return RolloutHelper.convertPage(rolloutRepository.findAll(pageable), pageable);
@@ -622,6 +630,16 @@ public class JpaRolloutManagement implements RolloutManagement {
         // created.
         final List<Long> targetIds = targets.stream().map(t -> t.getId()).collect(Collectors.toList());
         actionRepository.switchStatus(Action.Status.CANCELED, targetIds, false, Action.Status.SCHEDULED);
+        if (jdbcActionWriter.isEnabled()) {
+            jdbcActionWriter.createScheduledActions(targetIds, distributionSet.getId(), actionType, forcedTime,
+                    rollout.getId(), rolloutGroup.getId());
+            // the rows bypass the entity listeners, so one event is published
+            // for the batch instead of an ActionCreatedEvent per action
+            final RolloutActionsCreatedEvent event = new RolloutActionsCreatedEvent(rollout.getTenant(),
+                    rollout.getId(), rolloutGroup.getId(), distributionSet.getId(), targetIds, context.getId());
+            afterCommit.afterCommit(() -> eventPublisher.publishEvent(event));
+            return;
+        }
         targets.forEach(target -> {
             final JpaAction action = new JpaAction();
             action.setTarget(target);
@@ -772,6 +790,10 @@ public class JpaRolloutManagement implements RolloutManagement {
     }
 
     private boolean isRolloutGroupComplete(final JpaRollout rollout, final JpaRolloutGroup rolloutGroup) {
+        if (rolloutGroupStatusCounters.isEnabled()) {
+            return rolloutGroupStatusCounters.getCounts(rolloutGroup).getOpen() <= 0
+                    && rolloutGroupStatusCounters.confirmCounts(rolloutGroup).getOpen() <= 0;
+        }
         final Long actionsLeftForRollout = actionRepository
                 .countByRolloutAndRolloutGroupAndStatusNotAndStatusNotAndStatusNot(rollout, rolloutGroup,
                         Action.Status.ERROR, Action.Status.FINISHED, Action.Status.CANCELED);
@@ -18,7 +18,9 @@ import org.eclipse.hawkbit.cache.TenancyCacheManager;
 import org.eclipse.hawkbit.repository.Constants;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.TenantStatsManagement;
+import org.eclipse.hawkbit.repository.event.remote.TenantConfigurationChangedEvent;
 import org.eclipse.hawkbit.repository.jpa.configuration.MultiTenantJpaTransactionManager;
+import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
 import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSetType;
 import org.eclipse.hawkbit.repository.jpa.model.JpaSoftwareModuleType;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTenantMetaData;
@@ -32,6 +34,8 @@ import org.eclipse.persistence.config.PersistenceUnitProperties;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
@@ -112,6 +116,18 @@ public class JpaSystemManagement implements CurrentTenantCacheKeyGenerator, Syst
     @Autowired
     private PlatformTransactionManager txManager;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private AfterTransactionCommitExecutor afterCommit;
+
+    @Autowired
+    private TenantConfigurationSnapshots tenantConfigurationSnapshots;
+
     @Override
     public SystemUsageReport getSystemUsageStatistics() {
 
@@ -230,6 +246,10 @@ public class JpaSystemManagement implements CurrentTenantCacheKeyGenerator, Syst
             softwareModuleTypeRepository.deleteByTenantIgnoreCase(tenant);
             return null;
         });
+        afterCommit.afterCommit(() -> {
+            tenantConfigurationSnapshots.invalidate(tenant);
+            eventPublisher.publishEvent(new TenantConfigurationChangedEvent(tenant, null, applicationContext.getId()));
+        });
     }
 
     @Override
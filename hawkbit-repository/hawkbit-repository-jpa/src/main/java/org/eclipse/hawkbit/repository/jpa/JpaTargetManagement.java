@@ -12,7 +12,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -34,11 +38,13 @@ import org.eclipse.hawkbit.repository.TimestampCalculator;
 import org.eclipse.hawkbit.repository.builder.TargetCreate;
 import org.eclipse.hawkbit.repository.builder.TargetUpdate;
 import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetsCreatedEvent;
 import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaTargetCreate;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaTargetUpdate;
 import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
 import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSet_;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTargetInfo;
@@ -46,6 +52,7 @@ import org.eclipse.hawkbit.repository.jpa.model.JpaTargetInfo_;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTargetTag;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget_;
 import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
+import org.eclipse.hawkbit.repository.jpa.specifications.KeysetSpecifications;
 import org.eclipse.hawkbit.repository.jpa.specifications.SpecificationsBuilder;
 import org.eclipse.hawkbit.repository.jpa.specifications.TargetSpecifications;
 import org.eclipse.hawkbit.repository.model.Target;
@@ -109,6 +116,12 @@ public class JpaTargetManagement implements TargetManagement {
     @Autowired
     private VirtualPropertyReplacer virtualPropertyReplacer;
 
+    @Autowired
+    private JdbcTargetWriter jdbcTargetWriter;
+
+    @Autowired
+    private AfterTransactionCommitExecutor afterCommit;
+
     @Override
     public Target findTargetByControllerID(final String controllerId) {
         return targetRepository.findByControllerId(controllerId);
@@ -134,8 +147,12 @@ public class JpaTargetManagement implements TargetManagement {
 
     @Override
     public List<Target> findTargetByControllerID(final Collection<String> controllerIDs) {
-        return Collections.unmodifiableList(targetRepository
-                .findAll(TargetSpecifications.byControllerIdWithStatusAndAssignedInJoin(controllerIDs)));
+        final List<List<String>> partition = Lists.partition(new ArrayList<>(controllerIDs),
+                Constants.MAX_ENTRIES_IN_STATEMENT);
+        return Collections.unmodifiableList(partition.stream()
+                .map(ids -> targetRepository
+                        .findAll(TargetSpecifications.byControllerIdWithStatusAndAssignedInJoin(ids)))
+                .flatMap(List::stream).collect(Collectors.toList()));
     }
 
     @Override
@@ -145,16 +162,34 @@ public class JpaTargetManagement implements TargetManagement {
 
     @Override
     public Slice<Target> findTargetsAll(final Pageable pageable) {
+        return convertPage(criteriaNoCountDao.findAll(fetchTargetInfo(), pageable, JpaTarget.class), pageable);
+    }
+
+    private static Specification<JpaTarget> fetchTargetInfo() {
         // workarround - no join fetch allowed that is why we need specification
         // instead of query for
         // count() of Pageable
-        final Specification<JpaTarget> spec = (root, query, cb) -> {
+        return (root, query, cb) -> {
             if (!query.getResultType().isAssignableFrom(Long.class)) {
                 root.fetch(JpaTarget_.targetInfo);
             }
             return cb.conjunction();
         };
-        return convertPage(criteriaNoCountDao.findAll(spec, pageable, JpaTarget.class), pageable);
+    }
+
+    @Override
+    public Slice<Target> findTargetSlice(final String rsqlParam, final Pageable pageable) {
+        final List<Specification<JpaTarget>> specList = new ArrayList<>(3);
+        specList.add(fetchTargetInfo());
+        if (rsqlParam != null) {
+            specList.add(RSQLUtility.parse(rsqlParam, TargetFields.class, virtualPropertyReplacer));
+        }
+        specList.add(KeysetSpecifications.after(pageable));
+
+        final List<JpaTarget> targets = criteriaNoCountDao
+                .findAll(SpecificationsBuilder.combineWithAnd(specList), pageable, JpaTarget.class).getContent();
+        return new SliceImpl<>(Collections.unmodifiableList(targets), pageable,
+                targets.size() == pageable.getPageSize());
     }
 
     @Override
@@ -587,7 +622,48 @@ public class JpaTargetManagement implements TargetManagement {
     @Modifying
     @Transactional(isolation = Isolation.READ_UNCOMMITTED)
     public List<Target> createTargets(final Collection<TargetCreate> targets) {
-        return targets.stream().map(this::createTarget).collect(Collectors.toList());
+        if (!jdbcTargetWriter.isEnabled()) {
+            return targets.stream().map(this::createTarget).collect(Collectors.toList());
+        }
+
+        final List<JpaTarget> newTargets = targets.stream().map(create -> ((JpaTargetCreate) create).build())
+                .collect(Collectors.toList());
+        assertControllerIdsNotExist(
+                newTargets.stream().map(JpaTarget::getControllerId).collect(Collectors.toList()));
+
+        final String tenant = tenantAware.getCurrentTenant();
+        final List<Target> createdTargets = new ArrayList<>(newTargets.size());
+        for (final List<JpaTarget> batch : Lists.partition(newTargets, jdbcTargetWriter.getBatchSize())) {
+            final List<Long> targetIds = jdbcTargetWriter.createTargets(batch);
+            final List<String> controllerIds = batch.stream().map(JpaTarget::getControllerId)
+                    .collect(Collectors.toList());
+            afterCommit.afterCommit(() -> eventPublisher.publishEvent(
+                    new TargetsCreatedEvent(tenant, targetIds, controllerIds, applicationContext.getId())));
+            createdTargets.addAll(findTargetsById(targetIds));
+        }
+        return Collections.unmodifiableList(createdTargets);
+    }
+
+    private void assertControllerIdsNotExist(final List<String> controllerIds) {
+        if (new HashSet<>(controllerIds).size() != controllerIds.size()) {
+            throw new EntityAlreadyExistsException("Controller IDs of the new targets are not unique");
+        }
+
+        final List<String> queried = controllerIds.stream().filter(Objects::nonNull).collect(Collectors.toList());
+        for (final List<String> chunk : Lists.partition(queried, Constants.MAX_ENTRIES_IN_STATEMENT)) {
+            final List<String> existing = targetRepository.findControllerIdByControllerIdIn(chunk);
+            if (!existing.isEmpty()) {
+                throw new EntityAlreadyExistsException("Targets with controller IDs " + existing + " already exist");
+            }
+        }
+    }
+
+    private List<Target> findTargetsById(final List<Long> targetIds) {
+        final Map<Long, Target> targets = new HashMap<>(targetIds.size());
+        for (final List<Long> chunk : Lists.partition(targetIds, Constants.MAX_ENTRIES_IN_STATEMENT)) {
+            targetRepository.findAll(chunk).forEach(target -> targets.put(target.getId(), target));
+        }
+        return targetIds.stream().map(targets::get).collect(Collectors.toList());
     }
 
     @Override
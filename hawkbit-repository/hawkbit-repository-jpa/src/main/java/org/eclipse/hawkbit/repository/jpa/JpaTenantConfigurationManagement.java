@@ -11,20 +11,23 @@ package org.eclipse.hawkbit.repository.jpa;
 import java.io.Serializable;
 
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
+import org.eclipse.hawkbit.repository.event.remote.TenantConfigurationChangedEvent;
+import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTenantConfiguration;
 import org.eclipse.hawkbit.repository.model.TenantConfiguration;
 import org.eclipse.hawkbit.repository.model.TenantConfigurationValue;
+import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 import org.eclipse.hawkbit.tenancy.configuration.validator.TenantConfigurationValidatorException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.convert.support.ConfigurableConversionService;
 import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
@@ -44,21 +47,25 @@ public class JpaTenantConfigurationManagement implements TenantConfigurationMana
     @Autowired
     private ApplicationContext applicationContext;
 
-    private static final ConfigurableConversionService conversionService = new DefaultConversionService();
+    @Autowired
+    private TenantConfigurationSnapshots tenantConfigurationSnapshots;
 
-    @Override
-    @Cacheable(value = "tenantConfiguration", key = "#configurationKeyName")
-    public <T extends Serializable> TenantConfigurationValue<T> getConfigurationValue(final String configurationKeyName,
-            final Class<T> propertyType) {
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
-        final TenantConfigurationKey configurationKey = tenantConfigurationProperties.fromKeyName(configurationKeyName);
+    @Autowired
+    private AfterTransactionCommitExecutor afterCommit;
 
-        validateTenantConfigurationDataType(configurationKey, propertyType);
+    @Autowired
+    private TenantAware tenantAware;
 
-        final TenantConfiguration tenantConfiguration = tenantConfigurationRepository
-                .findByKey(configurationKey.getKeyName());
+    private static final ConfigurableConversionService conversionService = new DefaultConversionService();
 
-        return buildTenantConfigurationValueByKey(configurationKey, propertyType, tenantConfiguration);
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public <T extends Serializable> TenantConfigurationValue<T> getConfigurationValue(final String configurationKeyName,
+            final Class<T> propertyType) {
+        return tenantConfigurationSnapshots.getConfigurationValue(configurationKeyName, propertyType);
     }
 
     /**
@@ -84,6 +91,15 @@ public class JpaTenantConfigurationManagement implements TenantConfigurationMana
     public <T extends Serializable> TenantConfigurationValue<T> buildTenantConfigurationValueByKey(
             final TenantConfigurationKey configurationKey, final Class<T> propertyType,
             final TenantConfiguration tenantConfiguration) {
+        if (tenantConfiguration == null && configurationKey.getDefaultValue() != null) {
+            validateTenantConfigurationDataType(configurationKey, propertyType);
+        }
+        return toConfigurationValue(configurationKey, propertyType, tenantConfiguration);
+    }
+
+    static <T extends Serializable> TenantConfigurationValue<T> toConfigurationValue(
+            final TenantConfigurationKey configurationKey, final Class<T> propertyType,
+            final TenantConfiguration tenantConfiguration) {
         if (tenantConfiguration != null) {
             return TenantConfigurationValue.<T> builder().global(false).createdBy(tenantConfiguration.getCreatedBy())
                     .createdAt(tenantConfiguration.getCreatedAt())
@@ -95,12 +111,22 @@ public class JpaTenantConfigurationManagement implements TenantConfigurationMana
 
             return TenantConfigurationValue.<T> builder().global(true).createdBy(null).createdAt(null)
                     .lastModifiedAt(null).lastModifiedBy(null)
-                    .value(getGlobalConfigurationValue(configurationKey.getKeyName(), propertyType)).build();
+                    .value(conversionService.convert(configurationKey.getDefaultValue(), propertyType)).build();
         }
         return null;
     }
 
+    static <T extends Serializable> TenantConfigurationValue<T> convertConfigurationValue(
+            final TenantConfigurationValue<?> configurationValue, final Class<T> propertyType) {
+        return TenantConfigurationValue.<T> builder().global(configurationValue.isGlobal())
+                .createdBy(configurationValue.getCreatedBy()).createdAt(configurationValue.getCreatedAt())
+                .lastModifiedAt(configurationValue.getLastModifiedAt())
+                .lastModifiedBy(configurationValue.getLastModifiedBy())
+                .value(conversionService.convert(configurationValue.getValue(), propertyType)).build();
+    }
+
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public <T extends Serializable> TenantConfigurationValue<T> getConfigurationValue(
             final String configurationKeyName) {
         final TenantConfigurationKey configurationKey = tenantConfigurationProperties.fromKeyName(configurationKeyName);
@@ -122,7 +148,6 @@ public class JpaTenantConfigurationManagement implements TenantConfigurationMana
     }
 
     @Override
-    @CacheEvict(value = "tenantConfiguration", key = "#configurationKeyName")
     @Transactional(isolation = Isolation.READ_UNCOMMITTED)
     @Modifying
     public <T extends Serializable> TenantConfigurationValue<T> addOrUpdateConfiguration(
@@ -149,6 +174,7 @@ public class JpaTenantConfigurationManagement implements TenantConfigurationMana
 
         final JpaTenantConfiguration updatedTenantConfiguration = tenantConfigurationRepository
                 .save(tenantConfiguration);
+        publishConfigurationChange(configurationKeyName);
 
         @SuppressWarnings("unchecked")
         final Class<T> clazzT = (Class<T>) value.getClass();
@@ -161,10 +187,20 @@ public class JpaTenantConfigurationManagement implements TenantConfigurationMana
     }
 
     @Override
-    @CacheEvict(value = "tenantConfiguration", key = "#configurationKeyName")
     @Transactional(isolation = Isolation.READ_UNCOMMITTED)
     @Modifying
     public void deleteConfiguration(final String configurationKeyName) {
         tenantConfigurationRepository.deleteByKey(configurationKeyName);
+        publishConfigurationChange(configurationKeyName);
+    }
+
+    private void publishConfigurationChange(final String configurationKeyName) {
+        final String tenant = tenantAware.getCurrentTenant();
+        // the events are delivered asynchronously, so the own snapshot is
+        // dropped right away, also on rollback as the change might have been
+        // read by another transaction in the meantime
+        tenantConfigurationSnapshots.invalidateAfterCompletion(tenant);
+        afterCommit.afterCommit(() -> eventPublisher.publishEvent(
+                new TenantConfigurationChangedEvent(tenant, configurationKeyName, applicationContext.getId())));
     }
 }
@@ -21,6 +21,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
 import org.springframework.stereotype.Repository;
@@ -58,6 +59,28 @@ public class NoCountPagingRepository {
         return noCountDao.findAll(spec, pageable);
     }
 
+    /**
+     * Searches without the need for an extra count query and loads the
+     * attributes of the given entity graph with the found entities.
+     *
+     * @param spec
+     *            to search for
+     * @param pageable
+     *            information
+     * @param domainClass
+     *            of the {@link Entity}
+     * @param entityGraph
+     *            the name of the entity graph to load
+     *
+     * @return {@link Slice} of data
+     */
+    public <T, I extends Serializable> Slice<T> findAll(final Specification<T> spec, final Pageable pageable,
+            final Class<T> domainClass, final String entityGraph) {
+        final SimpleJpaNoCountRepository<T, I> noCountDao = new SimpleJpaNoCountRepository<>(domainClass, em,
+                entityGraph);
+        return noCountDao.findAll(spec, pageable);
+    }
+
     /**
      * Searches without the need for an extra count query.
      *
@@ -89,6 +112,10 @@ public class NoCountPagingRepository {
      */
     public static class SimpleJpaNoCountRepository<T, I extends Serializable> extends SimpleJpaRepository<T, I> {
 
+        private final EntityManager em;
+
+        private final String entityGraph;
+
         /**
          * Constructor.
          *
@@ -98,11 +125,32 @@ public class NoCountPagingRepository {
          *            {@link EntityManager} instance for the queries
          */
         public SimpleJpaNoCountRepository(final Class<T> domainClass, final EntityManager em) {
+            this(domainClass, em, null);
+        }
+
+        /**
+         * Constructor.
+         *
+         * @param domainClass
+         *            of the {@link Entity}
+         * @param em
+         *            {@link EntityManager} instance for the queries
+         * @param entityGraph
+         *            the name of the entity graph to load with the found
+         *            entities, {@code null} if none
+         */
+        public SimpleJpaNoCountRepository(final Class<T> domainClass, final EntityManager em,
+                final String entityGraph) {
             super(domainClass, em);
+            this.em = em;
+            this.entityGraph = entityGraph;
         }
 
         @Override
         protected Page<T> readPage(final TypedQuery<T> query, final Pageable pageable, final Specification<T> spec) {
+            if (entityGraph != null) {
+                query.setHint(EntityGraphType.LOAD.getKey(), em.getEntityGraph(entityGraph));
+            }
             query.setFirstResult(pageable.getOffset());
             query.setMaxResults(pageable.getPageSize());
 
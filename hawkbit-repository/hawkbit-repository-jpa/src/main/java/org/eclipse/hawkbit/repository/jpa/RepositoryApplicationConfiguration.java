@@ -11,6 +11,7 @@ package org.eclipse.hawkbit.repository.jpa;
 import java.util.Map;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import javax.sql.DataSource;
 
 import org.eclipse.hawkbit.ControllerPollProperties;
@@ -47,12 +48,20 @@ import org.eclipse.hawkbit.repository.jpa.builder.JpaRolloutBuilder;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaSoftwareModuleBuilder;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaTargetFilterQueryBuilder;
 import org.eclipse.hawkbit.repository.jpa.configuration.MultiTenantJpaTransactionManager;
+import org.eclipse.hawkbit.repository.jpa.event.DownloadProgressAggregator;
+import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
 import org.eclipse.hawkbit.repository.jpa.event.JpaEventEntityManager;
 import org.eclipse.hawkbit.repository.jpa.model.helper.AfterTransactionCommitExecutorHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.EntityInterceptorHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.SecurityTokenGeneratorHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.SystemSecurityContextHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.TenantAwareHolder;
+import org.eclipse.hawkbit.repository.jpa.poll.IdleTargetCache;
+import org.eclipse.hawkbit.repository.jpa.poll.TargetPollBuffer;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounters;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutTenantIndex;
+import org.eclipse.hawkbit.repository.jpa.rollout.TenantCheckLatencies;
+import org.eclipse.hawkbit.repository.jpa.rsql.RsqlFilterCacheStatistics;
 import org.eclipse.hawkbit.repository.jpa.rsql.RsqlParserValidationOracle;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.DistributionSetType;
@@ -75,10 +84,13 @@ import org.springframework.boot.autoconfigure.orm.jpa.JpaBaseConfiguration;
 import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.orm.jpa.EntityScan;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.orm.jpa.vendor.AbstractJpaVendorAdapter;
@@ -452,6 +464,193 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
         return new JpaControllerManagement();
     }
 
+    /**
+     * {@link TargetPollBuffer} bean.
+     *
+     * @param repositoryProperties
+     *            for the buffer configuration
+     * @param tenantAware
+     *            to run as specific tenant
+     * @param targetInfoRepository
+     *            to write the poll times
+     * @param transactionManager
+     *            to run transactions
+     * @return a new {@link TargetPollBuffer}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public TargetPollBuffer targetPollBuffer(final RepositoryProperties repositoryProperties,
+            final TenantAware tenantAware, final TargetInfoRepository targetInfoRepository,
+            final PlatformTransactionManager transactionManager) {
+        return new TargetPollBuffer(repositoryProperties, tenantAware, targetInfoRepository, transactionManager);
+    }
+
+    /**
+     * {@link IdleTargetCache} bean.
+     *
+     * @param repositoryProperties
+     *            for the cache configuration
+     * @param tenantAware
+     *            to get the current tenant
+     * @return a new {@link IdleTargetCache}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public IdleTargetCache idleTargetCache(final RepositoryProperties repositoryProperties,
+            final TenantAware tenantAware) {
+        return new IdleTargetCache(repositoryProperties, tenantAware);
+    }
+
+    /**
+     * {@link TenantConfigurationSnapshots} bean.
+     *
+     * @param tenantAware
+     *            to get the current tenant
+     * @param tenantConfigurationRepository
+     *            to load the configuration of a tenant
+     * @param tenantConfigurationProperties
+     *            the configuration keys and their default values
+     * @param afterCommit
+     *            to keep a loaded snapshot only after commit
+     * @return a new {@link TenantConfigurationSnapshots}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public TenantConfigurationSnapshots tenantConfigurationSnapshots(final TenantAware tenantAware,
+            final TenantConfigurationRepository tenantConfigurationRepository,
+            final TenantConfigurationProperties tenantConfigurationProperties,
+            final AfterTransactionCommitExecutor afterCommit) {
+        return new TenantConfigurationSnapshots(tenantAware, tenantConfigurationRepository,
+                tenantConfigurationProperties, afterCommit);
+    }
+
+    /**
+     * {@link RolloutTenantIndex} bean.
+     *
+     * @param rolloutProperties
+     *            for the cache configuration
+     * @param tenantAware
+     *            to count the rollouts as specific tenant
+     * @param rolloutRepository
+     *            to count the rollouts
+     * @return a new {@link RolloutTenantIndex}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public RolloutTenantIndex rolloutTenantIndex(final RolloutProperties rolloutProperties,
+            final TenantAware tenantAware, final RolloutRepository rolloutRepository) {
+        return new RolloutTenantIndex(rolloutProperties, tenantAware, rolloutRepository);
+    }
+
+    /**
+     * {@link RolloutGroupStatusCounters} bean.
+     *
+     * @param rolloutProperties
+     *            for the counter configuration
+     * @param tenantAware
+     *            to get the current tenant
+     * @param actionRepository
+     *            to count the actions of a group
+     * @return a new {@link RolloutGroupStatusCounters}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public RolloutGroupStatusCounters rolloutGroupStatusCounters(final RolloutProperties rolloutProperties,
+            final TenantAware tenantAware, final ActionRepository actionRepository) {
+        return new RolloutGroupStatusCounters(rolloutProperties, tenantAware, actionRepository);
+    }
+
+    /**
+     * {@link RsqlFilterCacheStatistics} bean.
+     *
+     * @return a new {@link RsqlFilterCacheStatistics}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public RsqlFilterCacheStatistics rsqlFilterCacheStatistics() {
+        return new RsqlFilterCacheStatistics();
+    }
+
+    /**
+     * {@link TenantCheckLatencies} bean.
+     *
+     * @return a new {@link TenantCheckLatencies}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public TenantCheckLatencies tenantCheckLatencies() {
+        return new TenantCheckLatencies();
+    }
+
+    /**
+     * {@link JdbcActionWriter} bean.
+     *
+     * @param rolloutProperties
+     *            for the batch configuration
+     * @param dataSource
+     *            to write the actions
+     * @param tenantAware
+     *            to get the current tenant
+     * @param auditorProvider
+     *            to get the current user
+     * @param entityManagerFactory
+     *            to evict the referencing entities from the shared cache
+     * @return a new {@link JdbcActionWriter}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public JdbcActionWriter jdbcActionWriter(final RolloutProperties rolloutProperties, final DataSource dataSource,
+            final TenantAware tenantAware, final AuditorAware<String> auditorProvider,
+            final EntityManagerFactory entityManagerFactory) {
+        return new JdbcActionWriter(rolloutProperties, dataSource, tenantAware, auditorProvider,
+                entityManagerFactory);
+    }
+
+    /**
+     * {@link JdbcTargetWriter} bean.
+     *
+     * @param repositoryProperties
+     *            for the batch configuration
+     * @param dataSource
+     *            to write the targets
+     * @param tenantAware
+     *            to get the current tenant
+     * @param auditorProvider
+     *            to get the current user
+     * @param systemSecurityContext
+     *            to read the security tokens of the targets
+     * @return a new {@link JdbcTargetWriter}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public JdbcTargetWriter jdbcTargetWriter(final RepositoryProperties repositoryProperties,
+            final DataSource dataSource, final TenantAware tenantAware, final AuditorAware<String> auditorProvider,
+            final SystemSecurityContext systemSecurityContext) {
+        return new JdbcTargetWriter(repositoryProperties, dataSource, tenantAware, auditorProvider,
+                systemSecurityContext);
+    }
+
+    /**
+     * {@link DownloadProgressAggregator} bean.
+     *
+     * @param repositoryProperties
+     *            for the aggregation configuration
+     * @param tenantAware
+     *            to get the current tenant
+     * @param eventPublisher
+     *            to publish the aggregated events
+     * @param applicationContext
+     *            for the application id of the events
+     * @return a new {@link DownloadProgressAggregator}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public DownloadProgressAggregator downloadProgressAggregator(final RepositoryProperties repositoryProperties,
+            final TenantAware tenantAware, final ApplicationEventPublisher eventPublisher,
+            final ApplicationContext applicationContext) {
+        return new DownloadProgressAggregator(repositoryProperties, tenantAware, eventPublisher, applicationContext);
+    }
+
     /**
      * {@link JpaArtifactManagement} bean.
      *
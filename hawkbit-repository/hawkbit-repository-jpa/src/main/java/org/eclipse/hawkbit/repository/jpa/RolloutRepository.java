@@ -8,6 +8,7 @@
  */
 package org.eclipse.hawkbit.repository.jpa;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
@@ -47,6 +48,19 @@ public interface RolloutRepository
     int updateLastCheck(@Param("lastCheck") final long lastCheck, @Param("delay") final long delay,
             @Param("status") final RolloutStatus status);
 
+    /**
+     * Resets the {@code lastCheck} field of the {@link Rollout}, so the rollout
+     * is checked by the next check independent of the delay between checks.
+     *
+     * @param rolloutId
+     *            the ID of the rollout to reset
+     * @return the number of updated rollouts
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.READ_COMMITTED)
+    @Query("UPDATE JpaRollout r SET r.lastCheck = 0 WHERE r.id = :rolloutId")
+    int resetLastCheck(@Param("rolloutId") Long rolloutId);
+
     /**
      * Retrieves all {@link Rollout} for a specific {@code lastCheck} time and
      * for a specific status.
@@ -68,4 +82,14 @@ public interface RolloutRepository
      * @return {@link Rollout} for specific name
      */
     JpaRollout findByName(String name);
+
+    /**
+     * Counts all {@link Rollout}s in one of the given status.
+     * 
+     * @param status
+     *            the status of the rollouts to count
+     * @return the number of rollouts in one of the given status
+     */
+    @Query("SELECT COUNT(r) FROM JpaRollout r WHERE r.status IN :status")
+    long countByStatusIn(@Param("status") Collection<RolloutStatus> status);
 }
@@ -38,11 +38,27 @@ public interface TargetInfoRepository {
      *            to set
      * @param targets
      *            to set it for
+     * @return number of updated targets
      */
     @Modifying
     @Transactional(isolation = Isolation.READ_UNCOMMITTED)
     @Query("update JpaTargetInfo ti set ti.updateStatus = :status where ti.targetId in :targets and ti.updateStatus != :status")
-    void setTargetUpdateStatus(@Param("status") TargetUpdateStatus status, @Param("targets") List<Long> targets);
+    int setTargetUpdateStatus(@Param("status") TargetUpdateStatus status, @Param("targets") List<Long> targets);
+
+    /**
+     * Sets the last poll time of the given targets if it is not already newer
+     * than the given value.
+     *
+     * @param lastTargetQuery
+     *            time stamp to set
+     * @param targets
+     *            to set it for
+     * @return number of updated targets
+     */
+    @Modifying
+    @Transactional(isolation = Isolation.READ_UNCOMMITTED)
+    @Query("update JpaTargetInfo ti set ti.lastTargetQuery = :lastTargetQuery where ti.targetId in :targets and (ti.lastTargetQuery is null or ti.lastTargetQuery < :lastTargetQuery)")
+    int setLastTargetQuery(@Param("lastTargetQuery") Long lastTargetQuery, @Param("targets") List<Long> targets);
 
     /**
      * Save entity and evict cache with it.
@@ -82,6 +82,17 @@ public interface TargetRepository extends BaseEntityRepository<JpaTarget, Long>,
     List<JpaTarget> findByTagNameAndControllerIdIn(@Param("tagname") final String tag,
             @Param("targets") final Collection<String> controllerIds);
 
+    /**
+     * Finds the controller IDs of the existing {@link Target}s out of the
+     * given controller IDs.
+     *
+     * @param controllerIds
+     *            to search for
+     * @return the controller IDs of the found {@link Target}s
+     */
+    @Query(value = "SELECT t.controllerId FROM JpaTarget t WHERE t.controllerId IN :controllerIds")
+    List<String> findControllerIdByControllerIdIn(@Param("controllerIds") final Collection<String> controllerIds);
+
     /**
      * Used by UI to filter based on selected status.
      * 
@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.hawkbit.repository.event.remote.TenantConfigurationChangedEvent;
+import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
+import org.eclipse.hawkbit.repository.model.TenantConfiguration;
+import org.eclipse.hawkbit.repository.model.TenantConfigurationValue;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.eclipse.hawkbit.tenancy.configuration.InvalidTenantConfigurationKeyException;
+import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties;
+import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Immutable snapshots of the configuration of the tenants. The snapshot of a
+ * tenant holds the values of all {@link TenantConfigurationKey}s and is loaded
+ * with a single query on first access. It is dropped if a
+ * {@link TenantConfigurationChangedEvent} of the tenant is received from any
+ * node of the cluster, so reading a configuration value is a lookup in a
+ * concurrent map.
+ *
+ * A snapshot is loaded in the transaction of the caller but only kept after
+ * that transaction is committed, and only if no snapshot has been dropped
+ * while it was loaded. So neither a snapshot which has been read before a
+ * concurrent change is committed nor one which holds changes of a transaction
+ * that is rolled back afterwards outlives the change.
+ */
+public class TenantConfigurationSnapshots {
+
+    private final ConcurrentMap<String, Map<String, Entry>> snapshots = new ConcurrentHashMap<>();
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final TenantAware tenantAware;
+
+    private final TenantConfigurationRepository tenantConfigurationRepository;
+
+    private final TenantConfigurationProperties tenantConfigurationProperties;
+
+    private final AfterTransactionCommitExecutor afterCommit;
+
+    /**
+     * Constructor.
+     *
+     * @param tenantAware
+     *            to get the current tenant
+     * @param tenantConfigurationRepository
+     *            to load the configuration of a tenant
+     * @param tenantConfigurationProperties
+     *            the configuration keys and their default values
+     * @param afterCommit
+     *            to keep a loaded snapshot only after the commit of the
+     *            transaction it was loaded in
+     */
+    public TenantConfigurationSnapshots(final TenantAware tenantAware,
+            final TenantConfigurationRepository tenantConfigurationRepository,
+            final TenantConfigurationProperties tenantConfigurationProperties,
+            final AfterTransactionCommitExecutor afterCommit) {
+        this.tenantAware = tenantAware;
+        this.tenantConfigurationRepository = tenantConfigurationRepository;
+        this.tenantConfigurationProperties = tenantConfigurationProperties;
+        this.afterCommit = afterCommit;
+    }
+
+    /**
+     * Retrieves a configuration value of the current tenant from its snapshot.
+     *
+     * @param configurationKeyName
+     *            the key of the configuration
+     * @param propertyType
+     *            the type of the configuration value
+     * @return the configuration value of the tenant or its default value,
+     *         <code>null</code> if neither exists
+     * @throws InvalidTenantConfigurationKeyException
+     *             if the key does not exist
+     */
+    <T extends Serializable> TenantConfigurationValue<T> getConfigurationValue(final String configurationKeyName,
+            final Class<T> propertyType) {
+        final Entry entry = current().get(configurationKeyName);
+        if (entry == null) {
+            // the snapshot covers all known keys, so this fails for the
+            // unknown one
+            final TenantConfigurationKey configurationKey = tenantConfigurationProperties
+                    .fromKeyName(configurationKeyName);
+            JpaTenantConfigurationManagement.validateTenantConfigurationDataType(configurationKey, propertyType);
+            return JpaTenantConfigurationManagement.toConfigurationValue(configurationKey, propertyType,
+                    tenantConfigurationRepository.findByKey(configurationKeyName));
+        }
+
+        JpaTenantConfigurationManagement.validateTenantConfigurationDataType(entry.key, propertyType);
+
+        if (entry.value == null || entry.key.getDataType().equals(propertyType)) {
+            @SuppressWarnings("unchecked")
+            final TenantConfigurationValue<T> value = (TenantConfigurationValue<T>) entry.value;
+            return value;
+        }
+        return JpaTenantConfigurationManagement.convertConfigurationValue(entry.value, propertyType);
+    }
+
+    /**
+     * Drops the snapshot of the tenant of the event, so it is loaded again
+     * with the changed configuration.
+     *
+     * @param event
+     *            of the configuration change
+     */
+    @EventListener(classes = TenantConfigurationChangedEvent.class)
+    public void onConfigurationChange(final TenantConfigurationChangedEvent event) {
+        invalidate(event.getTenant());
+    }
+
+    /**
+     * Drops the snapshot of the given tenant.
+     *
+     * @param tenant
+     *            of the snapshot
+     */
+    public void invalidate(final String tenant) {
+        invalidations.incrementAndGet();
+        snapshots.remove(tenant.toUpperCase());
+    }
+
+    /**
+     * Drops the snapshot of the given tenant after the current transaction is
+     * completed, regardless whether it is committed or rolled back.
+     *
+     * @param tenant
+     *            of the snapshot
+     */
+    public void invalidateAfterCompletion(final String tenant) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(tenant);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(final int status) {
+                invalidate(tenant);
+            }
+        });
+    }
+
+    private Map<String, Entry> current() {
+        final String tenant = tenantAware.getCurrentTenant();
+        if (tenant == null) {
+            return load();
+        }
+
+        final String key = tenant.toUpperCase();
+        final Map<String, Entry> snapshot = snapshots.get(key);
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        final long loadedAfter = invalidations.get();
+        final Map<String, Entry> loaded = load();
+        afterCommit.afterCommit(() -> keep(key, loaded, loadedAfter));
+        return loaded;
+    }
+
+    private void keep(final String key, final Map<String, Entry> loaded, final long loadedAfter) {
+        // an invalidation increments the counter before it removes the
+        // snapshot under the lock of the entry, so either the snapshot is
+        // not kept or it is removed afterwards
+        snapshots.compute(key, (k, snapshot) -> {
+            if (snapshot != null || invalidations.get() != loadedAfter) {
+                return snapshot;
+            }
+            return loaded;
+        });
+    }
+
+    private Map<String, Entry> load() {
+        final Map<String, TenantConfiguration> stored = new HashMap<>();
+        tenantConfigurationRepository.findAll()
+                .forEach(configuration -> stored.put(configuration.getKey(), configuration));
+
+        final Map<String, Entry> snapshot = new HashMap<>();
+        tenantConfigurationProperties.getConfigurationKeys()
+                .forEach(configurationKey -> snapshot.put(configurationKey.getKeyName(),
+                        new Entry(configurationKey, JpaTenantConfigurationManagement.toConfigurationValue(
+                                configurationKey, configurationKey.getDataType(),
+                                stored.get(configurationKey.getKeyName())))));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    private static final class Entry {
+        private final TenantConfigurationKey key;
+        private final TenantConfigurationValue<?> value;
+
+        private Entry(final TenantConfigurationKey key, final TenantConfigurationValue<?> value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
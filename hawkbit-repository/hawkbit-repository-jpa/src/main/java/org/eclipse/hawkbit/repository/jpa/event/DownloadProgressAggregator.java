@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.event;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PreDestroy;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Sums up the shipped bytes of all downloads per tenant on this node and
+ * publishes them as one {@link DownloadProgressEvent} per tenant and
+ * {@link RepositoryProperties.DownloadProgress#getPublishInterval()} instead
+ * of one event per progress update.
+ */
+public class DownloadProgressAggregator {
+
+    private final ConcurrentMap<String, LongAdder> shippedBytes = new ConcurrentHashMap<>();
+
+    private final RepositoryProperties repositoryProperties;
+
+    private final TenantAware tenantAware;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ApplicationContext applicationContext;
+
+    /**
+     * Instantiates a new DownloadProgressAggregator
+     *
+     * @param repositoryProperties
+     *            for the aggregation configuration
+     * @param tenantAware
+     *            to get the current tenant
+     * @param eventPublisher
+     *            to publish the aggregated events
+     * @param applicationContext
+     *            for the application id of the events
+     */
+    public DownloadProgressAggregator(final RepositoryProperties repositoryProperties, final TenantAware tenantAware,
+            final ApplicationEventPublisher eventPublisher, final ApplicationContext applicationContext) {
+        this.repositoryProperties = repositoryProperties;
+        this.tenantAware = tenantAware;
+        this.eventPublisher = eventPublisher;
+        this.applicationContext = applicationContext;
+    }
+
+    /**
+     * @return <code>true</code> if the progress is aggregated by
+     *         configuration.
+     */
+    public boolean isEnabled() {
+        return repositoryProperties.getDownloadProgress().isAggregate();
+    }
+
+    /**
+     * Adds the shipped bytes to the progress of the current tenant.
+     *
+     * @param shippedBytesSinceLast
+     *            since the last progress update
+     */
+    public void add(final long shippedBytesSinceLast) {
+        shippedBytes.computeIfAbsent(tenantAware.getCurrentTenant(), tenant -> new LongAdder())
+                .add(shippedBytesSinceLast);
+    }
+
+    /**
+     * Scheduler method called by the spring-async mechanism. Publishes the
+     * aggregated progress of every tenant with shipped bytes since the last
+     * run.
+     */
+    @Scheduled(initialDelayString = RepositoryProperties.DownloadProgress.PROP_PUBLISH_DELAY_PLACEHOLDER, fixedDelayString = RepositoryProperties.DownloadProgress.PROP_PUBLISH_DELAY_PLACEHOLDER)
+    public void publish() {
+        shippedBytes.forEach((tenant, bytes) -> {
+            final long sum = bytes.sumThenReset();
+            if (sum > 0) {
+                eventPublisher.publishEvent(new DownloadProgressEvent(tenant, sum, applicationContext.getId()));
+            }
+        });
+    }
+
+    /**
+     * Publishes the pending progress on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        publish();
+    }
+}
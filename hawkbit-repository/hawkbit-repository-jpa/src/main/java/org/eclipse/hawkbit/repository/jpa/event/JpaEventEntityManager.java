@@ -8,16 +8,27 @@
  */
 package org.eclipse.hawkbit.repository.jpa.event;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
 
 import org.eclipse.hawkbit.repository.event.remote.EventEntityManager;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
 import org.eclipse.hawkbit.repository.model.TenantAwareBaseEntity;
 import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.eclipse.persistence.config.PersistenceUnitProperties;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.google.common.collect.Lists;
+
 /**
- * A TenantAwareEvent entity manager, which loads an entity by id and type for
+ * A TenantAwareEvent entity manager, which loads entities by id and type for
  * remote events.
  */
 @Transactional(readOnly = true, isolation = Isolation.READ_UNCOMMITTED)
@@ -46,4 +57,23 @@ public class JpaEventEntityManager implements EventEntityManager {
         return tenantAware.runAsTenant(tenant, () -> entityManager.find(entityType, id));
     }
 
+    @Override
+    public <E extends TenantAwareBaseEntity> List<E> findEntities(final String tenant, final Collection<Long> ids,
+            final Class<E> entityType) {
+        return tenantAware.runAsTenant(tenant, () -> {
+            // the caller might not run as the tenant of the events
+            entityManager.setProperty(PersistenceUnitProperties.MULTITENANT_PROPERTY_DEFAULT, tenant.toUpperCase());
+            final List<E> entities = new ArrayList<>(ids.size());
+            for (final List<Long> partition : Lists.partition(new ArrayList<>(ids),
+                    Constants.MAX_ENTRIES_IN_STATEMENT)) {
+                final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                final CriteriaQuery<E> query = cb.createQuery(entityType);
+                final Root<E> root = query.from(entityType);
+                entities.addAll(entityManager.createQuery(query.select(root).where(root.get("id").in(partition)))
+                        .getResultList());
+            }
+            return entities;
+        });
+    }
+
 }
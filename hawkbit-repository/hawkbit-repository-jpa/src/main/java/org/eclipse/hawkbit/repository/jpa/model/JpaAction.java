@@ -41,6 +41,9 @@ import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
 import org.eclipse.persistence.annotations.CascadeOnDelete;
 import org.eclipse.persistence.descriptors.DescriptorEvent;
+import org.eclipse.persistence.queries.UpdateObjectQuery;
+import org.eclipse.persistence.sessions.changesets.ChangeRecord;
+import org.eclipse.persistence.sessions.changesets.DirectToFieldChangeRecord;
 
 /**
  * JPA implementation of {@link Action}.
@@ -189,8 +192,18 @@ public class JpaAction extends AbstractJpaTenantAwareBaseEntity implements Actio
 
     @Override
     public void fireUpdateEvent(final DescriptorEvent descriptorEvent) {
-        EventPublisherHolder.getInstance().getEventPublisher()
-                .publishEvent(new ActionUpdatedEvent(this, EventPublisherHolder.getInstance().getApplicationId()));
+        // the status change is taken from the change set of the update, as
+        // the action might have been changed again in the same transaction
+        Status previousStatus = null;
+        Status newStatus = status;
+        final ChangeRecord statusChange = ((UpdateObjectQuery) descriptorEvent.getQuery()).getObjectChangeSet()
+                .getChangesForAttributeNamed("status");
+        if (statusChange instanceof DirectToFieldChangeRecord) {
+            previousStatus = (Status) ((DirectToFieldChangeRecord) statusChange).getOldValue();
+            newStatus = (Status) ((DirectToFieldChangeRecord) statusChange).getNewValue();
+        }
+        EventPublisherHolder.getInstance().getEventPublisher().publishEvent(new ActionUpdatedEvent(this,
+                previousStatus, newStatus, EventPublisherHolder.getInstance().getApplicationId()));
     }
 
     @Override
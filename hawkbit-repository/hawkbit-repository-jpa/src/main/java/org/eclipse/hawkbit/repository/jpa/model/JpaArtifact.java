@@ -21,8 +21,11 @@ import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
+import org.eclipse.hawkbit.repository.event.remote.entity.SoftwareModuleUpdatedEvent;
 import org.eclipse.hawkbit.repository.model.Artifact;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
+import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
+import org.eclipse.persistence.descriptors.DescriptorEvent;
 import org.hibernate.validator.constraints.NotEmpty;
 
 /**
@@ -36,7 +39,7 @@ import org.hibernate.validator.constraints.NotEmpty;
 // exception squid:S2160 - BaseEntity equals/hashcode is handling correctly for
 // sub entities
 @SuppressWarnings("squid:S2160")
-public class JpaArtifact extends AbstractJpaTenantAwareBaseEntity implements Artifact {
+public class JpaArtifact extends AbstractJpaTenantAwareBaseEntity implements Artifact, EventAwareEntity {
     private static final long serialVersionUID = 1L;
 
     @Column(name = "sha1_hash", length = 40, nullable = false, updatable = false)
@@ -124,4 +127,22 @@ public class JpaArtifact extends AbstractJpaTenantAwareBaseEntity implements Art
     public String getFilename() {
         return filename;
     }
+
+    @Override
+    public void fireCreateEvent(final DescriptorEvent descriptorEvent) {
+        // the software module is updated with its artifacts
+    }
+
+    @Override
+    public void fireUpdateEvent(final DescriptorEvent descriptorEvent) {
+        // an overridden artifact changes the software module without
+        // updating it
+        EventPublisherHolder.getInstance().getEventPublisher().publishEvent(
+                new SoftwareModuleUpdatedEvent(softwareModule, EventPublisherHolder.getInstance().getApplicationId()));
+    }
+
+    @Override
+    public void fireDeleteEvent(final DescriptorEvent descriptorEvent) {
+        // the software module is updated with its artifacts
+    }
 }
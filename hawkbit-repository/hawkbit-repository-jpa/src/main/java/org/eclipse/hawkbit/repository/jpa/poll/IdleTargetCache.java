@@ -0,0 +1,194 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.poll;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.CancelTargetAssignmentEvent;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.context.event.EventListener;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Cache of the {@link Target}s per tenant which have no active
+ * {@link Action}. Entries are invalidated by the events that may activate an
+ * action for a target, i.e. {@link TargetAssignDistributionSetEvent},
+ * {@link CancelTargetAssignmentEvent} and {@link ActionUpdatedEvent}.
+ *
+ * As the events are published after commit an entry is only added if no
+ * invalidation of the same tenant happened since the caller took its
+ * {@link #stamp()} before looking up the actions.
+ */
+public class IdleTargetCache {
+
+    private final ConcurrentMap<String, AtomicLong> invalidations = new ConcurrentHashMap<>();
+
+    private final RepositoryProperties repositoryProperties;
+
+    private final TenantAware tenantAware;
+
+    private final Cache<TenantTarget, Boolean> idleTargets;
+
+    /**
+     * Instantiates a new IdleTargetCache
+     *
+     * @param repositoryProperties
+     *            for the cache configuration
+     * @param tenantAware
+     *            to get the current tenant
+     */
+    public IdleTargetCache(final RepositoryProperties repositoryProperties, final TenantAware tenantAware) {
+        this.repositoryProperties = repositoryProperties;
+        this.tenantAware = tenantAware;
+
+        final RepositoryProperties.IdleTargetCache config = repositoryProperties.getIdleTargetCache();
+        idleTargets = CacheBuilder.newBuilder().maximumSize(config.getMaxSize())
+                .expireAfterWrite(config.getExpireAfterWrite(), MILLISECONDS).build();
+    }
+
+    /**
+     * @return <code>true</code> if the cache is enabled by configuration.
+     */
+    public boolean isEnabled() {
+        return repositoryProperties.getIdleTargetCache().isEnabled();
+    }
+
+    /**
+     * @return the current invalidation stamp of the current tenant that has
+     *         to be taken before the active actions of a target are looked up
+     */
+    public long stamp() {
+        return invalidations(tenantAware.getCurrentTenant()).get();
+    }
+
+    /**
+     * @param controllerId
+     *            of the target
+     * @return <code>true</code> if the target of the current tenant is known
+     *         to have no active action
+     */
+    public boolean isIdle(final String controllerId) {
+        return isEnabled()
+                && idleTargets.getIfPresent(new TenantTarget(tenantAware.getCurrentTenant(), controllerId)) != null;
+    }
+
+    /**
+     * Remembers that the target of the current tenant has no active action.
+     *
+     * @param controllerId
+     *            of the target
+     * @param stamp
+     *            taken by {@link #stamp()} before the actions were looked up
+     */
+    public void markIdle(final String controllerId, final long stamp) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        final String tenant = tenantAware.getCurrentTenant();
+        final TenantTarget key = new TenantTarget(tenant, controllerId);
+        idleTargets.put(key, Boolean.TRUE);
+
+        // an invalidation may have passed in the meantime
+        if (invalidations(tenant).get() != stamp) {
+            idleTargets.invalidate(key);
+        }
+    }
+
+    /**
+     * Removes the target of the current tenant from the cache.
+     *
+     * @param controllerId
+     *            of the target
+     */
+    public void invalidate(final String controllerId) {
+        invalidate(tenantAware.getCurrentTenant(), controllerId);
+    }
+
+    /**
+     * Invalidates the assigned target.
+     *
+     * @param event
+     *            of the assignment
+     */
+    @EventListener(classes = TargetAssignDistributionSetEvent.class)
+    public void onAssignment(final TargetAssignDistributionSetEvent event) {
+        invalidate(event.getTenant(), event.getControllerId());
+    }
+
+    /**
+     * Invalidates the target of the canceled assignment.
+     *
+     * @param event
+     *            of the cancellation
+     */
+    @EventListener(classes = CancelTargetAssignmentEvent.class)
+    public void onCancel(final CancelTargetAssignmentEvent event) {
+        invalidate(event.getTenant(), event.getControllerId());
+    }
+
+    /**
+     * Invalidates the target of the updated action.
+     *
+     * @param event
+     *            of the action update
+     */
+    @EventListener(classes = ActionUpdatedEvent.class)
+    public void onActionUpdate(final ActionUpdatedEvent event) {
+        invalidate(event.getTenant(), event.getControllerId());
+    }
+
+    private void invalidate(final String tenant, final String controllerId) {
+        invalidations(tenant).incrementAndGet();
+        idleTargets.invalidate(new TenantTarget(tenant, controllerId));
+    }
+
+    private AtomicLong invalidations(final String tenant) {
+        return invalidations.computeIfAbsent(tenant.toUpperCase(), t -> new AtomicLong());
+    }
+
+    private static final class TenantTarget {
+        private final String tenant;
+        private final String controllerId;
+
+        private TenantTarget(final String tenant, final String controllerId) {
+            this.tenant = tenant.toUpperCase();
+            this.controllerId = controllerId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenant, controllerId);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof TenantTarget)) {
+                return false;
+            }
+            final TenantTarget other = (TenantTarget) obj;
+            return tenant.equals(other.tenant) && controllerId.equals(other.controllerId);
+        }
+    }
+}
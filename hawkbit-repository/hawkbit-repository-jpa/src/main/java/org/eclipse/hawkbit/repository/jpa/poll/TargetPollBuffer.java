@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.poll;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.PreDestroy;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.jpa.TargetInfoRepository;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.model.TargetInfo;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Write-behind buffer for the {@link TargetInfo#getLastTargetQuery()} of
+ * polling targets. The buffer keeps the latest poll time per target and
+ * tenant in memory and writes them on a fixed interval with bulk update
+ * statements, i.e. one statement per tenant and
+ * {@link RepositoryProperties.PollBuffer#getTimestampResolution()} window
+ * instead of one merge per poll.
+ */
+public class TargetPollBuffer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TargetPollBuffer.class);
+
+    private final ConcurrentMap<String, ConcurrentMap<Long, Long>> pendingPolls = new ConcurrentHashMap<>();
+
+    private final RepositoryProperties repositoryProperties;
+
+    private final TenantAware tenantAware;
+
+    private final TargetInfoRepository targetInfoRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Instantiates a new TargetPollBuffer
+     *
+     * @param repositoryProperties
+     *            for the buffer configuration
+     * @param tenantAware
+     *            to run the flush as specific tenant
+     * @param targetInfoRepository
+     *            to write the poll times
+     * @param transactionManager
+     *            to run transactions
+     */
+    public TargetPollBuffer(final RepositoryProperties repositoryProperties, final TenantAware tenantAware,
+            final TargetInfoRepository targetInfoRepository, final PlatformTransactionManager transactionManager) {
+        this.repositoryProperties = repositoryProperties;
+        this.tenantAware = tenantAware;
+        this.targetInfoRepository = targetInfoRepository;
+
+        final DefaultTransactionDefinition def = new DefaultTransactionDefinition();
+        def.setName("flushTargetPolls");
+        def.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate = new TransactionTemplate(transactionManager, def);
+    }
+
+    /**
+     * @return <code>true</code> if the buffer is enabled by configuration.
+     */
+    public boolean isEnabled() {
+        return repositoryProperties.getPollBuffer().isEnabled();
+    }
+
+    /**
+     * Buffers the poll time of the given target for the current tenant.
+     *
+     * @param targetId
+     *            of the polling target
+     * @param lastTargetQuery
+     *            time stamp of the poll
+     * @return <code>true</code> if the poll has been buffered and
+     *         <code>false</code> if the caller has to write it directly, e.g.
+     *         as the buffer is full
+     */
+    public boolean offer(final Long targetId, final long lastTargetQuery) {
+        final ConcurrentMap<Long, Long> tenantPolls = pendingPolls
+                .computeIfAbsent(tenantAware.getCurrentTenant(), tenant -> new ConcurrentHashMap<>());
+
+        if (tenantPolls.size() >= repositoryProperties.getPollBuffer().getMaxPendingPerTenant()
+                && !tenantPolls.containsKey(targetId)) {
+            return false;
+        }
+
+        tenantPolls.merge(targetId, lastTargetQuery, Math::max);
+        return true;
+    }
+
+    /**
+     * Scheduler method called by the spring-async mechanism. Writes the
+     * buffered poll times of all tenants into the repository.
+     */
+    @Scheduled(initialDelayString = RepositoryProperties.PollBuffer.PROP_FLUSH_DELAY_PLACEHOLDER, fixedDelayString = RepositoryProperties.PollBuffer.PROP_FLUSH_DELAY_PLACEHOLDER)
+    public void flush() {
+        pendingPolls.keySet().forEach(this::flush);
+    }
+
+    /**
+     * Writes the pending poll times on shutdown so that no poll is lost.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void flush(final String tenant) {
+        final Map<Long, List<Long>> targetsByTimestamp = drain(pendingPolls.get(tenant));
+        if (targetsByTimestamp.isEmpty()) {
+            return;
+        }
+
+        try {
+            final int updated = tenantAware.runAsTenant(tenant, () -> transactionTemplate.execute(status -> {
+                int count = 0;
+                for (final Map.Entry<Long, List<Long>> entry : targetsByTimestamp.entrySet()) {
+                    for (final List<Long> targets : Lists.partition(entry.getValue(),
+                            Constants.MAX_ENTRIES_IN_STATEMENT)) {
+                        count += targetInfoRepository.setLastTargetQuery(entry.getKey(), targets);
+                    }
+                }
+                return count;
+            }));
+            LOGGER.debug("Flushed poll time of {} targets for tenant {}", updated, tenant);
+        } catch (final RuntimeException e) {
+            LOGGER.error("Failed to flush poll times for tenant " + tenant, e);
+        }
+    }
+
+    /**
+     * Removes all pending polls from the given map and groups the targets by
+     * the latest poll time within their resolution window. Polls that are
+     * updated concurrently stay in the map for the next flush.
+     */
+    private Map<Long, List<Long>> drain(final ConcurrentMap<Long, Long> tenantPolls) {
+        if (tenantPolls == null || tenantPolls.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        final long resolution = Math.max(1L, repositoryProperties.getPollBuffer().getTimestampResolution());
+        final Map<Long, Long> latestByWindow = new HashMap<>();
+        final Map<Long, List<Long>> targetsByWindow = new HashMap<>();
+
+        tenantPolls.forEach((targetId, lastTargetQuery) -> {
+            if (tenantPolls.remove(targetId, lastTargetQuery)) {
+                final long window = lastTargetQuery / resolution;
+                latestByWindow.merge(window, lastTargetQuery, Math::max);
+                targetsByWindow.computeIfAbsent(window, w -> new ArrayList<>()).add(targetId);
+            }
+        });
+
+        final Map<Long, List<Long>> targetsByTimestamp = new HashMap<>(targetsByWindow.size());
+        targetsByWindow.forEach((window, targets) -> targetsByTimestamp.put(latestByWindow.get(window), targets));
+        return targetsByTimestamp;
+    }
+}
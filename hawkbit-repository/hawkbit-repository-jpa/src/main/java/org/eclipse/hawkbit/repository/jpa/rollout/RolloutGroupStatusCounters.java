@@ -0,0 +1,280 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.hawkbit.repository.RolloutProperties;
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionUpdatedEvent;
+import org.eclipse.hawkbit.repository.jpa.ActionRepository;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.hawkbit.repository.model.RolloutGroup.RolloutGroupErrorCondition;
+import org.eclipse.hawkbit.repository.model.RolloutGroup.RolloutGroupSuccessCondition;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * In-memory counters of the action status per rollout group, which are used
+ * to evaluate the threshold conditions and the completion of the running
+ * groups without counting the actions of the group on every check.
+ *
+ * The counters of a group are counted from the database once when they are
+ * requested the first time and are then updated with the status changes of
+ * the {@link ActionUpdatedEvent}s, which every node of the cluster receives.
+ * A rollout whose group crossed the success or error threshold or completed is
+ * marked as due, so it can be checked right away instead of with the next
+ * scheduled check. The counters are counted again from the database after
+ * {@link RolloutProperties.GroupStatusCounters#getMaxAge()}, which corrects
+ * them if an event was missed.
+ */
+public class RolloutGroupStatusCounters {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RolloutGroupStatusCounters.class);
+
+    private final RolloutProperties rolloutProperties;
+
+    private final TenantAware tenantAware;
+
+    private final ActionRepository actionRepository;
+
+    private final Cache<String, Counts> counters;
+
+    private final ConcurrentMap<String, Set<Long>> dueRollouts = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param rolloutProperties
+     *            for the counter configuration
+     * @param tenantAware
+     *            to get the current tenant
+     * @param actionRepository
+     *            to count the actions of a group
+     */
+    public RolloutGroupStatusCounters(final RolloutProperties rolloutProperties, final TenantAware tenantAware,
+            final ActionRepository actionRepository) {
+        this.rolloutProperties = rolloutProperties;
+        this.tenantAware = tenantAware;
+        this.actionRepository = actionRepository;
+        counters = CacheBuilder.newBuilder()
+                .expireAfterWrite(rolloutProperties.getGroupStatusCounters().getMaxAge(), MILLISECONDS).build();
+    }
+
+    /**
+     * @return <code>true</code> if the counters are enabled by configuration.
+     */
+    public boolean isEnabled() {
+        return rolloutProperties.getGroupStatusCounters().isEnabled();
+    }
+
+    /**
+     * Returns the counters of the given group, which are counted from the
+     * database if they are not known yet or expired.
+     *
+     * @param rolloutGroup
+     *            to get the counters for
+     * @return the counters of the group
+     */
+    public Counts getCounts(final RolloutGroup rolloutGroup) {
+        try {
+            return counters.get(key(tenantAware.getCurrentTenant(), rolloutGroup.getId()), () -> count(rolloutGroup));
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Returns the counters of the given group to confirm that a threshold is
+     * crossed or the group is complete. The counters are counted again from
+     * the database if they have been updated by events since they were
+     * counted, so a status change which has been counted twice, as it was
+     * already committed when the counters were counted, cannot cross a
+     * threshold.
+     *
+     * @param rolloutGroup
+     *            to get the counters for
+     * @return the counters of the group
+     */
+    public Counts confirmCounts(final RolloutGroup rolloutGroup) {
+        final String key = key(tenantAware.getCurrentTenant(), rolloutGroup.getId());
+        final Counts counts = counters.getIfPresent(key);
+        if (counts != null && !counts.isMoved()) {
+            return counts;
+        }
+        final Counts counted = count(rolloutGroup);
+        counters.put(key, counted);
+        return counted;
+    }
+
+    /**
+     * Counts the status change of an action of a rollout group, if the
+     * counters of the group are known.
+     *
+     * @param event
+     *            of the updated action
+     */
+    @EventListener(classes = ActionUpdatedEvent.class)
+    public void onActionUpdated(final ActionUpdatedEvent event) {
+        if (!isEnabled() || event.getRolloutGroupId() == null || event.getPreviousStatus() == null
+                || event.getPreviousStatus() == event.getStatus()) {
+            return;
+        }
+
+        final String key = key(event.getTenant(), event.getRolloutGroupId());
+        final Counts counts = counters.getIfPresent(key);
+        if (counts != null && counts.move(event.getPreviousStatus(), event.getStatus())) {
+            LOGGER.debug("Rollout group {} crossed a threshold, rollout {} is due", key, event.getRolloutId());
+            dueRollouts.computeIfAbsent(event.getTenant().toUpperCase(), t -> ConcurrentHashMap.newKeySet())
+                    .add(event.getRolloutId());
+        }
+    }
+
+    /**
+     * Removes and returns the rollouts that are due for a check as one of
+     * their groups crossed a threshold.
+     *
+     * @return the IDs of the due rollouts per tenant
+     */
+    public Map<String, Set<Long>> drainDueRollouts() {
+        if (dueRollouts.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, Set<Long>> drained = new HashMap<>();
+        dueRollouts.keySet().forEach(tenant -> {
+            final Set<Long> rolloutIds = dueRollouts.remove(tenant);
+            if (rolloutIds != null) {
+                drained.put(tenant, rolloutIds);
+            }
+        });
+        return drained;
+    }
+
+    private Counts count(final RolloutGroup rolloutGroup) {
+        final Map<Status, Long> statusCount = new EnumMap<>(Status.class);
+        actionRepository.getStatusCountByRolloutGroupId(rolloutGroup.getId())
+                .forEach(count -> statusCount.put(count.getStatus(), count.getCount()));
+
+        final Integer successThreshold = rolloutGroup
+                .getSuccessCondition() == RolloutGroupSuccessCondition.THRESHOLD
+                        ? parseThreshold(rolloutGroup.getSuccessConditionExp()) : null;
+        final Integer errorThreshold = rolloutGroup.getErrorCondition() == RolloutGroupErrorCondition.THRESHOLD
+                ? parseThreshold(rolloutGroup.getErrorConditionExp()) : null;
+
+        return new Counts(statusCount, rolloutGroup.getTotalTargets(), successThreshold, errorThreshold);
+    }
+
+    private static Integer parseThreshold(final String expression) {
+        try {
+            return Integer.valueOf(expression);
+        } catch (final NumberFormatException e) {
+            LOGGER.debug("Cannot parse threshold {}", expression, e);
+            return null;
+        }
+    }
+
+    private static String key(final String tenant, final Long rolloutGroupId) {
+        return tenant.toUpperCase() + "/" + rolloutGroupId;
+    }
+
+    /**
+     * Action status counters of one rollout group.
+     */
+    public static final class Counts {
+        private static final int SUCCESS = 1;
+        private static final int ERROR = 2;
+        private static final int COMPLETE = 4;
+
+        private final Map<Status, Long> statusCount;
+        private final long totalTargets;
+        private final Integer successThreshold;
+        private final Integer errorThreshold;
+        private boolean moved;
+
+        private Counts(final Map<Status, Long> statusCount, final long totalTargets, final Integer successThreshold,
+                final Integer errorThreshold) {
+            this.statusCount = statusCount;
+            this.totalTargets = totalTargets;
+            this.successThreshold = successThreshold;
+            this.errorThreshold = errorThreshold;
+        }
+
+        /**
+         * @param status
+         *            of the actions
+         * @return the number of actions of the group in the given status
+         */
+        public synchronized long getCount(final Status status) {
+            return statusCount.getOrDefault(status, 0L);
+        }
+
+        /**
+         * @return the number of actions of the group
+         */
+        public synchronized long getTotal() {
+            return statusCount.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        /**
+         * @return the number of actions of the group which are not in a final
+         *         status
+         */
+        public synchronized long getOpen() {
+            return getTotal() - getCount(Status.FINISHED) - getCount(Status.ERROR) - getCount(Status.CANCELED);
+        }
+
+        /**
+         * @return <code>true</code> if the counters have been updated since
+         *         they were counted from the database
+         */
+        public synchronized boolean isMoved() {
+            return moved;
+        }
+
+        private synchronized boolean move(final Status from, final Status to) {
+            moved = true;
+            final int before = state();
+            statusCount.merge(from, -1L, Long::sum);
+            statusCount.merge(to, 1L, Long::sum);
+            return (state() & ~before) != 0;
+        }
+
+        private int state() {
+            int state = 0;
+            if (successThreshold != null && (totalTargets == 0
+                    || (float) getCount(Status.FINISHED) / (float) totalTargets >= successThreshold / 100F)) {
+                state |= SUCCESS;
+            }
+            final long total = getTotal();
+            if (errorThreshold != null && total > 0
+                    && (float) getCount(Status.ERROR) / (float) total > errorThreshold / 100F) {
+                state |= ERROR;
+            }
+            if (getOpen() <= 0) {
+                state |= COMPLETE;
+            }
+            return state;
+        }
+    }
+}
@@ -9,10 +9,15 @@
 package org.eclipse.hawkbit.repository.jpa.rollout;
 
 import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.eclipse.hawkbit.repository.RolloutManagement;
 import org.eclipse.hawkbit.repository.RolloutProperties;
 import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.jpa.RolloutRepository;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.slf4j.Logger;
@@ -26,6 +31,11 @@ import org.springframework.stereotype.Component;
  * Scheduler to schedule the
  * {@link RolloutManagement#checkRunningRollouts(long)}. The delay between the
  * checks be be configured using the properties from {@link RolloutProperties}.
+ * The tenants are checked one after another on the scheduler thread or in
+ * parallel by a {@link TenantCheckExecutor} if
+ * {@link RolloutProperties.ParallelExecution} is enabled. Tenants without
+ * rollouts to check are skipped if the {@link RolloutTenantIndex} is enabled.
+ * The duration of the checks is recorded in the {@link TenantCheckLatencies}.
  */
 @Component
 // don't active the rollout scheduler in test, otherwise it is hard to test
@@ -50,6 +60,42 @@ public class RolloutScheduler {
     @Autowired
     private RolloutProperties rolloutProperties;
 
+    @Autowired
+    private RolloutTenantIndex rolloutTenantIndex;
+
+    @Autowired
+    private RolloutGroupStatusCounters rolloutGroupStatusCounters;
+
+    @Autowired
+    private RolloutRepository rolloutRepository;
+
+    @Autowired
+    private TenantCheckLatencies checkLatencies;
+
+    private TenantCheckExecutor tenantCheckExecutor;
+
+    /**
+     * Starts the executor for the parallel checks of the tenants, if enabled.
+     */
+    @PostConstruct
+    public void init() {
+        final RolloutProperties.ParallelExecution parallelExecution = rolloutProperties.getParallelExecution();
+        if (parallelExecution.isEnabled()) {
+            tenantCheckExecutor = new TenantCheckExecutor(parallelExecution.getThreads(),
+                    parallelExecution.getTenantTimeout(), checkLatencies);
+        }
+    }
+
+    /**
+     * Stops the executor for the parallel checks of the tenants.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (tenantCheckExecutor != null) {
+            tenantCheckExecutor.shutdown();
+        }
+    }
+
     /**
      * Scheduler method called by the spring-async mechanism. Retrieves all
      * tenants from the {@link SystemManagement#findTenants()} and runs for each
@@ -63,25 +109,29 @@ public class RolloutScheduler {
         }
 
         LOGGER.debug("rollout schedule checker has been triggered.");
-        // run this code in system code privileged to have the necessary
-        // permission to query and create entities.
-        systemSecurityContext.runAsSystem(() -> {
-            // workaround eclipselink that is currently not possible to
-            // execute a query without multitenancy if MultiTenant
-            // annotation is used.
-            // https://bugs.eclipse.org/bugs/show_bug.cgi?id=355458. So
-            // iterate through all tenants and execute the rollout check for
-            // each tenant seperately.
-            final List<String> tenants = systemManagement.findTenants();
-            LOGGER.info("Checking rollouts for {} tenants", tenants.size());
-            for (final String tenant : tenants) {
-                tenantAware.runAsTenant(tenant, () -> {
-                    final long fixedDelay = rolloutProperties.getScheduler().getFixedDelay();
-                    rolloutManagement.checkRunningRollouts(fixedDelay);
-                    return null;
-                });
-            }
-            return null;
+        checkTenants("running",
+                () -> rolloutManagement.checkRunningRollouts(rolloutProperties.getScheduler().getFixedDelay()));
+    }
+
+    /**
+     * Scheduler method called by the spring-async mechanism. Runs the
+     * {@link RolloutManagement#checkRunningRollouts(long)} for the tenants with
+     * rollouts whose groups crossed a threshold according to the
+     * {@link RolloutGroupStatusCounters}, so they do not wait for the next
+     * {@link #runningRolloutScheduler()} run.
+     */
+    @Scheduled(initialDelayString = RolloutProperties.PROP_GROUP_STATUS_COUNTERS_DELAY_PLACEHOLDER, fixedDelayString = RolloutProperties.PROP_GROUP_STATUS_COUNTERS_DELAY_PLACEHOLDER)
+    public void dueRolloutScheduler() {
+        if (!rolloutProperties.getScheduler().isEnabled() || !rolloutGroupStatusCounters.isEnabled()) {
+            return;
+        }
+
+        rolloutGroupStatusCounters.drainDueRollouts().forEach((tenant, rolloutIds) -> {
+            LOGGER.debug("Checking {} due rollouts of tenant {}", rolloutIds.size(), tenant);
+            checkTenant(tenant, () -> {
+                rolloutIds.forEach(rolloutRepository::resetLastCheck);
+                rolloutManagement.checkRunningRollouts(rolloutProperties.getScheduler().getFixedDelay());
+            });
         });
     }
 
@@ -98,26 +148,8 @@ public class RolloutScheduler {
         }
 
         LOGGER.debug("rollout starting schedule checker has been triggered.");
-        // run this code in system code privileged to have the necessary
-        // permission to query and create entities.
-        systemSecurityContext.runAsSystem(() -> {
-            // workaround eclipselink that is currently not possible to
-            // execute a query without multitenancy if MultiTenant
-            // annotation is used.
-            // https://bugs.eclipse.org/bugs/show_bug.cgi?id=355458. So
-            // iterate through all tenants and execute the rollout check for
-            // each tenant seperately.
-            final List<String> tenants = systemManagement.findTenants();
-            LOGGER.info("Checking starting rollouts for {} tenants", tenants.size());
-            for (final String tenant : tenants) {
-                tenantAware.runAsTenant(tenant, () -> {
-                    final long fixedDelay = rolloutProperties.getStartingScheduler().getFixedDelay();
-                    rolloutManagement.checkStartingRollouts(fixedDelay);
-                    return null;
-                });
-            }
-            return null;
-        });
+        checkTenants("starting", () -> rolloutManagement
+                .checkStartingRollouts(rolloutProperties.getStartingScheduler().getFixedDelay()));
     }
 
     /**
@@ -133,26 +165,8 @@ public class RolloutScheduler {
         }
 
         LOGGER.debug("rollout creating schedule checker has been triggered.");
-        // run this code in system code privileged to have the necessary
-        // permission to query and create entities.
-        systemSecurityContext.runAsSystem(() -> {
-            // workaround eclipselink that is currently not possible to
-            // execute a query without multitenancy if MultiTenant
-            // annotation is used.
-            // https://bugs.eclipse.org/bugs/show_bug.cgi?id=355458. So
-            // iterate through all tenants and execute the rollout check for
-            // each tenant seperately.
-            final List<String> tenants = systemManagement.findTenants();
-            LOGGER.info("Checking creating rollouts for {} tenants", tenants.size());
-            for (final String tenant : tenants) {
-                tenantAware.runAsTenant(tenant, () -> {
-                    final long fixedDelay = rolloutProperties.getCreatingScheduler().getFixedDelay();
-                    rolloutManagement.checkCreatingRollouts(fixedDelay);
-                    return null;
-                });
-            }
-            return null;
-        });
+        checkTenants("creating", () -> rolloutManagement
+                .checkCreatingRollouts(rolloutProperties.getCreatingScheduler().getFixedDelay()));
     }
 
     /**
@@ -169,25 +183,41 @@ public class RolloutScheduler {
         }
 
         LOGGER.debug("rollout ready schedule checker has been triggered.");
+        checkTenants("ready",
+                () -> rolloutManagement.checkReadyRollouts(rolloutProperties.getReadyScheduler().getFixedDelay()));
+    }
+
+    private void checkTenants(final String check, final Runnable tenantCheck) {
         // run this code in system code privileged to have the necessary
         // permission to query and create entities.
-        systemSecurityContext.runAsSystem(() -> {
+        final List<String> tenants = systemSecurityContext.runAsSystem(() -> {
             // workaround eclipselink that is currently not possible to
             // execute a query without multitenancy if MultiTenant
             // annotation is used.
             // https://bugs.eclipse.org/bugs/show_bug.cgi?id=355458. So
             // iterate through all tenants and execute the rollout check for
             // each tenant seperately.
-            final List<String> tenants = systemManagement.findTenants();
-            LOGGER.info("Checking ready rollouts for {} tenants", tenants.size());
-            for (final String tenant : tenants) {
-                tenantAware.runAsTenant(tenant, () -> {
-                    final long fixedDelay = rolloutProperties.getReadyScheduler().getFixedDelay();
-                    rolloutManagement.checkReadyRollouts(fixedDelay);
-                    return null;
-                });
-            }
-            return null;
+            return systemManagement.findTenants().stream().filter(tenant -> !rolloutTenantIndex.isIdle(tenant))
+                    .collect(Collectors.toList());
         });
+        LOGGER.info("Checking {} rollouts for {} tenants", check, tenants.size());
+
+        if (tenantCheckExecutor != null) {
+            tenantCheckExecutor.run(check, tenants, tenant -> checkTenant(tenant, tenantCheck));
+            return;
+        }
+
+        for (final String tenant : tenants) {
+            final long start = System.currentTimeMillis();
+            checkTenant(tenant, tenantCheck);
+            checkLatencies.record(check, tenant, System.currentTimeMillis() - start);
+        }
+    }
+
+    private void checkTenant(final String tenant, final Runnable tenantCheck) {
+        systemSecurityContext.runAsSystem(() -> tenantAware.runAsTenant(tenant, () -> {
+            tenantCheck.run();
+            return null;
+        }));
     }
 }
@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.hawkbit.repository.RolloutProperties;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutGroupCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutUpdatedEvent;
+import org.eclipse.hawkbit.repository.jpa.RolloutRepository;
+import org.eclipse.hawkbit.repository.model.Rollout.RolloutStatus;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+/**
+ * Cache of the tenants which have rollouts in a status that is checked by the
+ * {@link RolloutScheduler}, i.e. {@link RolloutStatus#CREATING},
+ * {@link RolloutStatus#READY}, {@link RolloutStatus#STARTING} and
+ * {@link RolloutStatus#RUNNING}. The rollouts of a tenant are counted again
+ * after {@link RolloutProperties.TenantIndex#getExpireAfterWrite()}. A tenant
+ * is marked as active as soon as a {@link RolloutUpdatedEvent} or
+ * {@link RolloutGroupCreatedEvent} arrives for it, so a new rollout is not
+ * delayed by the cache.
+ */
+public class RolloutTenantIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RolloutTenantIndex.class);
+
+    private static final Collection<RolloutStatus> CHECKED_STATUS = Arrays.asList(RolloutStatus.CREATING,
+            RolloutStatus.READY, RolloutStatus.STARTING, RolloutStatus.RUNNING);
+
+    private final RolloutProperties rolloutProperties;
+
+    private final LoadingCache<String, Boolean> activeTenants;
+
+    /**
+     * Instantiates a new RolloutTenantIndex
+     *
+     * @param rolloutProperties
+     *            for the cache configuration
+     * @param tenantAware
+     *            to count the rollouts as specific tenant
+     * @param rolloutRepository
+     *            to count the rollouts
+     */
+    public RolloutTenantIndex(final RolloutProperties rolloutProperties, final TenantAware tenantAware,
+            final RolloutRepository rolloutRepository) {
+        this.rolloutProperties = rolloutProperties;
+
+        final RolloutProperties.TenantIndex config = rolloutProperties.getTenantIndex();
+        activeTenants = CacheBuilder.newBuilder().maximumSize(config.getMaxSize())
+                .expireAfterWrite(config.getExpireAfterWrite(), MILLISECONDS)
+                .build(new CacheLoader<String, Boolean>() {
+                    @Override
+                    public Boolean load(final String tenant) {
+                        return tenantAware.runAsTenant(tenant,
+                                () -> rolloutRepository.countByStatusIn(CHECKED_STATUS) > 0);
+                    }
+                });
+    }
+
+    /**
+     * @return <code>true</code> if the index is enabled by configuration.
+     */
+    public boolean isEnabled() {
+        return rolloutProperties.getTenantIndex().isEnabled();
+    }
+
+    /**
+     * @param tenant
+     *            to check
+     * @return <code>true</code> if the index is enabled and the tenant has no
+     *         rollout to check
+     */
+    public boolean isIdle(final String tenant) {
+        if (!isEnabled()) {
+            return false;
+        }
+
+        try {
+            return !activeTenants.get(tenant.toUpperCase());
+        } catch (final ExecutionException | RuntimeException e) {
+            LOGGER.warn("Failed to count the rollouts of tenant {}", tenant, e);
+            return false;
+        }
+    }
+
+    /**
+     * Marks the tenant of the updated rollout as active.
+     *
+     * @param event
+     *            of the rollout update
+     */
+    @EventListener(classes = RolloutUpdatedEvent.class)
+    public void onRolloutUpdate(final RolloutUpdatedEvent event) {
+        markActive(event.getTenant());
+    }
+
+    /**
+     * Marks the tenant of the created rollout group as active.
+     *
+     * @param event
+     *            of the rollout group creation
+     */
+    @EventListener(classes = RolloutGroupCreatedEvent.class)
+    public void onRolloutGroupCreation(final RolloutGroupCreatedEvent event) {
+        markActive(event.getTenant());
+    }
+
+    private void markActive(final String tenant) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        // replaces a concurrent load, so a stale count is never cached
+        activeTenants.put(tenant.toUpperCase(), Boolean.TRUE);
+    }
+}
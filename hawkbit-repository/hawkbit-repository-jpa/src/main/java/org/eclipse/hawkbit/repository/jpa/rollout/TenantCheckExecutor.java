@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Runs the rollout checks of the tenants on a bounded thread pool, so that a
+ * slow tenant does not delay the checks of the other tenants. A run waits for
+ * every check at most for the configured timeout, measured from the moment the
+ * check is started on the pool. Checks that take longer keep running and their
+ * tenant is skipped by the following runs of the same check until they are
+ * finished. The duration of the checks and the checks exceeding the timeout
+ * are recorded in the {@link TenantCheckLatencies}.
+ */
+class TenantCheckExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TenantCheckExecutor.class);
+
+    private final Set<String> runningChecks = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService executor;
+
+    private final long timeout;
+
+    private final TenantCheckLatencies latencies;
+
+    /**
+     * Constructor.
+     *
+     * @param threads
+     *            number of threads that run the checks
+     * @param timeout
+     *            in milliseconds a run waits for the check of one tenant
+     * @param latencies
+     *            to record the duration of the checks
+     */
+    TenantCheckExecutor(final int threads, final long timeout, final TenantCheckLatencies latencies) {
+        this.timeout = timeout;
+        this.latencies = latencies;
+        executor = Executors.newFixedThreadPool(Math.max(1, threads),
+                new ThreadFactoryBuilder().setNameFormat("rollout-check-pool-%d").setDaemon(true).build());
+    }
+
+    /**
+     * Runs the check for the given tenants and waits until every check is
+     * finished or has exceeded the timeout.
+     *
+     * @param check
+     *            name of the check
+     * @param tenants
+     *            to run the check for
+     * @param tenantCheck
+     *            the check which is called with the tenant
+     */
+    void run(final String check, final List<String> tenants, final Consumer<String> tenantCheck) {
+        final List<TenantCheck> checks = new ArrayList<>(tenants.size());
+        for (final String tenant : tenants) {
+            final String key = check + "/" + tenant.toUpperCase();
+            if (!runningChecks.add(key)) {
+                LOGGER.info("Skipping {} rollout check of tenant {} as the previous check is still running", check,
+                        tenant);
+                continue;
+            }
+
+            final TenantCheck submitted = new TenantCheck(tenant);
+            try {
+                submitted.future = executor.submit(() -> {
+                    submitted.started = System.currentTimeMillis();
+                    try {
+                        runCheck(check, tenant, tenantCheck);
+                    } finally {
+                        runningChecks.remove(key);
+                    }
+                });
+                checks.add(submitted);
+            } catch (final RejectedExecutionException e) {
+                runningChecks.remove(key);
+                LOGGER.warn("Rollout check executor rejected {} check of tenant {}", check, tenant, e);
+            }
+        }
+
+        await(check, checks);
+    }
+
+    private void runCheck(final String check, final String tenant, final Consumer<String> tenantCheck) {
+        final long start = System.currentTimeMillis();
+        try {
+            tenantCheck.accept(tenant);
+        } catch (final RuntimeException e) {
+            LOGGER.error("Failed to run {} rollout check of tenant {}", check, tenant, e);
+        } finally {
+            final long duration = System.currentTimeMillis() - start;
+            latencies.record(check, tenant, duration);
+            LOGGER.debug("{} rollout check of tenant {} took {} ms", check, tenant, duration);
+            if (duration > timeout) {
+                LOGGER.warn("{} rollout check of tenant {} took {} ms and exceeded the timeout of {} ms", check,
+                        tenant, duration, timeout);
+            }
+        }
+    }
+
+    private void await(final String check, final List<TenantCheck> checks) {
+        int pending = 0;
+        for (final TenantCheck tenantCheck : checks) {
+            try {
+                if (!awaitCheck(tenantCheck)) {
+                    latencies.recordTimeout(check, tenantCheck.tenant);
+                    pending++;
+                }
+            } catch (final ExecutionException e) {
+                LOGGER.error("Failed to run {} rollout check of tenant {}", check, tenantCheck.tenant, e);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        if (pending > 0) {
+            LOGGER.warn("{} {} rollout checks did not finish within {} ms and keep running in the background",
+                    pending, check, timeout);
+        }
+    }
+
+    /**
+     * Waits for the check until it is finished or has run longer than the
+     * timeout. A check that is still queued because all threads are busy has
+     * not started its timeout yet.
+     */
+    private boolean awaitCheck(final TenantCheck tenantCheck) throws ExecutionException, InterruptedException {
+        while (true) {
+            final long started = tenantCheck.started;
+            final long wait = started == 0 ? timeout : started + timeout - System.currentTimeMillis();
+            try {
+                tenantCheck.future.get(Math.max(0, wait), TimeUnit.MILLISECONDS);
+                return true;
+            } catch (final TimeoutException e) {
+                if (started != 0) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the running checks.
+     */
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class TenantCheck {
+        private final String tenant;
+        private Future<?> future;
+        private volatile long started;
+
+        private TenantCheck(final String tenant) {
+            this.tenant = tenant;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+/**
+ * Latency statistics of the rollout checks per check and tenant, which are
+ * exposed by JMX. The statistics are keyed by the name of the check and the
+ * tenant, e.g. <code>running/DEFAULT</code>.
+ */
+@ManagedResource(description = "Latencies of the rollout checks per tenant")
+public class TenantCheckLatencies {
+
+    private final ConcurrentMap<String, Latency> latencies = new ConcurrentHashMap<>();
+
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * Records the duration of a check.
+     *
+     * @param check
+     *            name of the check
+     * @param tenant
+     *            the check ran for
+     * @param millis
+     *            duration of the check
+     */
+    void record(final String check, final String tenant, final long millis) {
+        latency(check, tenant).record(millis);
+    }
+
+    /**
+     * Records a check which did not finish within the timeout of the run.
+     *
+     * @param check
+     *            name of the check
+     * @param tenant
+     *            the check runs for
+     */
+    void recordTimeout(final String check, final String tenant) {
+        latency(check, tenant).timeouts.increment();
+        timeouts.increment();
+    }
+
+    private Latency latency(final String check, final String tenant) {
+        return latencies.computeIfAbsent(key(check, tenant), key -> new Latency());
+    }
+
+    /**
+     * @param check
+     *            name of the check
+     * @param tenant
+     *            the check ran for
+     * @return the latency statistics of the check of the tenant or
+     *         <code>null</code> if the check has not run for the tenant yet
+     */
+    public Latency getLatency(final String check, final String tenant) {
+        return latencies.get(key(check, tenant));
+    }
+
+    /**
+     * @return the duration of the last check per check and tenant
+     */
+    @ManagedAttribute(description = "Duration in milliseconds of the last check per check and tenant")
+    public Map<String, Long> getLastMillis() {
+        return collect(Latency::getLastMillis);
+    }
+
+    /**
+     * @return the maximum duration of the checks per check and tenant
+     */
+    @ManagedAttribute(description = "Maximum duration in milliseconds of the checks per check and tenant")
+    public Map<String, Long> getMaxMillis() {
+        return collect(Latency::getMaxMillis);
+    }
+
+    /**
+     * @return the average duration of the checks per check and tenant
+     */
+    @ManagedAttribute(description = "Average duration in milliseconds of the checks per check and tenant")
+    public Map<String, Long> getAverageMillis() {
+        return collect(Latency::getAverageMillis);
+    }
+
+    /**
+     * @return the number of checks per check and tenant which did not finish
+     *         within the timeout
+     */
+    @ManagedAttribute(description = "Number of checks per check and tenant which exceeded the tenant timeout")
+    public Map<String, Long> getTimeouts() {
+        return collect(Latency::getTimeoutCount);
+    }
+
+    /**
+     * @return the number of checks which did not finish within the timeout
+     */
+    @ManagedAttribute(description = "Number of checks which exceeded the tenant timeout")
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    private Map<String, Long> collect(final ToLongFunction<Latency> value) {
+        final Map<String, Long> collected = new TreeMap<>();
+        latencies.forEach((key, latency) -> collected.put(key, value.applyAsLong(latency)));
+        return collected;
+    }
+
+    private static String key(final String check, final String tenant) {
+        return check + "/" + tenant.toUpperCase();
+    }
+
+    /**
+     * Latency statistics of the checks of one tenant.
+     */
+    public static final class Latency {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+        private final LongAdder timeouts = new LongAdder();
+        private volatile long last;
+
+        private void record(final long millis) {
+            count.increment();
+            total.add(millis);
+            max.accumulate(millis);
+            last = millis;
+        }
+
+        /**
+         * @return the number of finished checks
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * @return the duration of the last finished check in milliseconds
+         */
+        public long getLastMillis() {
+            return last;
+        }
+
+        /**
+         * @return the maximum duration of the checks in milliseconds
+         */
+        public long getMaxMillis() {
+            return max.get();
+        }
+
+        /**
+         * @return the average duration of the checks in milliseconds
+         */
+        public long getAverageMillis() {
+            final long finished = count.sum();
+            return finished == 0 ? 0 : total.sum() / finished;
+        }
+
+        /**
+         * @return the number of checks which did not finish within the
+         *         timeout
+         */
+        public long getTimeoutCount() {
+            return timeouts.sum();
+        }
+    }
+}
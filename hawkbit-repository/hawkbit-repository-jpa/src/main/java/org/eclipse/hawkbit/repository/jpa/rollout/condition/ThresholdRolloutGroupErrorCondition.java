@@ -11,6 +11,8 @@ package org.eclipse.hawkbit.repository.jpa.rollout.condition;
 import org.eclipse.hawkbit.repository.jpa.ActionRepository;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounters;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounters.Counts;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Rollout;
 import org.eclipse.hawkbit.repository.model.RolloutGroup;
@@ -30,27 +32,42 @@ public class ThresholdRolloutGroupErrorCondition implements RolloutGroupConditio
     @Autowired
     private ActionRepository actionRepository;
 
+    @Autowired
+    private RolloutGroupStatusCounters rolloutGroupStatusCounters;
+
     @Override
     public boolean eval(final Rollout rollout, final RolloutGroup rolloutGroup, final String expression) {
-        final Long totalGroup = actionRepository.countByRolloutAndRolloutGroup((JpaRollout) rollout,
-                (JpaRolloutGroup) rolloutGroup);
-        final Long error = actionRepository.countByRolloutIdAndRolloutGroupIdAndStatus(rollout.getId(),
-                rolloutGroup.getId(), Action.Status.ERROR);
         try {
             final Integer threshold = Integer.valueOf(expression);
-
-            if (totalGroup == 0) {
-                // in case e.g. targets has been deleted we don't have any
-                // actions left for this group, so the group is finished
-                return false;
+            if (rolloutGroupStatusCounters.isEnabled()) {
+                return isExceeded(rolloutGroupStatusCounters.getCounts(rolloutGroup), threshold)
+                        && isExceeded(rolloutGroupStatusCounters.confirmCounts(rolloutGroup), threshold);
             }
 
-            // calculate threshold
-            return ((float) error / (float) totalGroup) > ((float) threshold / 100F);
+            final Long totalGroup = actionRepository.countByRolloutAndRolloutGroup((JpaRollout) rollout,
+                    (JpaRolloutGroup) rolloutGroup);
+            final Long error = actionRepository.countByRolloutIdAndRolloutGroupIdAndStatus(rollout.getId(),
+                    rolloutGroup.getId(), Action.Status.ERROR);
+            return isExceeded(error, totalGroup, threshold);
         } catch (final NumberFormatException e) {
             LOGGER.error("Cannot evaluate condition expression " + expression, e);
             return false;
         }
     }
 
+    private static boolean isExceeded(final Counts counts, final Integer threshold) {
+        return isExceeded(counts.getCount(Action.Status.ERROR), counts.getTotal(), threshold);
+    }
+
+    private static boolean isExceeded(final long error, final long totalGroup, final Integer threshold) {
+        if (totalGroup == 0) {
+            // in case e.g. targets has been deleted we don't have any
+            // actions left for this group, so the group is finished
+            return false;
+        }
+
+        // calculate threshold
+        return ((float) error / (float) totalGroup) > ((float) threshold / 100F);
+    }
+
 }
@@ -9,6 +9,7 @@
 package org.eclipse.hawkbit.repository.jpa.rollout.condition;
 
 import org.eclipse.hawkbit.repository.jpa.ActionRepository;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounters;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Rollout;
 import org.eclipse.hawkbit.repository.model.RolloutGroup;
@@ -28,6 +29,9 @@ public class ThresholdRolloutGroupSuccessCondition implements RolloutGroupCondit
     @Autowired
     private ActionRepository actionRepository;
 
+    @Autowired
+    private RolloutGroupStatusCounters rolloutGroupStatusCounters;
+
     @Override
     public boolean eval(final Rollout rollout, final RolloutGroup rolloutGroup, final String expression) {
 
@@ -38,12 +42,18 @@ public class ThresholdRolloutGroupSuccessCondition implements RolloutGroupCondit
             return true;
         }
 
-        final long finished = this.actionRepository.countByRolloutIdAndRolloutGroupIdAndStatus(rollout.getId(),
-                rolloutGroup.getId(), Action.Status.FINISHED);
         try {
             final Integer threshold = Integer.valueOf(expression);
-            // calculate threshold
-            return ((float) finished / (float) totalGroup) >= ((float) threshold / 100F);
+            if (rolloutGroupStatusCounters.isEnabled()) {
+                return isReached(rolloutGroupStatusCounters.getCounts(rolloutGroup).getCount(Action.Status.FINISHED),
+                        totalGroup, threshold)
+                        && isReached(rolloutGroupStatusCounters.confirmCounts(rolloutGroup)
+                                .getCount(Action.Status.FINISHED), totalGroup, threshold);
+            }
+
+            final long finished = this.actionRepository.countByRolloutIdAndRolloutGroupIdAndStatus(rollout.getId(),
+                    rolloutGroup.getId(), Action.Status.FINISHED);
+            return isReached(finished, totalGroup, threshold);
 
         } catch (final NumberFormatException e) {
             LOGGER.error("Cannot evaluate condition expression " + expression, e);
@@ -51,4 +61,9 @@ public class ThresholdRolloutGroupSuccessCondition implements RolloutGroupCondit
         }
     }
 
+    private static boolean isReached(final long finished, final long totalGroup, final Integer threshold) {
+        // calculate threshold
+        return ((float) finished / (float) totalGroup) >= ((float) threshold / 100F);
+    }
+
 }
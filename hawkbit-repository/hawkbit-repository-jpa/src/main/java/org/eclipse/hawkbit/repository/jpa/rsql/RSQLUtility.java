@@ -19,6 +19,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.persistence.criteria.CriteriaBuilder;
@@ -46,6 +48,10 @@ import org.springframework.beans.SimpleTypeConverter;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.data.jpa.domain.Specification;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
 import cz.jirutka.rsql.parser.RSQLParser;
 import cz.jirutka.rsql.parser.RSQLParserException;
 import cz.jirutka.rsql.parser.ast.AndNode;
@@ -89,12 +95,25 @@ import cz.jirutka.rsql.parser.ast.RSQLVisitor;
  * <em>lastControllerRequestAt=le=${OVERDUE_TS}</em><br>
  * It is possible to escape a macro expression by using a second '$':
  * $${OVERDUE_TS} would prevent the ${OVERDUE_TS} token from being expanded.
+ * <p>
+ * The parsed RSQL strings and their resolved fields are kept in a compiled
+ * filter cache per field name provider, so a repeatedly evaluated filter, e.g.
+ * of a target filter query, is parsed and validated only once. The macros are
+ * still resolved on every evaluation. The statistics of the cache are exposed
+ * by JMX through the {@link RsqlFilterCacheStatistics}.
  *
  */
 public final class RSQLUtility {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RSQLUtility.class);
 
+    private static final String MACRO_PREFIX = "${";
+
+    private static final int FILTER_CACHE_SIZE = 1_000;
+
+    private static final Cache<String, CompiledFilter<?>> FILTER_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(FILTER_CACHE_SIZE).recordStats().build();
+
     /**
      * private constructor due utility class.
      */
@@ -137,6 +156,35 @@ public final class RSQLUtility {
         parseRsql(rsql);
     }
 
+    /**
+     * @return the hit and miss statistics of the compiled filter cache
+     * @see RsqlFilterCacheStatistics
+     */
+    static CacheStats getFilterCacheStats() {
+        return FILTER_CACHE.stats();
+    }
+
+    /**
+     * @return the number of compiled filters in the cache
+     * @see RsqlFilterCacheStatistics
+     */
+    static long getFilterCacheSize() {
+        return FILTER_CACHE.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <A extends Enum<A> & FieldNameProvider> CompiledFilter<A> compile(final String rsql,
+            final Class<A> enumType) {
+        final String key = enumType.getName() + ':' + rsql;
+        CompiledFilter<A> filter = (CompiledFilter<A>) FILTER_CACHE.getIfPresent(key);
+        if (filter == null) {
+            // syntax errors are not cached, the parser throws before
+            filter = new CompiledFilter<>(parseRsql(rsql));
+            FILTER_CACHE.put(key, filter);
+        }
+        return filter;
+    }
+
     private static Node parseRsql(final String rsql) {
         try {
             LOGGER.debug("parsing rsql string {}", rsql);
@@ -150,6 +198,45 @@ public final class RSQLUtility {
         }
     }
 
+    /**
+     * A parsed RSQL string with the fields of its comparisons, which are
+     * resolved against the field name provider on their first evaluation.
+     *
+     * @param <A>
+     *            the enum for providing the field name of the entity field to
+     *            filter on.
+     */
+    private static final class CompiledFilter<A extends Enum<A> & FieldNameProvider> {
+        private final Node rootNode;
+        private final Map<String, ResolvedField<A>> fields = new ConcurrentHashMap<>();
+
+        private CompiledFilter(final Node rootNode) {
+            this.rootNode = rootNode;
+        }
+
+        private ResolvedField<A> resolve(final String selector,
+                final Function<String, ResolvedField<A>> fieldResolver) {
+            return fields.computeIfAbsent(selector, fieldResolver);
+        }
+    }
+
+    /**
+     * The field of a comparison selector.
+     *
+     * @param <A>
+     *            the enum for providing the field name of the entity field to
+     *            filter on.
+     */
+    private static final class ResolvedField<A extends Enum<A> & FieldNameProvider> {
+        private final A enumField;
+        private final String finalProperty;
+
+        private ResolvedField(final A enumField, final String finalProperty) {
+            this.enumField = enumField;
+            this.finalProperty = finalProperty;
+        }
+    }
+
     private static final class RSQLSpecification<A extends Enum<A> & FieldNameProvider, T> implements Specification<T> {
 
         private final String rsql;
@@ -165,11 +252,11 @@ public final class RSQLUtility {
 
         @Override
         public Predicate toPredicate(final Root<T> root, final CriteriaQuery<?> query, final CriteriaBuilder cb) {
-            final Node rootNode = parseRsql(rsql);
+            final CompiledFilter<A> filter = compile(rsql, enumType);
 
             final JpqQueryRSQLVisitor<A, T> jpqQueryRSQLVisitor = new JpqQueryRSQLVisitor<>(root, cb, enumType,
-                    virtualPropertyReplacer);
-            final List<Predicate> accept = rootNode.<List<Predicate>, String> accept(jpqQueryRSQLVisitor);
+                    virtualPropertyReplacer, filter);
+            final List<Predicate> accept = filter.rootNode.<List<Predicate>, String> accept(jpqQueryRSQLVisitor);
 
             if (accept != null && !accept.isEmpty()) {
                 return cb.and(accept.toArray(new Predicate[accept.size()]));
@@ -199,6 +286,7 @@ public final class RSQLUtility {
         private final CriteriaBuilder cb;
         private final Class<A> enumType;
         private final VirtualPropertyReplacer virtualPropertyReplacer;
+        private final CompiledFilter<A> compiledFilter;
         private int level;
         private boolean isOrLevel;
         private final Map<Integer, Set<Join<Object, Object>>> joinsInLevel = new HashMap<>(3);
@@ -206,11 +294,12 @@ public final class RSQLUtility {
         private final SimpleTypeConverter simpleTypeConverter;
 
         private JpqQueryRSQLVisitor(final Root<T> root, final CriteriaBuilder cb, final Class<A> enumType,
-                final VirtualPropertyReplacer virtualPropertyReplacer) {
+                final VirtualPropertyReplacer virtualPropertyReplacer, final CompiledFilter<A> compiledFilter) {
             this.root = root;
             this.cb = cb;
             this.enumType = enumType;
             this.virtualPropertyReplacer = virtualPropertyReplacer;
+            this.compiledFilter = compiledFilter;
             simpleTypeConverter = new SimpleTypeConverter();
         }
 
@@ -381,6 +470,26 @@ public final class RSQLUtility {
         // https://jira.sonarsource.com/browse/SONARJAVA-1478
         @SuppressWarnings({ "squid:S2095" })
         public List<Predicate> visit(final ComparisonNode node, final String param) {
+            final ResolvedField<A> resolvedField = compiledFilter.resolve(node.getSelector(),
+                    selector -> resolveField(node));
+            final A fieldName = resolvedField.enumField;
+            final String finalProperty = resolvedField.finalProperty;
+
+            final List<String> values = node.getArguments();
+            final List<Object> transformedValue = new ArrayList<>();
+            final Path<Object> fieldPath = getFieldPath(fieldName, finalProperty);
+
+            for (final String value : values) {
+                transformedValue.add(convertValueIfNecessary(node, fieldName, value, fieldPath));
+            }
+
+            return mapToPredicate(node, fieldPath, node.getArguments(), transformedValue, fieldName);
+        }
+
+        // Exception squid:S2095 - see
+        // https://jira.sonarsource.com/browse/SONARJAVA-1478
+        @SuppressWarnings({ "squid:S2095" })
+        private ResolvedField<A> resolveField(final ComparisonNode node) {
             A fieldName = null;
             try {
                 fieldName = getFieldEnumByName(node);
@@ -392,17 +501,7 @@ public final class RSQLUtility {
                         + "}", e);
 
             }
-            final String finalProperty = getAndValidatePropertyFieldName(fieldName, node);
-
-            final List<String> values = node.getArguments();
-            final List<Object> transformedValue = new ArrayList<>();
-            final Path<Object> fieldPath = getFieldPath(fieldName, finalProperty);
-
-            for (final String value : values) {
-                transformedValue.add(convertValueIfNecessary(node, fieldName, value, fieldPath));
-            }
-
-            return mapToPredicate(node, fieldPath, node.getArguments(), transformedValue, fieldName);
+            return new ResolvedField<>(fieldName, getAndValidatePropertyFieldName(fieldName, node));
         }
 
         // Exception squid:S2095 - see
@@ -521,7 +620,7 @@ public final class RSQLUtility {
 
             String value = values.get(0);
             // if lookup is available, replace macros ...
-            if (virtualPropertyReplacer != null) {
+            if (virtualPropertyReplacer != null && value.contains(MACRO_PREFIX)) {
                 value = virtualPropertyReplacer.replace(value);
             }
 
@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+/**
+ * Exposes the statistics of the compiled filter cache of the
+ * {@link RSQLUtility} by JMX.
+ */
+@ManagedResource(description = "Cache of the compiled RSQL filters")
+public class RsqlFilterCacheStatistics {
+
+    /**
+     * @return the ratio of the filters taken from the cache
+     */
+    @ManagedAttribute(description = "Ratio of the filters taken from the cache")
+    public double getHitRate() {
+        return RSQLUtility.getFilterCacheStats().hitRate();
+    }
+
+    /**
+     * @return the number of filters taken from the cache
+     */
+    @ManagedAttribute(description = "Number of filters taken from the cache")
+    public long getHitCount() {
+        return RSQLUtility.getFilterCacheStats().hitCount();
+    }
+
+    /**
+     * @return the number of filters which were parsed
+     */
+    @ManagedAttribute(description = "Number of filters which were parsed")
+    public long getMissCount() {
+        return RSQLUtility.getFilterCacheStats().missCount();
+    }
+
+    /**
+     * @return the number of cached filters
+     */
+    @ManagedAttribute(description = "Number of cached filters")
+    public long getSize() {
+        return RSQLUtility.getFilterCacheSize();
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.specifications;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Specifications class for the slices of a {@link KeysetPageRequest}. The
+ * specification selects the entities after the last entity of the previous
+ * slice in the order of the request.
+ *
+ * Entities without a value of the ordered attribute are expected first in
+ * ascending and last in descending order, which is how the supported
+ * databases order <code>NULL</code>.
+ */
+public final class KeysetSpecifications {
+
+    private static final String ID = "id";
+
+    private KeysetSpecifications() {
+        // utility class
+    }
+
+    /**
+     * {@link Specification} for retrieving the entities after the last entity
+     * of the previous slice.
+     *
+     * @param pageable
+     *            the page request of the slice
+     * @return the {@link Specification}, a conjunction if the request is not
+     *         a {@link KeysetPageRequest} or for its first slice
+     */
+    public static <T> Specification<T> after(final Pageable pageable) {
+        return (root, query, cb) -> {
+            if (!(pageable instanceof KeysetPageRequest) || ((KeysetPageRequest) pageable).getLastId() == null) {
+                return cb.conjunction();
+            }
+            final KeysetPageRequest keyset = (KeysetPageRequest) pageable;
+
+            Path<?> path = root;
+            for (final String attribute : keyset.getOrder().getProperty().split("\\.")) {
+                path = path.get(attribute);
+            }
+            final Path<Long> id = root.get(ID);
+
+            return after(cb, path, convert(keyset.getLastValue(), path.getJavaType()), id, keyset.getLastId(),
+                    keyset.getOrder().getDirection());
+        };
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Predicate after(final CriteriaBuilder cb, final Path<?> path, final Comparable lastValue,
+            final Path<Long> id, final Long lastId, final Direction direction) {
+        final Expression<Comparable> key = (Expression<Comparable>) path;
+
+        if (Direction.ASC == direction) {
+            if (lastValue == null) {
+                return cb.or(cb.and(cb.isNull(key), cb.greaterThan(id, lastId)), cb.isNotNull(key));
+            }
+            return cb.or(cb.greaterThan(key, lastValue), cb.and(cb.equal(key, lastValue), cb.greaterThan(id, lastId)));
+        }
+
+        if (lastValue == null) {
+            return cb.and(cb.isNull(key), cb.lessThan(id, lastId));
+        }
+        return cb.or(cb.lessThan(key, lastValue), cb.and(cb.equal(key, lastValue), cb.lessThan(id, lastId)),
+                cb.isNull(key));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Comparable<?> convert(final Object value, final Class<?> type) {
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof String) || String.class.equals(type)) {
+            return (Comparable<?>) value;
+        }
+
+        final String text = (String) value;
+        if (type.isEnum()) {
+            return Enum.valueOf((Class<Enum>) type, text);
+        }
+        if (Long.class.equals(type) || long.class.equals(type)) {
+            return Long.valueOf(text);
+        }
+        if (Integer.class.equals(type) || int.class.equals(type)) {
+            return Integer.valueOf(text);
+        }
+        if (Boolean.class.equals(type) || boolean.class.equals(type)) {
+            return Boolean.valueOf(text);
+        }
+        throw new IllegalArgumentException("Cannot page by keyset of type " + type.getName());
+    }
+}
@@ -10,6 +10,8 @@ package org.eclipse.hawkbit.repository.event.remote;
 
 import static org.fest.assertions.api.Assertions.assertThat;
 
+import java.util.Arrays;
+
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.ActionType;
@@ -59,6 +61,27 @@ public class RemoteTenantAwareEventTest extends AbstractRemoteEventTest {
         assertTargetAssignDistributionSetEvent(action, underTest);
     }
 
+    @Test
+    @Description("Verifies that the rollout actions created event works")
+    public void testRolloutActionsCreatedEvent() {
+        final RolloutActionsCreatedEvent createdEvent = new RolloutActionsCreatedEvent("DEFAULT", 1L, 2L, 3L,
+                Arrays.asList(4L, 5L), serviceMatcher.getServiceId());
+
+        RolloutActionsCreatedEvent underTest = (RolloutActionsCreatedEvent) createProtoStuffEvent(createdEvent);
+        assertRolloutActionsCreatedEvent(underTest);
+
+        underTest = (RolloutActionsCreatedEvent) createJacksonEvent(createdEvent);
+        assertRolloutActionsCreatedEvent(underTest);
+    }
+
+    private static void assertRolloutActionsCreatedEvent(final RolloutActionsCreatedEvent underTest) {
+        assertThat(underTest.getTenant()).isEqualTo("DEFAULT");
+        assertThat(underTest.getRolloutId()).isEqualTo(1L);
+        assertThat(underTest.getRolloutGroupId()).isEqualTo(2L);
+        assertThat(underTest.getDistributionSetId()).isEqualTo(3L);
+        assertThat(underTest.getTargetIds()).containsExactly(4L, 5L);
+    }
+
     private void assertTargetAssignDistributionSetEvent(final Action action,
             final TargetAssignDistributionSetEvent underTest) {
         assertThat(underTest.getActionId()).isNotNull();
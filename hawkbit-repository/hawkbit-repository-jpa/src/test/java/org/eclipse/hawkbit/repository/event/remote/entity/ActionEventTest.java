@@ -8,6 +8,8 @@
  */
 package org.eclipse.hawkbit.repository.event.remote.entity;
 
+import static org.fest.assertions.api.Assertions.assertThat;
+
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.ActionType;
@@ -38,6 +40,20 @@ public class ActionEventTest extends AbstractRemoteEntityEventTest<Action> {
 
     }
 
+    @Test
+    @Description("Verifies that the target of the action is known without reloading the action")
+    public void actionEventCarriesControllerId() {
+        final Action action = createEntity();
+
+        final AbstractActionEvent underTest = (AbstractActionEvent) createProtoStuffEvent(
+                new ActionUpdatedEvent(action, "node"));
+
+        assertThat(underTest.getControllerId()).isEqualTo(action.getTarget().getControllerId());
+        assertThat(underTest.getRolloutId()).isNull();
+        assertThat(((AbstractActionEvent) createJacksonEvent(underTest)).getControllerId())
+                .isEqualTo(action.getTarget().getControllerId());
+    }
+
     @Override
     protected Action createEntity() {
         final JpaAction generateAction = new JpaAction();
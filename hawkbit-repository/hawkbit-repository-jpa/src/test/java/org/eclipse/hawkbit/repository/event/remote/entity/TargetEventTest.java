@@ -10,6 +10,9 @@ package org.eclipse.hawkbit.repository.event.remote.entity;
 
 import static org.fest.assertions.api.Assertions.assertThat;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import org.eclipse.hawkbit.repository.model.Target;
 import org.junit.Test;
 
@@ -45,6 +48,22 @@ public class TargetEventTest extends AbstractRemoteEntityEventTest<Target> {
                 assignmentEvent);
 
         assertThat(underTest.getActionId()).isNotNull();
+        assertThat(underTest.getControllerId()).isEqualTo(target.getControllerId());
+    }
+
+    @Test
+    @Description("Verifies that the targets of remote events are loaded together")
+    public void loadEntitiesOfRemoteEvents() {
+        final List<Target> targets = testdataFactory.createTargets(3);
+        final List<RemoteEntityEvent<?>> events = targets.stream()
+                .map(target -> (RemoteEntityEvent<?>) createProtoStuffEvent(new TargetUpdatedEvent(target, "node")))
+                .collect(Collectors.toList());
+
+        RemoteEntityEvent.loadEntities(events);
+
+        for (int i = 0; i < targets.size(); i++) {
+            assertThat(events.get(i).getEntity()).isEqualTo(targets.get(i));
+        }
     }
 
     @Override
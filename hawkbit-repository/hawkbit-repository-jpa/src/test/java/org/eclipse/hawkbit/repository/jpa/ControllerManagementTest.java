@@ -8,18 +8,26 @@
  */
 package org.eclipse.hawkbit.repository.jpa;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.entry;
 import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
 
 import javax.validation.ConstraintViolationException;
 
 import org.apache.commons.lang3.RandomUtils;
 import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.ActionUpdatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.CancelTargetAssignmentEvent;
@@ -29,6 +37,9 @@ import org.eclipse.hawkbit.repository.event.remote.entity.SoftwareModuleUpdatedE
 import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
 import org.eclipse.hawkbit.repository.exception.CancelActionNotAllowedException;
+import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
+import org.eclipse.hawkbit.repository.jpa.event.DownloadProgressAggregator;
+import org.eclipse.hawkbit.repository.jpa.poll.TargetPollBuffer;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.Artifact;
@@ -38,10 +49,16 @@ import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.repository.test.matcher.Expect;
 import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
 import org.eclipse.hawkbit.repository.test.util.TestdataFactory;
+import org.eclipse.hawkbit.repository.test.util.WithSpringAuthorityRule;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ApplicationEventMulticaster;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
 
 import com.google.common.collect.Maps;
+import com.jayway.awaitility.Awaitility;
 
 import ru.yandex.qatools.allure.annotations.Description;
 import ru.yandex.qatools.allure.annotations.Features;
@@ -55,6 +72,15 @@ public class ControllerManagementTest extends AbstractJpaIntegrationTest {
     @Autowired
     private RepositoryProperties repositoryProperties;
 
+    @Autowired
+    private TargetPollBuffer targetPollBuffer;
+
+    @Autowired
+    private DownloadProgressAggregator downloadProgressAggregator;
+
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
     @Test
     @Description("Controller confirms successfull update with FINISHED status.")
     @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 1),
@@ -77,6 +103,58 @@ public class ControllerManagementTest extends AbstractJpaIntegrationTest {
         assertThat(deploymentManagement.findActionStatusByAction(pageReq, actionId).getNumberOfElements()).isEqualTo(6);
     }
 
+    @Test
+    @Description("Controller confirms successfull update with a batch of intermediate and FINISHED status that is applied in one transaction.")
+    @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 1),
+            @Expect(type = DistributionSetCreatedEvent.class, count = 1),
+            @Expect(type = ActionCreatedEvent.class, count = 1), @Expect(type = ActionUpdatedEvent.class, count = 1),
+            @Expect(type = TargetUpdatedEvent.class, count = 2),
+            @Expect(type = TargetAssignDistributionSetEvent.class, count = 1),
+            @Expect(type = SoftwareModuleCreatedEvent.class, count = 3) })
+    public void controllerConfirmsUpdateWithStatusBatch() {
+        final Long actionId = createTargetAndAssignDs();
+
+        final List<Action> actions = controllerManagament.addUpdateActionStatuses(Arrays.asList(
+                entityFactory.actionStatus().create(actionId).status(Action.Status.RUNNING),
+                entityFactory.actionStatus().create(actionId).status(Action.Status.DOWNLOAD),
+                entityFactory.actionStatus().create(actionId).status(Action.Status.FINISHED)));
+
+        assertThat(actions).hasSize(3);
+        assertThat(actions.get(2).isActive()).isFalse();
+        assertThat(deploymentManagement.findAction(actionId).getStatus()).isEqualTo(Action.Status.FINISHED);
+        assertThat(targetManagement.findTargetByControllerID(TestdataFactory.DEFAULT_CONTROLLER_ID).getTargetInfo()
+                .getUpdateStatus()).isEqualTo(TargetUpdateStatus.IN_SYNC);
+        assertThat(deploymentManagement.findActionStatusByAction(pageReq, actionId).getContent().stream()
+                .map(ActionStatus::getStatus).collect(Collectors.toList())).containsOnly(Action.Status.RUNNING,
+                        Action.Status.DOWNLOAD, Action.Status.FINISHED).hasSize(4);
+        assertThat(targetManagement.findTargetByControllerID(TestdataFactory.DEFAULT_CONTROLLER_ID).getTargetInfo()
+                .getLastTargetQuery()).isNotNull();
+    }
+
+    @Test
+    @Description("Verifies that a batch of status entries is rejected as a whole if one of the actions does not exist.")
+    @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 1),
+            @Expect(type = DistributionSetCreatedEvent.class, count = 1),
+            @Expect(type = ActionCreatedEvent.class, count = 1), @Expect(type = TargetUpdatedEvent.class, count = 1),
+            @Expect(type = TargetAssignDistributionSetEvent.class, count = 1),
+            @Expect(type = SoftwareModuleCreatedEvent.class, count = 3) })
+    public void statusBatchWithUnknownActionIsRejected() {
+        final Long actionId = createTargetAndAssignDs();
+
+        try {
+            controllerManagament.addUpdateActionStatuses(
+                    Arrays.asList(entityFactory.actionStatus().create(actionId).status(Action.Status.FINISHED),
+                            entityFactory.actionStatus().create(actionId + 1).status(Action.Status.RUNNING)));
+            fail("Expected " + EntityNotFoundException.class.getName());
+        } catch (final EntityNotFoundException e) {
+            // expected
+        }
+
+        assertActionStatus(actionId, TestdataFactory.DEFAULT_CONTROLLER_ID, TargetUpdateStatus.PENDING,
+                Action.Status.RUNNING, Action.Status.RUNNING, true);
+        assertThat(deploymentManagement.findActionStatusByAction(pageReq, actionId).getNumberOfElements()).isEqualTo(1);
+    }
+
     @Test
     @Description("Controller confirms successfull update with FINISHED status on a action that is on canceling. "
             + "Reason: The decission to ignore the cancellation is in fact up to the controller.")
@@ -363,6 +441,134 @@ public class ControllerManagementTest extends AbstractJpaIntegrationTest {
         }
     }
 
+    @Test
+    @Description("Verifies that the poll time of a known target is buffered and written on flush if the write-behind buffer is enabled, "
+            + "while a changed address is written immediately.")
+    @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 1),
+            @Expect(type = TargetPollEvent.class, count = 2) })
+    public void pollTimeIsBufferedIfEnabled() throws InterruptedException {
+        repositoryProperties.getPollBuffer().setEnabled(true);
+        try {
+            final Long registeredAt = controllerManagament
+                    .findOrRegisterTargetIfItDoesNotexist("AA", URI.create("http://127.0.0.1")).getTargetInfo()
+                    .getLastTargetQuery();
+            Thread.sleep(10);
+
+            controllerManagament.findOrRegisterTargetIfItDoesNotexist("AA", URI.create("http://127.0.0.1"));
+            controllerManagament.updateLastTargetQuery("AA", null);
+            assertThat(targetManagement.findTargetByControllerID("AA").getTargetInfo().getLastTargetQuery())
+                    .as("Poll time should be buffered").isEqualTo(registeredAt);
+
+            targetPollBuffer.flush();
+            final Long flushedAt = targetManagement.findTargetByControllerID("AA").getTargetInfo()
+                    .getLastTargetQuery();
+            assertThat(flushedAt).as("Poll time should be written on flush").isGreaterThan(registeredAt);
+
+            Thread.sleep(10);
+            controllerManagament.updateLastTargetQuery("AA", URI.create("http://127.0.0.2"));
+            final Target target = targetManagement.findTargetByControllerID("AA");
+            assertThat(target.getTargetInfo().getAddress()).as("Address should be written immediately")
+                    .isEqualTo(URI.create("http://127.0.0.2"));
+            assertThat(target.getTargetInfo().getLastTargetQuery()).isGreaterThan(flushedAt);
+        } finally {
+            repositoryProperties.getPollBuffer().setEnabled(false);
+        }
+    }
+
+    @Test
+    @Description("Verifies that the download progress is published as one aggregated event per tenant if the "
+            + "aggregation is enabled. The event of a tenant carries the sum of the shipped bytes of all its "
+            + "actions and the tenants are flushed independently.")
+    public void downloadProgressIsAggregatedIfEnabled() throws Exception {
+        final String otherTenant = "downloadtenant";
+        final List<DownloadProgressEvent> events = new CopyOnWriteArrayList<>();
+        final ApplicationListener<DownloadProgressEvent> listener = events::add;
+        applicationContext.addApplicationListener(listener);
+        repositoryProperties.getDownloadProgress().setAggregate(true);
+        try {
+            // two actions of the default tenant
+            controllerManagament.downloadProgress(1L, 100L, 10L, 10L);
+            controllerManagament.downloadProgress(1L, 100L, 20L, 30L);
+            controllerManagament.downloadProgress(2L, 50L, 15L, 15L);
+            controllerManagament.downloadProgress(1L, 100L, 70L, 100L);
+            controllerManagament.downloadProgress(2L, 50L, 35L, 50L);
+            securityRule.runAs(
+                    WithSpringAuthorityRule.withUserAndTenant("controller", otherTenant, true, true, "ROLE_CONTROLLER"),
+                    () -> {
+                        controllerManagament.downloadProgress(3L, 40L, 40L, 40L);
+                        return null;
+                    });
+            assertThat(events).as("progress should not be published before the flush").isEmpty();
+
+            downloadProgressAggregator.publish();
+            Awaitility.await().atMost(5, SECONDS).until(() -> events.size() >= 2);
+            assertThat(shippedBytesByTenant(events)).as("wrong aggregated progress per tenant").hasSize(2)
+                    .contains(entry(tenantAware.getCurrentTenant().toUpperCase(), 150L),
+                            entry(otherTenant.toUpperCase(), 40L));
+            assertThat(events).as("one event per tenant expected").hasSize(2);
+
+            // nothing left to publish, so only the tenant with progress since
+            // the last flush is published afterwards
+            events.clear();
+            downloadProgressAggregator.publish();
+            securityRule.runAs(
+                    WithSpringAuthorityRule.withUserAndTenant("controller", otherTenant, true, true, "ROLE_CONTROLLER"),
+                    () -> {
+                        controllerManagament.downloadProgress(3L, 40L, 5L, 45L);
+                        return null;
+                    });
+            downloadProgressAggregator.publish();
+            Awaitility.await().atMost(5, SECONDS).until(() -> !events.isEmpty());
+            assertThat(shippedBytesByTenant(events)).as("wrong aggregated progress per tenant").hasSize(1)
+                    .contains(entry(otherTenant.toUpperCase(), 5L));
+            assertThat(events).as("one event per tenant expected").hasSize(1);
+        } finally {
+            repositoryProperties.getDownloadProgress().setAggregate(false);
+            applicationContext.getBean(ApplicationEventMulticaster.class).removeApplicationListener(listener);
+        }
+    }
+
+    private static Map<String, Long> shippedBytesByTenant(final List<DownloadProgressEvent> events) {
+        return events.stream().collect(Collectors.groupingBy(event -> event.getTenant().toUpperCase(),
+                Collectors.summingLong(DownloadProgressEvent::getShippedBytesSinceLast)));
+    }
+
+    @Test
+    @Description("Verifies that polls of a target without active action are answered by the fast path as soon as "
+            + "the idle state is known and that an assignment invalidates it.")
+    @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 1),
+            @Expect(type = DistributionSetCreatedEvent.class, count = 1),
+            @Expect(type = ActionCreatedEvent.class, count = 1), @Expect(type = TargetUpdatedEvent.class, count = 1),
+            @Expect(type = TargetAssignDistributionSetEvent.class, count = 1),
+            @Expect(type = SoftwareModuleCreatedEvent.class, count = 3) })
+    public void idleTargetPollIsAnsweredByFastPath() {
+        repositoryProperties.getPollBuffer().setEnabled(true);
+        repositoryProperties.getIdleTargetCache().setEnabled(true);
+        try {
+            final String controllerId = TestdataFactory.DEFAULT_CONTROLLER_ID;
+            controllerManagament.findOrRegisterTargetIfItDoesNotexist(controllerId, null);
+            assertThat(controllerManagament.findIdleTargetAndUpdateLastTargetQuery(controllerId, null).isPresent())
+                    .as("Idle state should not be known before the actions have been looked up").isFalse();
+
+            assertThat(controllerManagament.findOldestActiveActionByTarget(controllerId).isPresent()).isFalse();
+            assertThat(controllerManagament.findIdleTargetAndUpdateLastTargetQuery(controllerId, null).isPresent())
+                    .as("Idle target should be answered by the fast path").isTrue();
+
+            assignDistributionSet(testdataFactory.createDistributionSet().getId(), controllerId);
+            // the assignment event is delivered asynchronously
+            Awaitility.await().atMost(5, SECONDS)
+                    .until(new DelegatingSecurityContextCallable<>(() -> !controllerManagament
+                            .findIdleTargetAndUpdateLastTargetQuery(controllerId, null).isPresent()));
+
+            assertThat(controllerManagament.findOldestActiveActionByTarget(controllerId).isPresent()).isTrue();
+            assertThat(controllerManagament.findIdleTargetAndUpdateLastTargetQuery(controllerId, null).isPresent())
+                    .as("Target with active action should not be answered by the fast path").isFalse();
+        } finally {
+            repositoryProperties.getIdleTargetCache().setEnabled(false);
+            repositoryProperties.getPollBuffer().setEnabled(false);
+        }
+    }
+
     @Test
     @Description("Controller trys to finish an update process after it has been finished by an error action status.")
     @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 1),
@@ -182,6 +182,22 @@ public class DeploymentManagementTest extends AbstractJpaIntegrationTest {
         });
     }
 
+    @Test
+    @Description("Test verifies that an assignment sets the update status of all targets to pending even if the update is split into multiple partitions on the database.")
+    public void assignmentSetsUpdateStatusPendingOverMultiplePages() {
+        final DistributionSet ds = testdataFactory.createDistributionSet("");
+
+        final List<Target> targets = testdataFactory.createTargets(Constants.MAX_ENTRIES_IN_STATEMENT + 10);
+
+        assignDistributionSet(ds, targets);
+
+        final List<Target> assignedTargets = targetManagement.findTargetByControllerID(
+                targets.stream().map(Target::getControllerId).collect(Collectors.toList()));
+        assertThat(assignedTargets).as("wrong number of targets").hasSize(targets.size());
+        assignedTargets.forEach(target -> assertThat(target.getTargetInfo().getUpdateStatus())
+                .as("wrong target update status").isEqualTo(TargetUpdateStatus.PENDING));
+    }
+
     @Test
     @Description("Cancels multiple active actions on a target. Expected behaviour is that with two active "
             + "actions after canceling the second active action the first one is still running as it is not touched by the cancelation. After canceling the first one "
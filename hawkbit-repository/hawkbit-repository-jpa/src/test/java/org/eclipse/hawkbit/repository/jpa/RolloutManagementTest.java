@@ -12,24 +12,31 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import static org.fest.assertions.api.Assertions.fail;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.hawkbit.repository.OffsetBasedPageRequest;
 import org.eclipse.hawkbit.repository.RolloutGroupManagement;
 import org.eclipse.hawkbit.repository.RolloutManagement;
+import org.eclipse.hawkbit.repository.RolloutProperties;
 import org.eclipse.hawkbit.repository.builder.RolloutCreate;
 import org.eclipse.hawkbit.repository.builder.RolloutGroupCreate;
+import org.eclipse.hawkbit.repository.event.remote.RolloutActionsCreatedEvent;
 import org.eclipse.hawkbit.repository.exception.ConstraintViolationException;
 import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
 import org.eclipse.hawkbit.repository.exception.RolloutIllegalStateException;
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounters;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutTenantIndex;
 import org.eclipse.hawkbit.repository.jpa.utils.MultipleInvokeHelper;
 import org.eclipse.hawkbit.repository.jpa.utils.SuccessCondition;
 import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.Rollout;
@@ -48,13 +55,19 @@ import org.eclipse.hawkbit.repository.model.TotalTargetCountStatus;
 import org.eclipse.hawkbit.repository.test.util.TestdataFactory;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Description;
+import org.springframework.context.event.ApplicationEventMulticaster;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
 
 import com.google.common.collect.Lists;
+import com.jayway.awaitility.Awaitility;
 
 import ru.yandex.qatools.allure.annotations.Features;
 import ru.yandex.qatools.allure.annotations.Step;
@@ -71,9 +84,21 @@ public class RolloutManagementTest extends AbstractJpaIntegrationTest {
     @Autowired
     private RolloutManagement rolloutManagement;
 
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
     @Autowired
     private RolloutGroupManagement rolloutGroupManagement;
 
+    @Autowired
+    private RolloutProperties rolloutProperties;
+
+    @Autowired
+    private RolloutTenantIndex rolloutTenantIndex;
+
+    @Autowired
+    private RolloutGroupStatusCounters rolloutGroupStatusCounters;
+
     @Test
     @Description("Verifying that the rollout is created correctly, executing the filter and split up the targets in the correct group size.")
     public void creatingRolloutIsCorrectPersisted() {
@@ -93,6 +118,149 @@ public class RolloutManagementTest extends AbstractJpaIntegrationTest {
         assertThat(rolloutGroups).hasSize(amountGroups);
     }
 
+    @Test
+    @Description("Verifies that the rollout tenant index reports a tenant as idle until it has a rollout to check.")
+    public void rolloutTenantIndexTracksTenantsWithRolloutsToCheck() throws Exception {
+        rolloutProperties.getTenantIndex().setEnabled(true);
+        try {
+            final String tenant = tenantAware.getCurrentTenant();
+            assertThat(rolloutTenantIndex.isIdle(tenant)).isTrue();
+
+            createSimpleTestRolloutWithTargetsAndDistributionSet(10, 0, 2, "50", "80");
+
+            Awaitility.await().atMost(5, TimeUnit.SECONDS).until(
+                    new DelegatingSecurityContextCallable<>(() -> !rolloutTenantIndex.isIdle(tenant)));
+        } finally {
+            rolloutProperties.getTenantIndex().setEnabled(false);
+        }
+    }
+
+    @Test
+    @Description("Verifies that the rollout group status counters follow the finished actions and mark the rollout as due as soon as a group crosses its success threshold or completes.")
+    public void rolloutGroupStatusCountersMarkRolloutAsDue() {
+        rolloutProperties.getGroupStatusCounters().setEnabled(true);
+        try {
+            final Rollout createdRollout = createAndStartRollout(10, 0, 5, "50", "80");
+            final String tenant = tenantAware.getCurrentTenant().toUpperCase();
+            final List<RolloutGroup> groups = rolloutGroupManagement.findRolloutGroupsByRolloutId(
+                    createdRollout.getId(), new OffsetBasedPageRequest(0, 100, new Sort(Direction.ASC, "id")))
+                    .getContent();
+
+            // counts the actions of the running group
+            rolloutManagement.checkRunningRollouts(0);
+            assertThat(rolloutGroupStatusCounters.getCounts(groups.get(0)).getOpen()).isEqualTo(2);
+            assertThat(rolloutGroupStatusCounters.drainDueRollouts()).isEmpty();
+
+            final List<Action> runningActions = findActionsByRolloutAndStatus(createdRollout, Status.RUNNING);
+            finishAction(runningActions.get(0));
+            awaitFinishedCount(groups.get(0), 1);
+            assertThat(rolloutGroupStatusCounters.drainDueRollouts())
+                    .isEqualTo(Collections.singletonMap(tenant, Collections.singleton(createdRollout.getId())));
+
+            // success threshold of 50% reached, next group is started
+            rolloutManagement.checkRunningRollouts(0);
+            assertThat(rolloutGroupManagement.findRolloutGroupById(groups.get(1).getId()).getStatus())
+                    .isEqualTo(RolloutGroupStatus.RUNNING);
+
+            finishAction(runningActions.get(1));
+            awaitFinishedCount(groups.get(0), 2);
+            assertThat(rolloutGroupStatusCounters.drainDueRollouts())
+                    .isEqualTo(Collections.singletonMap(tenant, Collections.singleton(createdRollout.getId())));
+
+            rolloutManagement.checkRunningRollouts(0);
+            assertThat(rolloutGroupManagement.findRolloutGroupById(groups.get(0).getId()).getStatus())
+                    .isEqualTo(RolloutGroupStatus.FINISHED);
+        } finally {
+            rolloutProperties.getGroupStatusCounters().setEnabled(false);
+        }
+    }
+
+    @Test
+    @Description("Verifies that the rollout group status counters follow the action updates which did not pass the controller management, e.g. because another node of the cluster handled them, and that the threshold is evaluated with the updated counters.")
+    public void rolloutGroupStatusCountersFollowActionUpdatedEvents() {
+        rolloutProperties.getGroupStatusCounters().setEnabled(true);
+        try {
+            final Rollout createdRollout = createAndStartRollout(10, 0, 5, "50", "80");
+            final String tenant = tenantAware.getCurrentTenant().toUpperCase();
+            final List<RolloutGroup> groups = rolloutGroupManagement.findRolloutGroupsByRolloutId(
+                    createdRollout.getId(), new OffsetBasedPageRequest(0, 100, new Sort(Direction.ASC, "id")))
+                    .getContent();
+            rolloutManagement.checkRunningRollouts(0);
+            assertThat(rolloutGroupStatusCounters.getCounts(groups.get(0)).getOpen()).isEqualTo(2);
+
+            // finish an action with a plain update of the action
+            final JpaAction action = (JpaAction) findActionsByRolloutAndStatus(createdRollout, Status.RUNNING)
+                    .get(0);
+            action.setStatus(Status.FINISHED);
+            actionRepository.save(action);
+            awaitFinishedCount(groups.get(0), 1);
+            assertThat(rolloutGroupStatusCounters.drainDueRollouts())
+                    .isEqualTo(Collections.singletonMap(tenant, Collections.singleton(createdRollout.getId())));
+
+            // success threshold of 50% reached, next group is started
+            rolloutManagement.checkRunningRollouts(0);
+            assertThat(rolloutGroupManagement.findRolloutGroupById(groups.get(1).getId()).getStatus())
+                    .isEqualTo(RolloutGroupStatus.RUNNING);
+        } finally {
+            rolloutProperties.getGroupStatusCounters().setEnabled(false);
+        }
+    }
+
+    private void awaitFinishedCount(final RolloutGroup rolloutGroup, final long finished) {
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(new DelegatingSecurityContextCallable<>(
+                () -> rolloutGroupStatusCounters.getCounts(rolloutGroup).getCount(Status.FINISHED) == finished));
+    }
+
+    @Test
+    @Description("Verifies that the actions of a rollout and the running status of the started actions are created in JDBC batches if the bulk action creation is enabled, and that one event is published per created batch of actions.")
+    public void startRolloutWithBulkActionCreation() {
+        rolloutProperties.getBulkActionCreation().setEnabled(true);
+        rolloutProperties.getBulkActionCreation().setBatchSize(3);
+        final List<RolloutActionsCreatedEvent> events = new CopyOnWriteArrayList<>();
+        final ApplicationListener<RolloutActionsCreatedEvent> listener = events::add;
+        applicationContext.addApplicationListener(listener);
+        try {
+            final Rollout createdRollout = createAndStartRollout(10, 15, 5, "50", "80");
+
+            // one batch of two actions per rollout group
+            Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> events.size() >= 5);
+            assertThat(events).hasSize(5);
+            assertThat(events.stream().map(RolloutActionsCreatedEvent::getRolloutGroupId).distinct().count())
+                    .isEqualTo(5);
+            events.forEach(event -> {
+                assertThat(event.getRolloutId()).isEqualTo(createdRollout.getId());
+                assertThat(event.getDistributionSetId()).isEqualTo(createdRollout.getDistributionSet().getId());
+                assertThat(event.getTargetIds()).hasSize(2);
+            });
+
+            final List<Action> runningActions = findActionsByRolloutAndStatus(createdRollout, Status.RUNNING);
+            assertThat(runningActions).hasSize(2);
+            runningActions.forEach(action -> {
+                assertThat(action.isActive()).isTrue();
+                assertThat(action.getCreatedBy()).isNotNull();
+                final List<ActionStatus> status = deploymentManagement
+                        .findActionStatusByAction(new PageRequest(0, 10), action.getId()).getContent();
+                assertThat(status).hasSize(1);
+                assertThat(status.get(0).getStatus()).isEqualTo(Status.RUNNING);
+                assertThat(status.get(0).getOccurredAt()).isEqualTo(action.getCreatedAt());
+                assertThat(action.getTarget().getTargetInfo().getUpdateStatus())
+                        .isEqualTo(TargetUpdateStatus.PENDING);
+            });
+
+            final List<Action> scheduledActions = findActionsByRolloutAndStatus(createdRollout, Status.SCHEDULED);
+            assertThat(scheduledActions).hasSize(8);
+            scheduledActions.forEach(action -> {
+                assertThat(action.isActive()).isFalse();
+                assertThat(action.getDistributionSet()).isEqualTo(createdRollout.getDistributionSet());
+                assertThat(action.getActionType()).isEqualTo(createdRollout.getActionType());
+            });
+        } finally {
+            applicationContext.getBean(ApplicationEventMulticaster.class).removeApplicationListener(listener);
+            rolloutProperties.getBulkActionCreation().setEnabled(false);
+            rolloutProperties.getBulkActionCreation().setBatchSize(500);
+        }
+    }
+
     @Test
     @Description("Verifying that when the rollout is started the actions for all targets in the rollout is created and the state of the first group is running as well as the corresponding actions")
     public void startRolloutSetFirstGroupAndActionsInRunningStateAndOthersInScheduleState() {
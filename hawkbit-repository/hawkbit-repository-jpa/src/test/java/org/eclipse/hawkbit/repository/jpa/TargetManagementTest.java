@@ -22,12 +22,16 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import javax.validation.ConstraintViolationException;
 
 import org.eclipse.hawkbit.im.authentication.SpPermission;
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetsCreatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.ActionUpdatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetCreatedEvent;
@@ -44,13 +48,20 @@ import org.eclipse.hawkbit.repository.model.DistributionSetAssignmentResult;
 import org.eclipse.hawkbit.repository.model.Tag;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetTag;
+import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.repository.test.matcher.Expect;
 import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
 import org.eclipse.hawkbit.repository.test.util.WithSpringAuthorityRule;
 import org.eclipse.hawkbit.repository.test.util.WithUser;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort.Order;
 
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
@@ -63,6 +74,9 @@ import ru.yandex.qatools.allure.annotations.Stories;
 @Stories("Target Management")
 public class TargetManagementTest extends AbstractJpaIntegrationTest {
 
+    @Autowired
+    private RepositoryProperties repositoryProperties;
+
     @Test
     @Description("Ensures that retrieving the target security is only permitted with the necessary permissions.")
     @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 1) })
@@ -744,4 +758,95 @@ public class TargetManagementTest extends AbstractJpaIntegrationTest {
         final List<Long> collect = foundDs.stream().map(Target::getId).collect(Collectors.toList());
         assertThat(collect).containsAll(searchIds);
     }
+
+    @Test
+    @Description("Verifies that all targets are retrieved in order by keyset slices, including targets with equal "
+            + "values and without value of the sorted attribute")
+    @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 12) })
+    public void findTargetSliceByKeyset() {
+        targetManagement.createTargets(IntStream.range(0, 12)
+                .mapToObj(i -> entityFactory.target().create().controllerId("keyset" + i)
+                        .description(i % 3 == 0 ? null : "description" + i % 2))
+                .collect(toList()));
+
+        for (final Direction direction : Direction.values()) {
+            final List<Long> expected = targetManagement
+                    .findTargetsAll(new PageRequest(0, 100, new Sort(direction, "description", "id"))).getContent()
+                    .stream().map(Target::getId).collect(toList());
+
+            final List<Long> found = new ArrayList<>();
+            Pageable pageable = new KeysetPageRequest(5, new Order(direction, "description"));
+            Slice<Target> slice;
+            do {
+                slice = targetManagement.findTargetSlice(null, pageable);
+                slice.getContent().forEach(target -> found.add(target.getId()));
+                if (!slice.getContent().isEmpty()) {
+                    pageable = KeysetPageRequest.after(Iterables.getLast(slice.getContent()), pageable);
+                }
+            } while (slice.hasNext());
+
+            assertThat(found).as("Targets in " + direction + " order").isEqualTo(expected);
+        }
+
+        assertThat(targetManagement.findTargetSlice("description==description1",
+                new KeysetPageRequest(10, new Order(Direction.ASC, "controllerId"))).getContent()).hasSize(4);
+    }
+
+    @Test
+    @Description("Verifies that assigned targets are found by more controller IDs than fit into one SQL in-statement.")
+    public void findTargetsByMoreControllerIdsThanFitIntoOneStatement() {
+        final DistributionSet set = testdataFactory.createDistributionSet("inStatement");
+        final Target first = testdataFactory.createTarget("first");
+        final Target last = testdataFactory.createTarget("last");
+        assignDistributionSet(set.getId(), "first");
+        assignDistributionSet(set.getId(), "last");
+
+        final List<String> controllerIds = new ArrayList<>();
+        controllerIds.add(first.getControllerId());
+        IntStream.range(0, 1500).forEach(i -> controllerIds.add("unknown" + i));
+        controllerIds.add(last.getControllerId());
+
+        assertThat(targetManagement.findTargetByControllerID(controllerIds).stream().map(Target::getControllerId)
+                .collect(toList())).containsOnly("first", "last");
+    }
+
+    @Test
+    @Description("Verifies that multiple targets are created in JDBC batches with one event per batch if the bulk "
+            + "target creation is enabled, and that the creation is rejected if a controller ID exists already.")
+    @ExpectEvents({ @Expect(type = TargetsCreatedEvent.class, count = 3) })
+    public void createTargetsInBatches() {
+        repositoryProperties.getBulkTargetCreation().setEnabled(true);
+        repositoryProperties.getBulkTargetCreation().setBatchSize(3);
+        try {
+            final List<Target> targets = targetManagement.createTargets(IntStream.range(0, 7)
+                    .mapToObj(i -> entityFactory.target().create().controllerId("bulk" + i).name("name" + i)
+                            .description("description" + i).address("http://127.0.0.1/" + i))
+                    .collect(toList()));
+
+            assertThat(targets).hasSize(7);
+            for (int i = 0; i < targets.size(); i++) {
+                final Target target = targets.get(i);
+                assertThat(target.getControllerId()).isEqualTo("bulk" + i);
+                assertThat(target.getName()).isEqualTo("name" + i);
+                assertThat(target.getDescription()).isEqualTo("description" + i);
+                assertThat(target.getCreatedBy()).isNotNull();
+                assertThat(target.getSecurityToken()).isNotEmpty();
+                assertThat(target.getTargetInfo().getUpdateStatus()).isEqualTo(TargetUpdateStatus.UNKNOWN);
+                assertThat(target.getTargetInfo().getAddress()).isEqualTo(URI.create("http://127.0.0.1/" + i));
+            }
+            assertThat(targetManagement.countTargetsAll()).isEqualTo(7);
+
+            try {
+                targetManagement.createTargets(Lists.newArrayList(entityFactory.target().create().controllerId("new"),
+                        entityFactory.target().create().controllerId("bulk3")));
+                fail("Expected EntityAlreadyExistsException for the existing controller ID");
+            } catch (final EntityAlreadyExistsException e) {
+                // expected
+            }
+            assertThat(targetManagement.findTargetByControllerID("new")).isNull();
+        } finally {
+            repositoryProperties.getBulkTargetCreation().setEnabled(false);
+            repositoryProperties.getBulkTargetCreation().setBatchSize(500);
+        }
+    }
 }
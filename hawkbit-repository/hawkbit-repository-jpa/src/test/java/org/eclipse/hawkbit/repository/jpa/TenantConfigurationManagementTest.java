@@ -15,7 +15,10 @@ import java.io.Serializable;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import org.eclipse.hawkbit.repository.event.remote.TenantConfigurationChangedEvent;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTenantConfiguration;
 import org.eclipse.hawkbit.repository.model.TenantConfigurationValue;
 import org.eclipse.hawkbit.tenancy.configuration.DurationHelper;
 import org.eclipse.hawkbit.tenancy.configuration.InvalidTenantConfigurationKeyException;
@@ -23,6 +26,13 @@ import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.T
 import org.eclipse.hawkbit.tenancy.configuration.validator.TenantConfigurationValidatorException;
 import org.junit.Assert;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.jayway.awaitility.Awaitility;
 
 import ru.yandex.qatools.allure.annotations.Description;
 import ru.yandex.qatools.allure.annotations.Features;
@@ -32,6 +42,15 @@ import ru.yandex.qatools.allure.annotations.Stories;
 @Stories("Tenant Configuration Management")
 public class TenantConfigurationManagementTest extends AbstractJpaIntegrationTest {
 
+    @Autowired
+    private TenantConfigurationRepository tenantConfigurationRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
     @Test
     @Description("Tests that tenant specific configuration can be persisted and in case the tenant does not have specific configuration the default from environment is used instead.")
     public void storeTenantSpecificConfigurationAsString() {
@@ -266,4 +285,42 @@ public class TenantConfigurationManagementTest extends AbstractJpaIntegrationTes
             // expected exception
         }
     }
+
+    @Test
+    @Description("Verifies that a configuration value changed by another node is read after the change event is received")
+    public void configurationChangedByOtherNodeIsReadAfterChangeEvent() {
+        final String configKey = TenantConfigurationKey.AUTHENTICATION_MODE_GATEWAY_SECURITY_TOKEN_KEY;
+        tenantConfigurationManagement.addOrUpdateConfiguration(configKey, "firstValue");
+        assertThat(tenantConfigurationManagement.getConfigurationValue(configKey, String.class).getValue())
+                .isEqualTo("firstValue");
+
+        // the other node changes the value in the database
+        final JpaTenantConfiguration configuration = tenantConfigurationRepository.findByKey(configKey);
+        configuration.setValue("secondValue");
+        tenantConfigurationRepository.save(configuration);
+
+        eventPublisher.publishEvent(
+                new TenantConfigurationChangedEvent(tenantAware.getCurrentTenant(), configKey, "otherNode"));
+        Awaitility.await().atMost(5, TimeUnit.SECONDS)
+                .until(new DelegatingSecurityContextCallable<>(() -> "secondValue".equals(
+                        tenantConfigurationManagement.getConfigurationValue(configKey, String.class).getValue())));
+    }
+
+    @Test
+    @Description("Verifies that a configuration value read in a transaction which is rolled back is not read afterwards")
+    public void configurationReadInRolledBackTransactionIsNotKept() {
+        final String configKey = TenantConfigurationKey.AUTHENTICATION_MODE_GATEWAY_SECURITY_TOKEN_KEY;
+        tenantConfigurationManagement.addOrUpdateConfiguration(configKey, "firstValue");
+
+        new TransactionTemplate(txManager).execute(status -> {
+            tenantConfigurationManagement.addOrUpdateConfiguration(configKey, "rolledBackValue");
+            assertThat(tenantConfigurationManagement.getConfigurationValue(configKey, String.class).getValue())
+                    .isEqualTo("rolledBackValue");
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertThat(tenantConfigurationManagement.getConfigurationValue(configKey, String.class).getValue())
+                .isEqualTo("firstValue");
+    }
 }
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.poll;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.junit.Before;
+import org.junit.Test;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Repository")
+@Stories("Idle Target Cache")
+public class IdleTargetCacheTest {
+
+    private static final String TENANT = "tenant";
+    private static final String OTHER_TENANT = "otherTenant";
+    private static final String CONTROLLER_ID = "box1";
+
+    private final TenantAware tenantAware = mock(TenantAware.class);
+
+    private IdleTargetCache underTest;
+
+    @Before
+    public void before() {
+        final RepositoryProperties repositoryProperties = new RepositoryProperties();
+        repositoryProperties.getIdleTargetCache().setEnabled(true);
+        when(tenantAware.getCurrentTenant()).thenReturn(TENANT);
+        underTest = new IdleTargetCache(repositoryProperties, tenantAware);
+    }
+
+    @Test
+    @Description("Verifies that a target is not marked idle if it was invalidated after the stamp was taken.")
+    public void targetInvalidatedDuringLookupIsNotMarkedIdle() {
+        final long stamp = underTest.stamp();
+        underTest.onAssignment(assignment(TENANT.toUpperCase(), CONTROLLER_ID));
+        underTest.markIdle(CONTROLLER_ID, stamp);
+
+        assertThat(underTest.isIdle(CONTROLLER_ID)).isFalse();
+
+        underTest.markIdle(CONTROLLER_ID, underTest.stamp());
+
+        assertThat(underTest.isIdle(CONTROLLER_ID)).isTrue();
+    }
+
+    @Test
+    @Description("Verifies that an invalidation of another tenant does not prevent marking a target idle.")
+    public void invalidationOfOtherTenantDuringLookupIsIgnored() {
+        final long stamp = underTest.stamp();
+        underTest.onAssignment(assignment(OTHER_TENANT, CONTROLLER_ID));
+        underTest.markIdle(CONTROLLER_ID, stamp);
+
+        assertThat(underTest.isIdle(CONTROLLER_ID)).isTrue();
+
+        when(tenantAware.getCurrentTenant()).thenReturn(OTHER_TENANT);
+        assertThat(underTest.isIdle(CONTROLLER_ID)).isFalse();
+    }
+
+    private static TargetAssignDistributionSetEvent assignment(final String tenant, final String controllerId) {
+        return new TargetAssignDistributionSetEvent(tenant, 1L, 2L, controllerId, "node");
+    }
+}
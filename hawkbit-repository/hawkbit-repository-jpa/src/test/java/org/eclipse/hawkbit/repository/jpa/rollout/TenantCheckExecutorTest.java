@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.entry;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Repository")
+@Stories("Rollout Scheduler")
+public class TenantCheckExecutorTest {
+
+    private final TenantCheckLatencies latencies = new TenantCheckLatencies();
+
+    private final TenantCheckExecutor underTest = new TenantCheckExecutor(2, 200, latencies);
+
+    @After
+    public void after() {
+        underTest.shutdown();
+    }
+
+    @Test
+    @Description("Verifies that the checks of all tenants are executed.")
+    public void checksOfAllTenantsAreExecuted() {
+        final Set<String> checked = ConcurrentHashMap.newKeySet();
+
+        underTest.run("running", Arrays.asList("tenant1", "tenant2", "tenant3"), checked::add);
+
+        assertThat(checked).containsOnly("tenant1", "tenant2", "tenant3");
+    }
+
+    @Test
+    @Description("Verifies that the timeout applies to the check of each tenant, so checks that are queued behind "
+            + "other checks are still awaited.")
+    public void timeoutIsAppliedPerTenantCheck() {
+        final Set<String> checked = ConcurrentHashMap.newKeySet();
+
+        // two threads and four checks of 150 ms exceed the timeout of 200 ms
+        // for the whole run, but not for a single check
+        underTest.run("running", Arrays.asList("tenant1", "tenant2", "tenant3", "tenant4"), tenant -> {
+            sleep(150);
+            checked.add(tenant);
+        });
+
+        assertThat(checked).containsOnly("tenant1", "tenant2", "tenant3", "tenant4");
+    }
+
+    @Test
+    @Description("Verifies that a slow tenant does not block the run and is skipped until its check is finished.")
+    public void slowTenantIsSkippedUntilItsCheckIsFinished() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final Set<String> checked = ConcurrentHashMap.newKeySet();
+
+        final long start = System.currentTimeMillis();
+        underTest.run("running", Arrays.asList("slow", "fast"), tenant -> {
+            if ("slow".equals(tenant)) {
+                await(release);
+            }
+            checked.add(tenant);
+        });
+        assertThat(System.currentTimeMillis() - start).isLessThan(2000);
+        assertThat(checked).containsOnly("fast");
+
+        // the slow check is still running
+        underTest.run("running", Collections.singletonList("slow"), checked::add);
+        assertThat(checked).containsOnly("fast");
+
+        // other checks of the same tenant are not affected
+        underTest.run("ready", Collections.singletonList("slow"), tenant -> checked.add("ready-" + tenant));
+        assertThat(checked).containsOnly("fast", "ready-slow");
+
+        release.countDown();
+        TimeUnit.MILLISECONDS.sleep(100);
+        underTest.run("running", Collections.singletonList("slow"), tenant -> checked.add("again-" + tenant));
+        assertThat(checked).contains("again-slow");
+    }
+
+    @Test
+    @Description("Verifies that the duration of the checks is recorded per check and tenant.")
+    public void durationsAreRecordedPerCheckAndTenant() {
+        underTest.run("running", Arrays.asList("tenant1", "tenant2"),
+                tenant -> sleep("tenant1".equals(tenant) ? 50 : 0));
+        underTest.run("running", Collections.singletonList("tenant1"), tenant -> sleep(10));
+
+        final TenantCheckLatencies.Latency latency = latencies.getLatency("running", "tenant1");
+        assertThat(latency.getCount()).isEqualTo(2);
+        assertThat(latency.getMaxMillis()).isGreaterThanOrEqualTo(50);
+        assertThat(latency.getLastMillis()).isGreaterThanOrEqualTo(10).isLessThan(latency.getMaxMillis());
+        assertThat(latency.getAverageMillis()).isGreaterThanOrEqualTo(30);
+        assertThat(latencies.getLatency("running", "tenant2").getCount()).isEqualTo(1);
+        assertThat(latencies.getLatency("ready", "tenant1")).isNull();
+
+        assertThat(latencies.getLastMillis().keySet()).containsOnly("running/TENANT1", "running/TENANT2");
+        assertThat(latencies.getMaxMillis().get("running/TENANT1")).isEqualTo(latency.getMaxMillis());
+        assertThat(latencies.getAverageMillis().get("running/TENANT1")).isEqualTo(latency.getAverageMillis());
+        assertThat(latencies.getTimeoutCount()).isEqualTo(0);
+    }
+
+    @Test
+    @Description("Verifies that a check which exceeds the timeout is counted as timeout and its duration is recorded "
+            + "when it is finished.")
+    public void timeoutsAreCounted() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        underTest.run("running", Arrays.asList("slow", "fast"), tenant -> {
+            if ("slow".equals(tenant)) {
+                await(release);
+            }
+        });
+
+        assertThat(latencies.getTimeoutCount()).isEqualTo(1);
+        assertThat(latencies.getTimeouts()).hasSize(2).contains(entry("running/SLOW", 1L), entry("running/FAST", 0L));
+        assertThat(latencies.getLatency("running", "slow").getCount()).isEqualTo(0);
+
+        release.countDown();
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertThat(latencies.getLatency("running", "slow").getCount()).isEqualTo(1);
+        assertThat(latencies.getLatency("running", "slow").getLastMillis()).isGreaterThanOrEqualTo(200);
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -8,6 +8,7 @@
  */
 package org.eclipse.hawkbit.repository.jpa.rsql;
 
+import static org.fest.assertions.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
@@ -48,6 +49,8 @@ import org.mockito.Spy;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import com.google.common.cache.CacheStats;
+
 import ru.yandex.qatools.allure.annotations.Description;
 import ru.yandex.qatools.allure.annotations.Features;
 import ru.yandex.qatools.allure.annotations.Stories;
@@ -240,6 +243,36 @@ public class RSQLUtilityTest {
         verify(criteriaBuilderMock, times(1)).lessThan(eq(pathOfString(baseSoftwareModuleRootMock)), eq("abc"));
     }
 
+    @Test
+    @Description("Verifies that a repeatedly evaluated RSQL string is taken from the compiled filter cache.")
+    public void repeatedRsqlIsTakenFromFilterCache() {
+        reset(baseSoftwareModuleRootMock, criteriaQueryMock, criteriaBuilderMock);
+        final String correctRsql = "name==cached";
+        when(baseSoftwareModuleRootMock.get("name")).thenReturn(baseSoftwareModuleRootMock);
+        when(baseSoftwareModuleRootMock.getJavaType()).thenReturn((Class) SoftwareModule.class);
+        when(criteriaBuilderMock.upper(eq(pathOfString(baseSoftwareModuleRootMock))))
+                .thenReturn(pathOfString(baseSoftwareModuleRootMock));
+
+        RSQLUtility.parse(correctRsql, SoftwareModuleFields.class, null).toPredicate(baseSoftwareModuleRootMock,
+                criteriaQueryMock, criteriaBuilderMock);
+        final CacheStats before = RSQLUtility.getFilterCacheStats();
+
+        // test
+        RSQLUtility.parse(correctRsql, SoftwareModuleFields.class, null).toPredicate(baseSoftwareModuleRootMock,
+                criteriaQueryMock, criteriaBuilderMock);
+
+        // verfication
+        final CacheStats after = RSQLUtility.getFilterCacheStats();
+        assertThat(after.hitCount() - before.hitCount()).isEqualTo(1);
+        assertThat(after.missCount()).isEqualTo(before.missCount());
+        final RsqlFilterCacheStatistics statistics = new RsqlFilterCacheStatistics();
+        assertThat(statistics.getHitCount()).isEqualTo(after.hitCount());
+        assertThat(statistics.getMissCount()).isEqualTo(after.missCount());
+        assertThat(statistics.getHitRate()).isGreaterThan(0.0);
+        assertThat(statistics.getSize()).isGreaterThan(0);
+        verify(criteriaBuilderMock, times(2)).like(eq(pathOfString(baseSoftwareModuleRootMock)), eq("CACHED"));
+    }
+
     @Test
     public void correctRsqlWithEnumValue() {
         reset(baseSoftwareModuleRootMock, criteriaQueryMock, criteriaBuilderMock);
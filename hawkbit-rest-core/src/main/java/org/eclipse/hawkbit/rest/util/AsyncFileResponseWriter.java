@@ -0,0 +1,248 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.rest.util;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.model.Artifact;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * {@link WriteListener} that writes the requested ranges of an artifact binary
+ * to the non-blocking {@link ServletOutputStream} of an asynchronous request.
+ * The listener only writes as long as the output stream is ready, so no
+ * request thread is held while the bytes drain to a slow client.
+ *
+ * The {@link SecurityContext} of the request is restored for every callback,
+ * so that the download progress can be reported to the
+ * {@link ControllerManagement}.
+ *
+ * The writer is registered as {@link AsyncListener} of the
+ * {@link AsyncContext} as well, as the container does not call
+ * {@link #onError(Throwable)} if the asynchronous request times out or fails
+ * outside of a write. The binary that is read at that moment is closed in
+ * these cases.
+ */
+final class AsyncFileResponseWriter implements WriteListener, AsyncListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncFileResponseWriter.class);
+
+    private static final String CRLF = "\r\n";
+
+    private final Deque<Object> parts = new ArrayDeque<>();
+
+    private final AsyncContext asyncContext;
+
+    private final ServletOutputStream out;
+
+    private final Artifact artifact;
+
+    private final DbArtifact file;
+
+    private final ControllerManagement controllerManagement;
+
+    private final Long statusId;
+
+    private final SecurityContext securityContext;
+
+    private final byte[] buffer;
+
+    private InputStream currentInput;
+
+    private long currentRemaining;
+
+    private DownloadProgress currentProgress;
+
+    private boolean completed;
+
+    private AsyncFileResponseWriter(final AsyncContext asyncContext, final ServletOutputStream out,
+            final Artifact artifact, final DbArtifact file, final ControllerManagement controllerManagement,
+            final Long statusId, final int bufferSize) {
+        this.asyncContext = asyncContext;
+        this.out = out;
+        this.artifact = artifact;
+        this.file = file;
+        this.controllerManagement = controllerManagement;
+        this.statusId = statusId;
+        this.buffer = new byte[bufferSize];
+        securityContext = SecurityContextHolder.getContext();
+    }
+
+    /**
+     * Creates a writer for a single range, i.e. a full or standard range
+     * request.
+     */
+    static AsyncFileResponseWriter forRange(final AsyncContext asyncContext, final ServletOutputStream out,
+            final Artifact artifact, final DbArtifact file, final ControllerManagement controllerManagement,
+            final Long statusId, final int bufferSize, final ByteRange range) {
+        final AsyncFileResponseWriter writer = new AsyncFileResponseWriter(asyncContext, out, artifact, file,
+                controllerManagement, statusId, bufferSize);
+        writer.parts.add(range);
+        return writer;
+    }
+
+    /**
+     * Creates a writer for a multipart range request with the same boundaries
+     * and part headers as the synchronous implementation.
+     */
+    static AsyncFileResponseWriter forMultipartRanges(final AsyncContext asyncContext, final ServletOutputStream out,
+            final Artifact artifact, final DbArtifact file, final ControllerManagement controllerManagement,
+            final Long statusId, final int bufferSize, final Iterable<ByteRange> ranges) {
+        final AsyncFileResponseWriter writer = new AsyncFileResponseWriter(asyncContext, out, artifact, file,
+                controllerManagement, statusId, bufferSize);
+        for (final ByteRange r : ranges) {
+            writer.parts.add(ascii(CRLF + "--" + ByteRange.MULTIPART_BOUNDARY + CRLF + "Content-Range: bytes "
+                    + r.getStart() + "-" + r.getEnd() + "/" + r.getTotal() + CRLF));
+            writer.parts.add(r);
+        }
+        writer.parts.add(ascii(CRLF + "--" + ByteRange.MULTIPART_BOUNDARY + "--"));
+        return writer;
+    }
+
+    private static byte[] ascii(final String value) {
+        return value.getBytes(US_ASCII);
+    }
+
+    @Override
+    public synchronized void onWritePossible() throws IOException {
+        final SecurityContext previous = SecurityContextHolder.getContext();
+        SecurityContextHolder.setContext(securityContext);
+        try {
+            while (out.isReady()) {
+                if (!writeNext()) {
+                    complete();
+                    return;
+                }
+            }
+        } catch (final IOException | RuntimeException e) {
+            onError(e);
+        } finally {
+            SecurityContextHolder.setContext(previous);
+        }
+    }
+
+    @Override
+    public synchronized void onError(final Throwable t) {
+        LOG.error("asynchronous download of file ({}) failed!", artifact.getFilename(), t);
+        complete();
+    }
+
+    @Override
+    public synchronized void onTimeout(final AsyncEvent event) {
+        LOG.warn("asynchronous download of file ({}) timed out", artifact.getFilename());
+        complete();
+    }
+
+    @Override
+    public synchronized void onError(final AsyncEvent event) {
+        LOG.error("asynchronous download of file ({}) failed!", artifact.getFilename(), event.getThrowable());
+        complete();
+    }
+
+    @Override
+    public synchronized void onComplete(final AsyncEvent event) {
+        // the request might have been completed by the container, e.g. on a
+        // closed connection
+        completed = true;
+        closeCurrentInput();
+        parts.clear();
+    }
+
+    @Override
+    public void onStartAsync(final AsyncEvent event) {
+        // the writer is registered after the start
+    }
+
+    /**
+     * Writes the next chunk of the response.
+     *
+     * @return <code>false</code> if there is nothing left to write
+     */
+    private boolean writeNext() throws IOException {
+        if (currentInput == null) {
+            final Object part = parts.poll();
+            if (part == null) {
+                return false;
+            }
+
+            if (part instanceof byte[]) {
+                out.write((byte[]) part);
+            } else {
+                openRange((ByteRange) part);
+            }
+            return true;
+        }
+
+        final int read = currentInput.read(buffer, 0, (int) Math.min(buffer.length, currentRemaining));
+        if (read == -1) {
+            closeCurrentInput();
+            return true;
+        }
+
+        out.write(buffer, 0, read);
+        currentRemaining -= read;
+        currentProgress.shipped(read);
+
+        if (currentRemaining <= 0) {
+            closeCurrentInput();
+        }
+        return true;
+    }
+
+    private void openRange(final ByteRange range) throws IOException {
+        final FileChannel channel = file.getFileChannel();
+        if (channel != null) {
+            currentInput = Channels.newInputStream(channel.position(range.getStart()));
+        } else {
+            currentInput = file.getFileInputStream(range.getStart(), range.getLength());
+        }
+        currentRemaining = range.getLength();
+        currentProgress = new DownloadProgress(controllerManagement, statusId, range.getLength());
+    }
+
+    private void closeCurrentInput() {
+        if (currentInput == null) {
+            return;
+        }
+
+        try {
+            currentInput.close();
+        } catch (final IOException e) {
+            LOG.warn("failed to close file ({}) after asynchronous download", artifact.getFilename(), e);
+        }
+        currentInput = null;
+    }
+
+    private void complete() {
+        closeCurrentInput();
+        parts.clear();
+        if (!completed) {
+            completed = true;
+            asyncContext.complete();
+        }
+    }
+}
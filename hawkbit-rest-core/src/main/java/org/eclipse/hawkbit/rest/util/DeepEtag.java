@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.rest.util;
+
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Deep ETags of resources, which are calculated from the values the response
+ * is created from, e.g. the IDs and revisions of the entities, instead of the
+ * serialized response. A conditional request can so be answered before the
+ * response is created. The ETag includes the request URL and the forwarded
+ * headers as they define the links of the response.
+ *
+ * The response of a resource with a deep ETag is not buffered by the
+ * {@link ShallowEtagHeaderFilter}.
+ */
+public final class DeepEtag {
+
+    private static final String[] LINK_HEADERS = { "Forwarded", "X-Forwarded-Host", "X-Forwarded-Port",
+            "X-Forwarded-Proto", "X-Forwarded-Prefix" };
+
+    private DeepEtag() {
+        // utility class
+    }
+
+    /**
+     * Sets the deep ETag of the given values at the response of the current
+     * request and checks it against the <code>If-None-Match</code> header of
+     * the request. Used by singleton resources which have no access to the
+     * request scoped {@link RequestResponseContextHolder}.
+     *
+     * @param values
+     *            the response is created from, <code>null</code> values are
+     *            allowed
+     * @return <code>true</code> if the client has the current response
+     *         already. The status of the response is set to 304 (not
+     *         modified), so the resource has to return without body.
+     */
+    public static boolean checkNotModified(final Object... values) {
+        final ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder
+                .currentRequestAttributes();
+        return checkNotModified(attributes.getRequest(), attributes.getResponse(), values);
+    }
+
+    /**
+     * Sets the deep ETag of the given values at the response and checks it
+     * against the <code>If-None-Match</code> header of the request.
+     *
+     * @param request
+     *            the current request
+     * @param response
+     *            the current response
+     * @param values
+     *            the response is created from, <code>null</code> values are
+     *            allowed
+     * @return <code>true</code> if the client has the current response
+     *         already. The status of the response is set to 304 (not
+     *         modified), so the resource has to return without body.
+     */
+    public static boolean checkNotModified(final HttpServletRequest request, final HttpServletResponse response,
+            final Object... values) {
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        return new ServletWebRequest(request, response).checkNotModified(of(request, values));
+    }
+
+    /**
+     * @param request
+     *            the current request
+     * @param values
+     *            the response is created from, <code>null</code> values are
+     *            allowed
+     * @return the deep ETag of the given values
+     */
+    public static String of(final HttpServletRequest request, final Object... values) {
+        final Hasher hasher = Hashing.md5().newHasher();
+        putString(hasher, request.getRequestURL());
+        for (final String header : LINK_HEADERS) {
+            putString(hasher, request.getHeader(header));
+        }
+        for (final Object value : values) {
+            putString(hasher, value);
+        }
+        return "\"" + hasher.hash() + "\"";
+    }
+
+    private static void putString(final Hasher hasher, final Object value) {
+        hasher.putString(String.valueOf(value), StandardCharsets.UTF_8).putChar('\0');
+    }
+}
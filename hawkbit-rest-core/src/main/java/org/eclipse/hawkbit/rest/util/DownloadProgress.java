@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.rest.util;
+
+import static java.math.RoundingMode.DOWN;
+
+import org.eclipse.hawkbit.repository.ControllerManagement;
+
+import com.google.common.math.DoubleMath;
+
+/**
+ * Keeps track of the shipped bytes of a download and reports the progress to
+ * {@link ControllerManagement#downloadProgress(Long, Long, Long, Long)} in
+ * steps of roughly ten percent.
+ */
+final class DownloadProgress {
+    private final ControllerManagement controllerManagement;
+    private final Long statusId;
+    private final long length;
+
+    private long total;
+    private long shippedSinceLastEvent;
+    private int progressPercent = 1;
+
+    DownloadProgress(final ControllerManagement controllerManagement, final Long statusId, final long length) {
+        this.controllerManagement = controllerManagement;
+        this.statusId = statusId;
+        this.length = length;
+    }
+
+    void shipped(final long bytes) {
+        total += bytes;
+        shippedSinceLastEvent += bytes;
+
+        if (controllerManagement != null) {
+            final int newPercent = DoubleMath.roundToInt(total * 100.0 / length, DOWN);
+
+            // every 10 percent an event
+            if (newPercent == 100 || newPercent > progressPercent + 10) {
+                progressPercent = newPercent;
+                controllerManagement.downloadProgress(statusId, length, shippedSinceLastEvent, total);
+                shippedSinceLastEvent = 0;
+            }
+        }
+    }
+
+    long getTotal() {
+        return total;
+    }
+}
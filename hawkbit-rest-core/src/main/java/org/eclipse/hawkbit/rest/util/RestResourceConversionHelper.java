@@ -16,7 +16,6 @@ import static com.google.common.net.HttpHeaders.CONTENT_RANGE;
 import static com.google.common.net.HttpHeaders.ETAG;
 import static com.google.common.net.HttpHeaders.IF_RANGE;
 import static com.google.common.net.HttpHeaders.LAST_MODIFIED;
-import static java.math.RoundingMode.DOWN;
 import static javax.servlet.http.HttpServletResponse.SC_PARTIAL_CONTENT;
 import static org.eclipse.hawkbit.rest.util.ByteRange.MULTIPART_BOUNDARY;
 import static org.springframework.http.HttpStatus.OK;
@@ -24,16 +23,23 @@ import static org.springframework.http.HttpStatus.PARTIAL_CONTENT;
 import static org.springframework.http.HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE;
 import static org.springframework.http.MediaType.APPLICATION_OCTET_STREAM_VALUE;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.BiFunction;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.eclipse.hawkbit.HawkbitServerProperties;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
 import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
@@ -42,8 +48,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 
-import com.google.common.math.DoubleMath;
-
 /**
  * Utility class for the Rest Source API.
  */
@@ -53,6 +57,20 @@ public final class RestResourceConversionHelper {
 
     private static final int BUFFER_SIZE = 4096;
 
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * Minimum size of a range that is sent by the container, the default of
+     * the Tomcat default servlet.
+     */
+    private static final long SENDFILE_MIN_SIZE = 48L * 1024L;
+
     private RestResourceConversionHelper() {
 
     }
@@ -107,6 +125,90 @@ public final class RestResourceConversionHelper {
     public static ResponseEntity<InputStream> writeFileResponse(final Artifact artifact,
             final HttpServletResponse response, final HttpServletRequest request, final DbArtifact file,
             final ControllerManagement controllerManagement, final Long statusId) {
+        return writeResponse(artifact, response, request, file, controllerManagement, statusId, null);
+    }
+
+    /**
+     * <p>
+     * Asynchronous variant of
+     * {@link #writeFileResponse(Artifact, HttpServletResponse, HttpServletRequest, DbArtifact, ControllerManagement, Long)}
+     * with the same range semantics. The binary is written by a Servlet 3.1
+     * {@link javax.servlet.WriteListener} on the non-blocking output stream so
+     * that the request thread is released while the bytes drain to the
+     * client.
+     * </p>
+     *
+     * <p>
+     * Falls back to the synchronous write if the request does not support
+     * asynchronous processing.
+     * </p>
+     *
+     * @param artifact
+     *            the artifact
+     * @param response
+     *            to be sent back to the requesting client
+     * @param request
+     *            from the client
+     * @param file
+     *            to be write to the client response
+     * @param controllerManagement
+     *            to write progress updates to, might be <code>null</code>
+     * @param statusId
+     *            of the {@link ActionStatus}, might be <code>null</code>
+     * @param asyncTimeout
+     *            of the asynchronous transfer in milliseconds, zero or less
+     *            for no timeout
+     *
+     * @return http code or <code>null</code> if the binary is written
+     *         asynchronously, as the {@link javax.servlet.WriteListener} owns
+     *         the response then
+     */
+    public static ResponseEntity<InputStream> writeFileResponseAsync(final Artifact artifact,
+            final HttpServletResponse response, final HttpServletRequest request, final DbArtifact file,
+            final ControllerManagement controllerManagement, final Long statusId, final long asyncTimeout) {
+        return writeResponse(artifact, response, request, file, controllerManagement, statusId,
+                request.isAsyncSupported() ? Math.max(0L, asyncTimeout) : null);
+    }
+
+    /**
+     * Writes the response synchronously or asynchronously depending on the
+     * given download configuration.
+     *
+     * @param artifact
+     *            the artifact
+     * @param response
+     *            to be sent back to the requesting client
+     * @param request
+     *            from the client
+     * @param file
+     *            to be write to the client response
+     * @param controllerManagement
+     *            to write progress updates to, might be <code>null</code>
+     * @param statusId
+     *            of the {@link ActionStatus}, might be <code>null</code>
+     * @param async
+     *            the configuration of the asynchronous download mode
+     *
+     * @return http code or <code>null</code> if the binary is written
+     *         asynchronously
+     *
+     * @see #writeFileResponseAsync(Artifact, HttpServletResponse,
+     *      HttpServletRequest, DbArtifact, ControllerManagement, Long, long)
+     */
+    public static ResponseEntity<InputStream> writeFileResponse(final Artifact artifact,
+            final HttpServletResponse response, final HttpServletRequest request, final DbArtifact file,
+            final ControllerManagement controllerManagement, final Long statusId,
+            final HawkbitServerProperties.Download.Async async) {
+        if (async.isEnabled()) {
+            return writeFileResponseAsync(artifact, response, request, file, controllerManagement, statusId,
+                    async.getTimeout());
+        }
+        return writeFileResponse(artifact, response, request, file, controllerManagement, statusId);
+    }
+
+    private static ResponseEntity<InputStream> writeResponse(final Artifact artifact,
+            final HttpServletResponse response, final HttpServletRequest request, final DbArtifact file,
+            final ControllerManagement controllerManagement, final Long statusId, final Long asyncTimeout) {
 
         ResponseEntity<InputStream> result;
 
@@ -154,18 +256,48 @@ public final class RestResourceConversionHelper {
         // full request - no range
         if (ranges.isEmpty() || ranges.get(0).equals(full)) {
             LOG.debug("filename ({}) results into a full request: ", artifact.getFilename());
+            if (sendfile(request, response, file, controllerManagement, statusId, full)) {
+                return new ResponseEntity<>(OK);
+            }
+            if (asyncTimeout != null) {
+                setRangeHeaders(response, full);
+                startAsync(artifact, request, response, asyncTimeout,
+                        (asyncContext, out) -> AsyncFileResponseWriter.forRange(asyncContext, out, artifact, file,
+                                controllerManagement, statusId, BUFFER_SIZE, full));
+                return null;
+            }
             handleFullFileRequest(artifact, response, file, controllerManagement, statusId, full);
             result = new ResponseEntity<>(OK);
         }
         // standard range request
         else if (ranges.size() == 1) {
             LOG.debug("filename ({}) results into a standard range request: ", artifact.getFilename());
+            if (sendfile(request, response, file, controllerManagement, statusId, ranges.get(0))) {
+                response.setStatus(SC_PARTIAL_CONTENT);
+                return new ResponseEntity<>(PARTIAL_CONTENT);
+            }
+            if (asyncTimeout != null) {
+                setRangeHeaders(response, ranges.get(0));
+                response.setStatus(SC_PARTIAL_CONTENT);
+                startAsync(artifact, request, response, asyncTimeout,
+                        (asyncContext, out) -> AsyncFileResponseWriter.forRange(asyncContext, out, artifact, file,
+                                controllerManagement, statusId, BUFFER_SIZE, ranges.get(0)));
+                return null;
+            }
             handleStandardRangeRequest(artifact, response, file, controllerManagement, statusId, ranges);
             result = new ResponseEntity<>(PARTIAL_CONTENT);
         }
         // multipart range request
         else {
             LOG.debug("filename ({}) results into a multipart range request: ", artifact.getFilename());
+            if (asyncTimeout != null) {
+                response.setContentType("multipart/byteranges; boundary=" + MULTIPART_BOUNDARY);
+                response.setStatus(SC_PARTIAL_CONTENT);
+                startAsync(artifact, request, response, asyncTimeout,
+                        (asyncContext, out) -> AsyncFileResponseWriter.forMultipartRanges(asyncContext, out, artifact,
+                                file, controllerManagement, statusId, BUFFER_SIZE, ranges));
+                return null;
+            }
             handleMultipartRangeRequest(artifact, response, file, controllerManagement, statusId, ranges);
             result = new ResponseEntity<>(PARTIAL_CONTENT);
         }
@@ -173,16 +305,76 @@ public final class RestResourceConversionHelper {
         return result;
     }
 
+    private static void setRangeHeaders(final HttpServletResponse response, final ByteRange r) {
+        response.setHeader(CONTENT_RANGE, "bytes " + r.getStart() + "-" + r.getEnd() + "/" + r.getTotal());
+        response.setHeader(CONTENT_LENGTH, String.valueOf(r.getLength()));
+    }
+
+    /**
+     * Hands the given range over to the sendfile support of the servlet
+     * container (Tomcat), which transfers it from the local file of the
+     * artifact to the socket without copying it through the JVM after the
+     * request has been processed. As the container does not report the
+     * progress of the transfer, the download progress of the whole range is
+     * reported when it is handed over.
+     *
+     * @return <code>true</code> if the container sends the range
+     */
+    private static boolean sendfile(final HttpServletRequest request, final HttpServletResponse response,
+            final DbArtifact file, final ControllerManagement controllerManagement, final Long statusId,
+            final ByteRange range) {
+        if (!Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT)) || range.getLength() < SENDFILE_MIN_SIZE) {
+            return false;
+        }
+        final File localFile = file.getFile();
+        if (localFile == null) {
+            return false;
+        }
+
+        final String filename;
+        try {
+            filename = localFile.getCanonicalPath();
+        } catch (final IOException e) {
+            LOG.debug("cannot send file ({}) by the container", localFile, e);
+            return false;
+        }
+
+        setRangeHeaders(response, range);
+        request.setAttribute(SENDFILE_FILENAME, filename);
+        request.setAttribute(SENDFILE_START, range.getStart());
+        // the end is exclusive
+        request.setAttribute(SENDFILE_END, range.getEnd() + 1);
+        new DownloadProgress(controllerManagement, statusId, range.getLength()).shipped(range.getLength());
+        return true;
+    }
+
+    private static void startAsync(final Artifact artifact, final HttpServletRequest request,
+            final HttpServletResponse response, final long asyncTimeout,
+            final BiFunction<AsyncContext, ServletOutputStream, AsyncFileResponseWriter> writerFactory) {
+        final AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(asyncTimeout);
+
+        try {
+            final ServletOutputStream out = response.getOutputStream();
+            final AsyncFileResponseWriter writer = writerFactory.apply(asyncContext, out);
+            // closes the binary on a timeout, which is not passed to the
+            // write listener
+            asyncContext.addListener(writer);
+            out.setWriteListener(writer);
+        } catch (final IOException e) {
+            asyncContext.complete();
+            LOG.error("asynchronous request of file ({}) failed!", artifact.getFilename(), e);
+            throw new FileSteamingFailedException(artifact.getFilename());
+        }
+    }
+
     private static void handleFullFileRequest(final Artifact artifact, final HttpServletResponse response,
             final DbArtifact file, final ControllerManagement controllerManagement, final Long statusId,
             final ByteRange full) {
-        final ByteRange r = full;
-        response.setHeader(CONTENT_RANGE, "bytes " + r.getStart() + "-" + r.getEnd() + "/" + r.getTotal());
-        response.setHeader(CONTENT_LENGTH, String.valueOf(r.getLength()));
+        setRangeHeaders(response, full);
 
-        try (InputStream inputStream = file.getFileInputStream()) {
-            copyStreams(inputStream, response.getOutputStream(), controllerManagement, statusId, r.getStart(),
-                    r.getLength());
+        try {
+            copyRange(file, response.getOutputStream(), controllerManagement, statusId, full);
         } catch (final IOException e) {
             LOG.error("fullfileRequest of file ({}) failed!", artifact.getFilename(), e);
             throw new FileSteamingFailedException(artifact.getFilename());
@@ -247,7 +439,7 @@ public final class RestResourceConversionHelper {
         response.setStatus(SC_PARTIAL_CONTENT);
 
         for (final ByteRange r : ranges) {
-            try (InputStream inputStream = file.getFileInputStream()) {
+            try {
 
                 // Add multipart boundary and header fields for every range.
                 response.getOutputStream().println();
@@ -256,8 +448,7 @@ public final class RestResourceConversionHelper {
                         .println("Content-Range: bytes " + r.getStart() + "-" + r.getEnd() + "/" + r.getTotal());
 
                 // Copy single part range of multi part range.
-                copyStreams(inputStream, response.getOutputStream(), controllerManagement, statusId, r.getStart(),
-                        r.getLength());
+                copyRange(file, response.getOutputStream(), controllerManagement, statusId, r);
             } catch (final IOException e) {
                 throwFileStreamingFailedException(artifact, e);
             }
@@ -280,37 +471,49 @@ public final class RestResourceConversionHelper {
             final DbArtifact file, final ControllerManagement controllerManagement, final Long statusId,
             final List<ByteRange> ranges) {
         final ByteRange r = ranges.get(0);
-        response.setHeader(CONTENT_RANGE, "bytes " + r.getStart() + "-" + r.getEnd() + "/" + r.getTotal());
-        response.setHeader(CONTENT_LENGTH, String.valueOf(r.getLength()));
+        setRangeHeaders(response, r);
         response.setStatus(SC_PARTIAL_CONTENT);
 
-        try (InputStream inputStream = file.getFileInputStream()) {
-            copyStreams(inputStream, response.getOutputStream(), controllerManagement, statusId, r.getStart(),
-                    r.getLength());
+        try {
+            copyRange(file, response.getOutputStream(), controllerManagement, statusId, r);
         } catch (final IOException e) {
             LOG.error("standardRangeRequest of file ({}) failed!", artifact.getFilename(), e);
             throw new FileSteamingFailedException(artifact.getFilename());
         }
     }
 
+    /**
+     * Copies the given range of the artifact binary. If the binary is
+     * available as {@link FileChannel} it is read from the start of the range,
+     * otherwise only the range is read by
+     * {@link DbArtifact#getFileInputStream(long, long)}.
+     */
+    private static long copyRange(final DbArtifact file, final OutputStream to,
+            final ControllerManagement controllerManagement, final Long statusId, final ByteRange range)
+            throws IOException {
+        final FileChannel channel = file.getFileChannel();
+        if (channel != null) {
+            try (FileChannel from = channel;
+                    InputStream inputStream = Channels.newInputStream(from.position(range.getStart()))) {
+                return copyStreams(inputStream, to, controllerManagement, statusId, range.getLength());
+            }
+        }
+
+        try (InputStream inputStream = file.getFileInputStream(range.getStart(), range.getLength())) {
+            return copyStreams(inputStream, to, controllerManagement, statusId, range.getLength());
+        }
+    }
+
     private static long copyStreams(final InputStream from, final OutputStream to,
-            final ControllerManagement controllerManagement, final Long statusId, final long start, final long length)
+            final ControllerManagement controllerManagement, final Long statusId, final long length)
             throws IOException {
         checkNotNull(from);
         checkNotNull(to);
         final byte[] buf = new byte[BUFFER_SIZE];
-        long total = 0;
-        int progressPercent = 1;
-
-        // skipp until start is reached
-        long skipped = 0;
-        do {
-            skipped += from.skip(start);
-        } while (skipped < start);
+        final DownloadProgress progress = new DownloadProgress(controllerManagement, statusId, length);
 
         long toRead = length;
         boolean toContinue = true;
-        long shippedSinceLastEvent = 0;
 
         while (toContinue) {
             final int r = from.read(buf);
@@ -321,27 +524,14 @@ public final class RestResourceConversionHelper {
             toRead -= r;
             if (toRead > 0) {
                 to.write(buf, 0, r);
-                total += r;
-                shippedSinceLastEvent += r;
+                progress.shipped(r);
             } else {
                 to.write(buf, 0, (int) toRead + r);
-                total += toRead + r;
-                shippedSinceLastEvent += toRead + r;
+                progress.shipped(toRead + r);
                 toContinue = false;
             }
-
-            if (controllerManagement != null) {
-                final int newPercent = DoubleMath.roundToInt(total * 100.0 / length, DOWN);
-
-                // every 10 percent an event
-                if (newPercent == 100 || newPercent > progressPercent + 10) {
-                    progressPercent = newPercent;
-                    controllerManagement.downloadProgress(statusId, length, shippedSinceLastEvent, total);
-                    shippedSinceLastEvent = 0;
-                }
-            }
         }
-        return total;
+        return progress.getTotal();
     }
 
     /**
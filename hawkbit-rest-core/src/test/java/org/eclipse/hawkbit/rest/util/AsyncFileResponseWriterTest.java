@@ -0,0 +1,199 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.rest.util;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.model.Artifact;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Artifact Download")
+@Stories("Asynchronous file response")
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncFileResponseWriterTest {
+
+    private static final int BUFFER_SIZE = 16;
+
+    private static final byte[] DATA = "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ".getBytes(US_ASCII);
+
+    @Mock
+    private AsyncContext asyncContextMock;
+
+    @Mock
+    private Artifact artifactMock;
+
+    @Mock
+    private ControllerManagement controllerManagementMock;
+
+    private boolean inputClosed;
+
+    private final DbArtifact file = new DbArtifact() {
+        @Override
+        public InputStream getFileInputStream() {
+            return new ByteArrayInputStream(DATA) {
+                @Override
+                public void close() throws IOException {
+                    inputClosed = true;
+                    super.close();
+                }
+            };
+        }
+    };
+
+    private TestOutputStream out;
+
+    @Before
+    public void before() {
+        when(artifactMock.getFilename()).thenReturn("file.bin");
+        out = new TestOutputStream();
+    }
+
+    @Test
+    @Description("Verifies that a single range is written completely and the download progress is reported.")
+    public void singleRangeIsWritten() throws IOException {
+        final ByteRange range = new ByteRange(5, 40, DATA.length);
+        final AsyncFileResponseWriter underTest = AsyncFileResponseWriter.forRange(asyncContextMock, out,
+                artifactMock, file, controllerManagementMock, 1L, BUFFER_SIZE, range);
+
+        underTest.onWritePossible();
+
+        assertThat(out.toByteArray()).isEqualTo(Arrays.copyOfRange(DATA, 5, 41));
+        verify(asyncContextMock).complete();
+        verify(controllerManagementMock, atLeastOnce()).downloadProgress(eq(1L), eq(range.getLength()), anyLong(),
+                anyLong());
+        verify(controllerManagementMock).downloadProgress(eq(1L), eq(range.getLength()), anyLong(),
+                eq(range.getLength()));
+    }
+
+    @Test
+    @Description("Verifies that multiple ranges are written with the same multipart boundaries as the synchronous response.")
+    public void multipartRangesAreWritten() throws IOException {
+        final ByteRange first = new ByteRange(0, 3, DATA.length);
+        final ByteRange second = new ByteRange(10, 12, DATA.length);
+        final AsyncFileResponseWriter underTest = AsyncFileResponseWriter.forMultipartRanges(asyncContextMock, out,
+                artifactMock, file, null, null, BUFFER_SIZE, Arrays.asList(first, second));
+
+        underTest.onWritePossible();
+
+        final String boundary = ByteRange.MULTIPART_BOUNDARY;
+        assertThat(new String(out.toByteArray(), US_ASCII))
+                .isEqualTo("\r\n--" + boundary + "\r\nContent-Range: bytes 0-3/" + DATA.length + "\r\n0123" + "\r\n--"
+                        + boundary + "\r\nContent-Range: bytes 10-12/" + DATA.length + "\r\nabc" + "\r\n--" + boundary
+                        + "--");
+        verify(asyncContextMock).complete();
+    }
+
+    @Test
+    @Description("Verifies that the writer stops if the output stream is not ready and resumes on the next callback.")
+    public void writingResumesWhenOutputIsReadyAgain() throws IOException {
+        final ByteRange full = new ByteRange(0, DATA.length - 1L, DATA.length);
+        final AsyncFileResponseWriter underTest = AsyncFileResponseWriter.forRange(asyncContextMock, out,
+                artifactMock, file, null, null, BUFFER_SIZE, full);
+
+        out.readyWrites = 2;
+        underTest.onWritePossible();
+        assertThat(out.toByteArray().length).isEqualTo(BUFFER_SIZE);
+        verify(asyncContextMock, never()).complete();
+
+        out.readyWrites = Integer.MAX_VALUE;
+        underTest.onWritePossible();
+        assertThat(out.toByteArray()).isEqualTo(DATA);
+        verify(asyncContextMock).complete();
+    }
+
+    @Test
+    @Description("Verifies that the binary is closed and the request is completed once if the asynchronous request times out while the output stream is not ready.")
+    public void timeoutClosesTheInputAndCompletesTheRequest() throws IOException {
+        final ByteRange full = new ByteRange(0, DATA.length - 1L, DATA.length);
+        final AsyncFileResponseWriter underTest = AsyncFileResponseWriter.forRange(asyncContextMock, out,
+                artifactMock, file, null, null, BUFFER_SIZE, full);
+
+        out.readyWrites = 2;
+        underTest.onWritePossible();
+        assertThat(inputClosed).isFalse();
+
+        underTest.onTimeout(new AsyncEvent(asyncContextMock));
+        assertThat(inputClosed).isTrue();
+        verify(asyncContextMock).complete();
+
+        // the container completes the request after the timeout
+        underTest.onComplete(new AsyncEvent(asyncContextMock));
+        verify(asyncContextMock, times(1)).complete();
+        assertThat(out.toByteArray().length).isEqualTo(BUFFER_SIZE);
+    }
+
+    @Test
+    @Description("Verifies that the binary is closed and the request is completed once if the asynchronous request fails outside of a write, e.g. as the connection was reset.")
+    public void errorOfTheAsynchronousRequestClosesTheInput() throws IOException {
+        final ByteRange full = new ByteRange(0, DATA.length - 1L, DATA.length);
+        final AsyncFileResponseWriter underTest = AsyncFileResponseWriter.forRange(asyncContextMock, out,
+                artifactMock, file, null, null, BUFFER_SIZE, full);
+
+        out.readyWrites = 2;
+        underTest.onWritePossible();
+        underTest.onError(new AsyncEvent(asyncContextMock, new IOException("connection reset")));
+        underTest.onComplete(new AsyncEvent(asyncContextMock));
+
+        assertThat(inputClosed).isTrue();
+        verify(asyncContextMock, times(1)).complete();
+    }
+
+    private static final class TestOutputStream extends ServletOutputStream {
+        private final ByteArrayOutputStream target = new ByteArrayOutputStream();
+        private int readyWrites = Integer.MAX_VALUE;
+
+        @Override
+        public boolean isReady() {
+            return readyWrites-- > 0;
+        }
+
+        @Override
+        public void setWriteListener(final WriteListener writeListener) {
+            // not needed, the test calls the listener directly
+        }
+
+        @Override
+        public void write(final int b) {
+            target.write(b);
+        }
+
+        private byte[] toByteArray() {
+            return target.toByteArray();
+        }
+    }
+}
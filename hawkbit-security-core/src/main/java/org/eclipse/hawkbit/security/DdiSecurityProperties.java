@@ -130,6 +130,8 @@ public class DdiSecurityProperties {
              */
             private boolean enabled = false;
 
+            private final Cache cache = new Cache();
+
             public boolean isEnabled() {
                 return enabled;
             }
@@ -138,6 +140,56 @@ public class DdiSecurityProperties {
                 this.enabled = enabled;
             }
 
+            public Cache getCache() {
+                return cache;
+            }
+
+            /**
+             * Cache of the target security tokens, so a controller is
+             * authenticated without reading its target on every request.
+             */
+            public static class Cache {
+
+                /**
+                 * Set to true to cache the target security tokens.
+                 */
+                private boolean enabled;
+
+                /**
+                 * Maximum number of cached targets.
+                 */
+                private long maxSize = 100_000L;
+
+                /**
+                 * Time in milliseconds after which the security token of a
+                 * target is read again.
+                 */
+                private long expireAfterWrite = 60_000L;
+
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(final boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public long getMaxSize() {
+                    return maxSize;
+                }
+
+                public void setMaxSize(final long maxSize) {
+                    this.maxSize = maxSize;
+                }
+
+                public long getExpireAfterWrite() {
+                    return expireAfterWrite;
+                }
+
+                public void setExpireAfterWrite(final long expireAfterWrite) {
+                    this.expireAfterWrite = expireAfterWrite;
+                }
+            }
         }
 
         /**
@@ -8,11 +8,10 @@
  */
 package org.eclipse.hawkbit.security;
 
-import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.hawkbit.security.SecurityConstants.SECURITY_LOG_PREFIX;
 
 import java.io.IOException;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import javax.servlet.FilterChain;
@@ -26,14 +25,17 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.filter.OncePerRequestFilter;
-
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import org.springframework.web.util.UrlPathHelper;
 
 /**
  * Filter for protection against denial of service attacks. It reduces the
  * maximum number of request per seconds which can be separately configured for
  * read (GET) and write (PUT/POST/DELETE) requests.
+ *
+ * Optionally the DDI requests per second of a tenant and of a single
+ * controller are limited as well, regardless of the IP addresses they come
+ * from. The clients are counted by a {@link RequestRateLimiter} with bounded
+ * memory.
  */
 public class DosFilter extends OncePerRequestFilter {
 
@@ -41,16 +43,21 @@ public class DosFilter extends OncePerRequestFilter {
     private static final Logger LOG_DOS = LoggerFactory.getLogger(SECURITY_LOG_PREFIX + ".dos");
     private static final Logger LOG_BLACKLIST = LoggerFactory.getLogger(SECURITY_LOG_PREFIX + ".blacklist");
 
-    private final Pattern ipAdressBlacklist;
+    private static final Pattern DDI_PATH = Pattern.compile("^/([^/]+)/controller/(?:v1/([^/]+))?");
 
-    private final Cache<String, AtomicInteger> readCountCache = CacheBuilder.newBuilder().expireAfterAccess(1, SECONDS)
-            .build();
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
 
-    private final Cache<String, AtomicInteger> writeCountCache = CacheBuilder.newBuilder().expireAfterAccess(1, SECONDS)
-            .build();
+    private final Pattern ipAdressBlacklist;
+
+    private final RequestRateLimiter readLimiter;
+    private final RequestRateLimiter writeLimiter;
+    private final RequestRateLimiter tenantLimiter;
+    private final RequestRateLimiter controllerLimiter;
 
     private final Integer maxRead;
     private final Integer maxWrite;
+    private final int maxPerTenant;
+    private final int maxPerController;
 
     private final Pattern whitelist;
 
@@ -76,11 +83,48 @@ public class DosFilter extends OncePerRequestFilter {
      */
     public DosFilter(final Integer maxRead, final Integer maxWrite, final String ipDosWhiteListPattern,
             final String ipBlackListPattern, final String forwardHeader) {
+        this(maxRead, maxWrite, 0, 0, ipDosWhiteListPattern, ipBlackListPattern, forwardHeader);
+    }
+
+    /**
+     * Filter constructor including configuration.
+     *
+     * @param maxRead
+     *            Maximum number of allowed REST read/GET requests per second
+     *            per client
+     * @param maxWrite
+     *            Maximum number of allowed REST write/(PUT/POST/etc.) requests
+     *            per second per client
+     * @param maxPerTenant
+     *            Maximum number of allowed DDI requests per second per tenant
+     *            (0 to disable)
+     * @param maxPerController
+     *            Maximum number of allowed DDI requests per second per
+     *            controller (0 to disable)
+     * @param ipDosWhiteListPattern
+     *            {@link Pattern} with with white list of peer IP addresses for
+     *            DOS filter
+     * @param ipBlackListPattern
+     *            {@link Pattern} with black listed IP addresses
+     * @param forwardHeader
+     *            the header containing the forwarded IP address e.g.
+     *            {@code x-forwarded-for}
+     */
+    public DosFilter(final Integer maxRead, final Integer maxWrite, final int maxPerTenant,
+            final int maxPerController, final String ipDosWhiteListPattern, final String ipBlackListPattern,
+            final String forwardHeader) {
 
         this.maxRead = maxRead;
         this.maxWrite = maxWrite;
+        this.maxPerTenant = maxPerTenant;
+        this.maxPerController = maxPerController;
         this.forwardHeader = forwardHeader;
 
+        readLimiter = new RequestRateLimiter(maxRead);
+        writeLimiter = new RequestRateLimiter(maxWrite);
+        tenantLimiter = maxPerTenant > 0 ? new RequestRateLimiter(maxPerTenant) : null;
+        controllerLimiter = maxPerController > 0 ? new RequestRateLimiter(maxPerController) : null;
+
         if (ipBlackListPattern != null && !ipBlackListPattern.isEmpty()) {
             ipAdressBlacklist = Pattern.compile(ipBlackListPattern);
         } else {
@@ -116,6 +160,10 @@ public class DosFilter extends OncePerRequestFilter {
                 else {
                     processChain = handleWriteRequest(response, ip);
                 }
+
+                if (processChain && (tenantLimiter != null || controllerLimiter != null)) {
+                    processChain = handleDdiRequest(request, response, ip);
+                }
             }
         }
 
@@ -148,34 +196,51 @@ public class DosFilter extends OncePerRequestFilter {
     }
 
     private boolean handleWriteRequest(final HttpServletResponse response, final String ip) {
-        boolean processChain = true;
-        final AtomicInteger count = writeCountCache.getIfPresent(ip);
-
-        if (count == null) {
-            writeCountCache.put(ip, new AtomicInteger());
-        } else if (count.getAndIncrement() > maxWrite) {
+        if (!writeLimiter.tryAcquire(ip)) {
             LOG_DOS.info("Registered DOS attack! Client {} is above configured WRITE request threshold ({})!", ip,
                     maxWrite);
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-            processChain = false;
+            return false;
         }
 
-        return processChain;
+        return true;
     }
 
     private boolean handleReadRequest(final HttpServletResponse response, final String ip) {
-        boolean processChain = true;
-        final AtomicInteger count = readCountCache.getIfPresent(ip);
-
-        if (count == null) {
-            readCountCache.put(ip, new AtomicInteger());
-        } else if (count.getAndIncrement() > maxRead) {
+        if (!readLimiter.tryAcquire(ip)) {
             LOG_DOS.info("Registered DOS attack! Client {} is above configured READ request threshold ({})!", ip,
                     maxRead);
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-            processChain = false;
+            return false;
         }
 
-        return processChain;
+        return true;
+    }
+
+    private boolean handleDdiRequest(final HttpServletRequest request, final HttpServletResponse response,
+            final String ip) {
+        final Matcher matcher = DDI_PATH.matcher(URL_PATH_HELPER.getPathWithinApplication(request));
+        if (!matcher.find()) {
+            return true;
+        }
+
+        final String tenant = matcher.group(1).toUpperCase();
+        if (tenantLimiter != null && !tenantLimiter.tryAcquire(tenant)) {
+            LOG_DOS.info("Registered DOS attack! Tenant {} is above configured request threshold ({}), client {}!",
+                    tenant, maxPerTenant, ip);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            return false;
+        }
+
+        final String controllerId = matcher.group(2);
+        if (controllerLimiter != null && controllerId != null
+                && !controllerLimiter.tryAcquire(tenant + "/" + controllerId)) {
+            LOG_DOS.info("Registered DOS attack! Controller {}/{} is above configured threshold ({}), client {}!",
+                    tenant, controllerId, maxPerController, ip);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            return false;
+        }
+
+        return true;
     }
 }
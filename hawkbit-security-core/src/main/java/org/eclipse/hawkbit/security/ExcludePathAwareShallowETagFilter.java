@@ -9,12 +9,14 @@
 package org.eclipse.hawkbit.security;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.ShallowEtagHeaderFilter;
 
@@ -23,6 +25,10 @@ import org.springframework.web.filter.ShallowEtagHeaderFilter;
  * where no ETag header should be generated due that calculating the ETag is an
  * expensive operation and the response output need to be copied in memory which
  * should be excluded in case of artifact downloads which could be big of size.
+ * 
+ * Resources which set a deep ETag on their own, e.g. based on the revision of
+ * the entity, keep it. They can disable the buffering of their response by
+ * {@link ShallowEtagHeaderFilter#disableContentCaching(javax.servlet.ServletRequest)}.
  */
 public class ExcludePathAwareShallowETagFilter extends ShallowEtagHeaderFilter {
 
@@ -48,6 +54,13 @@ public class ExcludePathAwareShallowETagFilter extends ShallowEtagHeaderFilter {
         }
     }
 
+    @Override
+    protected boolean isEligibleForEtag(final HttpServletRequest request, final HttpServletResponse response,
+            final int responseStatusCode, final InputStream inputStream) {
+        return response.getHeader(HttpHeaders.ETAG) == null
+                && super.isEligibleForEtag(request, response, responseStatusCode, inputStream);
+    }
+
     private boolean shouldExclude(final HttpServletRequest request) {
         for (final String pattern : excludeAntPaths) {
             if (antMatcher.match(request.getContextPath() + pattern, request.getRequestURI())) {
@@ -139,6 +139,18 @@ public class HawkbitSecurityProperties {
              */
             int maxWrite = 50;
 
+            /**
+             * Maximum number of allowed DDI requests per second per tenant (0
+             * to disable).
+             */
+            int maxPerTenant;
+
+            /**
+             * Maximum number of allowed DDI requests per second per controller
+             * (0 to disable).
+             */
+            int maxPerController;
+
             public String getWhitelist() {
                 return whitelist;
             }
@@ -163,6 +175,22 @@ public class HawkbitSecurityProperties {
                 this.maxWrite = maxWrite;
             }
 
+            public int getMaxPerTenant() {
+                return maxPerTenant;
+            }
+
+            public void setMaxPerTenant(final int maxPerTenant) {
+                this.maxPerTenant = maxPerTenant;
+            }
+
+            public int getMaxPerController() {
+                return maxPerController;
+            }
+
+            public void setMaxPerController(final int maxPerController) {
+                this.maxPerController = maxPerController;
+            }
+
         }
     }
 }
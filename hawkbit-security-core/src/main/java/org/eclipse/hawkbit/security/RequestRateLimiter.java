@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * Lock-free limiter of the requests per second of a client, e.g. an IP
+ * address, a tenant or a controller. The limit is a token bucket with a
+ * capacity of one second of requests, i.e. a client may send the maximum
+ * number of requests at once and then one request each
+ * <code>1/maxPerSecond</code> seconds.
+ *
+ * The bucket of a client is kept as its theoretical arrival time of the next
+ * request (generic cell rate algorithm), which is updated by compare and set
+ * without locks. The memory is bounded regardless of the number of clients as
+ * the clients are hashed into a fixed number of cells, which are organized as
+ * a count-min sketch: every client updates one cell per row and is limited by
+ * its least loaded cell. A client is so only throttled too early if all of its
+ * cells are shared with clients which send many requests.
+ */
+final class RequestRateLimiter {
+
+    private static final int DEPTH = 4;
+    private static final int WIDTH = 4096;
+    private static final int MASK = WIDTH - 1;
+
+    private static final HashFunction HASH = Hashing.murmur3_128();
+
+    private final AtomicLongArray cells = new AtomicLongArray(DEPTH * WIDTH);
+
+    private final long interval;
+
+    private final long tolerance;
+
+    private final LongSupplier clock;
+
+    private final long origin;
+
+    /**
+     * Constructor.
+     *
+     * @param maxPerSecond
+     *            maximum number of requests per second and client
+     */
+    RequestRateLimiter(final int maxPerSecond) {
+        this(maxPerSecond, System::nanoTime);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxPerSecond
+     *            maximum number of requests per second and client
+     * @param clock
+     *            current time in nanoseconds
+     */
+    RequestRateLimiter(final int maxPerSecond, final LongSupplier clock) {
+        if (maxPerSecond <= 0) {
+            throw new IllegalArgumentException("Maximum requests per second must be positive");
+        }
+        interval = TimeUnit.SECONDS.toNanos(1) / maxPerSecond;
+        tolerance = interval * maxPerSecond;
+        this.clock = clock;
+        // the cells start with 0, which is never after the current time
+        origin = clock.getAsLong();
+    }
+
+    /**
+     * Registers a request of the given client if it is within the limit.
+     *
+     * @param client
+     *            the key of the client
+     * @return <code>true</code> if the request is allowed, <code>false</code>
+     *         if the client is above the limit and the request is not counted
+     */
+    boolean tryAcquire(final String client) {
+        final long now = clock.getAsLong() - origin;
+        final long hash = HASH.hashUnencodedChars(client).asLong();
+        final int hash1 = (int) hash;
+        final int hash2 = (int) (hash >>> 32);
+
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, cells.get(index(row, hash1, hash2)));
+        }
+
+        final long next = Math.max(estimate, now) + interval;
+        if (next - now > tolerance) {
+            return false;
+        }
+
+        for (int row = 0; row < DEPTH; row++) {
+            raise(index(row, hash1, hash2), next, now);
+        }
+        return true;
+    }
+
+    private static int index(final int row, final int hash1, final int hash2) {
+        return row * WIDTH + ((hash1 + row * hash2) & MASK);
+    }
+
+    /**
+     * Raises the cell to the arrival time of the client (conservative update).
+     * A cell which is already there, either by a concurrent request of the
+     * same client or by other clients, counts the request on top.
+     */
+    private void raise(final int index, final long next, final long now) {
+        long current;
+        long updated;
+        do {
+            current = cells.get(index);
+            updated = current < next ? next : Math.max(current, now) + interval;
+        } while (!cells.compareAndSet(index, current, updated));
+    }
+}
@@ -14,6 +14,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 
 import javax.servlet.FilterChain;
@@ -90,4 +91,15 @@ public class ExcludePathAwareShallowETagFilterTest {
         verify(filterChainMock, times(1)).doFilter(Mockito.eq(servletRequestMock), responseArgumentCaptor.capture());
         assertThat(mockingDetails(responseArgumentCaptor.getValue()).isMock()).isFalse();
     }
+
+    @Test
+    public void eTagOfResourceIsKept() {
+        when(servletRequestMock.getMethod()).thenReturn("GET");
+        when(servletResponseMock.getHeader("ETag")).thenReturn("\"deep\"");
+
+        final ExcludePathAwareShallowETagFilter filterUnderTest = new ExcludePathAwareShallowETagFilter();
+
+        assertThat(filterUnderTest.isEligibleForEtag(servletRequestMock, servletResponseMock, 200,
+                new ByteArrayInputStream(new byte[0]))).isFalse();
+    }
 }
@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Security")
+@Stories("Request rate limiter of the DOS filter")
+public class RequestRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong(-TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    @Description("Verifies that a client may send the maximum number of requests at once but not more")
+    public void burstIsLimitedToMaximumPerSecond() {
+        final RequestRateLimiter limiter = new RequestRateLimiter(100, nanos::get);
+
+        assertThat(acquire(limiter, "10.0.0.1", 100)).isEqualTo(100);
+        assertThat(limiter.tryAcquire("10.0.0.1")).isFalse();
+    }
+
+    @Test
+    @Description("Verifies that a throttled client is allowed again at the configured rate")
+    public void throttledClientIsAllowedAtConfiguredRate() {
+        final RequestRateLimiter limiter = new RequestRateLimiter(100, nanos::get);
+        acquire(limiter, "10.0.0.1", 150);
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(acquire(limiter, "10.0.0.1", 100)).isEqualTo(10);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        assertThat(acquire(limiter, "10.0.0.1", 150)).isEqualTo(100);
+    }
+
+    @Test
+    @Description("Verifies that the clients are limited independently of each other")
+    public void clientsAreLimitedIndependently() {
+        final RequestRateLimiter limiter = new RequestRateLimiter(10, nanos::get);
+        acquire(limiter, "10.0.0.1", 100);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(limiter.tryAcquire("client" + i)).isTrue();
+        }
+        assertThat(limiter.tryAcquire("10.0.0.1")).isFalse();
+    }
+
+    private static int acquire(final RequestRateLimiter limiter, final String client, final int requests) {
+        int allowed = 0;
+        for (int i = 0; i < requests; i++) {
+            if (limiter.tryAcquire(client)) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+}
@@ -8,12 +8,10 @@
  */
 package org.eclipse.hawkbit.security;
 
-import java.util.Optional;
-
 import org.eclipse.hawkbit.dmf.json.model.TenantSecurityToken;
 import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
-import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.security.TargetSecurityTokenCache.TargetCredentials;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 import org.slf4j.Logger;
@@ -26,6 +24,8 @@ import org.slf4j.LoggerFactory;
  * {@code Example Header: Authorization: TargetToken
  * 5d8fSD54fdsFG98DDsa.}
  * 
+ * The security tokens are compared by their hashes, which are read through
+ * the {@link TargetSecurityTokenCache}.
  *
  *
  */
@@ -35,7 +35,7 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
     private static final String TARGET_SECURITY_TOKEN_AUTH_SCHEME = "TargetToken ";
     private static final int OFFSET_TARGET_TOKEN = TARGET_SECURITY_TOKEN_AUTH_SCHEME.length();
 
-    private final ControllerManagement controllerManagement;
+    private final TargetSecurityTokenCache securityTokenCache;
 
     /**
      * Constructor.
@@ -57,8 +57,32 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
             final TenantConfigurationManagement tenantConfigurationManagement,
             final ControllerManagement controllerManagement, final TenantAware tenantAware,
             final SystemSecurityContext systemSecurityContext) {
+        this(tenantConfigurationManagement, new TargetSecurityTokenCache(controllerManagement, systemSecurityContext),
+                tenantAware, systemSecurityContext);
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param tenantConfigurationManagement
+     *            the tenant management service to retrieve configuration
+     *            properties
+     * @param securityTokenCache
+     *            the cache to retrieve the specific target security token to
+     *            verify
+     * @param tenantAware
+     *            the tenant aware service to get configuration for the specific
+     *            tenant
+     * @param systemSecurityContext
+     *            the system security context to get access to tenant
+     *            configuration
+     */
+    public ControllerPreAuthenticateSecurityTokenFilter(
+            final TenantConfigurationManagement tenantConfigurationManagement,
+            final TargetSecurityTokenCache securityTokenCache, final TenantAware tenantAware,
+            final SystemSecurityContext systemSecurityContext) {
         super(tenantConfigurationManagement, tenantAware, systemSecurityContext);
-        this.controllerManagement = controllerManagement;
+        this.securityTokenCache = securityTokenCache;
     }
 
     @Override
@@ -68,7 +92,8 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
         if ((authHeader != null) && authHeader.startsWith(TARGET_SECURITY_TOKEN_AUTH_SCHEME)) {
             LOGGER.debug("found authorization header with scheme {} using target security token for authentication",
                     TARGET_SECURITY_TOKEN_AUTH_SCHEME);
-            return new HeaderAuthentication(controllerId, authHeader.substring(OFFSET_TARGET_TOKEN));
+            return new HeaderAuthentication(controllerId,
+                    TargetSecurityTokenCache.hash(authHeader.substring(OFFSET_TARGET_TOKEN)));
         }
         LOGGER.debug(
                 "security token filter is enabled but requst does not contain either the necessary path variables {} or the authorization header with scheme {}",
@@ -78,31 +103,30 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
 
     @Override
     public HeaderAuthentication getPreAuthenticatedCredentials(final TenantSecurityToken securityToken) {
-        final Target target = systemSecurityContext.runAsSystemAsTenant(() -> {
-            if (securityToken.getTargetId() != null) {
-                return controllerManagement.findByTargetId(securityToken.getTargetId());
-            }
-            return controllerManagement.findByControllerId(securityToken.getControllerId());
-        }, securityToken.getTenant());
-
+        final TargetCredentials target = findTarget(securityToken);
         if (target == null) {
             return null;
         }
-        final String targetSecurityToken = systemSecurityContext.runAsSystemAsTenant(() -> target.getSecurityToken(),
-                securityToken.getTenant());
-        return new HeaderAuthentication(target.getControllerId(), targetSecurityToken);
+        return new HeaderAuthentication(target.getControllerId(), target.getSecurityTokenHash());
+    }
+
+    private TargetCredentials findTarget(final TenantSecurityToken securityToken) {
+        if (securityToken.getTargetId() != null) {
+            return securityTokenCache.getByTargetId(securityToken.getTenant(), securityToken.getTargetId());
+        }
+        return securityTokenCache.getByControllerId(securityToken.getTenant(), securityToken.getControllerId());
     }
 
     private String resolveControllerId(final TenantSecurityToken securityToken) {
         if (securityToken.getControllerId() != null) {
             return securityToken.getControllerId();
         }
-        final Optional<Target> foundTarget = Optional.ofNullable(systemSecurityContext.runAsSystemAsTenant(
-                () -> controllerManagement.findByTargetId(securityToken.getTargetId()), securityToken.getTenant()));
-        if (!foundTarget.isPresent()) {
+        final TargetCredentials foundTarget = securityTokenCache.getByTargetId(securityToken.getTenant(),
+                securityToken.getTargetId());
+        if (foundTarget == null) {
             return null;
         }
-        return foundTarget.get().getControllerId();
+        return foundTarget.getControllerId();
     }
 
     @Override
@@ -0,0 +1,292 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.event.remote.RemoteIdEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.springframework.context.event.EventListener;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalCause;
+import com.google.common.hash.Hashing;
+
+/**
+ * Cache of the security tokens of the targets for the
+ * {@link ControllerPreAuthenticateSecurityTokenFilter}, so a controller is
+ * authenticated without reading its target on every request. Only the hash
+ * of a security token is kept.
+ *
+ * A target is removed from the cache if it is updated or deleted on any node
+ * of the cluster. Targets which are not found are not cached. The hit rate
+ * of the cache is exposed by JMX.
+ *
+ * As a target may be updated while it is read, a read target is only kept if
+ * no target of its tenant was removed since the invalidation stamp of the
+ * tenant was taken before the read.
+ */
+@ManagedResource(description = "Cache of the target security tokens")
+public class TargetSecurityTokenCache {
+
+    private final ControllerManagement controllerManagement;
+
+    private final SystemSecurityContext systemSecurityContext;
+
+    private final boolean enabled;
+
+    private final Cache<String, TargetCredentials> credentials;
+
+    // tenant and target ID to controller ID of the cached targets
+    private final ConcurrentMap<String, String> controllerIds = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, AtomicLong> invalidations = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param controllerManagement
+     *            to read the targets
+     * @param systemSecurityContext
+     *            to read the targets as system
+     * @param cacheProperties
+     *            the configuration of the cache
+     */
+    public TargetSecurityTokenCache(final ControllerManagement controllerManagement,
+            final SystemSecurityContext systemSecurityContext,
+            final DdiSecurityProperties.Authentication.Targettoken.Cache cacheProperties) {
+        this.controllerManagement = controllerManagement;
+        this.systemSecurityContext = systemSecurityContext;
+        this.enabled = cacheProperties.isEnabled();
+
+        credentials = CacheBuilder.newBuilder().maximumSize(cacheProperties.getMaxSize())
+                .expireAfterWrite(cacheProperties.getExpireAfterWrite(), MILLISECONDS).recordStats()
+                .<String, TargetCredentials> removalListener(notification -> {
+                    if (notification.getCause() != RemovalCause.REPLACED) {
+                        final TargetCredentials removed = notification.getValue();
+                        controllerIds.remove(key(removed.tenant, removed.targetId), removed.controllerId);
+                    }
+                }).build();
+    }
+
+    /**
+     * Constructor of a disabled cache, which reads the target on every call.
+     *
+     * @param controllerManagement
+     *            to read the targets
+     * @param systemSecurityContext
+     *            to read the targets as system
+     */
+    public TargetSecurityTokenCache(final ControllerManagement controllerManagement,
+            final SystemSecurityContext systemSecurityContext) {
+        this(controllerManagement, systemSecurityContext,
+                new DdiSecurityProperties.Authentication.Targettoken.Cache());
+    }
+
+    /**
+     * @param tenant
+     *            of the target
+     * @param controllerId
+     *            of the target
+     * @return the credentials of the target or <code>null</code> if the target
+     *         does not exist
+     */
+    TargetCredentials getByControllerId(final String tenant, final String controllerId) {
+        if (!enabled) {
+            return load(tenant, () -> controllerManagement.findByControllerId(controllerId));
+        }
+
+        final TargetCredentials cached = credentials.getIfPresent(key(tenant, controllerId));
+        if (cached != null) {
+            return cached;
+        }
+        final long stamp = invalidations(tenant).get();
+        return cache(load(tenant, () -> controllerManagement.findByControllerId(controllerId)), stamp);
+    }
+
+    /**
+     * @param tenant
+     *            of the target
+     * @param targetId
+     *            of the target
+     * @return the credentials of the target or <code>null</code> if the target
+     *         does not exist
+     */
+    TargetCredentials getByTargetId(final String tenant, final Long targetId) {
+        if (!enabled) {
+            return load(tenant, () -> controllerManagement.findByTargetId(targetId));
+        }
+
+        final String controllerId = controllerIds.get(key(tenant, targetId));
+        if (controllerId != null) {
+            final TargetCredentials cached = credentials.getIfPresent(key(tenant, controllerId));
+            if (cached != null && cached.targetId.equals(targetId)) {
+                return cached;
+            }
+        }
+        final long stamp = invalidations(tenant).get();
+        return cache(load(tenant, () -> controllerManagement.findByTargetId(targetId)), stamp);
+    }
+
+    private TargetCredentials load(final String tenant, final Supplier<Target> finder) {
+        return systemSecurityContext.runAsSystemAsTenant(() -> {
+            final Target target = finder.get();
+            if (target == null) {
+                return null;
+            }
+            return new TargetCredentials(tenant, target.getId(), target.getControllerId(),
+                    hash(target.getSecurityToken()));
+        }, tenant);
+    }
+
+    private TargetCredentials cache(final TargetCredentials loaded, final long stamp) {
+        if (loaded != null) {
+            credentials.put(key(loaded.tenant, loaded.controllerId), loaded);
+            controllerIds.put(key(loaded.tenant, loaded.targetId), loaded.controllerId);
+
+            // the target may have been updated while it was read
+            if (invalidations(loaded.tenant).get() != stamp) {
+                credentials.invalidate(key(loaded.tenant, loaded.controllerId));
+            }
+        }
+        return loaded;
+    }
+
+    private AtomicLong invalidations(final String tenant) {
+        return invalidations.computeIfAbsent(tenant.toUpperCase(), t -> new AtomicLong());
+    }
+
+    /**
+     * Removes the updated target from the cache, e.g. as its security token is
+     * changed.
+     *
+     * @param event
+     *            of the target update
+     */
+    @EventListener(classes = TargetUpdatedEvent.class)
+    public void onTargetUpdate(final TargetUpdatedEvent event) {
+        evict(event);
+    }
+
+    /**
+     * Removes the deleted target from the cache.
+     *
+     * @param event
+     *            of the target deletion
+     */
+    @EventListener(classes = TargetDeletedEvent.class)
+    public void onTargetDelete(final TargetDeletedEvent event) {
+        evict(event);
+    }
+
+    private void evict(final RemoteIdEvent event) {
+        invalidations(event.getTenant()).incrementAndGet();
+        final String controllerId = controllerIds.remove(key(event.getTenant(), event.getEntityId()));
+        if (controllerId != null) {
+            credentials.invalidate(key(event.getTenant(), controllerId));
+        }
+    }
+
+    /**
+     * @return the statistics of the cache
+     */
+    public CacheStats getStats() {
+        return credentials.stats();
+    }
+
+    /**
+     * @return the ratio of the requests which are authenticated without
+     *         reading the target
+     */
+    @ManagedAttribute(description = "Ratio of the lookups answered from the cache")
+    public double getHitRate() {
+        return getStats().hitRate();
+    }
+
+    /**
+     * @return the number of lookups answered from the cache
+     */
+    @ManagedAttribute(description = "Number of lookups answered from the cache")
+    public long getHitCount() {
+        return getStats().hitCount();
+    }
+
+    /**
+     * @return the number of lookups which read the target
+     */
+    @ManagedAttribute(description = "Number of lookups which read the target")
+    public long getMissCount() {
+        return getStats().missCount();
+    }
+
+    /**
+     * @return the number of cached targets
+     */
+    @ManagedAttribute(description = "Number of cached targets")
+    public long getSize() {
+        return credentials.size();
+    }
+
+    /**
+     * @param securityToken
+     *            the security token of a target or the authorization header
+     *            of a request
+     * @return the hash of the token, <code>null</code> if the token is
+     *         <code>null</code>
+     */
+    static String hash(final String securityToken) {
+        if (securityToken == null) {
+            return null;
+        }
+        return Hashing.sha256().hashString(securityToken, StandardCharsets.UTF_8).toString();
+    }
+
+    private static String key(final String tenant, final Object id) {
+        return tenant.toUpperCase() + "/" + id;
+    }
+
+    /**
+     * The identity and the hashed security token of a target.
+     */
+    static final class TargetCredentials {
+        private final String tenant;
+        private final Long targetId;
+        private final String controllerId;
+        private final String securityTokenHash;
+
+        private TargetCredentials(final String tenant, final Long targetId, final String controllerId,
+                final String securityTokenHash) {
+            this.tenant = tenant;
+            this.targetId = targetId;
+            this.controllerId = controllerId;
+            this.securityTokenHash = securityTokenHash;
+        }
+
+        String getControllerId() {
+            return controllerId;
+        }
+
+        String getSecurityTokenHash() {
+            return securityTokenHash;
+        }
+    }
+}
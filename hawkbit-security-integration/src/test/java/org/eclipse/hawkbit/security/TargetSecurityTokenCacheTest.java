@@ -0,0 +1,181 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.eclipse.hawkbit.dmf.json.model.TenantSecurityToken;
+import org.eclipse.hawkbit.dmf.json.model.TenantSecurityToken.FileResource;
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Security")
+@Stories("Target security token cache")
+@RunWith(MockitoJUnitRunner.class)
+public class TargetSecurityTokenCacheTest {
+
+    private static final String TENANT = "DEFAULT";
+    private static final String CONTROLLER_ID = "box1";
+    private static final Long TARGET_ID = 4711L;
+    private static final String SECURITY_TOKEN = "5d8fSD54fdsFG98DDsa";
+
+    @Mock
+    private ControllerManagement controllerManagementMock;
+
+    @Mock
+    private TenantConfigurationManagement tenantConfigurationManagementMock;
+
+    @Mock
+    private Target targetMock;
+
+    private final SecurityContextTenantAware tenantAware = new SecurityContextTenantAware();
+
+    private final DdiSecurityProperties.Authentication.Targettoken.Cache cacheProperties = new DdiSecurityProperties.Authentication.Targettoken.Cache();
+
+    @Before
+    public void before() {
+        when(targetMock.getId()).thenReturn(TARGET_ID);
+        when(targetMock.getTenant()).thenReturn(TENANT);
+        when(targetMock.getControllerId()).thenReturn(CONTROLLER_ID);
+        when(targetMock.getSecurityToken()).thenReturn(SECURITY_TOKEN);
+        when(controllerManagementMock.findByControllerId(CONTROLLER_ID)).thenReturn(targetMock);
+        when(controllerManagementMock.findByTargetId(TARGET_ID)).thenReturn(targetMock);
+        cacheProperties.setEnabled(true);
+    }
+
+    @Test
+    @Description("Verifies that a controller is authenticated with the hash of its security token")
+    public void controllerIsAuthenticatedByTokenHash() {
+        final ControllerPreAuthenticateSecurityTokenFilter underTest = filter(createCache());
+
+        final TenantSecurityToken securityToken = securityToken(SECURITY_TOKEN);
+        assertThat(underTest.getPreAuthenticatedPrincipal(securityToken))
+                .isEqualTo(underTest.getPreAuthenticatedCredentials(securityToken));
+
+        final TenantSecurityToken wrongToken = securityToken("wrong");
+        assertThat(underTest.getPreAuthenticatedPrincipal(wrongToken))
+                .isNotEqualTo(underTest.getPreAuthenticatedCredentials(wrongToken));
+    }
+
+    @Test
+    @Description("Verifies that the target is read once for repeated requests by controller ID and target ID")
+    public void targetIsReadOnce() {
+        final TargetSecurityTokenCache cache = createCache();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.getByControllerId(TENANT, CONTROLLER_ID).getSecurityTokenHash())
+                    .isEqualTo(TargetSecurityTokenCache.hash(SECURITY_TOKEN));
+            assertThat(cache.getByTargetId(TENANT, TARGET_ID).getControllerId()).isEqualTo(CONTROLLER_ID);
+        }
+
+        verify(controllerManagementMock, times(1)).findByControllerId(CONTROLLER_ID);
+        verify(controllerManagementMock, times(0)).findByTargetId(TARGET_ID);
+        assertThat(cache.getHitCount()).isEqualTo(5);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    @Description("Verifies that an updated or deleted target is read again")
+    public void updatedTargetIsEvicted() {
+        final TargetSecurityTokenCache cache = createCache();
+        cache.getByControllerId(TENANT, CONTROLLER_ID);
+
+        cache.onTargetUpdate(new TargetUpdatedEvent(targetMock, "node"));
+        cache.getByControllerId(TENANT, CONTROLLER_ID);
+
+        cache.onTargetDelete(new TargetDeletedEvent(TENANT, TARGET_ID, Target.class.getName(), "node"));
+        cache.getByTargetId(TENANT, TARGET_ID);
+
+        verify(controllerManagementMock, times(2)).findByControllerId(CONTROLLER_ID);
+        verify(controllerManagementMock, times(1)).findByTargetId(TARGET_ID);
+    }
+
+    @Test
+    @Description("Verifies that a target which is updated while it is read is not kept in the cache")
+    public void targetUpdatedDuringReadIsNotCached() {
+        final TargetSecurityTokenCache cache = createCache();
+        final TargetUpdatedEvent update = new TargetUpdatedEvent(targetMock, "node");
+        when(controllerManagementMock.findByControllerId(CONTROLLER_ID)).thenAnswer(invocation -> {
+            // the update is committed after the target has been read
+            cache.onTargetUpdate(update);
+            return targetMock;
+        });
+
+        assertThat(cache.getByControllerId(TENANT, CONTROLLER_ID).getControllerId()).isEqualTo(CONTROLLER_ID);
+        assertThat(cache.getSize()).isEqualTo(0);
+
+        doReturn(targetMock).when(controllerManagementMock).findByControllerId(CONTROLLER_ID);
+        cache.getByControllerId(TENANT, CONTROLLER_ID);
+        cache.getByControllerId(TENANT, CONTROLLER_ID);
+        assertThat(cache.getSize()).isEqualTo(1);
+        verify(controllerManagementMock, times(2)).findByControllerId(CONTROLLER_ID);
+    }
+
+    @Test
+    @Description("Verifies that an update of a target of another tenant during a read does not prevent caching")
+    public void updateOfOtherTenantDuringReadIsIgnored() {
+        final TargetSecurityTokenCache cache = createCache();
+        when(controllerManagementMock.findByTargetId(TARGET_ID)).thenAnswer(invocation -> {
+            cache.onTargetDelete(new TargetDeletedEvent("OTHER", TARGET_ID, Target.class.getName(), "node"));
+            return targetMock;
+        });
+
+        cache.getByTargetId(TENANT, TARGET_ID);
+        cache.getByTargetId(TENANT, TARGET_ID);
+
+        assertThat(cache.getSize()).isEqualTo(1);
+        verify(controllerManagementMock, times(1)).findByTargetId(TARGET_ID);
+    }
+
+    @Test
+    @Description("Verifies that the target is read on every request if the cache is disabled")
+    public void disabledCacheReadsTarget() {
+        cacheProperties.setEnabled(false);
+        final TargetSecurityTokenCache cache = createCache();
+
+        cache.getByControllerId(TENANT, CONTROLLER_ID);
+        cache.getByControllerId(TENANT, CONTROLLER_ID);
+
+        verify(controllerManagementMock, times(2)).findByControllerId(CONTROLLER_ID);
+        assertThat(cache.getSize()).isEqualTo(0);
+    }
+
+    private TargetSecurityTokenCache createCache() {
+        return new TargetSecurityTokenCache(controllerManagementMock, new SystemSecurityContext(tenantAware),
+                cacheProperties);
+    }
+
+    private ControllerPreAuthenticateSecurityTokenFilter filter(final TargetSecurityTokenCache cache) {
+        return new ControllerPreAuthenticateSecurityTokenFilter(tenantConfigurationManagementMock, cache,
+                tenantAware, new SystemSecurityContext(tenantAware));
+    }
+
+    private static TenantSecurityToken securityToken(final String token) {
+        final TenantSecurityToken securityToken = new TenantSecurityToken(TENANT, CONTROLLER_ID,
+                FileResource.createFileResourceBySha1("12345"));
+        securityToken.putHeader(TenantSecurityToken.AUTHORIZATION_HEADER, "TargetToken " + token);
+        return securityToken;
+    }
+}
@@ -51,6 +51,7 @@ import org.eclipse.hawkbit.ui.push.TargetDeletedEventContainer;
 import org.eclipse.hawkbit.ui.push.TargetTagCreatedEventContainer;
 import org.eclipse.hawkbit.ui.push.TargetTagDeletedEventContainer;
 import org.eclipse.hawkbit.ui.push.TargetTagUpdatedEventContainer;
+import org.eclipse.hawkbit.ui.push.TargetsCreatedEventContainer;
 import org.eclipse.hawkbit.ui.utils.I18N;
 import org.eclipse.hawkbit.ui.utils.SPUIDefinitions;
 import org.eclipse.hawkbit.ui.utils.UINotification;
@@ -379,6 +380,7 @@ public class DeploymentView extends AbstractNotificationView implements BrowserW
         final Map<Class<?>, RefreshableContainer> supportedEvents = Maps.newHashMapWithExpectedSize(10);
 
         supportedEvents.put(TargetCreatedEventContainer.class, targetTableLayout.getTable());
+        supportedEvents.put(TargetsCreatedEventContainer.class, targetTableLayout.getTable());
         supportedEvents.put(TargetDeletedEventContainer.class, targetTableLayout.getTable());
 
         supportedEvents.put(DistributionCreatedEventContainer.class, distributionTableLayoutNew.getTable());
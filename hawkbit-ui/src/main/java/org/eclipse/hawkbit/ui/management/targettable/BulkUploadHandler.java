@@ -20,15 +20,19 @@ import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.DistributionSetManagement;
 import org.eclipse.hawkbit.repository.EntityFactory;
 import org.eclipse.hawkbit.repository.TagManagement;
 import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.builder.TargetCreate;
+import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
 import org.eclipse.hawkbit.repository.model.Action.ActionType;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.ui.common.table.BaseEntityEventType;
@@ -74,6 +78,12 @@ public class BulkUploadHandler extends CustomComponent
     private static final long serialVersionUID = -1273494705754674501L;
     private static final Logger LOG = LoggerFactory.getLogger(BulkUploadHandler.class);
 
+    /**
+     * Number of targets which are checked for existing controller IDs and
+     * created at once.
+     */
+    private static final int TARGET_BATCH_SIZE = 500;
+
     private final transient TargetManagement targetManagement;
     private final transient TagManagement tagManagement;
 
@@ -163,6 +173,8 @@ public class BulkUploadHandler extends CustomComponent
 
     class UploadAsync implements Runnable {
 
+        private final Map<String, String> pendingTargets = new LinkedHashMap<>();
+
         @Override
         public void run() {
             if (tempFile == null) {
@@ -195,6 +207,7 @@ public class BulkUploadHandler extends CustomComponent
                     innerCounter++;
                     readEachLine(line, innerCounter, totalNumberOfLines);
                 }
+                createPendingTargets();
 
             } catch (final IOException e) {
                 LOG.error("Error reading file {}", tempFile.getName(), e);
@@ -369,19 +382,49 @@ public class BulkUploadHandler extends CustomComponent
 
         private void addNewTarget(final String controllerId, final String name) {
             final String newControllerId = HawkbitCommonUtil.trimAndNullIfEmpty(controllerId);
-            if (mandatoryCheck(newControllerId) && duplicateCheck(newControllerId)) {
-                final String newName = HawkbitCommonUtil.trimAndNullIfEmpty(name);
-                final String newDesc = HawkbitCommonUtil.trimAndNullIfEmpty(descTextArea.getValue());
-
-                final Target newTarget = targetManagement.createTarget(entityFactory.target().create()
-                        .controllerId(newControllerId).name(newName).description(newDesc));
-
-                eventBus.publish(this, new TargetTableEvent(BaseEntityEventType.ADD_ENTITY, newTarget));
+            if (!mandatoryCheck(newControllerId)) {
+                return;
+            }
+            if (pendingTargets.containsKey(newControllerId)) {
+                failedTargetCount++;
+                return;
+            }
+            pendingTargets.put(newControllerId, HawkbitCommonUtil.trimAndNullIfEmpty(name));
+            if (pendingTargets.size() >= TARGET_BATCH_SIZE) {
+                createPendingTargets();
+            }
+        }
 
-                managementUIState.getTargetTableFilters().getBulkUpload().getTargetsCreated().add(newControllerId);
-                successfullTargetCount++;
+        private void createPendingTargets() {
+            if (pendingTargets.isEmpty()) {
+                return;
+            }
+            targetManagement.findTargetByControllerID(pendingTargets.keySet()).forEach(existingTarget -> {
+                pendingTargets.remove(existingTarget.getControllerId());
+                failedTargetCount++;
+            });
+
+            final String newDesc = HawkbitCommonUtil.trimAndNullIfEmpty(descTextArea.getValue());
+            final List<TargetCreate> newTargets = pendingTargets.entrySet().stream()
+                    .map(entry -> entityFactory.target().create().controllerId(entry.getKey()).name(entry.getValue())
+                            .description(newDesc))
+                    .collect(Collectors.toList());
+            pendingTargets.clear();
+            if (newTargets.isEmpty()) {
+                return;
             }
 
+            try {
+                for (final Target newTarget : targetManagement.createTargets(newTargets)) {
+                    eventBus.publish(this, new TargetTableEvent(BaseEntityEventType.ADD_ENTITY, newTarget));
+                    managementUIState.getTargetTableFilters().getBulkUpload().getTargetsCreated()
+                            .add(newTarget.getControllerId());
+                    successfullTargetCount++;
+                }
+            } catch (final EntityAlreadyExistsException e) {
+                LOG.info("Targets of the bulk upload have been created concurrently", e);
+                failedTargetCount += newTargets.size();
+            }
         }
     }
 
@@ -394,16 +437,6 @@ public class BulkUploadHandler extends CustomComponent
         }
     }
 
-    private boolean duplicateCheck(final String newControlllerId) {
-        final Target existingTarget = targetManagement.findTargetByControllerID(newControlllerId.trim());
-        if (existingTarget != null) {
-            failedTargetCount++;
-            return false;
-        } else {
-            return true;
-        }
-    }
-
     private static class NullOutputStream extends OutputStream {
         /**
          * null output stream.
@@ -0,0 +1,279 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ui.push;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.event.TenantAwareEvent;
+import org.eclipse.hawkbit.repository.event.remote.RolloutActionsCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.AbstractActionEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RemoteEntityEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutGroupCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutGroupUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutUpdatedEvent;
+import org.eclipse.hawkbit.ui.push.event.RolloutChangeEvent;
+import org.eclipse.hawkbit.ui.push.event.RolloutGroupChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Node wide dispatcher of the {@link TenantAwareEvent}s to the UIs. The
+ * events are collected once per tenant which has at least one subscribed UI
+ * and are dispatched every x (default is 2 and can be configured with the
+ * property) seconds. The events of a tenant are grouped by their type into
+ * {@link EventContainer}s once and the same immutable containers are handed
+ * to all {@link Subscriber}s of the tenant.
+ *
+ * Events of tenants without subscribers are dropped right away.
+ */
+public class UIEventDispatcher implements ApplicationListener<ApplicationEvent> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UIEventDispatcher.class);
+
+    private static final int BLOCK_SIZE = 10_000;
+
+    private final ConcurrentMap<String, TenantEvents> tenants = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Constructor<?>> containerConstructors = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService executorService;
+    private final UIEventProvider eventProvider;
+    private final long delay;
+    private ScheduledFuture<?> jobHandle;
+
+    /**
+     * Subscriber of the events of a tenant, e.g. the push strategy of an UI.
+     */
+    @FunctionalInterface
+    public interface Subscriber {
+
+        /**
+         * Dispatches the events which were collected since the last dispatch.
+         * Called by the scheduler of the dispatcher, so it should not block.
+         *
+         * @param tenant
+         *            the tenant of the events
+         * @param events
+         *            immutable list of the events grouped by their type
+         */
+        void dispatch(String tenant, List<EventContainer<TenantAwareEvent>> events);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param executorService
+     *            the general scheduler service
+     * @param eventProvider
+     *            the event provider
+     * @param delay
+     *            the delay for the event forwarding. Every delay millisecond
+     *            the events are forwarded to the subscribers
+     */
+    public UIEventDispatcher(final ScheduledExecutorService executorService, final UIEventProvider eventProvider,
+            final long delay) {
+        this.executorService = executorService;
+        this.eventProvider = eventProvider;
+        this.delay = delay;
+    }
+
+    /**
+     * Subscribes to the events of the given tenant.
+     *
+     * @param tenant
+     *            the tenant of the events
+     * @param subscriber
+     *            to which the events are dispatched
+     */
+    public void subscribe(final String tenant, final Subscriber subscriber) {
+        tenants.compute(tenant.toUpperCase(), (key, tenantEvents) -> {
+            final TenantEvents subscribed = tenantEvents == null ? new TenantEvents() : tenantEvents;
+            subscribed.subscribers.add(subscriber);
+            return subscribed;
+        });
+        startDispatching();
+    }
+
+    /**
+     * Removes the subscription of the events of the given tenant. The
+     * collected events of the tenant are dropped with its last subscriber.
+     *
+     * @param tenant
+     *            the tenant of the events
+     * @param subscriber
+     *            to remove
+     */
+    public void unsubscribe(final String tenant, final Subscriber subscriber) {
+        tenants.computeIfPresent(tenant.toUpperCase(), (key, tenantEvents) -> {
+            tenantEvents.subscribers.remove(subscriber);
+            return tenantEvents.subscribers.isEmpty() ? null : tenantEvents;
+        });
+    }
+
+    private synchronized void startDispatching() {
+        if (jobHandle == null) {
+            LOG.info("Start UI event dispatching every {} ms", delay);
+            jobHandle = executorService.scheduleWithFixedDelay(this::dispatch, delay, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void dispatch() {
+        tenants.forEach((tenant, tenantEvents) -> {
+            final List<TenantAwareEvent> events = new ArrayList<>(tenantEvents.queue.size());
+            tenantEvents.queue.drainTo(events);
+            if (events.isEmpty()) {
+                return;
+            }
+
+            final long timestamp = System.currentTimeMillis();
+            // the entities of the events of other nodes are loaded once for
+            // all UIs
+            RemoteEntityEvent.loadEntities(events.stream().filter(RemoteEntityEvent.class::isInstance)
+                    .map(event -> (RemoteEntityEvent<?>) event).collect(Collectors.toList()));
+            final List<EventContainer<TenantAwareEvent>> groupedEvents = Collections
+                    .unmodifiableList(groupEvents(events));
+
+            for (final Subscriber subscriber : tenantEvents.subscribers) {
+                try {
+                    subscriber.dispatch(tenant, groupedEvents);
+                } catch (final RuntimeException e) {
+                    LOG.error("Failed to dispatch UI events of tenant {}", tenant, e);
+                }
+            }
+
+            LOG.debug("UI event dispatcher done with sending {} events of tenant {} to {} UIs in {} ms",
+                    events.size(), tenant, tenantEvents.subscribers.size(), System.currentTimeMillis() - timestamp);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<EventContainer<TenantAwareEvent>> groupEvents(final List<TenantAwareEvent> events) {
+        return events.stream().collect(Collectors.groupingBy(TenantAwareEvent::getClass)).entrySet().stream()
+                .map(entry -> {
+                    EventContainer<TenantAwareEvent> holder = null;
+                    try {
+                        holder = (EventContainer<TenantAwareEvent>) containerConstructor(entry.getKey())
+                                .newInstance(Collections.unmodifiableList(entry.getValue()));
+                    } catch (final ReflectiveOperationException e) {
+                        LOG.error("Failed to create EventHolder!", e);
+                    }
+                    return holder;
+                }).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    private Constructor<?> containerConstructor(final Class<?> eventType) throws NoSuchMethodException {
+        Constructor<?> declaredConstructor = containerConstructors.get(eventType);
+        if (declaredConstructor == null) {
+            declaredConstructor = eventProvider.getEvents().get(eventType).getDeclaredConstructor(List.class);
+            declaredConstructor.setAccessible(true);
+            containerConstructors.put(eventType, declaredConstructor);
+        }
+        return declaredConstructor;
+    }
+
+    /**
+     * An application event publisher subscriber which collects the
+     * {@link TenantAwareEvent}s from the repository for the tenants with
+     * subscribers.
+     *
+     * @param applicationEvent
+     *            the entity event which has been published from the repository
+     */
+    @Override
+    public void onApplicationEvent(final ApplicationEvent applicationEvent) {
+        if (!(applicationEvent instanceof TenantAwareEvent)) {
+            return;
+        }
+
+        final TenantAwareEvent event = (TenantAwareEvent) applicationEvent;
+        if (event.getTenant() == null) {
+            return;
+        }
+
+        final TenantEvents tenantEvents = tenants.get(event.getTenant().toUpperCase());
+        if (tenantEvents == null) {
+            return;
+        }
+
+        collectRolloutEvent(tenantEvents, event);
+        // to dispatch too many events which are not interested on the UI
+        if (!eventProvider.getEvents().containsKey(event.getClass())) {
+            LOG.trace("Event is not supported in the UI!!! Dropped event is {}", event);
+            return;
+        }
+        tenantEvents.offer(event);
+    }
+
+    private static void collectRolloutEvent(final TenantEvents tenantEvents, final TenantAwareEvent event) {
+        Long rolloutId = null;
+        Long rolloutGroupId = null;
+        if (event instanceof AbstractActionEvent) {
+            rolloutId = ((AbstractActionEvent) event).getRolloutId();
+            rolloutGroupId = ((AbstractActionEvent) event).getRolloutGroupId();
+        } else if (event instanceof RolloutActionsCreatedEvent) {
+            rolloutId = ((RolloutActionsCreatedEvent) event).getRolloutId();
+            rolloutGroupId = ((RolloutActionsCreatedEvent) event).getRolloutGroupId();
+        } else if (event instanceof RolloutUpdatedEvent) {
+            rolloutId = ((RolloutUpdatedEvent) event).getEntityId();
+        } else if (event instanceof RolloutGroupCreatedEvent) {
+            rolloutId = ((RolloutGroupCreatedEvent) event).getRolloutId();
+            rolloutGroupId = ((RolloutGroupCreatedEvent) event).getEntityId();
+        } else if (event instanceof RolloutGroupUpdatedEvent) {
+            rolloutId = ((RolloutGroupUpdatedEvent) event).getRolloutId();
+            rolloutGroupId = ((RolloutGroupUpdatedEvent) event).getEntityId();
+        }
+
+        if (rolloutId == null) {
+            return;
+        }
+        tenantEvents.offerIfNotContains(new RolloutChangeEvent(event.getTenant(), rolloutId));
+
+        if (rolloutGroupId != null) {
+            tenantEvents.offerIfNotContains(new RolloutGroupChangeEvent(event.getTenant(), rolloutId, rolloutGroupId));
+        }
+    }
+
+    /**
+     * The collected events and the subscribers of a tenant.
+     */
+    private static final class TenantEvents {
+        private final BlockingDeque<TenantAwareEvent> queue = new LinkedBlockingDeque<>(BLOCK_SIZE);
+        private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+
+        private void offerIfNotContains(final TenantAwareEvent event) {
+            if (queue.contains(event)) {
+                return;
+            }
+            offer(event);
+        }
+
+        private void offer(final TenantAwareEvent event) {
+            if (!queue.offer(event)) {
+                LOG.warn("Deque limit is reached, cannot add more events!!! Dropped event is {}", event);
+            }
+        }
+    }
+}
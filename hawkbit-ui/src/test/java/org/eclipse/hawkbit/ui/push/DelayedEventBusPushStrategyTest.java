@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ui.push;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.im.authentication.TenantAwareAuthenticationDetails;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.vaadin.spring.events.EventBus.UIEventBus;
+
+import com.vaadin.server.VaadinSession;
+import com.vaadin.server.VaadinSession.State;
+import com.vaadin.server.WrappedSession;
+import com.vaadin.ui.UI;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Management UI")
+@Stories("UI Event Dispatcher")
+@RunWith(MockitoJUnitRunner.class)
+public class DelayedEventBusPushStrategyTest {
+
+    private static final String TENANT = "tenant";
+
+    private static final String OTHER_TENANT = "otherTenant";
+
+    @Mock
+    private ScheduledExecutorService executorServiceMock;
+
+    @Mock
+    private UIEventBus eventBusMock;
+
+    private UIEventDispatcher eventDispatcher;
+
+    @Before
+    public void before() {
+        doReturn(mock(ScheduledFuture.class)).when(executorServiceMock).scheduleWithFixedDelay(any(Runnable.class),
+                anyLong(), anyLong(), any(TimeUnit.class));
+        eventDispatcher = new UIEventDispatcher(executorServiceMock, new HawkbitEventProvider(), 100);
+    }
+
+    @Test
+    @Description("Verifies that the UIs of the sessions of two tenants receive the events of their own tenant only.")
+    public void sessionsReceiveTheEventsOfTheirOwnTenantOnly() {
+        final UI ui = mockUi(TENANT);
+        final UI otherUi = mockUi(OTHER_TENANT);
+        new DelayedEventBusPushStrategy(eventDispatcher, eventBusMock).init(ui);
+        new DelayedEventBusPushStrategy(eventDispatcher, eventBusMock).init(otherUi);
+
+        final TargetDeletedEvent event = targetDeletedEvent(TENANT, 1L);
+        final TargetDeletedEvent otherEvent = targetDeletedEvent(OTHER_TENANT, 2L);
+        eventDispatcher.onApplicationEvent(event);
+        eventDispatcher.onApplicationEvent(otherEvent);
+        dispatch();
+
+        assertThat(publishedEvents(ui)).containsOnly(event);
+        assertThat(publishedEvents(otherUi)).containsOnly(otherEvent);
+    }
+
+    @Test
+    @Description("Verifies that a detached UI is unsubscribed and the collected events of its tenant are released.")
+    public void detachedUiIsUnsubscribedAndEventsOfTheTenantAreReleased() {
+        final UI ui = mockUi(TENANT);
+        final DelayedEventBusPushStrategy underTest = new DelayedEventBusPushStrategy(eventDispatcher, eventBusMock);
+        underTest.init(ui);
+        eventDispatcher.onApplicationEvent(targetDeletedEvent(TENANT, 1L));
+
+        underTest.clean();
+
+        final UI laterUi = mockUi(TENANT);
+        new DelayedEventBusPushStrategy(eventDispatcher, eventBusMock).init(laterUi);
+        dispatch();
+
+        verify(ui, never()).access(any(Runnable.class));
+        verify(laterUi, never()).access(any(Runnable.class));
+    }
+
+    private void dispatch() {
+        final ArgumentCaptor<Runnable> dispatch = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorServiceMock).scheduleWithFixedDelay(dispatch.capture(), anyLong(), anyLong(),
+                eq(TimeUnit.MILLISECONDS));
+        dispatch.getValue().run();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> publishedEvents(final UI ui) {
+        final ArgumentCaptor<EventContainer<?>> container = ArgumentCaptor
+                .forClass((Class<EventContainer<?>>) (Class<?>) EventContainer.class);
+        verify(eventBusMock).publish(eq(ui), container.capture());
+        return (List<Object>) container.getValue().getEvents();
+    }
+
+    private static UI mockUi(final String tenant) {
+        final Authentication authentication = mock(Authentication.class);
+        when(authentication.getDetails()).thenReturn(new TenantAwareAuthenticationDetails(tenant, false));
+        final SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        final WrappedSession wrappedSession = mock(WrappedSession.class);
+        when(wrappedSession.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY))
+                .thenReturn(securityContext);
+        final VaadinSession session = mock(VaadinSession.class);
+        when(session.getSession()).thenReturn(wrappedSession);
+        when(session.getState()).thenReturn(State.OPEN);
+
+        final UI ui = mock(UI.class);
+        when(ui.getSession()).thenReturn(session);
+        when(ui.access(any(Runnable.class))).thenAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        });
+        return ui;
+    }
+
+    private static TargetDeletedEvent targetDeletedEvent(final String tenant, final Long targetId) {
+        return new TargetDeletedEvent(tenant, targetId, "org.eclipse.hawkbit.repository.jpa.model.JpaTarget",
+                "node");
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ui.push;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.event.TenantAwareEvent;
+import org.eclipse.hawkbit.repository.event.remote.RolloutActionsCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.ui.push.event.RolloutChangeEvent;
+import org.eclipse.hawkbit.ui.push.event.RolloutGroupChangeEvent;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Management UI")
+@Stories("UI Event Dispatcher")
+@RunWith(MockitoJUnitRunner.class)
+public class UIEventDispatcherTest {
+
+    private static final String TENANT = "tenant";
+
+    private static final String OTHER_TENANT = "otherTenant";
+
+    @Mock
+    private ScheduledExecutorService executorServiceMock;
+
+    private final CollectingSubscriber subscriber = new CollectingSubscriber();
+
+    private final CollectingSubscriber otherSubscriber = new CollectingSubscriber();
+
+    private UIEventDispatcher underTest;
+
+    @Before
+    public void before() {
+        doReturn(mock(ScheduledFuture.class)).when(executorServiceMock).scheduleWithFixedDelay(any(Runnable.class),
+                anyLong(), anyLong(), any(TimeUnit.class));
+        underTest = new UIEventDispatcher(executorServiceMock, new HawkbitEventProvider(), 100);
+    }
+
+    @Test
+    @Description("Verifies that the subscribers of a tenant receive the events of their tenant only.")
+    public void subscribersReceiveTheEventsOfTheirTenantOnly() {
+        underTest.subscribe(TENANT, subscriber);
+        underTest.subscribe(OTHER_TENANT, otherSubscriber);
+
+        final TargetDeletedEvent event = targetDeletedEvent(TENANT, 1L);
+        final TargetDeletedEvent otherEvent = targetDeletedEvent(OTHER_TENANT.toUpperCase(), 2L);
+        underTest.onApplicationEvent(event);
+        underTest.onApplicationEvent(otherEvent);
+        dispatch();
+
+        assertThat(subscriber.events()).containsOnly(event);
+        assertThat(otherSubscriber.events()).containsOnly(otherEvent);
+    }
+
+    @Test
+    @Description("Verifies that the events of a tenant are dropped with its last subscriber.")
+    public void eventsAreDroppedWithTheLastSubscriber() {
+        final CollectingSubscriber secondSubscriber = new CollectingSubscriber();
+        underTest.subscribe(TENANT, subscriber);
+        underTest.subscribe(TENANT, secondSubscriber);
+
+        underTest.unsubscribe(TENANT, secondSubscriber);
+        underTest.onApplicationEvent(targetDeletedEvent(TENANT, 1L));
+
+        underTest.unsubscribe(TENANT, subscriber);
+        underTest.onApplicationEvent(targetDeletedEvent(TENANT, 2L));
+
+        underTest.subscribe(TENANT, subscriber);
+        dispatch();
+
+        assertThat(subscriber.events()).isEmpty();
+        assertThat(secondSubscriber.events()).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that the rollout events are collected once per rollout and group of a tenant and that events which are not provided to the UI are dropped.")
+    public void rolloutEventsAreCollectedPerTenant() {
+        underTest.subscribe(TENANT, subscriber);
+        underTest.subscribe(OTHER_TENANT, otherSubscriber);
+
+        underTest.onApplicationEvent(rolloutActionsCreatedEvent(TENANT, 1L, 2L));
+        underTest.onApplicationEvent(rolloutActionsCreatedEvent(TENANT, 1L, 2L));
+        underTest.onApplicationEvent(rolloutActionsCreatedEvent(TENANT, 1L, 3L));
+        underTest.onApplicationEvent(rolloutActionsCreatedEvent(OTHER_TENANT, 4L, 5L));
+        dispatch();
+
+        assertThat(subscriber.events()).containsOnly(new RolloutChangeEvent(TENANT, 1L),
+                new RolloutGroupChangeEvent(TENANT, 1L, 2L), new RolloutGroupChangeEvent(TENANT, 1L, 3L));
+        assertThat(otherSubscriber.events()).containsOnly(new RolloutChangeEvent(OTHER_TENANT, 4L),
+                new RolloutGroupChangeEvent(OTHER_TENANT, 4L, 5L));
+    }
+
+    private void dispatch() {
+        final ArgumentCaptor<Runnable> dispatch = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorServiceMock).scheduleWithFixedDelay(dispatch.capture(), anyLong(), anyLong(),
+                eq(TimeUnit.MILLISECONDS));
+        dispatch.getValue().run();
+    }
+
+    private static TargetDeletedEvent targetDeletedEvent(final String tenant, final Long targetId) {
+        return new TargetDeletedEvent(tenant, targetId, "org.eclipse.hawkbit.repository.jpa.model.JpaTarget",
+                "node");
+    }
+
+    private static RolloutActionsCreatedEvent rolloutActionsCreatedEvent(final String tenant, final Long rolloutId,
+            final Long rolloutGroupId) {
+        return new RolloutActionsCreatedEvent(tenant, rolloutId, rolloutGroupId, 1L, Arrays.asList(1L, 2L), "node");
+    }
+
+    private static class CollectingSubscriber implements UIEventDispatcher.Subscriber {
+
+        private final List<EventContainer<TenantAwareEvent>> dispatched = new ArrayList<>();
+
+        @Override
+        public void dispatch(final String tenant, final List<EventContainer<TenantAwareEvent>> events) {
+            dispatched.addAll(events);
+        }
+
+        private List<TenantAwareEvent> events() {
+            return dispatched.stream().flatMap(container -> container.getEvents().stream())
+                    .collect(Collectors.toList());
+        }
+    }
+}